@@ -86,7 +86,7 @@ class CouchbaseSetup:
 
     def create_scopes(self):
         print("Creating Scopes...")
-        scopes = ['user-scope', 'task-scope', 'invalid-token-scope', 'log-scope']
+        scopes = ['user-scope', 'task-scope', 'invalid-token-scope', 'log-scope', 'change-feed-scope']
         for scope in scopes:
             query = f"CREATE SCOPE `{self.bucket_name}`.`{scope}`"
             response = requests.post(self.query_url, auth=(self.admin_username, self.admin_password),
@@ -102,7 +102,8 @@ class CouchbaseSetup:
             'user-scope': 'user-collection',
             'task-scope': 'task-collection',
             'invalid-token-scope': 'invalid-token-collection',
-            'log-scope': 'log-collection'
+            'log-scope': 'log-collection',
+            'change-feed-scope': 'change-feed-collection'
         }
         for scope, collection in collections.items():
             query = f"CREATE COLLECTION `{self.bucket_name}`.`{scope}`.`{collection}`"
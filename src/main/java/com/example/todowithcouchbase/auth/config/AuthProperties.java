@@ -0,0 +1,177 @@
+package com.example.todowithcouchbase.auth.config;
+
+import com.example.todowithcouchbase.auth.model.enums.RateLimitKey;
+import com.example.todowithcouchbase.auth.model.enums.TokenSignatureAlgorithm;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class holds the tunable settings of the authentication layer.
+ * It is bound from the {@code auth} section of the application's configuration and falls back to
+ * the defaults declared here when a property is not set.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "auth")
+public class AuthProperties {
+
+    private VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+    private RevocationFilter revocationFilter = new RevocationFilter();
+    private InvalidTokenExpiryBackfill invalidTokenExpiryBackfill = new InvalidTokenExpiryBackfill();
+    private Signing signing = new Signing();
+    private Jwks jwks = new Jwks();
+    private PasswordHashing passwordHashing = new PasswordHashing();
+    private UserEmailLookup userEmailLookup = new UserEmailLookup();
+    private UserEmailLookupBackfill userEmailLookupBackfill = new UserEmailLookupBackfill();
+    private UserClaimsCache userClaimsCache = new UserClaimsCache();
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * Nested class that holds the settings of the in-process cache of verified access tokens.
+     * Entries are keyed by the token digest and are evicted when the token expires
+     * or when the cache grows beyond {@code maximumSize}.
+     */
+    @Data
+    public static class VerifiedTokenCache {
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+    }
+
+    /**
+     * Nested class that holds the settings of the in-process cache of user claims used to refresh tokens.
+     * Entries are dropped when the user is saved, {@code timeToLive} after they were loaded,
+     * or when the cache grows beyond {@code maximumSize}.
+     */
+    @Data
+    public static class UserClaimsCache {
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+        private Duration timeToLive = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Nested class that holds the settings of the in-memory Bloom filter of revoked token IDs.
+     * The filter is sized for {@code expectedInsertions} revoked tokens at the given false positive probability;
+     * only possible matches are looked up in the invalid token collection.
+     */
+    @Data
+    public static class RevocationFilter {
+        private boolean enabled = true;
+        private long expectedInsertions = 1_000_000;
+        private double falsePositiveProbability = 0.01;
+    }
+
+    /**
+     * Nested class that holds the settings of the one-off job applying a document expiry to revocation records
+     * saved before records expired with their tokens. The job is off by default and processes {@code batchSize}
+     * records at a time when enabled.
+     */
+    @Data
+    public static class InvalidTokenExpiryBackfill {
+        private boolean enabled = false;
+        private int batchSize = 500;
+    }
+
+    /**
+     * Nested class that holds the sizing of the executor password hashes are computed and checked on.
+     * At most {@code threads} hashes run at once and up to {@code queueCapacity} more wait for a thread;
+     * further requests are rejected immediately instead of tying up request threads.
+     */
+    @Data
+    public static class PasswordHashing {
+        private int threads = 2;
+        private int queueCapacity = 64;
+    }
+
+    /**
+     * Nested class that holds the settings of the email lookup documents users are found by at login.
+     * While {@code queryFallbackEnabled} is set, an email without a lookup document is also searched for with
+     * a query, for users registered before the documents existed; turn it off once the backfill has run.
+     * A reservation older than {@code reservationTimeout} whose user was never saved is taken over by the next
+     * registration with the same email.
+     */
+    @Data
+    public static class UserEmailLookup {
+        private boolean queryFallbackEnabled = true;
+        private Duration reservationTimeout = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Nested class that holds the settings of the one-off job creating the email lookup documents of users
+     * registered before they existed. The job is off by default and reads {@code batchSize} users at a time
+     * when enabled.
+     */
+    @Data
+    public static class UserEmailLookupBackfill {
+        private boolean enabled = false;
+        private int batchSize = 500;
+    }
+
+    /**
+     * Nested class that holds the token signing keys.
+     * The RSA key pair of {@link TokenConfigurationParameter} is always part of the key ring under
+     * {@code defaultKeyId}, and verifies tokens issued without a {@code kid}. Additional {@code keys} are
+     * PEM encoded; new tokens are signed with the key named by {@code activeKeyId}.
+     */
+    @Data
+    public static class Signing {
+        private String activeKeyId = "default";
+        private String defaultKeyId = "default";
+        private List<SigningKey> keys = new ArrayList<>();
+    }
+
+    /**
+     * Nested class that holds the settings of the JSON Web Key Set published at {@code /.well-known/jwks.json}.
+     * Clients may cache the key set for {@code maxAge}, so a new signing key should be published at least
+     * that long before it becomes the active key.
+     */
+    @Data
+    public static class Jwks {
+        private Duration maxAge = Duration.ofMinutes(15);
+    }
+
+    /**
+     * Nested class that holds one configured signing key. The private key may be left out
+     * to keep a retired key for verification only.
+     */
+    @Data
+    public static class SigningKey {
+        private String id;
+        private TokenSignatureAlgorithm algorithm = TokenSignatureAlgorithm.RS256;
+        private String publicKey;
+        private String privateKey;
+    }
+
+    /**
+     * Nested class that holds the settings of the request rate limiter.
+     * A request is counted against the first route whose {@code pattern} matches its path, or against
+     * {@code defaultRoute} when none does. Buckets of keys not seen for {@code idleTimeout} are dropped,
+     * and at most {@code maximumKeys} buckets are kept.
+     */
+    @Data
+    public static class RateLimit {
+        private boolean enabled = true;
+        private long maximumKeys = 100_000;
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        private RateLimitRoute defaultRoute = new RateLimitRoute();
+        private List<RateLimitRoute> routes = new ArrayList<>();
+    }
+
+    /**
+     * Nested class that holds the limit of one route: a token bucket of {@code capacity} requests refilled
+     * at {@code refillPerSecond}, kept per authenticated user or per client IP as {@code key} says.
+     */
+    @Data
+    public static class RateLimitRoute {
+        private String pattern = "/**";
+        private RateLimitKey key = RateLimitKey.PRINCIPAL;
+        private long capacity = 100;
+        private double refillPerSecond = 50;
+    }
+
+}
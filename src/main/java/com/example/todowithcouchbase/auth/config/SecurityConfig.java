@@ -1,6 +1,7 @@
 package com.example.todowithcouchbase.auth.config;
 
 import com.example.todowithcouchbase.auth.filter.CustomBearerTokenAuthenticationFilter;
+import com.example.todowithcouchbase.auth.filter.RateLimitFilter;
 import com.example.todowithcouchbase.auth.security.CustomAuthenticationEntryPoint;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -53,6 +54,7 @@ public class SecurityConfig {
      *
      * @param httpSecurity the {@link HttpSecurity} to configure.
      * @param customBearerTokenAuthenticationFilter a custom filter for handling bearer token authentication.
+     * @param rateLimitFilter a filter rejecting requests over their rate limit before they are authenticated.
      * @param customAuthenticationEntryPoint   a custom entry point for authentication failures.
      * @return the configured {@link SecurityFilterChain}.
      * @throws Exception if an error occurs during configuration.
@@ -61,6 +63,7 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(
             final HttpSecurity httpSecurity,
             final CustomBearerTokenAuthenticationFilter customBearerTokenAuthenticationFilter,
+            final RateLimitFilter rateLimitFilter,
             final CustomAuthenticationEntryPoint customAuthenticationEntryPoint
     ) throws Exception {
 
@@ -70,6 +73,7 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(customizer -> customizer
                         .requestMatchers(HttpMethod.POST, "/api/v1/authentication/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                         .requestMatchers(
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
@@ -80,7 +84,8 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(customizer -> customizer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(customBearerTokenAuthenticationFilter, BearerTokenAuthenticationFilter.class);
+                .addFilterBefore(customBearerTokenAuthenticationFilter, BearerTokenAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, CustomBearerTokenAuthenticationFilter.class);
 
         return httpSecurity.build();
     }
@@ -0,0 +1,159 @@
+package com.example.todowithcouchbase.auth.config;
+
+import com.example.todowithcouchbase.auth.model.TokenSigningKey;
+import com.example.todowithcouchbase.auth.model.enums.TokenSignatureAlgorithm;
+import com.example.todowithcouchbase.auth.utils.KeyConverter;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Holds the keys tokens are signed and verified with, indexed by their key ID ({@code kid}).
+ * New tokens are signed with the active key and carry its key ID in their header; incoming tokens are
+ * verified with the key their header names, so the active key can be rotated without invalidating tokens
+ * that are still live. Tokens issued before key IDs were written are verified with the default key.
+ * <p>
+ * The key ring is the key locator of the JWT parser. It also rejects a token whose {@code alg} header
+ * does not match the algorithm of the key it names.
+ * </p>
+ */
+@Component
+public class TokenKeyRing extends LocatorAdapter<Key> {
+
+    private final Map<String, TokenSigningKey> keys;
+    private final TokenSigningKey activeKey;
+    private final TokenSigningKey defaultKey;
+
+    /**
+     * Builds the key ring from the RSA key pair of {@link TokenConfigurationParameter} and the keys
+     * configured under {@code auth.signing}.
+     *
+     * @param tokenConfigurationParameter The token configuration holding the default RSA key pair.
+     * @param authProperties The authentication settings holding the additional keys and the active key ID.
+     */
+    @Autowired
+    public TokenKeyRing(final TokenConfigurationParameter tokenConfigurationParameter,
+                        final AuthProperties authProperties) {
+        this(
+                Stream.concat(
+                        Stream.of(defaultKey(tokenConfigurationParameter, authProperties.getSigning())),
+                        authProperties.getSigning().getKeys().stream().map(TokenKeyRing::toSigningKey)
+                ).toList(),
+                authProperties.getSigning().getActiveKeyId(),
+                authProperties.getSigning().getDefaultKeyId()
+        );
+    }
+
+    /**
+     * Builds the key ring from the given keys.
+     *
+     * @param keys The keys of the ring.
+     * @param activeKeyId The ID of the key new tokens are signed with.
+     * @param defaultKeyId The ID of the key tokens without a key ID are verified with.
+     * @throws IllegalArgumentException If a key ID is used twice, or if the active or default key is missing
+     *                                  or the active key cannot sign.
+     */
+    public TokenKeyRing(final List<TokenSigningKey> keys,
+                        final String activeKeyId,
+                        final String defaultKeyId) {
+
+        this.keys = new LinkedHashMap<>();
+        keys.forEach(key -> {
+            if (this.keys.putIfAbsent(key.getKeyId(), key) != null) {
+                throw new IllegalArgumentException("Duplicate token signing key ID: " + key.getKeyId());
+            }
+        });
+
+        this.activeKey = this.requireKey(activeKeyId);
+        this.defaultKey = this.requireKey(defaultKeyId);
+
+        if (!activeKey.canSign()) {
+            throw new IllegalArgumentException("Active token signing key has no private key: " + activeKeyId);
+        }
+
+    }
+
+    /**
+     * Returns the key new tokens are signed with.
+     *
+     * @return The active {@link TokenSigningKey}.
+     */
+    public TokenSigningKey getActiveKey() {
+        return activeKey;
+    }
+
+    /**
+     * Returns every key of the ring.
+     *
+     * @return The keys, in configuration order.
+     */
+    public Collection<TokenSigningKey> getKeys() {
+        return keys.values();
+    }
+
+    /**
+     * Returns the public key the given token header names.
+     *
+     * @param header The header of the token being verified.
+     * @return The public key to verify the token signature with.
+     * @throws UnsupportedJwtException If the key ID is unknown or the algorithm does not match the key.
+     */
+    @Override
+    protected Key locate(final JwsHeader header) {
+
+        final String keyId = header.getKeyId();
+        final TokenSigningKey key = keyId == null ? defaultKey : keys.get(keyId);
+
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown token signing key ID: " + keyId);
+        }
+
+        if (!key.getAlgorithm().getId().equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException(
+                    "Token algorithm " + header.getAlgorithm() + " does not match signing key " + key.getKeyId()
+            );
+        }
+
+        return key.getPublicKey();
+
+    }
+
+    private TokenSigningKey requireKey(final String keyId) {
+        final TokenSigningKey key = keys.get(keyId);
+        if (key == null) {
+            throw new IllegalArgumentException("Unknown token signing key ID: " + keyId);
+        }
+        return key;
+    }
+
+    private static TokenSigningKey defaultKey(final TokenConfigurationParameter tokenConfigurationParameter,
+                                              final AuthProperties.Signing signing) {
+        return TokenSigningKey.builder()
+                .keyId(signing.getDefaultKeyId())
+                .algorithm(TokenSignatureAlgorithm.RS256)
+                .publicKey(tokenConfigurationParameter.getPublicKey())
+                .privateKey(tokenConfigurationParameter.getPrivateKey())
+                .build();
+    }
+
+    private static TokenSigningKey toSigningKey(final AuthProperties.SigningKey signingKey) {
+        return TokenSigningKey.builder()
+                .keyId(signingKey.getId())
+                .algorithm(signingKey.getAlgorithm())
+                .publicKey(KeyConverter.convertPublicKey(signingKey.getPublicKey()))
+                .privateKey(signingKey.getPrivateKey() != null
+                        ? KeyConverter.convertPrivateKey(signingKey.getPrivateKey())
+                        : null)
+                .build();
+    }
+
+}
@@ -11,13 +11,17 @@ import com.example.todowithcouchbase.auth.service.LoginService;
 import com.example.todowithcouchbase.auth.service.LogoutService;
 import com.example.todowithcouchbase.auth.service.RefreshTokenService;
 import com.example.todowithcouchbase.auth.service.RegisterService;
+import com.example.todowithcouchbase.auth.service.UserClaimsCacheService;
 import com.example.todowithcouchbase.common.model.dto.response.CustomResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -27,7 +31,8 @@ import org.springframework.web.bind.annotation.RestController;
  * Controller that handles user authentication and authorization operations.
  * This controller provides endpoints for user registration, login, token refreshing, and logout functionality.
  * It delegates the business logic to the appropriate services: {@link RegisterService}, {@link LoginService},
- * {@link RefreshTokenService}, and {@link LogoutService}.
+ * {@link RefreshTokenService}, and {@link LogoutService}, and lets admins drop the cached claims of a user
+ * through {@link UserClaimsCacheService}.
  */
 @RestController
 @RequestMapping("/api/v1/authentication/user")
@@ -44,6 +49,8 @@ public class AuthController {
 
     private final LogoutService logoutService;
 
+    private final UserClaimsCacheService userClaimsCacheService;
+
     private final TokenToTokenResponseMapper tokenToTokenResponseMapper = TokenToTokenResponseMapper.initialize();
 
     /**
@@ -130,4 +137,27 @@ public class AuthController {
         return CustomResponse.SUCCESS;
     }
 
+    /**
+     * Endpoint to drop the cached claims of a user on every instance, so that the next token refresh
+     * reads the user again.
+     *
+     * @param userId The ID of the user whose cached claims are dropped.
+     * @return A {@link CustomResponse} indicating the success of the invalidation.
+     */
+    @Operation(
+            summary = "Invalidate cached user claims",
+            description = "Drops the cached claims of a user used by token refreshes. Accessible by ADMIN only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cached claims successfully invalidated"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden")
+            }
+    )
+    @DeleteMapping("/{userId}/claims-cache")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public CustomResponse<Void> invalidateUserClaims(@PathVariable final String userId) {
+        userClaimsCacheService.invalidate(userId);
+        return CustomResponse.SUCCESS;
+    }
+
 }
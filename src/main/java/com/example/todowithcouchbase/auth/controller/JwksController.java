@@ -0,0 +1,72 @@
+package com.example.todowithcouchbase.auth.controller;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.model.JsonWebKeySet;
+import com.example.todowithcouchbase.auth.service.JsonWebKeySetService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller that publishes the keys tokens are verified with as a JSON Web Key Set.
+ * Gateways and other services fetch the key set to verify tokens themselves and pick the key by the
+ * {@code kid} header of the token. Responses carry a strong {@code ETag} and may be cached publicly for
+ * {@code auth.jwks.max-age}; a request naming the current entity tag gets a 304 without a body.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "JSON Web Key Set", description = "Publishes the public keys tokens are verified with.")
+public class JwksController {
+
+    private static final MediaType JWK_SET_MEDIA_TYPE = MediaType.parseMediaType("application/jwk-set+json");
+
+    private final JsonWebKeySetService jsonWebKeySetService;
+
+    private final AuthProperties authProperties;
+
+    /**
+     * Endpoint to retrieve the JSON Web Key Set.
+     *
+     * @param ifNoneMatch The entity tag of the key set the client already holds, if any.
+     * @return The serialized key set, or a 304 response if the client holds the current one.
+     */
+    @Operation(
+            summary = "Get the JSON Web Key Set",
+            description = "Returns the public keys tokens are verified with, identified by their key ID.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Key set returned"),
+                    @ApiResponse(responseCode = "304", description = "Key set not modified")
+            }
+    )
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<byte[]> getJsonWebKeySet(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+
+        final JsonWebKeySet jsonWebKeySet = jsonWebKeySetService.getJsonWebKeySet();
+        final CacheControl cacheControl = CacheControl.maxAge(authProperties.getJwks().getMaxAge()).cachePublic();
+
+        if (jsonWebKeySet.isMatchedBy(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(jsonWebKeySet.getETag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(jsonWebKeySet.getETag())
+                .cacheControl(cacheControl)
+                .contentType(JWK_SET_MEDIA_TYPE)
+                .body(jsonWebKeySet.getContent());
+
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.example.todowithcouchbase.auth.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+/**
+ * Custom exception thrown when a password cannot be hashed or checked because the password hashing executor
+ * is saturated. This exception extends {@link RuntimeException} and tells the client to retry later.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 4715306528940260154L;
+
+    public static final HttpStatus STATUS = HttpStatus.TOO_MANY_REQUESTS;
+
+    private static final String DEFAULT_MESSAGE = """
+            Too many authentication requests, please try again later!
+            """;
+
+    /**
+     * Constructs a new {@code PasswordHashingUnavailableException} with the default message.
+     */
+    public PasswordHashingUnavailableException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+}
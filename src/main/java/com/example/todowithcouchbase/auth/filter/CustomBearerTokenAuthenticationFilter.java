@@ -1,8 +1,10 @@
 package com.example.todowithcouchbase.auth.filter;
 
 import com.example.todowithcouchbase.auth.model.Token;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.service.InvalidTokenService;
 import com.example.todowithcouchbase.auth.service.TokenService;
+import com.example.todowithcouchbase.auth.service.VerifiedTokenCacheService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,7 +13,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,6 +23,9 @@ import java.io.IOException;
  * Custom filter for handling Bearer token authentication.
  * This filter extracts the Bearer token from the HTTP `Authorization` header, validates the token,
  * checks if it has been invalidated, and sets the authentication in the {@link SecurityContextHolder}.
+ * Tokens are resolved through {@link VerifiedTokenCacheService}, so a token's signature is verified only the first
+ * time it is seen. Revocation is checked and the authentication is built from the {@link VerifiedToken} on every
+ * request, so no two requests share the same mutable authentication.
  * Extends {@link OncePerRequestFilter} to ensure the filter is executed only once per request.
  */
 @Slf4j
@@ -29,8 +33,9 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class CustomBearerTokenAuthenticationFilter extends OncePerRequestFilter {
 
-    private final TokenService tokenService;
+    private final VerifiedTokenCacheService verifiedTokenCacheService;
     private final InvalidTokenService invalidTokenService;
+    private final TokenService tokenService;
 
     /**
      * Performs filtering logic for each HTTP request to validate Bearer tokens.
@@ -54,16 +59,11 @@ public class CustomBearerTokenAuthenticationFilter extends OncePerRequestFilter
 
             final String jwt = Token.getJwt(authorizationHeader);
 
-            tokenService.verifyAndValidate(jwt);
-
-            final String tokenId = tokenService.getId(jwt);
-
-            invalidTokenService.checkForInvalidityOfToken(tokenId);
+            final VerifiedToken verifiedToken = verifiedTokenCacheService.verify(jwt);
 
-            final UsernamePasswordAuthenticationToken authentication = tokenService
-                    .getAuthentication(jwt);
+            invalidTokenService.checkForInvalidityOfToken(verifiedToken.getId());
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            SecurityContextHolder.getContext().setAuthentication(tokenService.getAuthentication(verifiedToken));
 
         }
 
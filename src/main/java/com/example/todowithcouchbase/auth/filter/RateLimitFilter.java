@@ -0,0 +1,219 @@
+package com.example.todowithcouchbase.auth.filter;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.model.Token;
+import com.example.todowithcouchbase.auth.model.enums.RateLimitKey;
+import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
+import com.example.todowithcouchbase.auth.service.VerifiedTokenCacheService;
+import com.example.todowithcouchbase.common.model.CustomError;
+import com.example.todowithcouchbase.common.util.TokenBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.text.DateFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Filter that admits requests through per-key {@link TokenBucket}s before any authentication work is done.
+ * Each request is counted against the first route of {@code auth.rate-limit.routes} matching its path, or the
+ * default route, either per client IP or per user. The user of a request is taken from its bearer token only when
+ * {@link VerifiedTokenCacheService} has already verified that token, so a forged token cannot spend the budget of
+ * another user; until then the request is counted per client IP.
+ * The client IP is {@link HttpServletRequest#getRemoteAddr()}. By default that is the address of the peer
+ * connection and {@code X-Forwarded-For} is ignored. With {@code server.forward-headers-strategy: native}, Tomcat's
+ * {@code RemoteIpValve} takes it from {@code X-Forwarded-For} on requests from the addresses matching
+ * {@code server.tomcat.remoteip.internal-proxies}, which is empty unless configured. It must match the ingress
+ * alone: any other trusted address lets its clients pick a new key, and so a new budget, on every request.
+ * Rejected requests get a 429 response with a {@code Retry-After} header without reaching the database.
+ * Decisions are counted under {@code rate.limit.requests}, tagged with the route pattern and the result.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String COUNTER_NAME = "rate.limit.requests";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    static {
+        OBJECT_MAPPER.registerModule(new JavaTimeModule());
+    }
+
+    private final VerifiedTokenCacheService verifiedTokenCacheService;
+    private final boolean enabled;
+    private final List<Route> routes;
+    private final Route defaultRoute;
+    private final Cache<String, TokenBucket> buckets;
+
+    /**
+     * Creates the filter with the routes configured in the given {@link AuthProperties} and registers its counters.
+     *
+     * @param authProperties The authentication settings holding the rate limits.
+     * @param verifiedTokenCacheService The cache of verified tokens the user of a request is looked up in.
+     * @param meterRegistry The registry the rate limiting counters are published to.
+     */
+    public RateLimitFilter(final AuthProperties authProperties,
+                           final VerifiedTokenCacheService verifiedTokenCacheService,
+                           final MeterRegistry meterRegistry) {
+
+        final AuthProperties.RateLimit rateLimit = authProperties.getRateLimit();
+
+        this.verifiedTokenCacheService = verifiedTokenCacheService;
+        this.enabled = rateLimit.isEnabled();
+
+        final List<AuthProperties.RateLimitRoute> configuredRoutes = rateLimit.getRoutes();
+        this.routes = IntStream.range(0, configuredRoutes.size())
+                .mapToObj(index -> new Route(index, configuredRoutes.get(index), meterRegistry))
+                .toList();
+        this.defaultRoute = new Route(configuredRoutes.size(), rateLimit.getDefaultRoute(), meterRegistry);
+
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(rateLimit.getMaximumKeys())
+                .expireAfterAccess(rateLimit.getIdleTimeout())
+                .build();
+
+    }
+
+    /**
+     * Takes a token from the bucket of the request and either passes the request on or rejects it.
+     *
+     * @param httpServletRequest  the current HTTP request.
+     * @param httpServletResponse the current HTTP response.
+     * @param filterChain         the filter chain to delegate further request processing.
+     * @throws ServletException if an error occurs during request processing.
+     * @throws IOException      if an input or output error occurs during request processing.
+     */
+    @Override
+    protected void doFilterInternal(@NonNull final HttpServletRequest httpServletRequest,
+                                    @NonNull final HttpServletResponse httpServletResponse,
+                                    @NonNull final FilterChain filterChain) throws ServletException, IOException {
+
+        if (!enabled) {
+            filterChain.doFilter(httpServletRequest, httpServletResponse);
+            return;
+        }
+
+        final Route route = this.resolveRoute(httpServletRequest);
+        final String bucketKey = route.index + ":" + this.resolveKey(route, httpServletRequest);
+
+        final long waitNanos = buckets.get(bucketKey, key -> route.newBucket())
+                .tryAcquire(System.nanoTime());
+
+        if (waitNanos > 0) {
+            route.rejected.increment();
+            this.reject(httpServletResponse, waitNanos);
+            return;
+        }
+
+        route.allowed.increment();
+        filterChain.doFilter(httpServletRequest, httpServletResponse);
+
+    }
+
+    private Route resolveRoute(final HttpServletRequest httpServletRequest) {
+        final PathContainer path = PathContainer.parsePath(httpServletRequest.getRequestURI());
+        for (final Route route : routes) {
+            if (route.pattern.matches(path)) {
+                return route;
+            }
+        }
+        return defaultRoute;
+    }
+
+    private String resolveKey(final Route route, final HttpServletRequest httpServletRequest) {
+
+        if (route.key == RateLimitKey.PRINCIPAL) {
+            final String authorizationHeader = httpServletRequest.getHeader(HttpHeaders.AUTHORIZATION);
+            if (Token.isBearerToken(authorizationHeader)) {
+                final Object userId = verifiedTokenCacheService.getIfPresent(Token.getJwt(authorizationHeader))
+                        .map(verifiedToken -> verifiedToken.getClaims().get(TokenClaims.USER_ID.getValue()))
+                        .orElse(null);
+                if (userId != null) {
+                    return "user:" + userId;
+                }
+            }
+        }
+
+        return "ip:" + httpServletRequest.getRemoteAddr();
+
+    }
+
+    private void reject(final HttpServletResponse httpServletResponse, final long waitNanos) throws IOException {
+
+        final long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1;
+
+        httpServletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        httpServletResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        httpServletResponse.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        final CustomError customError = CustomError.builder()
+                .header(CustomError.Header.PROCESS_ERROR.getName())
+                .httpStatus(HttpStatus.TOO_MANY_REQUESTS)
+                .message("Too many requests, retry later")
+                .isSuccess(false)
+                .build();
+
+        final String responseBody = OBJECT_MAPPER
+                .writer(DateFormat.getDateInstance())
+                .writeValueAsString(customError);
+
+        httpServletResponse.getOutputStream()
+                .write(responseBody.getBytes());
+
+    }
+
+    /**
+     * One configured route with its parsed pattern and its counters.
+     */
+    private static final class Route {
+
+        private final int index;
+        private final PathPattern pattern;
+        private final RateLimitKey key;
+        private final long capacity;
+        private final double refillPerSecond;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        private Route(final int index, final AuthProperties.RateLimitRoute route, final MeterRegistry meterRegistry) {
+            this.index = index;
+            this.pattern = PathPatternParser.defaultInstance.parse(route.getPattern());
+            this.key = route.getKey();
+            this.capacity = route.getCapacity();
+            this.refillPerSecond = route.getRefillPerSecond();
+            this.allowed = Counter.builder(COUNTER_NAME)
+                    .tag("route", route.getPattern())
+                    .tag("result", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder(COUNTER_NAME)
+                    .tag("route", route.getPattern())
+                    .tag("result", "rejected")
+                    .register(meterRegistry);
+        }
+
+        private TokenBucket newBucket() {
+            return new TokenBucket(capacity, refillPerSecond);
+        }
+
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.example.todowithcouchbase.auth.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Represents the serialized JSON Web Key Set of the token verification keys together with its strong entity tag.
+ * The content is written once and shared by all requests, so it must not be modified.
+ */
+@Getter
+@RequiredArgsConstructor
+public class JsonWebKeySet {
+
+    private final byte[] content;
+    private final String eTag;
+
+    /**
+     * Returns whether the given {@code If-None-Match} header value names this key set,
+     * in which case the client already holds the current content.
+     *
+     * @param ifNoneMatch The value of the {@code If-None-Match} header, may be {@code null}.
+     * @return {@code true} if the header matches the entity tag of this key set.
+     */
+    public boolean isMatchedBy(final String ifNoneMatch) {
+
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+
+    }
+
+}
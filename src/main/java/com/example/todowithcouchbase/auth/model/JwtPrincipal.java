@@ -0,0 +1,84 @@
+package com.example.todowithcouchbase.auth.model;
+
+import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.oauth2.core.ClaimAccessor;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Represents the principal of a request authenticated with a bearer token.
+ * Claims are read straight from the verified token; the Spring {@link Jwt} view of the token, with its
+ * header map and copied claims, is only built the first time {@link #getJwt()} is called.
+ */
+public final class JwtPrincipal implements ClaimAccessor, Principal {
+
+    private final VerifiedToken verifiedToken;
+
+    private volatile Jwt jwt;
+
+    /**
+     * Creates the principal of the given verified token.
+     *
+     * @param verifiedToken The verified bearer token.
+     */
+    public JwtPrincipal(final VerifiedToken verifiedToken) {
+        this.verifiedToken = verifiedToken;
+    }
+
+    /**
+     * Returns the claims of the token.
+     *
+     * @return The verified claims.
+     */
+    @Override
+    public Map<String, Object> getClaims() {
+        return verifiedToken.getClaims();
+    }
+
+    /**
+     * Returns the ID of the user the token was issued to.
+     *
+     * @return The user ID claim.
+     */
+    @Override
+    public String getName() {
+        return this.getClaimAsString(TokenClaims.USER_ID.getValue());
+    }
+
+    /**
+     * Returns the raw token.
+     *
+     * @return The compact JWT.
+     */
+    public String getTokenValue() {
+        return verifiedToken.getToken();
+    }
+
+    /**
+     * Returns the Spring {@link Jwt} view of the token, building it on first use.
+     *
+     * @return The {@link Jwt} of the token.
+     */
+    public Jwt getJwt() {
+        Jwt result = jwt;
+        if (result == null) {
+            final Claims claims = verifiedToken.getClaims();
+            result = new Jwt(
+                    verifiedToken.getToken(),
+                    claims.getIssuedAt().toInstant(),
+                    claims.getExpiration().toInstant(),
+                    Map.of(
+                            TokenClaims.TYP.getValue(), verifiedToken.getHeader().getType(),
+                            TokenClaims.ALGORITHM.getValue(), verifiedToken.getHeader().getAlgorithm()
+                    ),
+                    claims
+            );
+            jwt = result;
+        }
+        return result;
+    }
+
+}
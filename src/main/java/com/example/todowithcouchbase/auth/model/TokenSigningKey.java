@@ -0,0 +1,33 @@
+package com.example.todowithcouchbase.auth.model;
+
+import com.example.todowithcouchbase.auth.model.enums.TokenSignatureAlgorithm;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * Represents one key of the token key ring, identified by the {@code kid} written to the header of the
+ * tokens it signs. A key without a private key can only verify tokens, which is how retired keys are kept
+ * until the tokens they signed have expired.
+ */
+@Getter
+@Builder
+public class TokenSigningKey {
+
+    private final String keyId;
+    private final TokenSignatureAlgorithm algorithm;
+    private final PublicKey publicKey;
+    private final PrivateKey privateKey;
+
+    /**
+     * Returns whether this key can sign new tokens.
+     *
+     * @return {@code true} if the key has a private key.
+     */
+    public boolean canSign() {
+        return privateKey != null;
+    }
+
+}
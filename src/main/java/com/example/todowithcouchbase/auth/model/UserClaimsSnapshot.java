@@ -0,0 +1,38 @@
+package com.example.todowithcouchbase.auth.model;
+
+import com.example.todowithcouchbase.auth.model.entity.UserEntity;
+import com.example.todowithcouchbase.auth.model.enums.UserStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents the part of a user that token refreshes need: the claims written into new access tokens
+ * and the status the user must have to be issued one. Snapshots are immutable and shared between requests.
+ */
+@Getter
+@Builder
+public class UserClaimsSnapshot {
+
+    private final String userId;
+    private final UserStatus userStatus;
+    private final Map<String, Object> claims;
+
+    /**
+     * Creates the snapshot of the given user.
+     *
+     * @param userEntity The user to take the snapshot of.
+     * @return The {@link UserClaimsSnapshot} of the user.
+     */
+    public static UserClaimsSnapshot of(final UserEntity userEntity) {
+        return UserClaimsSnapshot.builder()
+                .userId(userEntity.getId())
+                .userStatus(userEntity.getUserStatus())
+                .claims(Collections.unmodifiableMap(new HashMap<>(userEntity.getClaims())))
+                .build();
+    }
+
+}
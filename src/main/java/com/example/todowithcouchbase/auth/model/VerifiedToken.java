@@ -0,0 +1,30 @@
+package com.example.todowithcouchbase.auth.model;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Represents a JWT whose signature and expiration have already been verified.
+ * Instances are produced once per token by the token service and then shared by every step that needs the
+ * token contents (revocation check, authentication building), so the token is parsed and verified only once.
+ */
+@Getter
+@Builder
+public class VerifiedToken {
+
+    private final String token;
+    private final JwsHeader header;
+    private final Claims claims;
+
+    /**
+     * Returns the unique identifier ({@code jti}) of the verified token.
+     *
+     * @return The token ID.
+     */
+    public String getId() {
+        return claims.getId();
+    }
+
+}
@@ -1,20 +1,29 @@
 package com.example.todowithcouchbase.auth.model.entity;
 
+import com.example.todowithcouchbase.common.index.SecondaryIndexed;
 import com.example.todowithcouchbase.common.model.entity.BaseEntity;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.couchbase.core.mapping.Document;
 import org.springframework.data.couchbase.core.mapping.Field;
-import org.springframework.data.couchbase.core.mapping.id.GeneratedValue;
-import org.springframework.data.couchbase.core.mapping.id.GenerationStrategy;
 import org.springframework.data.couchbase.repository.Collection;
 import org.springframework.data.couchbase.repository.Scope;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 /**
  * Represents an entity that stores information about invalidated tokens.
  * This class is used to store a record of tokens that have been invalidated
  * in a MongoDB collection. Each invalid token is identified by a unique token ID.
+ * The token ID ({@code jti}) is also the document key, so a revocation check is a single key-value lookup.
+ * Records written before the token ID became the key carry a generated UUID key; they are rekeyed at startup.
+ * Each record is written with a document expiry at {@code expiresAt}, the moment the revoked token would have
+ * expired anyway, so Couchbase purges it once it no longer matters.
  * This entity extends from {@link BaseEntity}, inheriting common fields such as
  * created and updated timestamps.
  */
@@ -31,10 +40,41 @@ public class InvalidTokenEntity extends BaseEntity {
 
     @Id
     @Field(name = "ID")
-    @GeneratedValue(strategy = GenerationStrategy.UNIQUE)
     private String id;
 
     @Field(name = "TOKEN_ID")
+    @SecondaryIndexed
     private String tokenId;
 
+    @Transient
+    private Instant expiresAt;
+
+    /**
+     * Creates the revocation record of the given token, keyed by the token ID.
+     *
+     * @param tokenId The ID ({@code jti}) of the revoked token.
+     * @param expiresAt The moment the revoked token expires, used as the document expiry.
+     * @return The {@link InvalidTokenEntity} to save.
+     */
+    public static InvalidTokenEntity of(final String tokenId, final Instant expiresAt) {
+        return InvalidTokenEntity.builder()
+                .id(tokenId)
+                .tokenId(tokenId)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    /**
+     * Estimates when the revoked token expires for a record that was saved without its expiration,
+     * as the moment the record was created plus the longest token lifetime.
+     * A record without a creation date is treated as created now.
+     *
+     * @param maximumTokenLifetime The lifetime of the longest-lived token, the refresh token.
+     * @return The latest moment the revoked token can expire.
+     */
+    public Instant estimateExpiresAt(final Duration maximumTokenLifetime) {
+        final LocalDateTime createdAt = this.getCreatedAt() != null ? this.getCreatedAt() : LocalDateTime.now();
+        return createdAt.atZone(ZoneId.systemDefault()).toInstant().plus(maximumTokenLifetime);
+    }
+
 }
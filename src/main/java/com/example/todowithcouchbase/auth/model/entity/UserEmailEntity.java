@@ -0,0 +1,102 @@
+package com.example.todowithcouchbase.auth.model.entity;
+
+import com.example.todowithcouchbase.common.reservation.KeyReservation;
+import com.example.todowithcouchbase.common.util.DocumentKeyUtil;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.couchbase.core.mapping.Document;
+import org.springframework.data.couchbase.core.mapping.Field;
+import org.springframework.data.couchbase.repository.Collection;
+import org.springframework.data.couchbase.repository.Scope;
+
+import java.time.Instant;
+
+/**
+ * Represents the lookup document that maps an email address to the ID of the user registered with it.
+ * The document key is derived from the email, so finding a user by email is a key-value get of this document
+ * followed by a key-value get of the user, and reserving an email for a new user is a single insert that
+ * fails if the email is already taken.
+ * The documents live in the user collection next to the {@link UserEntity} they point to; their keys carry
+ * the {@value #KEY_PREFIX} prefix, or the {@value #DIGEST_KEY_PREFIX} prefix for emails too long to fit into
+ * a key, and never clash with the generated user IDs.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+@Scope("user-scope")
+@Collection("user-collection")
+public class UserEmailEntity implements KeyReservation {
+
+    public static final String KEY_PREFIX = "email::";
+    public static final String DIGEST_KEY_PREFIX = "email-digest::";
+
+    @Id
+    @Field(name = "ID")
+    private String id;
+
+    @Field(name = "EMAIL")
+    private String email;
+
+    @Field(name = "USER_ID")
+    private String userId;
+
+    @Field(name = "RESERVED_AT")
+    private Instant reservedAt;
+
+    @Version
+    private long version;
+
+    /**
+     * Creates the lookup document reserving the given email for the given user.
+     *
+     * @param email The email address to reserve.
+     * @param userId The ID of the user the email belongs to.
+     * @return The lookup document.
+     */
+    public static UserEmailEntity of(final String email, final String userId) {
+        return UserEmailEntity.builder()
+                .id(keyOf(email))
+                .email(email)
+                .userId(userId)
+                .reservedAt(Instant.now())
+                .build();
+    }
+
+    /**
+     * Returns the document key of the lookup document of the given email.
+     *
+     * @param email The email address.
+     * @return The document key.
+     * @see DocumentKeyUtil#keyOf(String, String, String)
+     */
+    public static String keyOf(final String email) {
+        return DocumentKeyUtil.keyOf(KEY_PREFIX, DIGEST_KEY_PREFIX, email);
+    }
+
+    /**
+     * Returns the ID of the user the lookup document points to.
+     *
+     * @return The user ID.
+     */
+    @Override
+    public String ownerId() {
+        return userId;
+    }
+
+    /**
+     * Points the lookup document at the given user.
+     *
+     * @param ownerId The ID of the user.
+     * @param reservedAt The moment the email is reserved for the user.
+     */
+    @Override
+    public void reassign(final String ownerId, final Instant reservedAt) {
+        this.userId = ownerId;
+        this.reservedAt = reservedAt;
+    }
+
+}
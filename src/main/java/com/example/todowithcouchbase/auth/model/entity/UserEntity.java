@@ -3,6 +3,7 @@ package com.example.todowithcouchbase.auth.model.entity;
 import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
 import com.example.todowithcouchbase.auth.model.enums.UserStatus;
 import com.example.todowithcouchbase.auth.model.enums.UserType;
+import com.example.todowithcouchbase.common.index.SecondaryIndexed;
 import com.example.todowithcouchbase.common.model.entity.BaseEntity;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -43,6 +44,7 @@ public class UserEntity extends BaseEntity {
     private String id;
 
     @Field(name = "EMAIL")
+    @SecondaryIndexed
     private String email;
 
     @Field(name = "PASSWORD")
@@ -0,0 +1,18 @@
+package com.example.todowithcouchbase.auth.model.enums;
+
+/**
+ * Enum representing what a rate limited route counts requests by.
+ */
+public enum RateLimitKey {
+
+    /**
+     * Requests are counted per authenticated user, and per client IP while the user is not known yet.
+     */
+    PRINCIPAL,
+
+    /**
+     * Requests are counted per client IP.
+     */
+    CLIENT_IP
+
+}
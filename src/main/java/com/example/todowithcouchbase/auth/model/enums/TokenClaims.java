@@ -24,6 +24,7 @@ public enum TokenClaims {
     ISSUED_AT("iat"),
     EXPIRES_AT("exp"),
     ALGORITHM("alg"),
+    KEY_ID("kid"),
     TYP("typ");
 
     private final String value;
@@ -0,0 +1,40 @@
+package com.example.todowithcouchbase.auth.model.enums;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.KeyPairBuilderSupplier;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.security.KeyPair;
+
+/**
+ * Enum representing the JWS algorithms tokens can be signed with.
+ * Each constant pairs the JOSE algorithm identifier written to the {@code alg} header with the signature
+ * algorithm implementation, the key type it expects and the name of the matching JCA {@link java.security.Signature}.
+ * EdDSA keys are Ed25519 keys, and ES256 signatures are written in the fixed-length R || S form JWS requires.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TokenSignatureAlgorithm {
+
+    RS256("RS256", Jwts.SIG.RS256, Jwts.SIG.RS256, "SHA256withRSA"),
+    ES256("ES256", Jwts.SIG.ES256, Jwts.SIG.ES256, "SHA256withECDSAinP1363Format"),
+    EDDSA("EdDSA", Jwts.SIG.EdDSA, Jwks.CRV.Ed25519, "Ed25519");
+
+    private final String id;
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final KeyPairBuilderSupplier keyPairBuilderSupplier;
+    private final String jcaName;
+
+    /**
+     * Generates a new key pair suitable for this algorithm.
+     *
+     * @return A new {@link KeyPair}.
+     */
+    public KeyPair generateKeyPair() {
+        return keyPairBuilderSupplier.keyPair().build();
+    }
+
+}
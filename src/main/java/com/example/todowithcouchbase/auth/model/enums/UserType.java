@@ -1,10 +1,49 @@
 package com.example.todowithcouchbase.auth.model.enums;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
 /**
  * Enum representing the different types of users in the system.
  * This is used to differentiate between regular users and administrative users.
+ * Each type carries the immutable authorities granted to its users, built once and shared by every request.
  */
 public enum UserType {
     USER,
-    ADMIN
+    ADMIN;
+
+    private static final UserType[] VALUES = values();
+
+    private final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(name()));
+
+    /**
+     * Returns the authorities granted to users of this type.
+     *
+     * @return The immutable list of authorities.
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Resolves the user type written into a token claim.
+     *
+     * @param value The claim value, either a {@link UserType} or its name.
+     * @return The matching {@link UserType}.
+     * @throws IllegalArgumentException If the value names no user type.
+     */
+    public static UserType of(final Object value) {
+        if (value instanceof UserType userType) {
+            return userType;
+        }
+        for (final UserType userType : VALUES) {
+            if (userType.name().equals(value)) {
+                return userType;
+            }
+        }
+        throw new IllegalArgumentException("Unknown user type: " + value);
+    }
+
 }
@@ -1,8 +1,12 @@
 package com.example.todowithcouchbase.auth.repository;
 
+import com.couchbase.client.java.query.QueryScanConsistency;
 import com.example.todowithcouchbase.auth.model.entity.InvalidTokenEntity;
 import org.springframework.data.couchbase.repository.CouchbaseRepository;
+import org.springframework.data.couchbase.repository.Query;
+import org.springframework.data.couchbase.repository.ScanConsistency;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -10,15 +14,30 @@ import java.util.Optional;
  * This interface extends {@link CouchbaseRepository} to provide CRUD operations for the {@link InvalidTokenEntity}.
  * It also includes custom query methods to interact with the data store.
  */
-public interface InvalidTokenRepository extends CouchbaseRepository<InvalidTokenEntity, String> {
+public interface InvalidTokenRepository extends CouchbaseRepository<InvalidTokenEntity, String>,
+        InvalidTokenRepositoryCustom {
 
     /**
      * Finds an {@link InvalidTokenEntity} by its token ID.
      * This method is used to retrieve an invalid token entity based on the unique token ID.
+     * It runs a N1QL query and is only needed for records still keyed by a generated UUID;
+     * records keyed by the token ID are looked up with {@link #existsById(Object)}.
      *
      * @param tokenId The unique ID of the token to search for.
      * @return An {@link Optional} containing the {@link InvalidTokenEntity} if found, or {@link Optional#empty()} if not found.
      */
     Optional<InvalidTokenEntity> findByTokenId(final String tokenId);
 
+    /**
+     * Finds up to {@code limit} {@link InvalidTokenEntity} documents that were written without a document expiry.
+     * The query waits for the index to catch up with earlier writes, so records already given an expiry
+     * by a previous batch are not returned again.
+     *
+     * @param limit The maximum number of records to return.
+     * @return A list of {@link InvalidTokenEntity} without a document expiry.
+     */
+    @ScanConsistency(query = QueryScanConsistency.REQUEST_PLUS)
+    @Query("#{#n1ql.selectEntity} WHERE #{#n1ql.filter} AND META().expiration = 0 LIMIT $1")
+    List<InvalidTokenEntity> findAllWithoutExpiration(final int limit);
+
 }
@@ -0,0 +1,20 @@
+package com.example.todowithcouchbase.auth.repository;
+
+import com.example.todowithcouchbase.auth.model.entity.InvalidTokenEntity;
+
+import java.util.Collection;
+
+/**
+ * Custom repository operations for {@link InvalidTokenEntity} that the derived repository methods cannot express.
+ */
+public interface InvalidTokenRepositoryCustom {
+
+    /**
+     * Saves the given {@link InvalidTokenEntity} objects, each with a document expiry at its {@code expiresAt}.
+     * The writes are issued concurrently and the method returns once all of them have completed.
+     *
+     * @param invalidTokenEntities The revocation records to save.
+     */
+    void saveAllWithExpiry(final Collection<InvalidTokenEntity> invalidTokenEntities);
+
+}
@@ -0,0 +1,59 @@
+package com.example.todowithcouchbase.auth.repository;
+
+import com.example.todowithcouchbase.auth.model.entity.InvalidTokenEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.couchbase.core.CouchbaseTemplate;
+import org.springframework.data.couchbase.core.ReactiveCouchbaseTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Implementation of {@link InvalidTokenRepositoryCustom} on top of {@link CouchbaseTemplate}.
+ * Spring Data Couchbase does not apply a per-document expiry on repository saves,
+ * so the records are upserted through the template with an explicit expiry instead.
+ */
+@RequiredArgsConstructor
+public class InvalidTokenRepositoryCustomImpl implements InvalidTokenRepositoryCustom {
+
+    private static final Duration MINIMUM_EXPIRY = Duration.ofSeconds(1);
+
+    private final CouchbaseTemplate couchbaseTemplate;
+
+    /**
+     * Upserts every record with a document expiry equal to the time left until its {@code expiresAt},
+     * at least one second so that a record is never written without an expiry.
+     *
+     * @param invalidTokenEntities The revocation records to save.
+     */
+    @Override
+    public void saveAllWithExpiry(final Collection<InvalidTokenEntity> invalidTokenEntities) {
+
+        final ReactiveCouchbaseTemplate reactiveCouchbaseTemplate = couchbaseTemplate.reactive();
+
+        Flux.fromIterable(invalidTokenEntities)
+                .flatMap(invalidTokenEntity -> reactiveCouchbaseTemplate
+                        .upsertById(InvalidTokenEntity.class)
+                        .withExpiry(timeToExpiry(invalidTokenEntity.getExpiresAt()))
+                        .one(invalidTokenEntity)
+                )
+                .blockLast();
+
+    }
+
+    /**
+     * Computes the document expiry for a record expiring at the given moment.
+     * Couchbase expiries have second precision, so the time left is rounded up to never expire a record early.
+     *
+     * @param expiresAt The moment the record should expire.
+     * @return The time left until then, at least {@link #MINIMUM_EXPIRY}.
+     */
+    private static Duration timeToExpiry(final Instant expiresAt) {
+        final long remainingMillis = Duration.between(Instant.now(), expiresAt).toMillis();
+        final Duration remaining = Duration.ofSeconds(Math.ceilDiv(remainingMillis, 1000L));
+        return remaining.compareTo(MINIMUM_EXPIRY) < 0 ? MINIMUM_EXPIRY : remaining;
+    }
+
+}
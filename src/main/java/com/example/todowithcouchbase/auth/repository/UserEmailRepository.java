@@ -0,0 +1,12 @@
+package com.example.todowithcouchbase.auth.repository;
+
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import com.example.todowithcouchbase.common.reservation.KeyReservationRepository;
+
+/**
+ * Repository interface for managing {@link UserEmailEntity} lookup documents in Couchbase.
+ * Every operation is a key-value operation on the document key derived from the email.
+ */
+public interface UserEmailRepository extends KeyReservationRepository<UserEmailEntity>, UserEmailRepositoryCustom {
+
+}
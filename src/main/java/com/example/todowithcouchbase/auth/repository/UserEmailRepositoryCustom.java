@@ -0,0 +1,11 @@
+package com.example.todowithcouchbase.auth.repository;
+
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import com.example.todowithcouchbase.common.reservation.KeyReservationRepositoryCustom;
+
+/**
+ * Custom repository operations for {@link UserEmailEntity} that the derived repository methods cannot express.
+ */
+public interface UserEmailRepositoryCustom extends KeyReservationRepositoryCustom<UserEmailEntity> {
+
+}
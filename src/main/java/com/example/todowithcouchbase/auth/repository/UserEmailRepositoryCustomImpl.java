@@ -0,0 +1,22 @@
+package com.example.todowithcouchbase.auth.repository;
+
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import com.example.todowithcouchbase.common.reservation.KeyReservationRepositoryCustomSupport;
+import org.springframework.data.couchbase.core.CouchbaseTemplate;
+
+/**
+ * Implementation of {@link UserEmailRepositoryCustom} on top of {@link CouchbaseTemplate}.
+ */
+public class UserEmailRepositoryCustomImpl extends KeyReservationRepositoryCustomSupport<UserEmailEntity>
+        implements UserEmailRepositoryCustom {
+
+    /**
+     * Creates the repository fragment inserting {@link UserEmailEntity} lookup documents through the given template.
+     *
+     * @param couchbaseTemplate The template the lookup documents are inserted with.
+     */
+    public UserEmailRepositoryCustomImpl(final CouchbaseTemplate couchbaseTemplate) {
+        super(couchbaseTemplate, UserEmailEntity.class);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.example.todowithcouchbase.auth.service;
+
+/**
+ * Service interface for the one-off backfill of document expiries on revocation records.
+ * Records saved before revocations expired with their tokens live forever; this service gives each of them
+ * an expiry, or deletes it when the token it revoked has already expired.
+ */
+public interface InvalidTokenExpiryBackfillService {
+
+    /**
+     * Applies a document expiry to every revocation record without one and deletes the records
+     * whose token has already expired. Records are processed in batches until none is left.
+     */
+    void backfill();
+
+}
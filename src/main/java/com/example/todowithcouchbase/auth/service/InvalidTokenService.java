@@ -1,5 +1,7 @@
 package com.example.todowithcouchbase.auth.service;
 
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+
 import java.util.Set;
 
 /**
@@ -10,13 +12,14 @@ import java.util.Set;
 public interface InvalidTokenService {
 
     /**
-     * Invalidates the tokens with the given token IDs.
+     * Invalidates the given verified tokens.
      * This method marks the tokens as invalid, making them unusable for authentication or authorization.
      * It can be used to invalidate tokens that have been revoked or are no longer valid.
+     * The revocation of each token is kept only until the token itself expires.
      *
-     * @param tokenIds A set of token IDs to invalidate.
+     * @param verifiedTokens A set of verified tokens to invalidate.
      */
-    void invalidateTokens(final Set<String> tokenIds);
+    void invalidateTokens(final Set<VerifiedToken> verifiedTokens);
 
     /**
      * Checks if the given token ID is invalidated.
@@ -27,4 +30,13 @@ public interface InvalidTokenService {
      */
     void checkForInvalidityOfToken(final String tokenId);
 
+    /**
+     * Checks if any of the given token IDs is invalidated.
+     * The tokens that need a database lookup are looked up together in one batched request.
+     *
+     * @param tokenIds The token IDs to check for invalidity.
+     * @throws com.example.todowithcouchbase.auth.exception.TokenAlreadyInvalidatedException If any of the tokens is invalidated.
+     */
+    void checkForInvalidityOfTokens(final Set<String> tokenIds);
+
 }
@@ -0,0 +1,18 @@
+package com.example.todowithcouchbase.auth.service;
+
+import com.example.todowithcouchbase.auth.model.JsonWebKeySet;
+
+/**
+ * Service interface for publishing the public keys tokens are verified with as a JSON Web Key Set,
+ * so that gateways and other services can verify tokens themselves.
+ */
+public interface JsonWebKeySetService {
+
+    /**
+     * Returns the serialized key set of all verification keys.
+     *
+     * @return The {@link JsonWebKeySet}.
+     */
+    JsonWebKeySet getJsonWebKeySet();
+
+}
@@ -0,0 +1,29 @@
+package com.example.todowithcouchbase.auth.service;
+
+/**
+ * Service interface for hashing passwords and checking passwords against stored hashes.
+ * Hashing is deliberately slow, so implementations run it apart from the request threads
+ * and refuse work they cannot take on.
+ */
+public interface PasswordHashingService {
+
+    /**
+     * Hashes the given raw password.
+     *
+     * @param rawPassword The password to hash.
+     * @return The encoded password hash.
+     * @throws com.example.todowithcouchbase.auth.exception.PasswordHashingUnavailableException If the work is rejected.
+     */
+    String encode(final String rawPassword);
+
+    /**
+     * Checks whether the given raw password matches the stored hash.
+     *
+     * @param rawPassword The password to check.
+     * @param encodedPassword The stored password hash.
+     * @return {@code true} if the password matches.
+     * @throws com.example.todowithcouchbase.auth.exception.PasswordHashingUnavailableException If the work is rejected.
+     */
+    boolean matches(final String rawPassword, final String encodedPassword);
+
+}
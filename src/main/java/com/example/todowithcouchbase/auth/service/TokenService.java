@@ -1,6 +1,7 @@
 package com.example.todowithcouchbase.auth.service;
 
 import com.example.todowithcouchbase.auth.model.Token;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -36,6 +37,16 @@ public interface TokenService {
      */
     Token generateToken(final Map<String, Object> claims, final String refreshToken);
 
+    /**
+     * Generates a new access token based on the provided claims for an already verified refresh token.
+     * The refresh token is checked for revocation but its signature is not verified again.
+     *
+     * @param claims The claims to be included in the JWT token.
+     * @param refreshToken The verified refresh token to include in the generated JWT token.
+     * @return A {@link Token} object containing the generated JWT token.
+     */
+    Token generateToken(final Map<String, Object> claims, final VerifiedToken refreshToken);
+
     /**
      * Extracts the authentication information from the provided JWT token.
      * This method parses the JWT token and returns an {@link UsernamePasswordAuthenticationToken} containing the user authentication information.
@@ -46,6 +57,27 @@ public interface TokenService {
      */
     UsernamePasswordAuthenticationToken getAuthentication(final String token);
 
+    /**
+     * Builds the authentication information from an already verified JWT token.
+     * This method does not parse or verify the token again, which makes it suitable for the request filter
+     * where the token has just been verified by {@link #verify(String)}.
+     *
+     * @param verifiedToken The verified JWT token to extract the authentication information from.
+     * @return A {@link UsernamePasswordAuthenticationToken} containing the extracted authentication information.
+     */
+    UsernamePasswordAuthenticationToken getAuthentication(final VerifiedToken verifiedToken);
+
+    /**
+     * Parses and verifies the provided JWT token exactly once.
+     * The returned {@link VerifiedToken} carries the header and claims of the token so that callers
+     * can read the token ID and build the authentication without parsing the token again.
+     *
+     * @param jwt The JWT token to verify.
+     * @return A {@link VerifiedToken} holding the verified header and claims.
+     * @throws SecurityException If the token is invalid or cannot be verified.
+     */
+    VerifiedToken verify(final String jwt);
+
     /**
      * Verifies the validity of the provided JWT token.
      * This method checks if the provided JWT token is valid, including verifying its signature, expiration, and other factors.
@@ -0,0 +1,29 @@
+package com.example.todowithcouchbase.auth.service;
+
+import com.example.todowithcouchbase.auth.model.UserClaimsSnapshot;
+
+/**
+ * Service interface for resolving the claims of users through a short-lived cache.
+ * Refreshing a token needs the current claims and status of its user; a user seen recently is served from memory
+ * instead of being read from the user collection again. Entries are invalidated on every instance when the user
+ * is saved.
+ */
+public interface UserClaimsCacheService {
+
+    /**
+     * Returns the claims snapshot of the user with the given ID, reading the user on a cache miss.
+     *
+     * @param userId The ID of the user.
+     * @return The {@link UserClaimsSnapshot} of the user.
+     * @throws com.example.todowithcouchbase.auth.exception.UserNotFoundException If no user has the given ID.
+     */
+    UserClaimsSnapshot getSnapshot(final String userId);
+
+    /**
+     * Drops the cached snapshot of the user with the given ID on every instance.
+     *
+     * @param userId The ID of the user.
+     */
+    void invalidate(final String userId);
+
+}
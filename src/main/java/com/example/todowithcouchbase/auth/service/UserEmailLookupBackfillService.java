@@ -0,0 +1,15 @@
+package com.example.todowithcouchbase.auth.service;
+
+/**
+ * Service interface for the one-off backfill of email lookup documents.
+ * Users registered before the lookup documents existed can only be found by the email query; this service
+ * creates the missing document of each of them, after which the query fallback can be turned off.
+ */
+public interface UserEmailLookupBackfillService {
+
+    /**
+     * Creates the lookup document of every user that has none. Users are processed in batches.
+     */
+    void backfill();
+
+}
@@ -0,0 +1,41 @@
+package com.example.todowithcouchbase.auth.service;
+
+import com.example.todowithcouchbase.auth.model.entity.UserEntity;
+
+import java.util.Optional;
+
+/**
+ * Service interface for the email lookup documents that map each email address to the user registered with it.
+ * Finding a user by email through these documents takes two key-value gets instead of a query, and reserving
+ * an email is a single atomic insert, so two registrations with the same email cannot both succeed.
+ */
+public interface UserEmailLookupService {
+
+    /**
+     * Finds the user registered with the given email.
+     *
+     * @param email The email address of the user.
+     * @return An {@link Optional} containing the {@link UserEntity} if found, or {@link Optional#empty()} if not found.
+     */
+    Optional<UserEntity> findUserByEmail(String email);
+
+    /**
+     * Reserves the given email for the user with the given ID. The user is saved after the reservation.
+     *
+     * @param email The email address to reserve.
+     * @param userId The ID the user is going to be saved with.
+     * @throws com.example.todowithcouchbase.auth.exception.UserAlreadyExistException If the email is already
+     *                                                                                 used by another user.
+     */
+    void reserveEmail(String email, String userId);
+
+    /**
+     * Releases the reservation of the given email if it is still held by the user with the given ID,
+     * when saving that user failed.
+     *
+     * @param email The reserved email address.
+     * @param userId The ID of the user the email was reserved for.
+     */
+    void releaseEmail(String email, String userId);
+
+}
@@ -0,0 +1,33 @@
+package com.example.todowithcouchbase.auth.service;
+
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+
+import java.util.Optional;
+
+/**
+ * Service interface for resolving bearer tokens through a cache of already verified tokens.
+ * A token seen before is served from memory without checking its signature again; an unseen token is verified
+ * by {@link TokenService} and cached until it expires.
+ */
+public interface VerifiedTokenCacheService {
+
+    /**
+     * Returns the verified form of the given JWT.
+     * The signature is checked only when the token is not in the cache.
+     * Revocation is not covered by the cache and must still be checked by the caller.
+     *
+     * @param jwt The JWT to resolve.
+     * @return The {@link VerifiedToken} of the given JWT.
+     */
+    VerifiedToken verify(final String jwt);
+
+    /**
+     * Returns the verified form of the given JWT if it is already in the cache, without verifying it.
+     *
+     * @param jwt The JWT to look up.
+     * @return An {@link Optional} containing the cached {@link VerifiedToken}, or {@link Optional#empty()}
+     *         if the token has not been verified yet or the cache is disabled.
+     */
+    Optional<VerifiedToken> getIfPresent(final String jwt);
+
+}
@@ -0,0 +1,96 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.config.TokenConfigurationParameter;
+import com.example.todowithcouchbase.auth.model.entity.InvalidTokenEntity;
+import com.example.todowithcouchbase.auth.repository.InvalidTokenRepository;
+import com.example.todowithcouchbase.auth.service.InvalidTokenExpiryBackfillService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service implementation for the one-off backfill of document expiries on revocation records.
+ * The creation date of a legacy record is the moment its token was revoked, so the token expired at the latest
+ * one refresh token lifetime later; that moment becomes the document expiry of the record.
+ * The backfill runs once the application is ready when {@code auth.invalid-token-expiry-backfill.enabled} is set.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InvalidTokenExpiryBackfillServiceImpl implements InvalidTokenExpiryBackfillService {
+
+    private final InvalidTokenRepository invalidTokenRepository;
+    private final AuthProperties authProperties;
+    private final TokenConfigurationParameter tokenConfigurationParameter;
+
+    /**
+     * Runs the backfill on startup if it is enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (authProperties.getInvalidTokenExpiryBackfill().isEnabled()) {
+            this.backfill();
+        }
+    }
+
+    /**
+     * Applies a document expiry to every revocation record without one and deletes the records
+     * whose token has already expired. Records are processed in batches until none is left.
+     */
+    @Override
+    public void backfill() {
+
+        final int batchSize = authProperties.getInvalidTokenExpiryBackfill().getBatchSize();
+        final Duration maximumTokenLifetime = Duration.ofDays(tokenConfigurationParameter.getRefreshTokenExpireDay());
+
+        long expiredCount = 0;
+        long deletedCount = 0;
+
+        List<InvalidTokenEntity> batch = invalidTokenRepository.findAllWithoutExpiration(batchSize);
+
+        while (!batch.isEmpty()) {
+
+            final Instant now = Instant.now();
+            final List<InvalidTokenEntity> liveEntities = new ArrayList<>();
+            final List<String> deadIds = new ArrayList<>();
+
+            for (final InvalidTokenEntity invalidTokenEntity : batch) {
+                final Instant expiresAt = invalidTokenEntity.estimateExpiresAt(maximumTokenLifetime);
+                if (expiresAt.isAfter(now)) {
+                    invalidTokenEntity.setExpiresAt(expiresAt);
+                    liveEntities.add(invalidTokenEntity);
+                } else {
+                    deadIds.add(invalidTokenEntity.getId());
+                }
+            }
+
+            if (!deadIds.isEmpty()) {
+                invalidTokenRepository.deleteAllById(deadIds);
+            }
+            if (!liveEntities.isEmpty()) {
+                invalidTokenRepository.saveAllWithExpiry(liveEntities);
+            }
+
+            expiredCount += liveEntities.size();
+            deletedCount += deadIds.size();
+            log.info("Invalid token expiry backfill: {} records given an expiry, {} deleted so far",
+                    expiredCount, deletedCount);
+
+            batch = invalidTokenRepository.findAllWithoutExpiration(batchSize);
+
+        }
+
+        log.info("Invalid token expiry backfill completed: {} records given an expiry, {} deleted",
+                expiredCount, deletedCount);
+
+    }
+
+}
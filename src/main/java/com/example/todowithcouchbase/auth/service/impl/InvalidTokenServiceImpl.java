@@ -1,12 +1,22 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.config.TokenConfigurationParameter;
 import com.example.todowithcouchbase.auth.exception.TokenAlreadyInvalidatedException;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.model.entity.InvalidTokenEntity;
 import com.example.todowithcouchbase.auth.repository.InvalidTokenRepository;
 import com.example.todowithcouchbase.auth.service.InvalidTokenService;
-import lombok.RequiredArgsConstructor;
+import com.example.todowithcouchbase.common.config.ChangeFeedProperties;
+import com.example.todowithcouchbase.common.feed.ChangeFeed;
+import com.example.todowithcouchbase.common.feed.ChangeFeedListener;
+import com.example.todowithcouchbase.common.util.ConcurrentBloomFilter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -14,46 +24,257 @@ import java.util.stream.Collectors;
  * Service implementation for managing and validating invalidated tokens.
  * This service is responsible for invalidating tokens and checking the validity of tokens.
  * It provides methods to mark tokens as invalid and to check if a given token has already been invalidated.
+ * Revocation records are keyed by the token ID, so checks and inserts are single key-value operations,
+ * and expire together with the token they revoke.
+ * Revoked token IDs are also kept in a {@link ConcurrentBloomFilter}, seeded from the invalid token collection
+ * and kept up to date with the revocations of every instance through the {@value #REVOKED_TOKENS_TOPIC}
+ * {@link ChangeFeed} topic. The filter is rebuilt from the live records on every reset, so the IDs of expired
+ * records stop adding to its false positive rate. While the filter is in sync, a token it has never seen is known to be valid
+ * without a database lookup; only possible matches are checked against {@link InvalidTokenRepository}.
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
-public class InvalidTokenServiceImpl implements InvalidTokenService {
+public class InvalidTokenServiceImpl implements InvalidTokenService, ChangeFeedListener {
+
+    static final String REVOKED_TOKENS_TOPIC = "revoked-tokens";
 
     private final InvalidTokenRepository invalidTokenRepository;
+    private final ChangeFeed changeFeed;
+    private final Duration maximumTokenLifetime;
+    private final AuthProperties.RevocationFilter revocationFilterProperties;
+    private final boolean revocationFilterTrusted;
+
+    private volatile RevocationFilterState revocationFilterState;
+
+    private volatile boolean legacyRecordsRekeyed;
+
+    /**
+     * Creates the service and an empty revocation filter sized from the given {@link AuthProperties}.
+     * The filter is only ever trusted when it is enabled and the change feed is enabled, as revocations made
+     * on other instances reach it through the feed alone.
+     *
+     * @param invalidTokenRepository The repository holding the invalidated tokens.
+     * @param changeFeed The change feed revocations are published to.
+     * @param authProperties The authentication settings holding the revocation filter sizing.
+     * @param tokenConfigurationParameter The token configuration holding the refresh token lifetime.
+     * @param changeFeedProperties The change feed settings.
+     */
+    public InvalidTokenServiceImpl(final InvalidTokenRepository invalidTokenRepository,
+                                   final ChangeFeed changeFeed,
+                                   final AuthProperties authProperties,
+                                   final TokenConfigurationParameter tokenConfigurationParameter,
+                                   final ChangeFeedProperties changeFeedProperties) {
+
+        this.invalidTokenRepository = invalidTokenRepository;
+        this.changeFeed = changeFeed;
+        this.maximumTokenLifetime = Duration.ofDays(tokenConfigurationParameter.getRefreshTokenExpireDay());
+        this.revocationFilterProperties = authProperties.getRevocationFilter();
+        this.revocationFilterTrusted = revocationFilterProperties.isEnabled() && changeFeedProperties.isEnabled();
+        this.revocationFilterState = new RevocationFilterState(this.newRevocationFilter(), false);
+
+        if (revocationFilterProperties.isEnabled() && !changeFeedProperties.isEnabled()) {
+            log.warn("The change feed is disabled, so every token check falls through to the revocation records");
+        }
+
+    }
+
+    /**
+     * Returns the change feed topic revocations are published to.
+     *
+     * @return The revoked tokens topic.
+     */
+    @Override
+    public String getTopic() {
+        return REVOKED_TOKENS_TOPIC;
+    }
+
+    /**
+     * Adds the token IDs revoked on any instance to the revocation filter.
+     *
+     * @param tokenIds The revoked token IDs.
+     */
+    @Override
+    public void onChanges(final Set<String> tokenIds) {
+        final ConcurrentBloomFilter filter = revocationFilterState.filter();
+        tokenIds.forEach(filter::put);
+    }
+
+    /**
+     * Replaces the revocation filter with an empty one, loads every invalidated token ID into it and rekeys records
+     * that still carry a generated UUID key, so that they can be found by token ID.
+     * Called by the change feed poller on startup and whenever revocations may have been missed.
+     * The new filter is swapped in before loading, so revocations arriving meanwhile are added to it, and it is
+     * not trusted until the load completes; the filter and whether it is trusted are swapped together, so no check
+     * can pair the trust of the old filter with the new, still empty one. IDs of records that have expired since the previous reset are not
+     * carried over. Until the first load completes, every check falls through to
+     * the repository and also queries for records by token ID, so a failed load only costs the lookups
+     * it would have saved.
+     */
+    @Override
+    public void onReset() {
+        final ConcurrentBloomFilter rebuiltFilter = this.newRevocationFilter();
+        revocationFilterState = new RevocationFilterState(rebuiltFilter, false);
+
+        invalidTokenRepository.findAll().forEach(invalidTokenEntity -> {
+            this.rekeyIfLegacy(invalidTokenEntity);
+            rebuiltFilter.put(invalidTokenEntity.getTokenId());
+        });
+
+        legacyRecordsRekeyed = true;
+        revocationFilterState = new RevocationFilterState(rebuiltFilter, revocationFilterTrusted);
+    }
+
+    /**
+     * Stops trusting the revocation filter until the next reset, as revocations made on other instances
+     * may be missing from it.
+     */
+    @Override
+    public void onStale() {
+        revocationFilterState = new RevocationFilterState(revocationFilterState.filter(), false);
+    }
 
     /**
-     * Invalidates the tokens with the given token IDs.
+     * Invalidates the given verified tokens.
      * This method marks the tokens as invalid, making them unusable for authentication or authorization.
      * It can be used to invalidate tokens that have been revoked or are no longer valid.
+     * The IDs are added to the revocation filter and published to the other instances before they are saved,
+     * so no check on any instance can skip the database for them once the records exist.
+     * Each record is saved with a document expiry at the {@code exp} of its token, falling back to
+     * the refresh token lifetime for a token without one.
      *
-     * @param tokenIds A set of token IDs to invalidate.
+     * @param verifiedTokens A set of verified tokens to invalidate.
      */
     @Override
-    public void invalidateTokens(Set<String> tokenIds) {
-        final Set<InvalidTokenEntity> invalidTokenEntities = tokenIds.stream()
-                .map(tokenId -> InvalidTokenEntity.builder()
-                        .tokenId(tokenId)
-                        .build()
-                )
+    public void invalidateTokens(Set<VerifiedToken> verifiedTokens) {
+        final Set<String> tokenIds = verifiedTokens.stream()
+                .map(VerifiedToken::getId)
                 .collect(Collectors.toSet());
 
-        invalidTokenRepository.saveAll(invalidTokenEntities);
+        final ConcurrentBloomFilter filter = revocationFilterState.filter();
+        tokenIds.forEach(filter::put);
+        changeFeed.publish(REVOKED_TOKENS_TOPIC, tokenIds);
+
+        final Set<InvalidTokenEntity> invalidTokenEntities = verifiedTokens.stream()
+                .map(verifiedToken -> InvalidTokenEntity.of(verifiedToken.getId(), this.expiresAt(verifiedToken)))
+                .collect(Collectors.toSet());
+
+        invalidTokenRepository.saveAllWithExpiry(invalidTokenEntities);
     }
 
     /**
      * Checks if the given token ID is invalidated.
      * This method checks whether a specific token has been invalidated and is no longer valid for use.
      * It is typically used to validate if a token is still active before allowing access to protected resources.
+     * The repository is queried only when the revocation filter is out of sync or reports a possible match.
      *
      * @param tokenId The token ID to check for invalidity.
      */
     @Override
     public void checkForInvalidityOfToken(String tokenId) {
-        final boolean isTokenInvalid = invalidTokenRepository.findByTokenId(tokenId).isPresent();
+        final RevocationFilterState filterState = revocationFilterState;
+        if (filterState.inSync() && !filterState.filter().mightContain(tokenId)) {
+            return;
+        }
+
+        final boolean isTokenInvalid = invalidTokenRepository.existsById(tokenId)
+                || (!legacyRecordsRekeyed && invalidTokenRepository.findByTokenId(tokenId).isPresent());
 
         if (isTokenInvalid) {
             throw new TokenAlreadyInvalidatedException(tokenId);
         }
     }
 
+    /**
+     * Checks if any of the given token IDs is invalidated.
+     * IDs ruled out by the revocation filter are skipped; the remaining ones are fetched together
+     * with one batched key-value lookup instead of one round trip per token.
+     *
+     * @param tokenIds The token IDs to check for invalidity.
+     */
+    @Override
+    public void checkForInvalidityOfTokens(Set<String> tokenIds) {
+        final RevocationFilterState filterState = revocationFilterState;
+        final Set<String> possiblyInvalidTokenIds = tokenIds.stream()
+                .filter(tokenId -> !filterState.inSync() || filterState.filter().mightContain(tokenId))
+                .collect(Collectors.toSet());
+
+        if (possiblyInvalidTokenIds.isEmpty()) {
+            return;
+        }
+
+        invalidTokenRepository.findAllById(possiblyInvalidTokenIds).stream()
+                .findFirst()
+                .ifPresent(invalidTokenEntity -> {
+                    throw new TokenAlreadyInvalidatedException(invalidTokenEntity.getId());
+                });
+
+        if (!legacyRecordsRekeyed) {
+            possiblyInvalidTokenIds.stream()
+                    .filter(tokenId -> invalidTokenRepository.findByTokenId(tokenId).isPresent())
+                    .findFirst()
+                    .ifPresent(tokenId -> {
+                        throw new TokenAlreadyInvalidatedException(tokenId);
+                    });
+        }
+    }
+
+    /**
+     * Creates an empty revocation filter sized from the revocation filter settings.
+     *
+     * @return The empty filter.
+     */
+    private ConcurrentBloomFilter newRevocationFilter() {
+        return new ConcurrentBloomFilter(
+                revocationFilterProperties.getExpectedInsertions(),
+                revocationFilterProperties.getFalsePositiveProbability()
+        );
+    }
+
+    /**
+     * Moves a revocation record keyed by a generated UUID to a document keyed by its token ID.
+     * The new document is written before the old one is removed, so the revocation is never lost.
+     *
+     * @param invalidTokenEntity The revocation record to check.
+     */
+    private void rekeyIfLegacy(final InvalidTokenEntity invalidTokenEntity) {
+
+        final String tokenId = invalidTokenEntity.getTokenId();
+
+        if (tokenId == null || tokenId.equals(invalidTokenEntity.getId())) {
+            return;
+        }
+
+        final InvalidTokenEntity rekeyedEntity = InvalidTokenEntity.of(
+                tokenId,
+                invalidTokenEntity.estimateExpiresAt(maximumTokenLifetime)
+        );
+        rekeyedEntity.setCreatedAt(invalidTokenEntity.getCreatedAt());
+        rekeyedEntity.setCreatedBy(invalidTokenEntity.getCreatedBy());
+
+        invalidTokenRepository.saveAllWithExpiry(Set.of(rekeyedEntity));
+        invalidTokenRepository.deleteById(invalidTokenEntity.getId());
+
+    }
+
+    /**
+     * Returns the moment the given token expires, or the end of the refresh token lifetime
+     * from now when the token carries no expiration.
+     *
+     * @param verifiedToken The verified token.
+     * @return The expiration of the token.
+     */
+    private Instant expiresAt(final VerifiedToken verifiedToken) {
+        final Date expiration = verifiedToken.getClaims().getExpiration();
+        return expiration != null ? expiration.toInstant() : Instant.now().plus(maximumTokenLifetime);
+    }
+
+    /**
+     * The revocation filter together with whether it can be trusted, read and replaced as one value.
+     *
+     * @param filter The revocation filter.
+     * @param inSync Whether a negative answer of the filter is definite.
+     */
+    private record RevocationFilterState(ConcurrentBloomFilter filter, boolean inSync) {
+    }
+
 }
@@ -0,0 +1,83 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.TokenKeyRing;
+import com.example.todowithcouchbase.auth.model.JsonWebKeySet;
+import com.example.todowithcouchbase.auth.model.TokenSigningKey;
+import com.example.todowithcouchbase.auth.service.JsonWebKeySetService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.security.Jwks;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link JsonWebKeySetService} interface that publishes the public keys of the
+ * {@link TokenKeyRing}.
+ * Every key of the ring is listed under its key ID with its algorithm, retired keys included, so tokens signed
+ * before a rotation can still be verified. The keys do not change while the application runs, so the key set
+ * is serialized and its entity tag computed once, and requests are served from those bytes.
+ */
+@Service
+public class JsonWebKeySetServiceImpl implements JsonWebKeySetService {
+
+    private final JsonWebKeySet jsonWebKeySet;
+
+    /**
+     * Serializes the public keys of the given {@link TokenKeyRing}.
+     *
+     * @param tokenKeyRing The keys tokens are verified with.
+     */
+    public JsonWebKeySetServiceImpl(final TokenKeyRing tokenKeyRing) {
+
+        final List<Map<String, Object>> keys = tokenKeyRing.getKeys().stream()
+                .map(JsonWebKeySetServiceImpl::toJwk)
+                .toList();
+
+        final byte[] content;
+        try {
+            content = new ObjectMapper().writeValueAsBytes(Map.of("keys", keys));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("JSON Web Key Set could not be serialized", exception);
+        }
+
+        this.jsonWebKeySet = new JsonWebKeySet(content, eTag(content));
+
+    }
+
+    /**
+     * Returns the key set serialized when the service was created.
+     *
+     * @return The {@link JsonWebKeySet}.
+     */
+    @Override
+    public JsonWebKeySet getJsonWebKeySet() {
+        return jsonWebKeySet;
+    }
+
+    private static Map<String, Object> toJwk(final TokenSigningKey signingKey) {
+        return new LinkedHashMap<>(
+                Jwks.builder()
+                        .key(signingKey.getPublicKey())
+                        .id(signingKey.getKeyId())
+                        .algorithm(signingKey.getAlgorithm().getId())
+                        .publicKeyUse("sig")
+                        .build()
+        );
+    }
+
+    private static String eTag(final byte[] content) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+}
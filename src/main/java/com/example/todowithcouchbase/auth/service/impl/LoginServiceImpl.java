@@ -5,11 +5,11 @@ import com.example.todowithcouchbase.auth.exception.UserNotFoundException;
 import com.example.todowithcouchbase.auth.model.Token;
 import com.example.todowithcouchbase.auth.model.dto.request.LoginRequest;
 import com.example.todowithcouchbase.auth.model.entity.UserEntity;
-import com.example.todowithcouchbase.auth.repository.UserRepository;
 import com.example.todowithcouchbase.auth.service.LoginService;
+import com.example.todowithcouchbase.auth.service.PasswordHashingService;
 import com.example.todowithcouchbase.auth.service.TokenService;
+import com.example.todowithcouchbase.auth.service.UserEmailLookupService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 /**
@@ -21,8 +21,8 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class LoginServiceImpl implements LoginService {
 
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserEmailLookupService userEmailLookupService;
+    private final PasswordHashingService passwordHashingService;
     private final TokenService tokenService;
 
     /**
@@ -36,13 +36,13 @@ public class LoginServiceImpl implements LoginService {
     @Override
     public Token login(LoginRequest loginRequest) {
 
-        final UserEntity userEntityFromDB = userRepository
-                .findUserEntityByEmail(loginRequest.getEmail())
+        final UserEntity userEntityFromDB = userEmailLookupService
+                .findUserByEmail(loginRequest.getEmail())
                 .orElseThrow(
                         () -> new UserNotFoundException(loginRequest.getEmail())
                 );
 
-        if (Boolean.FALSE.equals(passwordEncoder.matches(
+        if (Boolean.FALSE.equals(passwordHashingService.matches(
                 loginRequest.getPassword(), userEntityFromDB.getPassword()))) {
             throw new PasswordNotValidException();
         }
@@ -1,5 +1,6 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.model.dto.request.TokenInvalidateRequest;
 import com.example.todowithcouchbase.auth.service.InvalidTokenService;
 import com.example.todowithcouchbase.auth.service.LogoutService;
@@ -8,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation for handling user logout functionality.
@@ -25,33 +27,29 @@ public class LogoutServiceImpl implements LogoutService {
      * Logs out a user by invalidating their authentication token.
      * This method accepts a request containing the token information to be invalidated. Once the token is invalidated,
      * it can no longer be used for authentication, ensuring that the user is effectively logged out.
+     * Each token is parsed and verified once, both are checked for revocation in one batched lookup
+     * and both revocation records are written in one bulk operation.
      *
      * @param tokenInvalidateRequest The request containing the token to be invalidated for logging out the user.
      */
     @Override
     public void logout(TokenInvalidateRequest tokenInvalidateRequest) {
 
-        tokenService.verifyAndValidate(
-                Set.of(
-                        tokenInvalidateRequest.getAccessToken(),
-                        tokenInvalidateRequest.getRefreshToken()
-                )
-        );
-
-        final String accessTokenId = tokenService
-                .getPayload(tokenInvalidateRequest.getAccessToken())
-                .getId();
+        final VerifiedToken accessToken = tokenService
+                .verify(tokenInvalidateRequest.getAccessToken());
 
-        invalidTokenService.checkForInvalidityOfToken(accessTokenId);
+        final VerifiedToken refreshToken = tokenService
+                .verify(tokenInvalidateRequest.getRefreshToken());
 
+        final Set<VerifiedToken> verifiedTokens = Set.of(accessToken, refreshToken);
 
-        final String refreshTokenId = tokenService
-                .getPayload(tokenInvalidateRequest.getRefreshToken())
-                .getId();
-
-        invalidTokenService.checkForInvalidityOfToken(refreshTokenId);
+        invalidTokenService.checkForInvalidityOfTokens(
+                verifiedTokens.stream()
+                        .map(VerifiedToken::getId)
+                        .collect(Collectors.toSet())
+        );
 
-        invalidTokenService.invalidateTokens(Set.of(accessTokenId,refreshTokenId));
+        invalidTokenService.invalidateTokens(verifiedTokens);
 
     }
 
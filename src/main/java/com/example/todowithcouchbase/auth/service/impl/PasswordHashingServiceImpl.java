@@ -0,0 +1,155 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.exception.PasswordHashingUnavailableException;
+import com.example.todowithcouchbase.auth.service.PasswordHashingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of the {@link PasswordHashingService} interface that runs the {@link PasswordEncoder}
+ * on a dedicated, bounded executor.
+ * A burst of logins or registrations can then use at most the executor threads worth of CPU, and once its queue
+ * is full further requests fail fast with {@link PasswordHashingUnavailableException} instead of piling up on
+ * request threads that other endpoints need.
+ * The executor is published to Micrometer under the {@code password-hashing} name (pool size, queue depth,
+ * completed tasks), hashing time under {@code password.hashing} and rejections under {@code password.hashing.rejected}.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    static final String EXECUTOR_NAME = "password-hashing";
+    static final String TIMER_NAME = "password.hashing";
+    static final String REJECTED_COUNTER_NAME = "password.hashing.rejected";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Creates the executor sized from the given {@link AuthProperties} and registers its metrics.
+     *
+     * @param passwordEncoder The encoder that hashes and checks the passwords.
+     * @param authProperties The authentication settings holding the executor sizing.
+     * @param meterRegistry The registry the executor and hashing metrics are published to.
+     */
+    public PasswordHashingServiceImpl(final PasswordEncoder passwordEncoder,
+                                      final AuthProperties authProperties,
+                                      final MeterRegistry meterRegistry) {
+
+        final AuthProperties.PasswordHashing passwordHashing = authProperties.getPasswordHashing();
+
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(
+                passwordHashing.getThreads(),
+                passwordHashing.getThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(passwordHashing.getQueueCapacity()),
+                new PasswordHashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, Tags.empty()).bindTo(meterRegistry);
+        this.encodeTimer = Timer.builder(TIMER_NAME).tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder(TIMER_NAME).tag("operation", "matches").register(meterRegistry);
+        this.rejectedCounter = Counter.builder(REJECTED_COUNTER_NAME).register(meterRegistry);
+
+    }
+
+    /**
+     * Hashes the given raw password on the password hashing executor.
+     *
+     * @param rawPassword The password to hash.
+     * @return The encoded password hash.
+     */
+    @Override
+    public String encode(final String rawPassword) {
+        return this.execute(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks the given raw password against the stored hash on the password hashing executor.
+     *
+     * @param rawPassword The password to check.
+     * @param encodedPassword The stored password hash.
+     * @return {@code true} if the password matches.
+     */
+    @Override
+    public boolean matches(final String rawPassword, final String encodedPassword) {
+        return this.execute(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Stops the executor, letting the queued work finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Submits the work to the executor and waits for its result on the calling thread.
+     * The timer records the hashing itself, not the time spent waiting in the queue.
+     */
+    private <T> T execute(final Timer timer, final Callable<T> work) {
+
+        final Future<T> future;
+
+        try {
+            future = executor.submit(() -> timer.recordCallable(work));
+        } catch (RejectedExecutionException exception) {
+            rejectedCounter.increment();
+            throw new PasswordHashingUnavailableException();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException();
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+
+    }
+
+    /**
+     * Creates the named daemon threads of the password hashing executor.
+     */
+    private static final class PasswordHashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, EXECUTOR_NAME + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
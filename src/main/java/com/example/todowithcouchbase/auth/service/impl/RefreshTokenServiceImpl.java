@@ -1,15 +1,15 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
-import com.example.todowithcouchbase.auth.exception.UserNotFoundException;
 import com.example.todowithcouchbase.auth.exception.UserStatusNotValidException;
 import com.example.todowithcouchbase.auth.model.Token;
+import com.example.todowithcouchbase.auth.model.UserClaimsSnapshot;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.model.dto.request.TokenRefreshRequest;
-import com.example.todowithcouchbase.auth.model.entity.UserEntity;
 import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
 import com.example.todowithcouchbase.auth.model.enums.UserStatus;
-import com.example.todowithcouchbase.auth.repository.UserRepository;
 import com.example.todowithcouchbase.auth.service.RefreshTokenService;
 import com.example.todowithcouchbase.auth.service.TokenService;
+import com.example.todowithcouchbase.auth.service.UserClaimsCacheService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -22,35 +22,33 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
-    private final UserRepository userRepository;
+    private final UserClaimsCacheService userClaimsCacheService;
     private final TokenService tokenService;
 
     /**
      * Refreshes the user's authentication token.
      * This method accepts a request containing the refresh token and generates new access and refresh tokens.
      * The new tokens can be used for subsequent requests that require authentication.
+     * The refresh token is verified once, and the claims of its user come from {@link UserClaimsCacheService}.
      *
      * @param tokenRefreshRequest The request containing the refresh token information to generate new tokens.
      * @return A {@link Token} containing the new access and refresh tokens.
      */
     @Override
     public Token refreshToken(TokenRefreshRequest tokenRefreshRequest) {
-        tokenService.verifyAndValidate(tokenRefreshRequest.getRefreshToken());
+        final VerifiedToken verifiedRefreshToken = tokenService.verify(tokenRefreshRequest.getRefreshToken());
 
-        final String adminId = tokenService
-                .getPayload(tokenRefreshRequest.getRefreshToken())
+        final String userId = verifiedRefreshToken.getClaims()
                 .get(TokenClaims.USER_ID.getValue())
                 .toString();
 
-        final UserEntity userEntityFromDB = userRepository
-                .findById(adminId)
-                .orElseThrow(UserNotFoundException::new);
+        final UserClaimsSnapshot userClaimsSnapshot = userClaimsCacheService.getSnapshot(userId);
 
-        this.validateAdminStatus(userEntityFromDB);
+        this.validateUserStatus(userClaimsSnapshot.getUserStatus());
 
         return tokenService.generateToken(
-                userEntityFromDB.getClaims(),
-                tokenRefreshRequest.getRefreshToken()
+                userClaimsSnapshot.getClaims(),
+                verifiedRefreshToken
         );
     }
 
@@ -59,12 +57,12 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
      * This method checks if the user's status is set to active.
      * If the user is not active, it throws a {@link UserStatusNotValidException}.
      *
-     * @param userEntity The {@link UserEntity} to validate.
+     * @param userStatus The status of the user to validate.
      * @throws UserStatusNotValidException If the user is not in an active status.
      */
-    private void validateAdminStatus(final UserEntity userEntity) {
-        if (!(UserStatus.ACTIVE.equals(userEntity.getUserStatus()))) {
-            throw new UserStatusNotValidException("UserStatus = " + userEntity.getUserStatus());
+    private void validateUserStatus(final UserStatus userStatus) {
+        if (!(UserStatus.ACTIVE.equals(userStatus))) {
+            throw new UserStatusNotValidException("UserStatus = " + userStatus);
         }
     }
 
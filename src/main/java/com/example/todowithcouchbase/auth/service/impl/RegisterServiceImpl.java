@@ -1,17 +1,19 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
-import com.example.todowithcouchbase.auth.exception.UserAlreadyExistException;
 import com.example.todowithcouchbase.auth.model.User;
 import com.example.todowithcouchbase.auth.model.dto.request.RegisterRequest;
 import com.example.todowithcouchbase.auth.model.entity.UserEntity;
 import com.example.todowithcouchbase.auth.model.mapper.RegisterRequestToUserEntityMapper;
 import com.example.todowithcouchbase.auth.model.mapper.UserEntityToUserMapper;
 import com.example.todowithcouchbase.auth.repository.UserRepository;
+import com.example.todowithcouchbase.auth.service.PasswordHashingService;
 import com.example.todowithcouchbase.auth.service.RegisterService;
+import com.example.todowithcouchbase.auth.service.UserEmailLookupService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+
 /**
  * Service implementation for handling user registration functionality.
  * This interface defines the method responsible for registering a new user in the system.
@@ -28,12 +30,15 @@ public class RegisterServiceImpl implements RegisterService {
 
     private final UserEntityToUserMapper userEntityToUserMapper = UserEntityToUserMapper.initialize();
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+
+    private final UserEmailLookupService userEmailLookupService;
 
     /**
      * Registers a new user in the system.
      * This method accepts a registration request containing the user details (e.g., email, password, etc.).
      * It validates the input and creates a new user in the system.
+     * The email is reserved under the new user ID before the user is saved, and released again if the save fails.
      *
      * @param registerRequest The request containing the user's registration details (e.g., name, email, password).
      * @return A {@link User} object representing the newly created user.
@@ -41,15 +46,20 @@ public class RegisterServiceImpl implements RegisterService {
     @Override
     public User registerUser(RegisterRequest registerRequest) {
 
-        if (userRepository.existsUserEntityByEmail(registerRequest.getEmail())) {
-            throw new UserAlreadyExistException("The email is already used for another user : " + registerRequest.getEmail());
-        }
-
         final UserEntity userEntityToBeSaved = registerRequestToUserEntityMapper.mapForSaving(registerRequest);
 
-        userEntityToBeSaved.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        userEntityToBeSaved.setId(UUID.randomUUID().toString());
+        userEmailLookupService.reserveEmail(userEntityToBeSaved.getEmail(), userEntityToBeSaved.getId());
+
+        final UserEntity savedUserEntity;
 
-        final UserEntity savedUserEntity = userRepository.save(userEntityToBeSaved);
+        try {
+            userEntityToBeSaved.setPassword(passwordHashingService.encode(registerRequest.getPassword()));
+            savedUserEntity = userRepository.save(userEntityToBeSaved);
+        } catch (RuntimeException exception) {
+            userEmailLookupService.releaseEmail(userEntityToBeSaved.getEmail(), userEntityToBeSaved.getId());
+            throw exception;
+        }
 
         return userEntityToUserMapper.map(savedUserEntity);
 
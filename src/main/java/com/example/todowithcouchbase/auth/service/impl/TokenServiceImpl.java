@@ -1,38 +1,75 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
 import com.example.todowithcouchbase.auth.config.TokenConfigurationParameter;
+import com.example.todowithcouchbase.auth.config.TokenKeyRing;
+import com.example.todowithcouchbase.auth.model.JwtPrincipal;
 import com.example.todowithcouchbase.auth.model.Token;
-import com.example.todowithcouchbase.auth.model.enums.ConfigurationParameter;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
-import com.example.todowithcouchbase.auth.model.enums.TokenType;
 import com.example.todowithcouchbase.auth.model.enums.UserType;
 import com.example.todowithcouchbase.auth.service.InvalidTokenService;
 import com.example.todowithcouchbase.auth.service.TokenService;
+import com.example.todowithcouchbase.auth.utils.TokenMinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
-import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import lombok.RequiredArgsConstructor;
-import org.apache.commons.lang3.time.DateUtils;
+import io.jsonwebtoken.jackson.io.JacksonDeserializer;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service implementation for handling JWT token-related operations.
  * This interface defines methods for generating, validating, and extracting information from JWT tokens.
  * It provides functionality to create tokens, verify their validity, retrieve claims, and authenticate users.
+ * The JWT parser and the {@link TokenMinter} are thread-safe, so they are created once from
+ * {@link TokenConfigurationParameter} and shared by all requests.
+ * Tokens are minted with the active key of the {@link TokenKeyRing}, whose header and issuer are encoded
+ * once, and verified with the key their {@code kid} header names.
  */
 @Service
-@RequiredArgsConstructor
 public class TokenServiceImpl implements TokenService {
 
     private final TokenConfigurationParameter tokenConfigurationParameter;
     private final InvalidTokenService invalidTokenService;
 
+    private final JwtParser jwtParser;
+    private final TokenMinter tokenMinter;
+
+    /**
+     * Creates the token service and builds the shared JWT parser and token minter
+     * from the given {@link TokenConfigurationParameter} and {@link TokenKeyRing}.
+     *
+     * @param tokenConfigurationParameter The token configuration holding the issuer and expirations.
+     * @param tokenKeyRing The keys tokens are signed and verified with.
+     * @param invalidTokenService The service used to check whether a token has been invalidated.
+     */
+    public TokenServiceImpl(final TokenConfigurationParameter tokenConfigurationParameter,
+                            final TokenKeyRing tokenKeyRing,
+                            final InvalidTokenService invalidTokenService) {
+
+        this.tokenConfigurationParameter = tokenConfigurationParameter;
+        this.invalidTokenService = invalidTokenService;
+
+        this.jwtParser = Jwts.parser()
+                .keyLocator(tokenKeyRing)
+                .json(new JacksonDeserializer<>())
+                .build();
+
+        this.tokenMinter = new TokenMinter(
+                tokenKeyRing.getActiveKey(),
+                tokenConfigurationParameter.getIssuer(),
+                new ObjectMapper()
+        );
+
+    }
+
     /**
      * Generates a new authentication token based on the provided claims.
      * This method creates a new JWT token using the specified claims.
@@ -44,47 +81,25 @@ public class TokenServiceImpl implements TokenService {
     @Override
     public Token generateToken(Map<String, Object> claims) {
 
-        final long currentTimeMillis = System.currentTimeMillis();
+        final long tokenIssuedAt = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
 
-        final Date tokenIssuedAt = new Date(currentTimeMillis);
+        final long accessTokenExpiresAt = tokenIssuedAt
+                + TimeUnit.MINUTES.toSeconds(tokenConfigurationParameter.getAccessTokenExpireMinute());
 
-        final Date accessTokenExpiresAt = DateUtils.addMinutes(
-                new Date(currentTimeMillis),
-                tokenConfigurationParameter.getAccessTokenExpireMinute()
-        );
+        final String accessToken = tokenMinter.mint(claims, tokenIssuedAt, accessTokenExpiresAt);
 
-        final String accessToken = Jwts.builder()
-                .header()
-                .type(TokenType.BEARER.getValue())
-                .and()
-                .id(UUID.randomUUID().toString())
-                .issuer(ConfigurationParameter.ISSUER.getDefaultValue())
-                .issuedAt(tokenIssuedAt)
-                .expiration(accessTokenExpiresAt)
-                .signWith(tokenConfigurationParameter.getPrivateKey())
-                .claims(claims)
-                .compact();
-
-        final Date refreshTokenExpiresAt = DateUtils.addDays(
-                new Date(currentTimeMillis),
-                tokenConfigurationParameter.getRefreshTokenExpireDay()
-        );
+        final long refreshTokenExpiresAt = tokenIssuedAt
+                + TimeUnit.DAYS.toSeconds(tokenConfigurationParameter.getRefreshTokenExpireDay());
 
-        final String refreshToken = Jwts.builder()
-                .header()
-                .type(TokenType.BEARER.getValue())
-                .and()
-                .id(UUID.randomUUID().toString())
-                .issuer(tokenConfigurationParameter.getIssuer())
-                .issuedAt(tokenIssuedAt)
-                .expiration(refreshTokenExpiresAt)
-                .signWith(tokenConfigurationParameter.getPrivateKey())
-                .claim(TokenClaims.USER_ID.getValue(), claims.get(TokenClaims.USER_ID.getValue()))
-                .compact();
+        final String refreshToken = tokenMinter.mint(
+                Collections.singletonMap(TokenClaims.USER_ID.getValue(), claims.get(TokenClaims.USER_ID.getValue())),
+                tokenIssuedAt,
+                refreshTokenExpiresAt
+        );
 
         return Token.builder()
                 .accessToken(accessToken)
-                .accessTokenExpiresAt(accessTokenExpiresAt.toInstant().getEpochSecond())
+                .accessTokenExpiresAt(accessTokenExpiresAt)
                 .refreshToken(refreshToken)
                 .build();
     }
@@ -100,36 +115,33 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public Token generateToken(Map<String, Object> claims, String refreshToken) {
+        return this.generateToken(claims, this.verify(refreshToken));
+    }
 
-        final long currentTimeMillis = System.currentTimeMillis();
-
-        final String refreshTokenId = this.getId(refreshToken);
+    /**
+     * Generates a new access token based on the provided claims for an already verified refresh token.
+     * The refresh token is checked for revocation but its signature is not verified again.
+     *
+     * @param claims The claims to be included in the JWT token.
+     * @param refreshToken The verified refresh token to include in the generated JWT token.
+     * @return A {@link Token} object containing the generated JWT token.
+     */
+    @Override
+    public Token generateToken(Map<String, Object> claims, VerifiedToken refreshToken) {
 
-        invalidTokenService.checkForInvalidityOfToken(refreshTokenId);
+        invalidTokenService.checkForInvalidityOfToken(refreshToken.getId());
 
-        final Date accessTokenIssuedAt = new Date(currentTimeMillis);
+        final long accessTokenIssuedAt = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
 
-        final Date accessTokenExpiresAt = DateUtils.addMinutes(
-                new Date(currentTimeMillis),
-                tokenConfigurationParameter.getAccessTokenExpireMinute()
-        );
+        final long accessTokenExpiresAt = accessTokenIssuedAt
+                + TimeUnit.MINUTES.toSeconds(tokenConfigurationParameter.getAccessTokenExpireMinute());
 
-        final String accessToken = Jwts.builder()
-                .header()
-                .type(TokenType.BEARER.getValue())
-                .and()
-                .id(UUID.randomUUID().toString())
-                .issuer(tokenConfigurationParameter.getIssuer())
-                .issuedAt(accessTokenIssuedAt)
-                .expiration(accessTokenExpiresAt)
-                .signWith(tokenConfigurationParameter.getPrivateKey())
-                .claims(claims)
-                .compact();
+        final String accessToken = tokenMinter.mint(claims, accessTokenIssuedAt, accessTokenExpiresAt);
 
         return Token.builder()
                 .accessToken(accessToken)
-                .accessTokenExpiresAt(accessTokenExpiresAt.toInstant().getEpochSecond())
-                .refreshToken(refreshToken)
+                .accessTokenExpiresAt(accessTokenExpiresAt)
+                .refreshToken(refreshToken.getToken())
                 .build();
     }
 
@@ -143,34 +155,47 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public UsernamePasswordAuthenticationToken getAuthentication(String token) {
+        return this.getAuthentication(this.verify(token));
+    }
 
-        final Jws<Claims> claimsJws = Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(token);
-
-        final JwsHeader jwsHeader = claimsJws.getHeader();
-        final Claims payload = claimsJws.getPayload();
-
-        final Jwt jwt = new org.springframework.security.oauth2.jwt.Jwt(
-                token,
-                payload.getIssuedAt().toInstant(),
-                payload.getExpiration().toInstant(),
-                Map.of(
-                        TokenClaims.TYP.getValue(), jwsHeader.getType(),
-                        TokenClaims.ALGORITHM.getValue(), jwsHeader.getAlgorithm()
-                ),
-                payload
-        );
+    /**
+     * Builds the authentication information from an already verified JWT token.
+     * This method does not parse or verify the token again, which makes it suitable for the request filter
+     * where the token has just been verified by {@link #verify(String)}.
+     * The principal is a {@link JwtPrincipal}, which builds the Spring {@code Jwt} only when it is asked for,
+     * and the authorities are the shared ones of the user type.
+     *
+     * @param verifiedToken The verified JWT token to extract the authentication information from.
+     * @return A {@link UsernamePasswordAuthenticationToken} containing the extracted authentication information.
+     */
+    @Override
+    public UsernamePasswordAuthenticationToken getAuthentication(VerifiedToken verifiedToken) {
 
+        final UserType userType = UserType.of(verifiedToken.getClaims().get(TokenClaims.USER_TYPE.getValue()));
 
-        final UserType userType = UserType.valueOf(payload.get(TokenClaims.USER_TYPE.getValue()).toString());
+        return UsernamePasswordAuthenticationToken
+                .authenticated(new JwtPrincipal(verifiedToken), null, userType.getAuthorities());
+    }
+
+    /**
+     * Parses and verifies the provided JWT token exactly once.
+     * The returned {@link VerifiedToken} carries the header and claims of the token so that callers
+     * can read the token ID and build the authentication without parsing the token again.
+     *
+     * @param jwt The JWT token to verify.
+     * @return A {@link VerifiedToken} holding the verified header and claims.
+     * @throws SecurityException If the token is invalid or cannot be verified.
+     */
+    @Override
+    public VerifiedToken verify(String jwt) {
 
-        final List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-        authorities.add(new SimpleGrantedAuthority(userType.name()));
+        final Jws<Claims> claimsJws = jwtParser.parseSignedClaims(jwt);
 
-        return UsernamePasswordAuthenticationToken
-                .authenticated(jwt, null, authorities);
+        return VerifiedToken.builder()
+                .token(jwt)
+                .header(claimsJws.getHeader())
+                .claims(claimsJws.getPayload())
+                .build();
     }
 
     /**
@@ -182,10 +207,7 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public void verifyAndValidate(String jwt) {
-        Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(jwt);
+        jwtParser.parseSignedClaims(jwt);
     }
 
     /**
@@ -211,10 +233,7 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public Jws<Claims> getClaims(String jwt) {
-        return Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(jwt);
+        return jwtParser.parseSignedClaims(jwt);
     }
 
     /**
@@ -226,10 +245,7 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public Claims getPayload(String jwt) {
-        return Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(jwt)
+        return jwtParser.parseSignedClaims(jwt)
                 .getPayload();
     }
 
@@ -242,10 +258,7 @@ public class TokenServiceImpl implements TokenService {
      */
     @Override
     public String getId(String jwt) {
-        return Jwts.parser()
-                .verifyWith(tokenConfigurationParameter.getPublicKey())
-                .build()
-                .parseSignedClaims(jwt)
+        return jwtParser.parseSignedClaims(jwt)
                 .getPayload()
                 .getId();
     }
@@ -0,0 +1,167 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.exception.UserNotFoundException;
+import com.example.todowithcouchbase.auth.model.UserClaimsSnapshot;
+import com.example.todowithcouchbase.auth.model.entity.UserEntity;
+import com.example.todowithcouchbase.auth.repository.UserRepository;
+import com.example.todowithcouchbase.auth.service.UserClaimsCacheService;
+import com.example.todowithcouchbase.common.feed.ChangeFeed;
+import com.example.todowithcouchbase.common.feed.ChangeFeedListener;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.couchbase.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Implementation of the {@link UserClaimsCacheService} interface backed by a Caffeine cache.
+ * Keys are user IDs, values are the claims snapshots of the users. Entries expire after the configured
+ * time to live and the cache is bounded in size; hit, miss and eviction statistics are published to Micrometer
+ * under the {@code user-claims-cache} name.
+ * Whenever a {@link UserEntity} is saved, its ID is published to the {@value #USER_CHANGES_TOPIC}
+ * {@link ChangeFeed} topic and every instance drops its entry. While the feed may have missed changes,
+ * the cache is bypassed until it has been reset.
+ */
+@Slf4j
+@Service
+public class UserClaimsCacheServiceImpl implements UserClaimsCacheService, ChangeFeedListener {
+
+    static final String CACHE_NAME = "user-claims-cache";
+    static final String USER_CHANGES_TOPIC = "user-changes";
+
+    private final UserRepository userRepository;
+    private final ChangeFeed changeFeed;
+    private final Cache<String, UserClaimsSnapshot> cache;
+    private final boolean enabled;
+
+    private volatile boolean cacheInSync;
+
+    /**
+     * Creates the cache from the given {@link AuthProperties} and registers its metrics.
+     *
+     * @param userRepository The repository users are read from on a cache miss.
+     * @param changeFeed The change feed user changes are published to.
+     * @param authProperties The authentication settings holding the cache bounds.
+     * @param meterRegistry The registry the cache statistics are published to.
+     */
+    public UserClaimsCacheServiceImpl(final UserRepository userRepository,
+                                      final ChangeFeed changeFeed,
+                                      final AuthProperties authProperties,
+                                      final MeterRegistry meterRegistry) {
+
+        final AuthProperties.UserClaimsCache userClaimsCache = authProperties.getUserClaimsCache();
+
+        this.userRepository = userRepository;
+        this.changeFeed = changeFeed;
+        this.enabled = userClaimsCache.isEnabled();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(userClaimsCache.getMaximumSize())
+                .expireAfterWrite(userClaimsCache.getTimeToLive())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+    }
+
+    /**
+     * Returns the claims snapshot of the user with the given ID from the cache, reading the user on a miss.
+     * Unknown users are not cached.
+     *
+     * @param userId The ID of the user.
+     * @return The {@link UserClaimsSnapshot} of the user.
+     * @throws UserNotFoundException If no user has the given ID.
+     */
+    @Override
+    public UserClaimsSnapshot getSnapshot(final String userId) {
+
+        if (!enabled || !cacheInSync) {
+            return this.load(userId);
+        }
+
+        return cache.get(userId, this::load);
+
+    }
+
+    /**
+     * Drops the cached snapshot of the user with the given ID here and publishes the ID to the other instances.
+     *
+     * @param userId The ID of the user.
+     */
+    @Override
+    public void invalidate(final String userId) {
+        cache.invalidate(userId);
+        changeFeed.publish(USER_CHANGES_TOPIC, Set.of(userId));
+    }
+
+    /**
+     * Invalidates the snapshot of every user that is saved, whatever the code path saving it.
+     * The user is already saved at this point, so a failed publication is only logged; the other instances
+     * then serve the old snapshot until it expires.
+     *
+     * @param event The event published by Spring Data Couchbase after an entity was saved.
+     */
+    @EventListener
+    public void onAfterSave(final AfterSaveEvent<?> event) {
+        if (event.getSource() instanceof UserEntity userEntity && userEntity.getId() != null) {
+            try {
+                this.invalidate(userEntity.getId());
+            } catch (RuntimeException exception) {
+                log.warn("Could not publish the change of user ID {}", userEntity.getId(), exception);
+            }
+        }
+    }
+
+    /**
+     * Returns the change feed topic user changes are published to.
+     *
+     * @return The user changes topic.
+     */
+    @Override
+    public String getTopic() {
+        return USER_CHANGES_TOPIC;
+    }
+
+    /**
+     * Drops the cached snapshots of the users saved on any instance.
+     *
+     * @param userIds The IDs of the saved users.
+     */
+    @Override
+    public void onChanges(final Set<String> userIds) {
+        cache.invalidateAll(userIds);
+    }
+
+    /**
+     * Drops every cached snapshot and starts serving from the cache again.
+     * Called by the change feed poller on startup and whenever user changes may have been missed.
+     */
+    @Override
+    public void onReset() {
+        cacheInSync = false;
+        cache.invalidateAll();
+        cacheInSync = true;
+    }
+
+    /**
+     * Bypasses the cache until the next reset, as users saved on other instances may be cached with old claims.
+     */
+    @Override
+    public void onStale() {
+        cacheInSync = false;
+    }
+
+    private UserClaimsSnapshot load(final String userId) {
+        return userRepository.findById(userId)
+                .map(UserClaimsSnapshot::of)
+                .orElseThrow(UserNotFoundException::new);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import com.example.todowithcouchbase.auth.model.entity.UserEntity;
+import com.example.todowithcouchbase.auth.repository.UserEmailRepository;
+import com.example.todowithcouchbase.auth.repository.UserRepository;
+import com.example.todowithcouchbase.auth.service.UserEmailLookupBackfillService;
+import com.example.todowithcouchbase.common.reservation.KeyReservations;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service implementation for the one-off backfill of email lookup documents.
+ * Each user without a lookup document gets one inserted; a document that already exists is left alone,
+ * and one pointing to a different user is logged, since two users then share the email.
+ * The documents are inserted through {@link KeyReservations#backfill}.
+ * The backfill runs once the application is ready when {@code auth.user-email-lookup-backfill.enabled} is set.
+ */
+@Service
+public class UserEmailLookupBackfillServiceImpl implements UserEmailLookupBackfillService {
+
+    private final UserRepository userRepository;
+    private final KeyReservations<UserEmailEntity> emailReservations;
+    private final AuthProperties authProperties;
+
+    /**
+     * Creates the backfill on top of the users and their email lookup documents.
+     *
+     * @param userRepository The repository holding the users.
+     * @param userEmailRepository The repository holding the email lookup documents.
+     * @param authProperties The authentication settings holding the backfill settings.
+     */
+    public UserEmailLookupBackfillServiceImpl(final UserRepository userRepository,
+                                              final UserEmailRepository userEmailRepository,
+                                              final AuthProperties authProperties) {
+        this.userRepository = userRepository;
+        this.emailReservations = new KeyReservations<>(
+                userEmailRepository, UserEmailEntity::keyOf, UserEmailEntity::of, "email");
+        this.authProperties = authProperties;
+    }
+
+    /**
+     * Runs the backfill on startup if it is enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (authProperties.getUserEmailLookupBackfill().isEnabled()) {
+            this.backfill();
+        }
+    }
+
+    /**
+     * Creates the lookup document of every user that has none, reading the users a page at a time.
+     */
+    @Override
+    public void backfill() {
+        emailReservations.backfill(
+                userRepository::findAll,
+                authProperties.getUserEmailLookupBackfill().getBatchSize(),
+                UserEntity::getEmail,
+                UserEntity::getId
+        );
+    }
+
+}
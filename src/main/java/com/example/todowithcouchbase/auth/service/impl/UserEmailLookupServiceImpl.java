@@ -0,0 +1,108 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.exception.UserAlreadyExistException;
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import com.example.todowithcouchbase.auth.model.entity.UserEntity;
+import com.example.todowithcouchbase.auth.repository.UserEmailRepository;
+import com.example.todowithcouchbase.auth.repository.UserRepository;
+import com.example.todowithcouchbase.auth.service.UserEmailLookupService;
+import com.example.todowithcouchbase.common.reservation.KeyReservations;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Service implementation for the email lookup documents.
+ * Registration reserves the email through {@link KeyReservations} first and saves the user second, releasing
+ * the reservation if the save fails. A reservation whose user was never saved is taken over once it is older
+ * than {@code auth.user-email-lookup.reservation-timeout}.
+ * While {@code auth.user-email-lookup.query-fallback-enabled} is set, users without a lookup document are
+ * still found and detected with the email queries on {@link UserRepository}.
+ */
+@Service
+public class UserEmailLookupServiceImpl implements UserEmailLookupService {
+
+    private final KeyReservations<UserEmailEntity> emailReservations;
+    private final UserRepository userRepository;
+    private final AuthProperties authProperties;
+
+    /**
+     * Creates the service on top of the email lookup documents.
+     *
+     * @param userEmailRepository The repository holding the email lookup documents.
+     * @param userRepository The repository holding the users.
+     * @param authProperties The authentication settings holding the lookup settings.
+     */
+    public UserEmailLookupServiceImpl(final UserEmailRepository userEmailRepository,
+                                      final UserRepository userRepository,
+                                      final AuthProperties authProperties) {
+        this.emailReservations = new KeyReservations<>(
+                userEmailRepository, UserEmailEntity::keyOf, UserEmailEntity::of, "email");
+        this.userRepository = userRepository;
+        this.authProperties = authProperties;
+    }
+
+    /**
+     * Finds the user registered with the given email through its lookup document, falling back to the email
+     * query when the document is missing and the fallback is enabled.
+     *
+     * @param email The email address of the user.
+     * @return An {@link Optional} containing the {@link UserEntity} if found, or {@link Optional#empty()} if not found.
+     */
+    @Override
+    public Optional<UserEntity> findUserByEmail(final String email) {
+
+        final Optional<UserEntity> userEntity = emailReservations.find(email)
+                .flatMap(userEmailEntity -> userRepository.findById(userEmailEntity.getUserId()))
+                .filter(user -> email.equals(user.getEmail()));
+
+        if (userEntity.isPresent() || !authProperties.getUserEmailLookup().isQueryFallbackEnabled()) {
+            return userEntity;
+        }
+
+        return userRepository.findUserEntityByEmail(email);
+
+    }
+
+    /**
+     * Reserves the given email by inserting its lookup document, taking over an orphaned reservation
+     * whose user was never saved.
+     *
+     * @param email The email address to reserve.
+     * @param userId The ID the user is going to be saved with.
+     * @throws UserAlreadyExistException If the email is already used by another user.
+     */
+    @Override
+    public void reserveEmail(final String email, final String userId) {
+
+        if (authProperties.getUserEmailLookup().isQueryFallbackEnabled()
+                && userRepository.existsUserEntityByEmail(email)) {
+            throw new UserAlreadyExistException("The email is already used for another user : " + email);
+        }
+
+        final boolean reserved = emailReservations.reserve(
+                email,
+                userId,
+                authProperties.getUserEmailLookup().getReservationTimeout(),
+                userEmailEntity -> userRepository.existsById(userEmailEntity.getUserId())
+        );
+
+        if (!reserved) {
+            throw new UserAlreadyExistException("The email is already used for another user : " + email);
+        }
+
+    }
+
+    /**
+     * Deletes the lookup document of the given email if it still points to the given user.
+     *
+     * @param email The reserved email address.
+     * @param userId The ID of the user the email was reserved for.
+     */
+    @Override
+    public void releaseEmail(final String email, final String userId) {
+        emailReservations.release(email, userId);
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.service.TokenService;
+import com.example.todowithcouchbase.auth.service.VerifiedTokenCacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MissingClaimException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Implementation of the {@link VerifiedTokenCacheService} interface backed by a Caffeine cache.
+ * Keys are SHA-256 digests of the tokens, values are the verified tokens. The authentication is not cached:
+ * it is mutable, so it is built per request from the cached token instead of being shared between requests.
+ * Each entry expires at the {@code exp} claim of its token, so tokens without one are rejected as invalid,
+ * and the cache is bounded in size;
+ * hit, miss and eviction statistics are published to Micrometer under the {@code verified-token-cache} name.
+ */
+@Service
+public class VerifiedTokenCacheServiceImpl implements VerifiedTokenCacheService {
+
+    static final String CACHE_NAME = "verified-token-cache";
+
+    private final TokenService tokenService;
+    private final Cache<String, VerifiedToken> cache;
+    private final boolean enabled;
+
+    /**
+     * Creates the cache from the given {@link AuthProperties} and registers its metrics.
+     *
+     * @param tokenService The service used to verify tokens on a cache miss.
+     * @param authProperties The authentication settings holding the cache size bound.
+     * @param meterRegistry The registry the cache statistics are published to.
+     */
+    public VerifiedTokenCacheServiceImpl(final TokenService tokenService,
+                                         final AuthProperties authProperties,
+                                         final MeterRegistry meterRegistry) {
+
+        this.tokenService = tokenService;
+        this.enabled = authProperties.getVerifiedTokenCache().isEnabled();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(authProperties.getVerifiedTokenCache().getMaximumSize())
+                .expireAfter(new TokenExpirationExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+    }
+
+    /**
+     * Returns the verified form of the given JWT from the cache, verifying and caching it on a miss.
+     * Tokens that fail verification or carry no {@code exp} claim are not cached and the exception is propagated.
+     *
+     * @param jwt The JWT to resolve.
+     * @return The {@link VerifiedToken} of the given JWT.
+     */
+    @Override
+    public VerifiedToken verify(final String jwt) {
+
+        if (!enabled) {
+            return this.verifyExpiring(jwt);
+        }
+
+        return cache.get(digest(jwt), key -> this.verifyExpiring(jwt));
+
+    }
+
+    /**
+     * Returns the verified form of the given JWT if it is already in the cache, without verifying it.
+     *
+     * @param jwt The JWT to look up.
+     * @return An {@link Optional} containing the cached {@link VerifiedToken}, or {@link Optional#empty()}
+     *         if the token has not been verified yet or the cache is disabled.
+     */
+    @Override
+    public Optional<VerifiedToken> getIfPresent(final String jwt) {
+
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        // Read through the map view so that the lookup is not counted in the hit and miss statistics.
+        return Optional.ofNullable(cache.asMap().get(digest(jwt)));
+
+    }
+
+    /**
+     * Verifies the given JWT and checks that it carries an expiration the cache entry can expire at.
+     *
+     * @param jwt The JWT to verify.
+     * @return The {@link VerifiedToken} of the given JWT.
+     * @throws MissingClaimException If the token carries no {@code exp} claim.
+     */
+    private VerifiedToken verifyExpiring(final String jwt) {
+        final VerifiedToken verifiedToken = tokenService.verify(jwt);
+        if (verifiedToken.getClaims().getExpiration() == null) {
+            throw new MissingClaimException(verifiedToken.getHeader(), verifiedToken.getClaims(),
+                    Claims.EXPIRATION, null, "Token has no expiration claim");
+        }
+        return verifiedToken;
+    }
+
+    /**
+     * Computes the hex encoded SHA-256 digest of the given JWT, used as the cache key.
+     *
+     * @param jwt The JWT to digest.
+     * @return The digest of the JWT.
+     */
+    private static String digest(final String jwt) {
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(jwt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    /**
+     * {@link Expiry} that keeps each entry until the {@code exp} claim of its token.
+     * Reads and updates do not extend the lifetime of an entry.
+     */
+    private static final class TokenExpirationExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(final String key, final VerifiedToken verifiedToken, final long currentTime) {
+            final long remainingMillis = verifiedToken.getClaims().getExpiration().getTime()
+                    - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final VerifiedToken verifiedToken,
+                                      final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final VerifiedToken verifiedToken,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
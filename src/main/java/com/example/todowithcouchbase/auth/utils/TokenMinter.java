@@ -0,0 +1,140 @@
+package com.example.todowithcouchbase.auth.utils;
+
+import com.example.todowithcouchbase.auth.model.TokenSigningKey;
+import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
+import com.example.todowithcouchbase.auth.model.enums.TokenType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes signed compact JWTs with one signing key and issuer.
+ * The header segment and the issuer claim never change for a key, so they are encoded once when the minter
+ * is created; minting a token only serializes the given claims, the issue and expiration times and a fresh
+ * token ID, and signs the result with a per-thread JCA {@link Signature} that is initialized once.
+ * The tokens are the same as the ones the jjwt builder writes: claims with a {@code null} value are left out,
+ * and the registered claims set by the minter take precedence over given claims of the same name.
+ */
+public final class TokenMinter {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Set<String> MINTED_CLAIMS = Set.of(
+            Claims.ID, Claims.ISSUER, Claims.ISSUED_AT, Claims.EXPIRATION
+    );
+
+    private final ObjectMapper objectMapper;
+    private final String encodedHeader;
+    private final String issuerFragment;
+    private final ThreadLocal<Signature> signatures;
+
+    /**
+     * Creates a minter signing with the given key and writing the given issuer.
+     *
+     * @param signingKey The key tokens are signed with; it must have a private key.
+     * @param issuer The issuer written to every token.
+     * @param objectMapper The mapper the claim values are serialized with.
+     * @throws IllegalArgumentException If the key cannot sign.
+     * @throws IllegalStateException If no JCA signature is available for the algorithm of the key.
+     */
+    public TokenMinter(final TokenSigningKey signingKey, final String issuer, final ObjectMapper objectMapper) {
+
+        if (!signingKey.canSign()) {
+            throw new IllegalArgumentException("Token signing key has no private key: " + signingKey.getKeyId());
+        }
+
+        this.objectMapper = objectMapper;
+
+        final Map<String, Object> header = new LinkedHashMap<>();
+        header.put(TokenClaims.TYP.getValue(), TokenType.BEARER.getValue());
+        header.put(TokenClaims.KEY_ID.getValue(), signingKey.getKeyId());
+        header.put(TokenClaims.ALGORITHM.getValue(), signingKey.getAlgorithm().getId());
+        this.encodedHeader = BASE64_URL.encodeToString(this.writeJson(header)) + ".";
+
+        this.issuerFragment = "\"" + Claims.ISSUER + "\":"
+                + new String(this.writeJson(issuer), StandardCharsets.UTF_8) + ",";
+
+        this.signatures = ThreadLocal.withInitial(() -> newSignature(signingKey));
+        this.signatures.get();
+
+    }
+
+    /**
+     * Mints a signed token with the given claims.
+     *
+     * @param claims The token specific claims.
+     * @param issuedAtSeconds The issue time, in seconds since the epoch.
+     * @param expiresAtSeconds The expiration time, in seconds since the epoch.
+     * @return The compact, signed JWT.
+     */
+    public String mint(final Map<String, ?> claims, final long issuedAtSeconds, final long expiresAtSeconds) {
+
+        final String signingInput = encodedHeader
+                + BASE64_URL.encodeToString(this.writePayload(claims, issuedAtSeconds, expiresAtSeconds));
+
+        try {
+            final Signature signature = signatures.get();
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + BASE64_URL.encodeToString(signature.sign());
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Token could not be signed", exception);
+        }
+
+    }
+
+    private byte[] writePayload(final Map<String, ?> claims, final long issuedAtSeconds, final long expiresAtSeconds) {
+
+        final ByteArrayOutputStream payload = new ByteArrayOutputStream(512);
+
+        try (JsonGenerator generator = objectMapper.createGenerator(payload)) {
+            generator.writeStartObject();
+            generator.writeRaw(issuerFragment);
+            generator.writeStringField(Claims.ID, UUID.randomUUID().toString());
+            generator.writeNumberField(Claims.ISSUED_AT, issuedAtSeconds);
+            generator.writeNumberField(Claims.EXPIRATION, expiresAtSeconds);
+            for (final Map.Entry<String, ?> claim : claims.entrySet()) {
+                if (claim.getValue() != null && !MINTED_CLAIMS.contains(claim.getKey())) {
+                    generator.writeObjectField(claim.getKey(), claim.getValue());
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return payload.toByteArray();
+
+    }
+
+    private byte[] writeJson(final Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static Signature newSignature(final TokenSigningKey signingKey) {
+        try {
+            final Signature signature = Signature.getInstance(signingKey.getAlgorithm().getJcaName());
+            signature.initSign(signingKey.getPrivateKey());
+            return signature;
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(
+                    "No signature available for token signing key: " + signingKey.getKeyId(), exception);
+        }
+    }
+
+}
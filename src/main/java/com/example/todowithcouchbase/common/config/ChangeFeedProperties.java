@@ -0,0 +1,27 @@
+package com.example.todowithcouchbase.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * This class holds the settings of the change feed that propagates changes between application instances.
+ * It is bound from the {@code change-feed} section of the application's configuration and falls back to
+ * the defaults declared here when a property is not set.
+ * A change made on one instance reaches the others within roughly one {@code pollInterval}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "change-feed")
+public class ChangeFeedProperties {
+
+    private boolean enabled = true;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private Duration retention = Duration.ofMinutes(10);
+    private int maxEventsPerPoll = 500;
+    private Duration missingEventGrace = Duration.ofSeconds(5);
+    private int resetReplayEvents = 1_000;
+
+}
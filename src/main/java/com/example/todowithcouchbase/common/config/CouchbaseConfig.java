@@ -10,6 +10,7 @@ import com.couchbase.client.java.manager.bucket.BucketManager;
 import com.couchbase.client.java.manager.bucket.BucketSettings;
 import com.couchbase.client.java.manager.bucket.BucketType;
 import com.example.todowithcouchbase.common.exception.BucketConfigException;
+import com.example.todowithcouchbase.common.index.SecondaryIndexInitializer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,6 +24,8 @@ import java.time.Duration;
  * setting up the bucket, and creating scopes and collections. It also provides beans for interacting
  * with Couchbase through scopes and collections. The configuration is customized through the
  * {@link CouchbaseProperties} class.
+ * The secondary indexes declared on the entities are created by {@link SecondaryIndexInitializer} once the
+ * application is ready.
  *
  */
 @Slf4j
@@ -137,6 +140,7 @@ public class CouchbaseConfig extends AbstractCouchbaseConfiguration {
             createScopeAndCollection(bucket, couchbaseProperties.getScopes().getTaskScope(), couchbaseProperties.getCollections().getTaskCollection());
             createScopeAndCollection(bucket, couchbaseProperties.getScopes().getInvalidTokenScope(), couchbaseProperties.getCollections().getInvalidTokenCollection());
             createScopeAndCollection(bucket, couchbaseProperties.getScopes().getLogScope(), couchbaseProperties.getCollections().getLogCollection());
+            createScopeAndCollection(bucket, couchbaseProperties.getScopes().getChangeFeedScope(), couchbaseProperties.getCollections().getChangeFeedCollection());
             return bucket;
         } else {
             log.info("Couchbase bucket '{}' already exists", getBucketName());
@@ -206,5 +210,15 @@ public class CouchbaseConfig extends AbstractCouchbaseConfiguration {
         return couchbaseBucket().scope(couchbaseProperties.getScopes().getLogScope());
     }
 
+    /**
+     * Provides a {@link Scope} bean for the change feed scope in the Couchbase bucket.
+     *
+     * @return The {@link Scope} for the change feed scope.
+     */
+    @Bean
+    public Scope changeFeedScope() {
+        return couchbaseBucket().scope(couchbaseProperties.getScopes().getChangeFeedScope());
+    }
+
 }
 
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * This class holds the Couchbase configuration properties.
  * It is used to load properties from the application's configuration (typically application.yml or application.properties)
@@ -30,6 +32,7 @@ public class CouchbaseProperties {
         private String taskScope;
         private String invalidTokenScope;
         private String logScope;
+        private String changeFeedScope;
     }
 
     private Collections collections;
@@ -44,6 +47,18 @@ public class CouchbaseProperties {
         private String taskCollection;
         private String invalidTokenCollection;
         private String logCollection;
+        private String changeFeedCollection;
+    }
+
+    private Indexes indexes = new Indexes();
+
+    /**
+     * Nested class that holds the settings of the secondary indexes created on startup.
+     */
+    @Data
+    public static class Indexes {
+        private boolean enabled = true;
+        private Duration buildTimeout = Duration.ofMinutes(1);
     }
 
 }
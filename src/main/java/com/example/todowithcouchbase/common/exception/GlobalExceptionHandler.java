@@ -3,9 +3,11 @@ package com.example.todowithcouchbase.common.exception;
 import com.example.todowithcouchbase.auth.exception.*;
 import com.example.todowithcouchbase.common.model.CustomError;
 import com.example.todowithcouchbase.task.exception.TaskNotFoundException;
+import com.example.todowithcouchbase.task.exception.TaskVersionMismatchException;
 import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
 import jakarta.validation.ConstraintViolationException;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -323,4 +325,72 @@ class GlobalExceptionHandler {
 
     }
 
+    /**
+     * Handles PasswordHashingUnavailableException, which is thrown when the password hashing executor is saturated.
+     * The response contains the error message, a 429 TOO_MANY_REQUESTS status and a {@code Retry-After} header.
+     *
+     * @param ex The PasswordHashingUnavailableException that was thrown.
+     * @return ResponseEntity containing the custom error message.
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    protected ResponseEntity<CustomError> handlePasswordHashingUnavailableException(final PasswordHashingUnavailableException ex) {
+
+        CustomError error = CustomError.builder()
+                .time(LocalDateTime.now())
+                .httpStatus(PasswordHashingUnavailableException.STATUS)
+                .header(CustomError.Header.PROCESS_ERROR.getName())
+                .message(ex.getMessage())
+                .isSuccess(false)
+                .build();
+
+        return ResponseEntity.status(PasswordHashingUnavailableException.STATUS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+
+    }
+
+    /**
+     * Handles InvalidCursorException, which is thrown when a paging cursor cannot be decoded.
+     * The response contains the error message and a 400 BAD_REQUEST status.
+     *
+     * @param ex The InvalidCursorException that was thrown.
+     * @return ResponseEntity containing the custom error message and BAD_REQUEST status.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    protected ResponseEntity<CustomError> handleInvalidCursorException(final InvalidCursorException ex) {
+
+        CustomError error = CustomError.builder()
+                .time(LocalDateTime.now())
+                .httpStatus(InvalidCursorException.STATUS)
+                .header(CustomError.Header.BAD_REQUEST.getName())
+                .message(ex.getMessage())
+                .isSuccess(false)
+                .build();
+
+        return new ResponseEntity<>(error, InvalidCursorException.STATUS);
+
+    }
+
+    /**
+     * Handles TaskVersionMismatchException, which is thrown when a task update is based on an outdated version.
+     * The response contains the error message and a 412 PRECONDITION_FAILED status.
+     *
+     * @param ex The TaskVersionMismatchException that was thrown.
+     * @return ResponseEntity containing the custom error message and PRECONDITION_FAILED status.
+     */
+    @ExceptionHandler(TaskVersionMismatchException.class)
+    protected ResponseEntity<CustomError> handleTaskVersionMismatchException(final TaskVersionMismatchException ex) {
+
+        CustomError error = CustomError.builder()
+                .time(LocalDateTime.now())
+                .httpStatus(TaskVersionMismatchException.STATUS)
+                .header(CustomError.Header.PROCESS_ERROR.getName())
+                .message(ex.getMessage())
+                .isSuccess(false)
+                .build();
+
+        return new ResponseEntity<>(error, TaskVersionMismatchException.STATUS);
+
+    }
+
 }
@@ -0,0 +1,39 @@
+package com.example.todowithcouchbase.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+/**
+ * Custom exception thrown when a paging cursor sent by a client cannot be decoded.
+ * Cursors are opaque tokens returned in {@code nextCursor}; this exception is thrown when one was altered or
+ * did not come from this service.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -5147028321986602335L;
+
+    public static final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+
+    private static final String DEFAULT_MESSAGE = """
+            Cursor is not valid!
+            """;
+
+    /**
+     * Constructs a new InvalidCursorException with the default error message.
+     */
+    public InvalidCursorException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new InvalidCursorException with a custom error message.
+     *
+     * @param message the custom message to be appended to the default error message.
+     */
+    public InvalidCursorException(final String message) {
+        super(DEFAULT_MESSAGE + " " + message);
+    }
+
+}
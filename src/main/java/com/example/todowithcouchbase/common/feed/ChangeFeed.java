@@ -0,0 +1,45 @@
+package com.example.todowithcouchbase.common.feed;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A shared, ordered log of changed keys per topic, used to tell every application instance
+ * about changes made on another one.
+ * Each published event gets the next sequence number of its topic. Events are retained for a limited time,
+ * so a reader that falls too far behind finds sequence numbers whose events are gone and has to rebuild its
+ * state from the source of truth instead.
+ */
+public interface ChangeFeed {
+
+    /**
+     * Publishes the given keys as one event of the topic.
+     *
+     * @param topic The topic to publish to.
+     * @param keys The keys that changed.
+     * @return The sequence number of the published event.
+     */
+    long publish(final String topic, final Set<String> keys);
+
+    /**
+     * Returns the sequence number of the latest event published to the topic,
+     * or {@code 0} if nothing has been published yet.
+     *
+     * @param topic The topic to read.
+     * @return The latest sequence number of the topic.
+     */
+    long currentSequence(final String topic);
+
+    /**
+     * Reads the events of the topic with a sequence number in {@code (afterSequence, toSequence]}.
+     * Events that have expired, or whose sequence number was taken but which are not written yet,
+     * are absent from the result.
+     *
+     * @param topic The topic to read.
+     * @param afterSequence The exclusive lower bound of the sequence numbers to read.
+     * @param toSequence The inclusive upper bound of the sequence numbers to read.
+     * @return The events found, ordered by sequence number.
+     */
+    List<ChangeFeedEvent> read(final String topic, final long afterSequence, final long toSequence);
+
+}
@@ -0,0 +1,21 @@
+package com.example.todowithcouchbase.common.feed;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Represents one event of a {@link ChangeFeed} topic: the keys that changed, under the sequence number
+ * the event was published with, and the time it was published at, if known.
+ */
+@Getter
+@Builder
+public class ChangeFeedEvent {
+
+    private final long sequence;
+    private final Set<String> keys;
+    private final Instant publishedAt;
+
+}
@@ -0,0 +1,40 @@
+package com.example.todowithcouchbase.common.feed;
+
+import java.util.Set;
+
+/**
+ * Receives the events of one {@link ChangeFeed} topic from the {@link ChangeFeedPoller}.
+ * Implementations keep some local state in sync with a source of truth; the feed tells them what changed,
+ * and asks them to rebuild that state whenever changes may have been missed.
+ */
+public interface ChangeFeedListener {
+
+    /**
+     * Returns the topic this listener follows.
+     *
+     * @return The topic name.
+     */
+    String getTopic();
+
+    /**
+     * Applies the keys published to the topic since the previous call.
+     *
+     * @param keys The changed keys.
+     */
+    void onChanges(final Set<String> keys);
+
+    /**
+     * Rebuilds the local state from the source of truth.
+     * Called on startup and whenever events may have been missed; every change published after this call
+     * is delivered through {@link #onChanges(Set)}.
+     */
+    void onReset();
+
+    /**
+     * Signals that the feed cannot be read, so the local state may be missing changes
+     * until the next {@link #onReset()}.
+     */
+    default void onStale() {
+    }
+
+}
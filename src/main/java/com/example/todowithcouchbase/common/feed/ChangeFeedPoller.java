@@ -0,0 +1,269 @@
+package com.example.todowithcouchbase.common.feed;
+
+import com.example.todowithcouchbase.common.config.ChangeFeedProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Polls the {@link ChangeFeed} on a fixed delay and hands the new events of each topic to its
+ * {@link ChangeFeedListener}.
+ * The first poll of a topic resets its listener. Later polls deliver the keys published since the previous poll.
+ * An event whose sequence number is taken but which cannot be read yet is waited for during a grace period;
+ * if it is still missing afterwards, because it expired before it was read or its publisher failed,
+ * the listener is reset instead. After a reset the recent events are delivered again, so changes whose records
+ * were still being written while the listener rebuilt its state are not lost; events of that replay window
+ * that have expired are skipped once their grace period is over.
+ * A failed reset is retried on the next poll. When the feed is disabled, each listener is reset once on startup
+ * and then marked stale for good, as changes made on other instances will never reach it.
+ * The time from publishing an event to delivering it is recorded once per event under {@value #LAG_TIMER_NAME},
+ * tagged with the topic; it is measured against the clock of the publishing instance.
+ */
+@Slf4j
+@Component
+public class ChangeFeedPoller {
+
+    static final String LAG_TIMER_NAME = "change.feed.lag";
+
+    private static final long UNKNOWN = -1;
+
+    private final ChangeFeed changeFeed;
+    private final ChangeFeedProperties changeFeedProperties;
+    private final Map<String, TopicState> topics;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates the poller for the given listeners.
+     *
+     * @param changeFeed The change feed to poll.
+     * @param listeners The listeners to deliver the events to, one per topic.
+     * @param changeFeedProperties The change feed settings.
+     * @param meterRegistry The registry the delivery lag of each topic is published to.
+     */
+    public ChangeFeedPoller(final ChangeFeed changeFeed,
+                            final List<ChangeFeedListener> listeners,
+                            final ChangeFeedProperties changeFeedProperties,
+                            final MeterRegistry meterRegistry) {
+        this.changeFeed = changeFeed;
+        this.changeFeedProperties = changeFeedProperties;
+        this.topics = listeners.stream()
+                .map(listener -> new TopicState(listener, Timer.builder(LAG_TIMER_NAME)
+                        .tag("topic", listener.getTopic())
+                        .register(meterRegistry)))
+                .collect(Collectors.toMap(state -> state.listener.getTopic(), Function.identity()));
+    }
+
+    /**
+     * Starts polling once the application is ready, or resets every listener once and marks it stale
+     * if the feed is disabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+
+        if (!changeFeedProperties.isEnabled()) {
+            topics.values().forEach(state -> {
+                resetListener(state.listener);
+                state.listener.onStale();
+            });
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "change-feed-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final long pollIntervalMillis = changeFeedProperties.getPollInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::poll, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+
+    }
+
+    /**
+     * Stops polling.
+     */
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Polls every topic once.
+     */
+    void poll() {
+        topics.values().forEach(this::poll);
+    }
+
+    private void poll(final TopicState state) {
+
+        final String topic = state.listener.getTopic();
+
+        try {
+
+            final long currentSequence = changeFeed.currentSequence(topic);
+
+            if (state.cursor == UNKNOWN || currentSequence < state.cursor) {
+                this.reset(state, currentSequence);
+                return;
+            }
+
+            if (currentSequence == state.cursor) {
+                return;
+            }
+
+            final long toSequence = Math.min(currentSequence, state.cursor + changeFeedProperties.getMaxEventsPerPoll());
+            final Map<Long, ChangeFeedEvent> events = changeFeed.read(topic, state.cursor, toSequence).stream()
+                    .collect(Collectors.toMap(ChangeFeedEvent::getSequence, Function.identity()));
+
+            final Instant now = Instant.now();
+            final Set<String> keys = new HashSet<>();
+            final List<ChangeFeedEvent> delivered = new ArrayList<>();
+            long cursor = state.cursor;
+            boolean waiting = false;
+
+            for (long sequence = state.cursor + 1; sequence <= toSequence; sequence++) {
+
+                final ChangeFeedEvent event = events.get(sequence);
+
+                if (event != null) {
+                    keys.addAll(event.getKeys());
+                    delivered.add(event);
+                } else if (!this.isMissingBeyondGrace(state, sequence, now)) {
+                    waiting = true;
+                } else if (sequence > state.replayUntil) {
+                    log.warn("Change feed event {} of topic {} is missing, resetting", sequence, topic);
+                    this.deliver(state, keys, cursor);
+                    this.recordLag(state, delivered);
+                    this.reset(state, currentSequence);
+                    return;
+                }
+
+                if (!waiting) {
+                    cursor = sequence;
+                }
+
+            }
+
+            this.deliver(state, keys, cursor);
+            this.recordLag(state, delivered);
+
+        } catch (RuntimeException exception) {
+            log.error("Change feed topic {} could not be polled", topic, exception);
+            state.cursor = UNKNOWN;
+            state.listener.onStale();
+        }
+
+    }
+
+    /**
+     * Tracks since when the given event has been seen missing.
+     *
+     * @return {@code true} once the event has been missing for longer than the grace period.
+     */
+    private boolean isMissingBeyondGrace(final TopicState state, final long sequence, final Instant now) {
+        final Instant missingSince = state.missingSince.computeIfAbsent(sequence, key -> now);
+        return Duration.between(missingSince, now).compareTo(changeFeedProperties.getMissingEventGrace()) >= 0;
+    }
+
+    /**
+     * Delivers the collected keys and moves the cursor. Events after a missing one that is still within its
+     * grace period are delivered now and again once the cursor passes them, so listeners must be idempotent.
+     */
+    private void deliver(final TopicState state, final Set<String> keys, final long cursor) {
+        if (!keys.isEmpty()) {
+            state.listener.onChanges(keys);
+        }
+        state.cursor = cursor;
+        state.missingSince.headMap(cursor, true).clear();
+    }
+
+    /**
+     * Records the delivery lag of the given events, skipping events delivered before, events replayed after
+     * a reset and events without a publication time. Clock skew can make the lag negative; it is then zero.
+     */
+    private void recordLag(final TopicState state, final List<ChangeFeedEvent> events) {
+        final Instant now = Instant.now();
+        for (final ChangeFeedEvent event : events) {
+            if (event.getSequence() > state.measuredUntil) {
+                state.measuredUntil = event.getSequence();
+                if (event.getPublishedAt() != null) {
+                    final Duration lag = Duration.between(event.getPublishedAt(), now);
+                    state.lag.record(lag.isNegative() ? Duration.ZERO : lag);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resets the listener of the topic and moves the cursor back by the replay window, so that recent events
+     * are delivered again after the listener has rebuilt its state.
+     */
+    private void reset(final TopicState state, final long currentSequence) {
+        state.cursor = UNKNOWN;
+        state.missingSince.clear();
+        state.measuredUntil = currentSequence;
+        if (!this.resetListener(state.listener)) {
+            return;
+        }
+        state.replayUntil = currentSequence;
+        state.cursor = Math.max(0, currentSequence - changeFeedProperties.getResetReplayEvents());
+    }
+
+    /**
+     * Resets the given listener.
+     *
+     * @return {@code true} if the listener rebuilt its state, {@code false} if the reset failed and has to be retried.
+     */
+    private boolean resetListener(final ChangeFeedListener listener) {
+        try {
+            listener.onReset();
+            log.info("Change feed listener of topic {} was reset", listener.getTopic());
+            return true;
+        } catch (RuntimeException exception) {
+            log.error("Change feed listener of topic {} could not be reset", listener.getTopic(), exception);
+            return false;
+        }
+    }
+
+    /**
+     * Polling state of one topic. Only accessed from the polling thread.
+     */
+    private static final class TopicState {
+
+        private final ChangeFeedListener listener;
+        private final Timer lag;
+        private long cursor = UNKNOWN;
+        private long replayUntil = UNKNOWN;
+        private long measuredUntil = UNKNOWN;
+        private final NavigableMap<Long, Instant> missingSince = new TreeMap<>();
+
+        private TopicState(final ChangeFeedListener listener, final Timer lag) {
+            this.listener = listener;
+            this.lag = lag;
+        }
+
+    }
+
+}
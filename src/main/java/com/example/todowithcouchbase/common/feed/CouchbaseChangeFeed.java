@@ -0,0 +1,151 @@
+package com.example.todowithcouchbase.common.feed;
+
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.java.AsyncCollection;
+import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.Scope;
+import com.couchbase.client.java.json.JsonArray;
+import com.couchbase.client.java.json.JsonObject;
+import com.couchbase.client.java.kv.GetResult;
+import com.example.todowithcouchbase.common.config.ChangeFeedProperties;
+import com.example.todowithcouchbase.common.config.CouchbaseProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.couchbase.client.java.kv.IncrementOptions.incrementOptions;
+import static com.couchbase.client.java.kv.InsertOptions.insertOptions;
+
+/**
+ * {@link ChangeFeed} stored in the change feed collection.
+ * Each topic has a counter document, {@code <topic>::sequence}, incremented atomically to number the events,
+ * and one document per event, {@code <topic>::<sequence>}, holding the changed keys and expiring after
+ * the configured retention. Reading the feed is a handful of key-value gets and never touches the query service.
+ */
+@Component
+public class CouchbaseChangeFeed implements ChangeFeed {
+
+    private static final String KEYS_FIELD = "keys";
+    private static final String PUBLISHED_AT_FIELD = "publishedAt";
+
+    private final Collection collection;
+    private final ChangeFeedProperties changeFeedProperties;
+
+    /**
+     * Creates the change feed on the change feed collection.
+     *
+     * @param changeFeedScope The scope holding the change feed collection.
+     * @param couchbaseProperties The Couchbase properties holding the collection name.
+     * @param changeFeedProperties The change feed settings holding the event retention.
+     */
+    public CouchbaseChangeFeed(@Qualifier("changeFeedScope") final Scope changeFeedScope,
+                               final CouchbaseProperties couchbaseProperties,
+                               final ChangeFeedProperties changeFeedProperties) {
+        this.collection = changeFeedScope.collection(couchbaseProperties.getCollections().getChangeFeedCollection());
+        this.changeFeedProperties = changeFeedProperties;
+    }
+
+    /**
+     * Takes the next sequence number of the topic and writes the event under it.
+     *
+     * @param topic The topic to publish to.
+     * @param keys The keys that changed.
+     * @return The sequence number of the published event.
+     */
+    @Override
+    public long publish(final String topic, final Set<String> keys) {
+
+        final long sequence = collection.binary()
+                .increment(sequenceKey(topic), incrementOptions().initial(1))
+                .content();
+
+        final JsonObject event = JsonObject.create()
+                .put(KEYS_FIELD, JsonArray.from(new ArrayList<Object>(keys)))
+                .put(PUBLISHED_AT_FIELD, System.currentTimeMillis());
+
+        collection.insert(eventKey(topic, sequence), event, insertOptions().expiry(changeFeedProperties.getRetention()));
+
+        return sequence;
+
+    }
+
+    /**
+     * Reads the counter document of the topic.
+     *
+     * @param topic The topic to read.
+     * @return The latest sequence number of the topic, or {@code 0} if the counter does not exist yet.
+     */
+    @Override
+    public long currentSequence(final String topic) {
+        try {
+            return collection.get(sequenceKey(topic)).contentAs(Long.class);
+        } catch (DocumentNotFoundException exception) {
+            return 0;
+        }
+    }
+
+    /**
+     * Fetches the event documents of the requested range concurrently.
+     *
+     * @param topic The topic to read.
+     * @param afterSequence The exclusive lower bound of the sequence numbers to read.
+     * @param toSequence The inclusive upper bound of the sequence numbers to read.
+     * @return The events found, ordered by sequence number.
+     */
+    @Override
+    public List<ChangeFeedEvent> read(final String topic, final long afterSequence, final long toSequence) {
+
+        final AsyncCollection asyncCollection = collection.async();
+        final List<CompletableFuture<GetResult>> gets = new ArrayList<>();
+
+        for (long sequence = afterSequence + 1; sequence <= toSequence; sequence++) {
+            gets.add(asyncCollection.get(eventKey(topic, sequence)));
+        }
+
+        final List<ChangeFeedEvent> events = new ArrayList<>();
+
+        for (int i = 0; i < gets.size(); i++) {
+            final JsonObject event = contentOrNull(gets.get(i));
+            if (event != null) {
+                final Set<String> keys = new HashSet<>();
+                event.getArray(KEYS_FIELD).forEach(key -> keys.add((String) key));
+                final Long publishedAt = event.getLong(PUBLISHED_AT_FIELD);
+                events.add(ChangeFeedEvent.builder()
+                        .sequence(afterSequence + 1 + i)
+                        .keys(keys)
+                        .publishedAt(publishedAt != null ? Instant.ofEpochMilli(publishedAt) : null)
+                        .build());
+            }
+        }
+
+        return events;
+
+    }
+
+    private static JsonObject contentOrNull(final CompletableFuture<GetResult> get) {
+        try {
+            return get.join().contentAsObject();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof DocumentNotFoundException) {
+                return null;
+            }
+            throw exception;
+        }
+    }
+
+    private static String sequenceKey(final String topic) {
+        return topic + "::sequence";
+    }
+
+    private static String eventKey(final String topic, final long sequence) {
+        return topic + "::" + sequence;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.example.todowithcouchbase.common.index;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a secondary index over several properties of an entity, created in the collection of the entity
+ * by {@link SecondaryIndexInitializer} on startup.
+ * The properties are given by their Java names in index key order; the ID property is indexed as {@code META().id}.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(CompositeSecondaryIndexes.class)
+public @interface CompositeSecondaryIndex {
+
+    /**
+     * The name of the index.
+     *
+     * @return the name of the index.
+     */
+    String name();
+
+    /**
+     * The indexed properties, in index key order.
+     *
+     * @return the names of the indexed properties.
+     */
+    String[] properties();
+
+}
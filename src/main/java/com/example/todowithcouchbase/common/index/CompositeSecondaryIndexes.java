@@ -0,0 +1,24 @@
+package com.example.todowithcouchbase.common.index;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container of the {@link CompositeSecondaryIndex} annotations of one entity.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CompositeSecondaryIndexes {
+
+    /**
+     * The composite indexes of the entity.
+     *
+     * @return the composite indexes of the entity.
+     */
+    CompositeSecondaryIndex[] value();
+
+}
@@ -0,0 +1,93 @@
+package com.example.todowithcouchbase.common.index;
+
+import com.couchbase.client.core.io.CollectionIdentifier;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentProperty;
+import org.springframework.data.couchbase.repository.Collection;
+import org.springframework.data.couchbase.repository.Scope;
+import org.springframework.data.mapping.PropertyHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * A secondary index declared on an entity with {@link SecondaryIndexed} or {@link CompositeSecondaryIndex}.
+ *
+ * @param name the name of the index.
+ * @param scope the scope of the indexed collection.
+ * @param collection the indexed collection.
+ * @param properties the Java names of the indexed properties, in index key order.
+ * @param keys the index key expressions, in the same order.
+ */
+public record SecondaryIndexDefinition(String name,
+                                       String scope,
+                                       String collection,
+                                       List<String> properties,
+                                       List<String> keys) {
+
+    private static final String ID_KEY = "META().id";
+
+    /**
+     * Reads the secondary indexes declared on the given entity.
+     * Indexes are created in the scope and collection of the entity, or in the default ones if it has none.
+     *
+     * @param entity the mapped entity.
+     * @return the indexes of the entity, composite indexes first.
+     * @throws org.springframework.data.mapping.MappingException if a composite index names an unknown property.
+     */
+    public static List<SecondaryIndexDefinition> of(final CouchbasePersistentEntity<?> entity) {
+
+        final String scope = Optional
+                .ofNullable(AnnotatedElementUtils.findMergedAnnotation(entity.getType(), Scope.class))
+                .map(Scope::value)
+                .orElse(CollectionIdentifier.DEFAULT_SCOPE);
+        final String collection = Optional
+                .ofNullable(AnnotatedElementUtils.findMergedAnnotation(entity.getType(), Collection.class))
+                .map(Collection::value)
+                .orElse(CollectionIdentifier.DEFAULT_COLLECTION);
+
+        final List<SecondaryIndexDefinition> definitions = new ArrayList<>();
+
+        for (final CompositeSecondaryIndex index : AnnotatedElementUtils
+                .findMergedRepeatableAnnotations(entity.getType(), CompositeSecondaryIndex.class)) {
+            final List<String> keys = Arrays.stream(index.properties())
+                    .map(entity::getRequiredPersistentProperty)
+                    .map(SecondaryIndexDefinition::keyOf)
+                    .toList();
+            definitions.add(new SecondaryIndexDefinition(
+                    index.name(), scope, collection, List.of(index.properties()), keys));
+        }
+
+        entity.doWithProperties((PropertyHandler<CouchbasePersistentProperty>) property -> {
+            final SecondaryIndexed index = property.findAnnotation(SecondaryIndexed.class);
+            if (index != null) {
+                final String name = index.name().isEmpty()
+                        ? "idx_" + property.getFieldName().toLowerCase(Locale.ROOT)
+                        : index.name();
+                definitions.add(new SecondaryIndexDefinition(
+                        name, scope, collection, List.of(property.getName()), List.of(keyOf(property))));
+            }
+        });
+
+        return definitions;
+
+    }
+
+    /**
+     * Returns the property the index is ordered by first.
+     *
+     * @return the Java name of the leading property.
+     */
+    public String leadingProperty() {
+        return properties.get(0);
+    }
+
+    private static String keyOf(final CouchbasePersistentProperty property) {
+        return property.isIdProperty() ? ID_KEY : "`" + property.getFieldName() + "`";
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.example.todowithcouchbase.common.index;
+
+import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.manager.query.CollectionQueryIndexManager;
+import com.example.todowithcouchbase.common.config.CouchbaseProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.couchbase.core.mapping.CouchbaseMappingContext;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentProperty;
+import org.springframework.data.couchbase.repository.Query;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.util.Streamable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static com.couchbase.client.java.manager.query.CreateQueryIndexOptions.createQueryIndexOptions;
+
+/**
+ * Creates the secondary indexes declared on the entities of the repositories once the application is ready.
+ * The indexes of a collection are created deferred and then built in one batch, which scans the collection once
+ * instead of once per index, and the initializer waits up to {@code spring.couchbase.indexes.build-timeout}
+ * for them to come online. Creating an index that already exists is a no-op, so restarts are cheap.
+ * A collection whose indexes cannot be provisioned is logged and skipped; its queries keep running on the
+ * primary index. Afterwards every repository query method is logged with the index its predicates can use,
+ * if any. Provisioning is turned off with {@code spring.couchbase.indexes.enabled}.
+ */
+@Slf4j
+@Component
+public class SecondaryIndexInitializer {
+
+    private final Bucket bucket;
+    private final CouchbaseMappingContext couchbaseMappingContext;
+    private final ApplicationContext applicationContext;
+    private final CouchbaseProperties couchbaseProperties;
+
+    /**
+     * Creates the initializer.
+     *
+     * @param bucket The bucket the indexed collections belong to.
+     * @param couchbaseMappingContext The mapping context the entities are read from.
+     * @param applicationContext The context the repositories are looked up in.
+     * @param couchbaseProperties The Couchbase settings holding the index settings.
+     */
+    public SecondaryIndexInitializer(final Bucket bucket,
+                                     final CouchbaseMappingContext couchbaseMappingContext,
+                                     final ApplicationContext applicationContext,
+                                     final CouchbaseProperties couchbaseProperties) {
+        this.bucket = bucket;
+        this.couchbaseMappingContext = couchbaseMappingContext;
+        this.applicationContext = applicationContext;
+        this.couchbaseProperties = couchbaseProperties;
+    }
+
+    /**
+     * Provisions the indexes and reports the query coverage on startup, if enabled.
+     * It runs before the other startup listeners, so backfills already query through the new indexes.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+
+        if (!couchbaseProperties.getIndexes().isEnabled()) {
+            return;
+        }
+
+        final Repositories repositories = new Repositories(applicationContext);
+
+        final List<SecondaryIndexDefinition> definitions = Streamable.of(repositories).stream()
+                .map(couchbaseMappingContext::getRequiredPersistentEntity)
+                .flatMap(entity -> SecondaryIndexDefinition.of(entity).stream())
+                .toList();
+
+        this.provision(definitions);
+
+        repositories.forEach(domainType -> repositories.getRepositoryInformationFor(domainType)
+                .ifPresent(this::report));
+
+    }
+
+    /**
+     * Creates the given indexes deferred and builds them, one collection at a time.
+     *
+     * @param definitions The indexes to provision.
+     */
+    void provision(final List<SecondaryIndexDefinition> definitions) {
+
+        final Map<List<String>, List<SecondaryIndexDefinition>> definitionsByCollection = new LinkedHashMap<>();
+        definitions.forEach(definition -> definitionsByCollection
+                .computeIfAbsent(List.of(definition.scope(), definition.collection()), key -> new ArrayList<>())
+                .add(definition));
+
+        definitionsByCollection.forEach((keyspace, collectionDefinitions) -> {
+
+            final String scope = keyspace.get(0);
+            final String collection = keyspace.get(1);
+            final List<String> names = collectionDefinitions.stream()
+                    .map(SecondaryIndexDefinition::name)
+                    .toList();
+
+            try {
+
+                final CollectionQueryIndexManager indexManager = bucket.scope(scope)
+                        .collection(collection)
+                        .queryIndexes();
+
+                for (final SecondaryIndexDefinition definition : collectionDefinitions) {
+                    indexManager.createIndex(definition.name(), definition.keys(),
+                            createQueryIndexOptions().deferred(true).ignoreIfExists(true));
+                }
+
+                indexManager.buildDeferredIndexes();
+                indexManager.watchIndexes(names, couchbaseProperties.getIndexes().getBuildTimeout());
+
+                log.info("Secondary indexes {} of {}.{} are online", names, scope, collection);
+
+            } catch (CouchbaseException exception) {
+                log.warn("Secondary indexes {} of {}.{} could not be provisioned", names, scope, collection, exception);
+            }
+
+        });
+
+    }
+
+    private void report(final RepositoryInformation repositoryInformation) {
+
+        final CouchbasePersistentEntity<?> entity = couchbaseMappingContext
+                .getRequiredPersistentEntity(repositoryInformation.getDomainType());
+        final String repositoryName = repositoryInformation.getRepositoryInterface().getSimpleName();
+
+        for (final Method method : repositoryInformation.getQueryMethods()) {
+            final Optional<SecondaryIndexDefinition> index = findIndex(method, entity);
+            if (index.isPresent()) {
+                log.info("Query {}.{} can use secondary index {}", repositoryName, method.getName(), index.get().name());
+            } else {
+                log.info("Query {}.{} has no secondary index on its predicates", repositoryName, method.getName());
+            }
+        }
+
+    }
+
+    /**
+     * Finds an index declared on the entity whose leading property is referenced by the predicates of the given
+     * query method.
+     * Derived queries are parsed from the method name; for {@link Query} methods the statement is searched for
+     * the stored field names.
+     *
+     * @param method The repository query method.
+     * @param entity The entity the method queries.
+     * @return The first index the query can use, or an empty {@link Optional} if it can use none.
+     */
+    static Optional<SecondaryIndexDefinition> findIndex(final Method method, final CouchbasePersistentEntity<?> entity) {
+        final Set<String> properties = referencedProperties(method, entity);
+        return SecondaryIndexDefinition.of(entity).stream()
+                .filter(definition -> properties.contains(definition.leadingProperty()))
+                .findFirst();
+
+    }
+
+    private static Set<String> referencedProperties(final Method method, final CouchbasePersistentEntity<?> entity) {
+
+        final Set<String> properties = new HashSet<>();
+        final Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+
+        if (query == null) {
+            new PartTree(method.getName(), entity.getType()).getParts()
+                    .map(Part::getProperty)
+                    .forEach(propertyPath -> properties.add(propertyPath.getSegment()));
+            return properties;
+        }
+
+        entity.doWithProperties((PropertyHandler<CouchbasePersistentProperty>) property -> {
+            final Pattern fieldReference = Pattern.compile("\\b" + Pattern.quote(property.getFieldName()) + "\\b");
+            if (!property.isIdProperty() && fieldReference.matcher(query.value()).find()) {
+                properties.add(property.getName());
+            }
+        });
+
+        return properties;
+
+    }
+
+}
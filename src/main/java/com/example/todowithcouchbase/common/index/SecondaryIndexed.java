@@ -0,0 +1,25 @@
+package com.example.todowithcouchbase.common.index;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity field that gets a single-key secondary index in the collection of its entity.
+ * The index is created by {@link SecondaryIndexInitializer} on startup.
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SecondaryIndexed {
+
+    /**
+     * The name of the index; defaults to {@code idx_} followed by the stored field name in lower case.
+     *
+     * @return the name of the index.
+     */
+    String name() default "";
+
+}
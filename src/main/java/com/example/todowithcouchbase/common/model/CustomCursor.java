@@ -0,0 +1,68 @@
+package com.example.todowithcouchbase.common.model;
+
+import com.example.todowithcouchbase.common.exception.InvalidCursorException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * A class representing the position of the last item of a page in the {@code (createdAt, id)} order.
+ * The next page is read by seeking past this position on the index instead of skipping the items before it,
+ * so every page costs the same however deep it is.
+ * Clients receive the position as an opaque, URL-safe token and send it back unchanged to read the next page.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CustomCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final LocalDateTime createdAt;
+
+    private final String id;
+
+    /**
+     * Encodes this position as the opaque token returned to clients.
+     *
+     * @return The encoded cursor.
+     */
+    public String encode() {
+        return ENCODER.encodeToString((createdAt.toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()}.
+     *
+     * @param cursor The encoded cursor.
+     * @return The decoded {@link CustomCursor}.
+     * @throws InvalidCursorException If the token was not created by {@link #encode()}.
+     */
+    public static CustomCursor decode(final String cursor) {
+
+        try {
+            final String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            final int separatorIndex = decoded.indexOf(SEPARATOR);
+
+            if (separatorIndex < 0 || separatorIndex == decoded.length() - 1) {
+                throw new InvalidCursorException();
+            }
+
+            return new CustomCursor(
+                    LocalDateTime.parse(decoded.substring(0, separatorIndex)),
+                    decoded.substring(separatorIndex + 1)
+            );
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new InvalidCursorException();
+        }
+
+    }
+
+}
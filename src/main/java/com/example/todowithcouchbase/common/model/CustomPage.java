@@ -2,6 +2,7 @@ package com.example.todowithcouchbase.common.model;
 
 import lombok.*;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -30,6 +31,8 @@ public class CustomPage<T> {
 
     private Integer totalPageCount;
 
+    private String nextCursor;
+
     /**
      * A utility method to create a `CustomPage` instance from a list of domain models and a Spring Data `Page` object.
      * <p>
@@ -52,4 +55,58 @@ public class CustomPage<T> {
                 .build();
     }
 
+    /**
+     * A utility method to create a `CustomPage` instance from a list of domain models and a Spring Data `Slice`
+     * object, which was read without counting the items.
+     * <p>
+     * The totals are left empty; they can be set with {@link #withTotalElementCount(Long)}.
+     *
+     * @param <C> The type of the content in the new `CustomPage`.
+     * @param <X> The type of the content in the provided `Slice`.
+     * @param domainModels A list of domain models to include in the page's content.
+     * @param slice The Spring Data `Slice` object containing pagination metadata.
+     * @return A new `CustomPage` instance containing the domain models and the page number and size.
+     */
+    public static <C, X> CustomPage<C> of(final List<C> domainModels, final Slice<X> slice) {
+        return CustomPage.<C>builder()
+                .content(domainModels)
+                .pageNumber(slice.getNumber() + 1)
+                .pageSize(slice.getSize())
+                .build();
+    }
+
+    /**
+     * A utility method to create a `CustomPage` instance for a page read after a cursor.
+     * <p>
+     * Such a page has no page number and no totals; `nextCursor` points past its last item,
+     * or is `null` when it is the last page.
+     *
+     * @param <C> The type of the content in the new `CustomPage`.
+     * @param domainModels A list of domain models to include in the page's content.
+     * @param pageSize The requested page size.
+     * @param nextCursor The cursor of the next page, or `null` if there is none.
+     * @return A new `CustomPage` instance containing the domain models and the next cursor.
+     */
+    public static <C> CustomPage<C> of(final List<C> domainModels, final int pageSize, final String nextCursor) {
+        return CustomPage.<C>builder()
+                .content(domainModels)
+                .pageSize(pageSize)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Sets the total number of items and derives the total number of pages from the page size.
+     *
+     * @param totalElementCount The total number of items, or `null` to leave the totals empty.
+     * @return This `CustomPage`.
+     */
+    public CustomPage<T> withTotalElementCount(final Long totalElementCount) {
+        this.totalElementCount = totalElementCount;
+        this.totalPageCount = totalElementCount == null
+                ? null
+                : Math.toIntExact(Math.ceilDiv(totalElementCount, (long) pageSize));
+        return this;
+    }
+
 }
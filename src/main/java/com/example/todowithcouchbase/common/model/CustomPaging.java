@@ -1,6 +1,10 @@
 package com.example.todowithcouchbase.common.model;
 
+import com.example.todowithcouchbase.common.model.enums.CountMode;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,6 +17,10 @@ import lombok.experimental.SuperBuilder;
  * It is typically used in APIs to handle pagination for large datasets, where only a subset of data is returned at a time.
  * This class ensures that the page number and page size provided by the user meet the minimum constraints.
  * The page number is expected to be 1-based, but internally it is converted to 0-based indexing.
+ * A request without a page number is a cursor request: it reads the first page, or the page after {@code cursor}
+ * when the {@code nextCursor} of a previous page is sent back, without counting or skipping the items before it.
+ * {@code countMode} chooses how the totals are computed; numbered pages are counted exactly and cursor pages
+ * are not counted unless asked otherwise.
  *
  * @see #getPageNumber() for how the page number is adjusted.
  */
@@ -26,9 +34,14 @@ public class CustomPaging {
     @Min(value = 1, message = "Page number must be bigger than 0")
     private Integer pageNumber;
 
+    @NotNull(message = "Page size must not be null")
     @Min(value = 1, message = "Page size must be bigger than 0")
     private Integer pageSize;
 
+    private String cursor;
+
+    private CountMode countMode;
+
     /**
      * Returns the 0-based page number for internal use in pagination.
      * This method adjusts the page number by subtracting 1 from the provided 1-based index.
@@ -37,7 +50,41 @@ public class CustomPaging {
      * @return The adjusted 0-based page number.
      */
     public Integer getPageNumber() {
-        return pageNumber - 1;
+        return pageNumber == null ? null : pageNumber - 1;
+    }
+
+    /**
+     * Returns the requested count mode, defaulting to {@link CountMode#EXACT} for numbered pages
+     * and to {@link CountMode#NONE} for cursor requests.
+     *
+     * @return The count mode to compute the totals with.
+     */
+    public CountMode getCountMode() {
+        if (countMode != null) {
+            return countMode;
+        }
+        return this.isCursorRequest() ? CountMode.NONE : CountMode.EXACT;
+    }
+
+    /**
+     * Returns whether this is a cursor request rather than a request for a numbered page.
+     *
+     * @return {@code true} if no page number is given.
+     */
+    @JsonIgnore
+    public boolean isCursorRequest() {
+        return pageNumber == null;
+    }
+
+    /**
+     * Checks that a cursor is only sent without a page number.
+     *
+     * @return {@code true} if the page number and the cursor are not both given.
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Page number and cursor cannot be used together")
+    private boolean isPageNumberOrCursor() {
+        return pageNumber == null || cursor == null;
     }
 
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.example.todowithcouchbase.common.model.dto.request;
 
 import com.example.todowithcouchbase.common.model.CustomPaging;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -20,6 +22,8 @@ import org.springframework.data.domain.Pageable;
 @NoArgsConstructor
 public abstract class CustomPagingRequest {
 
+    @Valid
+    @NotNull(message = "Pagination must not be null")
     private CustomPaging pagination;
 
     /**
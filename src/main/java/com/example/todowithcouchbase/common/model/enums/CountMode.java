@@ -0,0 +1,23 @@
+package com.example.todowithcouchbase.common.model.enums;
+
+/**
+ * Enum representing how the total number of items of a paged response is computed.
+ */
+public enum CountMode {
+
+    /**
+     * The items are counted with a query on every request.
+     */
+    EXACT,
+
+    /**
+     * The total is read from a counter maintained as items are created and deleted, which may drift slightly.
+     */
+    APPROXIMATE,
+
+    /**
+     * No total is computed; the response only says whether a next page exists.
+     */
+    NONE
+
+}
@@ -0,0 +1,43 @@
+package com.example.todowithcouchbase.common.reservation;
+
+import java.time.Instant;
+
+/**
+ * A document that reserves a unique value, such as an email or a task name, for the document that owns it.
+ * The document key is derived from the value, so reserving a value is a single insert that fails if the value
+ * is already taken. The owner is saved after its reservation, so a reservation may point to an owner that was
+ * never saved; {@link KeyReservations} takes such orphans over once they have timed out.
+ */
+public interface KeyReservation {
+
+    /**
+     * Returns the document key derived from the reserved value.
+     *
+     * @return The document key.
+     */
+    String getId();
+
+    /**
+     * Returns the moment the value was reserved for its current owner.
+     *
+     * @return The reservation time.
+     */
+    Instant getReservedAt();
+
+    /**
+     * Returns the ID of the document the value is reserved for.
+     * Not named as a getter, so that it is not mapped as a property of the reservation document.
+     *
+     * @return The owner ID.
+     */
+    String ownerId();
+
+    /**
+     * Points the reservation at the given owner.
+     *
+     * @param ownerId The ID of the new owner.
+     * @param reservedAt The moment the value is reserved for the new owner.
+     */
+    void reassign(String ownerId, Instant reservedAt);
+
+}
@@ -0,0 +1,16 @@
+package com.example.todowithcouchbase.common.reservation;
+
+import org.springframework.data.couchbase.repository.CouchbaseRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Base repository interface for {@link KeyReservation} documents.
+ * Every operation is a key-value operation on the document key derived from the reserved value.
+ *
+ * @param <E> The type of the reservation documents.
+ */
+@NoRepositoryBean
+public interface KeyReservationRepository<E extends KeyReservation> extends CouchbaseRepository<E, String>,
+        KeyReservationRepositoryCustom<E> {
+
+}
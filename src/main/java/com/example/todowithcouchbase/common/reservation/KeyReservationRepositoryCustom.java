@@ -0,0 +1,19 @@
+package com.example.todowithcouchbase.common.reservation;
+
+/**
+ * Custom repository operations for {@link KeyReservation} documents that the derived repository methods
+ * cannot express.
+ *
+ * @param <E> The type of the reservation documents.
+ */
+public interface KeyReservationRepositoryCustom<E extends KeyReservation> {
+
+    /**
+     * Inserts the given reservation document unless a document with the same key already exists.
+     *
+     * @param reservation The reservation document to insert.
+     * @return {@code true} if the document was inserted, {@code false} if the value is already reserved.
+     */
+    boolean insert(final E reservation);
+
+}
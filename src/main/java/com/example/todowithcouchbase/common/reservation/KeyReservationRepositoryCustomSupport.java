@@ -0,0 +1,37 @@
+package com.example.todowithcouchbase.common.reservation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.couchbase.core.CouchbaseTemplate;
+
+/**
+ * Base implementation of {@link KeyReservationRepositoryCustom} on top of {@link CouchbaseTemplate}.
+ * Repository saves are upserts, so the reservation documents are inserted through the template instead,
+ * which lets Couchbase reject a second document for the same value atomically.
+ *
+ * @param <E> The type of the reservation documents.
+ */
+@RequiredArgsConstructor
+public abstract class KeyReservationRepositoryCustomSupport<E extends KeyReservation>
+        implements KeyReservationRepositoryCustom<E> {
+
+    private final CouchbaseTemplate couchbaseTemplate;
+    private final Class<E> reservationType;
+
+    /**
+     * Inserts the reservation document, reporting an existing document with the same key as a failed insert.
+     *
+     * @param reservation The reservation document to insert.
+     * @return {@code true} if the document was inserted, {@code false} if the value is already reserved.
+     */
+    @Override
+    public boolean insert(final E reservation) {
+        try {
+            couchbaseTemplate.insertById(reservationType).one(reservation);
+            return true;
+        } catch (DuplicateKeyException exception) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.example.todowithcouchbase.common.reservation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Reserves unique values through {@link KeyReservation} documents.
+ * Couchbase has no transaction spanning a reservation and its owner, so a value is reserved first and the owner
+ * saved second, releasing the reservation if the save fails. A reservation whose owner does not hold the value,
+ * because the process died in between, is an orphan: once it is older than the reservation timeout the next
+ * reservation of the same value takes it over with a CAS replace.
+ * The owners saved before their reservations existed get them through {@link #backfill}.
+ *
+ * @param <E> The type of the reservation documents.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class KeyReservations<E extends KeyReservation> {
+
+    private final KeyReservationRepository<E> repository;
+    private final Function<String, String> keyOf;
+    private final BiFunction<String, String, E> reservationOf;
+    private final String valueName;
+
+    /**
+     * Finds the reservation of the given value.
+     *
+     * @param value The reserved value.
+     * @return An {@link Optional} containing the reservation, or {@link Optional#empty()} if the value is free.
+     */
+    public Optional<E> find(final String value) {
+        return repository.findById(keyOf.apply(value));
+    }
+
+    /**
+     * Reserves the given value for the given owner by inserting its reservation, taking over an orphaned one.
+     *
+     * @param value The value to reserve.
+     * @param ownerId The ID the owner is saved with.
+     * @param reservationTimeout The age after which a reservation whose owner does not hold the value is an orphan.
+     * @param ownerHoldsValue Checks whether the owner of an existing reservation holds the value.
+     * @return {@code true} if the value is now reserved for the owner, {@code false} if it is reserved for another.
+     */
+    public boolean reserve(final String value,
+                           final String ownerId,
+                           final Duration reservationTimeout,
+                           final Predicate<E> ownerHoldsValue) {
+
+        if (repository.insert(reservationOf.apply(value, ownerId))) {
+            return true;
+        }
+
+        return this.takeOverOrphan(value, ownerId, reservationTimeout, ownerHoldsValue);
+
+    }
+
+    /**
+     * Deletes the reservation of the given value if it still points to the given owner.
+     *
+     * @param value The reserved value.
+     * @param ownerId The ID of the owner the value was reserved for.
+     */
+    public void release(final String value, final String ownerId) {
+        this.find(value)
+                .filter(reservation -> ownerId.equals(reservation.ownerId()))
+                .ifPresent(repository::delete);
+    }
+
+    /**
+     * Creates the reservation of every owner that has none, reading the owners a page at a time.
+     * A reservation that already exists is left alone, and one pointing to a different owner is logged,
+     * since two owners then share the value.
+     *
+     * @param findAll Reads a page of owners.
+     * @param batchSize The number of owners read at a time.
+     * @param valueOf Returns the value of an owner.
+     * @param idOf Returns the ID of an owner.
+     * @param <T> The type of the owners.
+     */
+    public <T> void backfill(final Function<Pageable, Page<T>> findAll,
+                             final int batchSize,
+                             final Function<T, String> valueOf,
+                             final Function<T, String> idOf) {
+
+        long createdCount = 0;
+        long conflictCount = 0;
+
+        Page<T> page = findAll.apply(PageRequest.of(0, batchSize, Sort.by("id")));
+
+        while (page.hasContent()) {
+
+            for (final T owner : page) {
+
+                final String ownerId = idOf.apply(owner);
+
+                if (repository.insert(reservationOf.apply(valueOf.apply(owner), ownerId))) {
+                    createdCount++;
+                    continue;
+                }
+
+                final boolean reservedForOtherOwner = this.find(valueOf.apply(owner))
+                        .filter(reservation -> !ownerId.equals(reservation.ownerId()))
+                        .isPresent();
+
+                if (reservedForOtherOwner) {
+                    conflictCount++;
+                    log.warn("Reservation backfill of {}s: {} of ID {} is already reserved for another ID",
+                            valueName, valueName, ownerId);
+                }
+
+            }
+
+            log.info("Reservation backfill of {}s: {} reservations created, {} conflicts so far",
+                    valueName, createdCount, conflictCount);
+
+            if (!page.hasNext()) {
+                break;
+            }
+            page = findAll.apply(page.nextPageable());
+
+        }
+
+        log.info("Reservation backfill of {}s completed: {} reservations created, {} conflicts",
+                valueName, createdCount, conflictCount);
+
+    }
+
+    /**
+     * Points an existing reservation at the given owner if its own owner does not hold the value and it has
+     * timed out. The replace carries the CAS value read with the reservation, so of two owners racing for the
+     * same orphan only one wins.
+     */
+    private boolean takeOverOrphan(final String value,
+                                   final String ownerId,
+                                   final Duration reservationTimeout,
+                                   final Predicate<E> ownerHoldsValue) {
+
+        final Optional<E> existing = this.find(value);
+
+        if (existing.isEmpty()) {
+            // Released between the insert and this read; try the insert once more.
+            return repository.insert(reservationOf.apply(value, ownerId));
+        }
+
+        final E reservation = existing.get();
+        final Instant timedOutBefore = Instant.now().minus(reservationTimeout);
+
+        if (reservation.getReservedAt().isAfter(timedOutBefore) || ownerHoldsValue.test(reservation)) {
+            return false;
+        }
+
+        log.warn("Taking over orphaned reservation of {} {} held by ID {}", valueName, value, reservation.ownerId());
+
+        reservation.reassign(ownerId, Instant.now());
+
+        try {
+            repository.save(reservation);
+            return true;
+        } catch (OptimisticLockingFailureException exception) {
+            return false;
+        }
+
+    }
+
+}
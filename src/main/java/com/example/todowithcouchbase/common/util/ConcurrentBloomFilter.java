@@ -0,0 +1,128 @@
+package com.example.todowithcouchbase.common.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over string keys.
+ * A negative answer from {@link #mightContain(String)} is definite, a positive answer may be a false positive
+ * with roughly the probability the filter was sized for. Keys cannot be removed.
+ * The bits are held in an {@link AtomicLongArray}, so {@link #put(String)} and {@link #mightContain(String)}
+ * may be called concurrently from any number of threads.
+ */
+public final class ConcurrentBloomFilter {
+
+    private static final double LN_2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Creates a Bloom filter sized for the given number of keys and false positive probability.
+     *
+     * @param expectedInsertions The number of keys the filter is expected to hold.
+     * @param falsePositiveProbability The accepted false positive probability once that many keys are held.
+     * @throws IllegalArgumentException if the expected insertions are not positive or the probability is not in (0, 1).
+     */
+    public ConcurrentBloomFilter(final long expectedInsertions, final double falsePositiveProbability) {
+
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1");
+        }
+
+        final long optimalBits = (long) Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveProbability) / (LN_2 * LN_2)
+        );
+        final int words = Math.toIntExact(Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE));
+
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * LN_2));
+
+    }
+
+    /**
+     * Adds the given key to the filter.
+     *
+     * @param key The key to add.
+     */
+    public void put(final String key) {
+
+        final long hash1 = hash(key);
+        final long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+
+        for (int i = 0; i < hashCount; i++) {
+            setBit(Math.floorMod(hash1 + i * hash2, bitCount));
+        }
+
+    }
+
+    /**
+     * Checks whether the given key may have been added to the filter.
+     *
+     * @param key The key to look up.
+     * @return {@code false} if the key has definitely never been added, {@code true} if it may have been.
+     */
+    public boolean mightContain(final String key) {
+
+        final long hash1 = hash(key);
+        final long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+
+        for (int i = 0; i < hashCount; i++) {
+            if (!isBitSet(Math.floorMod(hash1 + i * hash2, bitCount))) {
+                return false;
+            }
+        }
+
+        return true;
+
+    }
+
+    private void setBit(final long index) {
+
+        final int word = (int) (index >>> 6);
+        final long mask = 1L << index;
+
+        long current = bits.get(word);
+        while ((current & mask) == 0) {
+            final long witness = bits.compareAndExchange(word, current, current | mask);
+            if (witness == current) {
+                return;
+            }
+            current = witness;
+        }
+
+    }
+
+    private boolean isBitSet(final long index) {
+        return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters of the key, finished with {@link #mix(long)}.
+     */
+    private static long hash(final String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer, spreading every input bit over the whole output.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85EC5L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
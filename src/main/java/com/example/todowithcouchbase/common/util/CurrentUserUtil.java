@@ -0,0 +1,38 @@
+package com.example.todowithcouchbase.common.util;
+
+import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
+import lombok.experimental.UtilityClass;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.ClaimAccessor;
+
+import java.util.Optional;
+
+/**
+ * Utility class that provides the identity of the currently authenticated user.
+ * It is shared by the entity events and the sub-document updates that bypass them, so both stamp the
+ * audit fields with the same value.
+ */
+@UtilityClass
+public class CurrentUserUtil {
+
+    static final String ANONYMOUS_USER = "anonymousUser";
+
+    /**
+     * Retrieves the email of the currently authenticated user from the security context.
+     * If no authenticated user is found, it returns "anonymousUser".
+     * The email is read through {@link ClaimAccessor}, so the principal does not have to build a Spring
+     * {@code Jwt} for it.
+     *
+     * @return the email of the current user or "anonymousUser" if not authenticated
+     */
+    public String getEmail() {
+        return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .map(Authentication::getPrincipal)
+                .filter(ClaimAccessor.class::isInstance)
+                .map(ClaimAccessor.class::cast)
+                .map(principal -> principal.getClaims().get(TokenClaims.USER_EMAIL.getValue()).toString())
+                .orElse(ANONYMOUS_USER);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.example.todowithcouchbase.common.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class that derives Couchbase document keys from user supplied values.
+ * Couchbase rejects keys longer than {@value #MAX_KEY_BYTES} UTF-8 bytes, so a value that would not fit is keyed
+ * by its SHA-256 digest under a separate prefix instead; as the two prefixes differ, a digest key can never clash
+ * with the key of a short value.
+ */
+@UtilityClass
+public class DocumentKeyUtil {
+
+    static final int MAX_KEY_BYTES = 250;
+
+    /**
+     * Returns the document key of the given value.
+     *
+     * @param prefix The prefix of the keys of values that fit into a key.
+     * @param digestPrefix The prefix of the keys of values that are keyed by their digest.
+     * @param value The value to key the document by.
+     * @return {@code prefix + value} if it fits into a key, {@code digestPrefix} followed by the hex encoded
+     *         SHA-256 digest of the value otherwise.
+     */
+    public String keyOf(final String prefix, final String digestPrefix, final String value) {
+
+        final String key = prefix + value;
+
+        if (key.getBytes(StandardCharsets.UTF_8).length <= MAX_KEY_BYTES) {
+            return key;
+        }
+
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return digestPrefix + HexFormat.of().formatHex(messageDigest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+
+    }
+
+}
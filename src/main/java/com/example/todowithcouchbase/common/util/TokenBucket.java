@@ -0,0 +1,66 @@
+package com.example.todowithcouchbase.common.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * The bucket holds up to {@code capacity} tokens and gains {@code refillPerSecond} tokens per second.
+ * Its whole state is one {@link AtomicLong}: the time at which the bucket would be full again, as in the
+ * generic cell rate algorithm. Taking a token moves that time one refill interval forward with a single
+ * compare-and-set, so {@link #tryAcquire(long)} may be called concurrently from any number of threads.
+ */
+public final class TokenBucket {
+
+    private final AtomicLong fullAt;
+    private final long refillIntervalNanos;
+    private final long capacityNanos;
+
+    /**
+     * Creates a full token bucket.
+     *
+     * @param capacity The maximum number of tokens, which is the largest burst the bucket lets through.
+     * @param refillPerSecond The number of tokens added per second.
+     * @throws IllegalArgumentException if the capacity or the refill rate is not positive.
+     */
+    public TokenBucket(final long capacity, final double refillPerSecond) {
+
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Refill rate must be positive");
+        }
+
+        this.refillIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.capacityNanos = Math.multiplyExact(capacity, refillIntervalNanos);
+        this.fullAt = new AtomicLong(System.nanoTime());
+
+    }
+
+    /**
+     * Takes one token if the bucket has one.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}.
+     * @return {@code 0} if a token was taken, otherwise the number of nanoseconds until one is available.
+     */
+    public long tryAcquire(final long nowNanos) {
+
+        while (true) {
+
+            final long current = fullAt.get();
+            final long next = Math.max(current - nowNanos, 0) + nowNanos + refillIntervalNanos;
+            final long waitNanos = next - nowNanos - capacityNanos;
+
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+
+        }
+
+    }
+
+}
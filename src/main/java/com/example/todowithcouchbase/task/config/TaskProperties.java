@@ -0,0 +1,58 @@
+package com.example.todowithcouchbase.task.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * This class holds the tunable settings of the task layer.
+ * It is bound from the {@code task} section of the application's configuration and falls back to
+ * the defaults declared here when a property is not set.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task")
+public class TaskProperties {
+
+    private NameReservation nameReservation = new NameReservation();
+    private NameReservationBackfill nameReservationBackfill = new NameReservationBackfill();
+    private Cache cache = new Cache();
+
+    /**
+     * Nested class that holds the settings of the name reservation documents that keep task names unique.
+     * While {@code queryFallbackEnabled} is set, a name without a reservation is also checked with a query,
+     * for tasks saved before the reservations existed; turn it off once the backfill has run.
+     * A reservation older than {@code reservationTimeout} whose task does not carry the name is taken over by
+     * the next task saved with it.
+     */
+    @Data
+    public static class NameReservation {
+        private boolean queryFallbackEnabled = true;
+        private Duration reservationTimeout = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Nested class that holds the settings of the one-off job creating the name reservations of tasks saved
+     * before they existed. The job is off by default and reads {@code batchSize} tasks at a time when enabled.
+     */
+    @Data
+    public static class NameReservationBackfill {
+        private boolean enabled = false;
+        private int batchSize = 500;
+    }
+
+    /**
+     * Nested class that holds the settings of the in-process cache of tasks read by ID and by name.
+     * Entries are dropped when the task is written, {@code timeToLive} after they were loaded,
+     * or when the cache grows beyond {@code maximumSize}.
+     */
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+        private Duration timeToLive = Duration.ofMinutes(5);
+    }
+
+}
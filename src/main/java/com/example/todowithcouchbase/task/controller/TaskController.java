@@ -3,8 +3,10 @@ package com.example.todowithcouchbase.task.controller;
 import com.example.todowithcouchbase.common.model.CustomPage;
 import com.example.todowithcouchbase.common.model.dto.response.CustomPagingResponse;
 import com.example.todowithcouchbase.common.model.dto.response.CustomResponse;
+import com.example.todowithcouchbase.task.exception.TaskVersionMismatchException;
 import com.example.todowithcouchbase.task.model.Task;
 import com.example.todowithcouchbase.task.model.dto.request.GetTaskByNameRequest;
+import com.example.todowithcouchbase.task.model.dto.request.PatchTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.TaskPagingRequest;
 import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
@@ -18,10 +20,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.validator.constraints.UUID;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST controller for managing tasks.
  * Provides endpoints for task creation, retrieval, update, and deletion.
@@ -119,7 +126,7 @@ public class TaskController {
     }
 
     /**
-     * Retrieves a task by its ID.
+     * Retrieves a task by its ID, with its version as the entity tag.
      *
      * @param id the ID of the task to be retrieved.
      * @return a response containing the task details.
@@ -137,20 +144,24 @@ public class TaskController {
     )
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN','USER')")
-    public CustomResponse<TaskResponse> getTaskById(@PathVariable @Valid @UUID final String id){
+    public ResponseEntity<CustomResponse<TaskResponse>> getTaskById(@PathVariable @Valid @UUID final String id){
         final Task task = taskService.getTaskById(id);
 
         final TaskResponse response = taskToTaskResponseMapper.map(task);
 
-        return CustomResponse.successOf(response);
+        return ResponseEntity.ok()
+                .eTag(eTagOf(task))
+                .body(CustomResponse.successOf(response));
     }
 
     /**
      * Updates an existing task by its ID.
+     * With an {@code If-Match} header, the task is updated only if its entity tag still matches.
      *
      * @param id the ID of the task to be updated.
+     * @param ifMatch the entity tag of the task the client last read, if any.
      * @param updateTaskRequest the request body containing the updated task details.
-     * @return a response containing the updated task details.
+     * @return a response containing the updated task details and their entity tag.
      */
     @Operation(
             summary = "Update a task",
@@ -160,27 +171,69 @@ public class TaskController {
                     @ApiResponse(responseCode = "400", description = "Invalid update details provided"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
                     @ApiResponse(responseCode = "403", description = "Access forbidden"),
-                    @ApiResponse(responseCode = "404", description = "Task not found")
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "412", description = "Task was modified since it was read")
             }
     )
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN')")
-    public CustomResponse<TaskResponse> updateTaskById(
+    public ResponseEntity<CustomResponse<TaskResponse>> updateTaskById(
             @PathVariable @Valid @UUID final String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
             @RequestBody @Valid final UpdateTaskRequest updateTaskRequest){
 
-        final Task task = taskService.updateTaskById(id, updateTaskRequest);
+        final Task task = taskService.updateTaskById(id, updateTaskRequest, expectedVersionOf(ifMatch));
 
         final TaskResponse response = taskToTaskResponseMapper.map(task);
 
-        return CustomResponse.successOf(response);
+        return ResponseEntity.ok()
+                .eTag(eTagOf(task))
+                .body(CustomResponse.successOf(response));
+
+    }
+
+    /**
+     * Changes only the given fields of an existing task by its ID.
+     * With an {@code If-Match} header, the task is changed only if its entity tag still matches.
+     *
+     * @param id the ID of the task to be changed.
+     * @param ifMatch the entity tag of the task the client last read, if any.
+     * @param patchTaskRequest the request body containing the fields to change.
+     * @return a response containing the ID of the changed task and its new entity tag.
+     */
+    @Operation(
+            summary = "Partially update a task",
+            description = "Changes only the given fields of an existing task by its ID. Accessible by ADMIN only.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task successfully updated"),
+                    @ApiResponse(responseCode = "400", description = "Invalid update details provided"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
+                    @ApiResponse(responseCode = "403", description = "Access forbidden"),
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "412", description = "Task was modified since it was read")
+            }
+    )
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseEntity<CustomResponse<String>> patchTaskById(
+            @PathVariable @Valid @UUID final String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+            @RequestBody @Valid final PatchTaskRequest patchTaskRequest){
+
+        final long version = taskService.patchTaskById(id, patchTaskRequest, expectedVersionOf(ifMatch));
+
+        return ResponseEntity.ok()
+                .eTag(eTagOf(version))
+                .body(CustomResponse.successOf(id));
 
     }
 
     /**
      * Deletes a task by its ID.
+     * With an {@code If-Match} header, the task is deleted only if its entity tag still matches.
      *
      * @param id the ID of the task to be deleted.
+     * @param ifMatch the entity tag of the task the client last read, if any.
      * @return a response containing a success message.
      */
     @Operation(
@@ -191,17 +244,66 @@ public class TaskController {
                     @ApiResponse(responseCode = "400", description = "Invalid update details provided"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized, authentication is required"),
                     @ApiResponse(responseCode = "403", description = "Access forbidden"),
-                    @ApiResponse(responseCode = "404", description = "Task not found")
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "412", description = "Task was modified since it was read")
             }
     )
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN')")
-    public CustomResponse<String> deleteTaskById(@PathVariable @Valid @UUID final String id){
+    public CustomResponse<String> deleteTaskById(
+            @PathVariable @Valid @UUID final String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch){
 
-        taskService.deleteTaskById(id);
+        taskService.deleteTaskById(id, expectedVersionOf(ifMatch));
 
         return CustomResponse.successOf("Task with id "+ id + "is deleted");
 
     }
 
+    /**
+     * Formats the version of the given task as a strong entity tag.
+     */
+    private static String eTagOf(final Task task) {
+        return eTagOf(task.getVersion());
+    }
+
+    /**
+     * Formats the given task version as a strong entity tag.
+     * CAS values are unsigned, so the version is written as an unsigned number.
+     */
+    private static String eTagOf(final long version) {
+        return "\"" + Long.toUnsignedString(version) + "\"";
+    }
+
+    /**
+     * Reads the expected task version from an {@code If-Match} header.
+     * An absent header and {@code *} match any version. Otherwise the first strong entity tag is the expected
+     * version; a header without one cannot match any version of the task.
+     *
+     * @throws TaskVersionMismatchException if the header holds no entity tag written by {@link #eTagOf(long)}.
+     */
+    private static Long expectedVersionOf(final String ifMatch) {
+
+        if (ifMatch == null) {
+            return null;
+        }
+
+        final List<ETag> eTags = ETag.parse(ifMatch);
+
+        if (eTags.stream().anyMatch(ETag::isWildcard)) {
+            return null;
+        }
+
+        try {
+            return eTags.stream()
+                    .filter(eTag -> !eTag.weak())
+                    .findFirst()
+                    .map(eTag -> Long.parseUnsignedLong(eTag.tag()))
+                    .orElseThrow(() -> new TaskVersionMismatchException("If-Match = " + ifMatch));
+        } catch (NumberFormatException exception) {
+            throw new TaskVersionMismatchException("If-Match = " + ifMatch);
+        }
+
+    }
+
 }
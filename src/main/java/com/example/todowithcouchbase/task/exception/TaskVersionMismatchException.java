@@ -0,0 +1,39 @@
+package com.example.todowithcouchbase.task.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+/**
+ * Custom exception thrown when a task update is based on a version of the task that is no longer current.
+ * This exception is typically used when the {@code If-Match} entity tag of an update does not match the task,
+ * or when the task was changed by another request while it was being updated.
+ */
+public class TaskVersionMismatchException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -3868251940715532218L;
+
+    public static final HttpStatus STATUS = HttpStatus.PRECONDITION_FAILED;
+
+    private static final String DEFAULT_MESSAGE = """
+            Task was modified by another request!
+            """;
+
+    /**
+     * Constructs a new TaskVersionMismatchException with the default error message.
+     */
+    public TaskVersionMismatchException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Constructs a new TaskVersionMismatchException with a custom error message.
+     *
+     * @param message the custom message to be appended to the default error message.
+     */
+    public TaskVersionMismatchException(final String message) {
+        super(DEFAULT_MESSAGE + " " + message);
+    }
+
+}
@@ -12,6 +12,7 @@ import lombok.experimental.SuperBuilder;
  * Represents a task in the system with basic properties such as an identifier and a name.
  * This class extends {@link BaseDomainModel} and provides functionality to model a task
  * in the application.
+ * The version is the CAS value of the task document; clients receive it as the entity tag of the task.
  */
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,4 +24,6 @@ public class Task extends BaseDomainModel {
     private String id;
 
     private String name;
+
+    private long version;
 }
@@ -0,0 +1,20 @@
+package com.example.todowithcouchbase.task.model.dto.request;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.*;
+
+/**
+ * Request class used to change some fields of an existing task.
+ * Only the fields that are set are changed; a 'name' that is set cannot be blank.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class PatchTaskRequest {
+
+    @Pattern(regexp = ".*\\S.*", message = "name field cannot be blank")
+    private String name;
+
+}
@@ -1,10 +1,13 @@
 package com.example.todowithcouchbase.task.model.entity;
 
 
+import com.example.todowithcouchbase.common.index.CompositeSecondaryIndex;
+import com.example.todowithcouchbase.common.index.SecondaryIndexed;
 import com.example.todowithcouchbase.common.model.entity.BaseEntity;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.couchbase.core.mapping.Field;
 import org.springframework.data.couchbase.core.mapping.id.GeneratedValue;
 import org.springframework.data.couchbase.core.mapping.id.GenerationStrategy;
@@ -15,6 +18,8 @@ import org.springframework.data.couchbase.repository.Scope;
  * Entity class representing a task in the system.
  * This class is mapped to a MongoDB document, and it extends from {@link BaseEntity} to inherit common entity behavior.
  * It contains the task's unique identifier and name, and is used to interact with the underlying database.
+ * The version is the CAS value of the document, so saving a task read earlier replaces it only if nobody
+ * changed it in between.
  */
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,6 +29,7 @@ import org.springframework.data.couchbase.repository.Scope;
 @SuperBuilder
 @Scope("task-scope")
 @Collection("task-collection")
+@CompositeSecondaryIndex(name = "idx_created_at_id", properties = {"createdAt", "id"})
 public class TaskEntity extends BaseEntity {
 
     @Id
@@ -32,6 +38,10 @@ public class TaskEntity extends BaseEntity {
     private String id;
 
     @Field
+    @SecondaryIndexed
     private String name;
 
+    @Version
+    private long version;
+
 }
@@ -0,0 +1,101 @@
+package com.example.todowithcouchbase.task.model.entity;
+
+import com.example.todowithcouchbase.common.reservation.KeyReservation;
+import com.example.todowithcouchbase.common.util.DocumentKeyUtil;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.couchbase.core.mapping.Document;
+import org.springframework.data.couchbase.core.mapping.Field;
+import org.springframework.data.couchbase.repository.Collection;
+import org.springframework.data.couchbase.repository.Scope;
+
+import java.time.Instant;
+
+/**
+ * Represents the reservation document that holds a task name for the task saved with it.
+ * The document key is derived from the name, so reserving a name for a task is a single insert that fails
+ * if the name is already taken, and two tasks can never be saved with the same name.
+ * The documents live in the task collection next to the {@link TaskEntity} they point to; their keys carry
+ * the {@value #KEY_PREFIX} prefix, or the {@value #DIGEST_KEY_PREFIX} prefix for names too long to fit into
+ * a key, and never clash with the generated task IDs.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+@Scope("task-scope")
+@Collection("task-collection")
+public class TaskNameEntity implements KeyReservation {
+
+    public static final String KEY_PREFIX = "name::";
+    public static final String DIGEST_KEY_PREFIX = "name-digest::";
+
+    @Id
+    @Field(name = "ID")
+    private String id;
+
+    @Field
+    private String name;
+
+    @Field
+    private String taskId;
+
+    @Field
+    private Instant reservedAt;
+
+    @Version
+    private long version;
+
+    /**
+     * Creates the reservation document holding the given name for the given task.
+     *
+     * @param name The task name to reserve.
+     * @param taskId The ID of the task the name belongs to.
+     * @return The reservation document.
+     */
+    public static TaskNameEntity of(final String name, final String taskId) {
+        return TaskNameEntity.builder()
+                .id(keyOf(name))
+                .name(name)
+                .taskId(taskId)
+                .reservedAt(Instant.now())
+                .build();
+    }
+
+    /**
+     * Returns the document key of the reservation document of the given name.
+     *
+     * @param name The task name.
+     * @return The document key.
+     * @see DocumentKeyUtil#keyOf(String, String, String)
+     */
+    public static String keyOf(final String name) {
+        return DocumentKeyUtil.keyOf(KEY_PREFIX, DIGEST_KEY_PREFIX, name);
+    }
+
+    /**
+     * Returns the ID of the task the reservation document points to.
+     *
+     * @return The task ID.
+     */
+    @Override
+    public String ownerId() {
+        return taskId;
+    }
+
+    /**
+     * Points the reservation document at the given task.
+     *
+     * @param ownerId The ID of the task.
+     * @param reservedAt The moment the name is reserved for the task.
+     */
+    @Override
+    public void reassign(final String ownerId, final Instant reservedAt) {
+        this.taskId = ownerId;
+        this.reservedAt = reservedAt;
+    }
+
+}
@@ -37,6 +37,7 @@ public interface CustomPageTaskToCustomPagingTaskResponseMapper {
                 .totalPageCount(taskPage.getTotalPageCount())
                 .pageNumber(taskPage.getPageNumber())
                 .pageSize(taskPage.getPageSize())
+                .nextCursor(taskPage.getNextCursor())
                 .build();
 
     }
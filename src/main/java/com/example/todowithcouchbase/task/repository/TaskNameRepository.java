@@ -0,0 +1,12 @@
+package com.example.todowithcouchbase.task.repository;
+
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import com.example.todowithcouchbase.common.reservation.KeyReservationRepository;
+
+/**
+ * Repository interface for managing {@link TaskNameEntity} reservation documents in Couchbase.
+ * Every operation is a key-value operation on the document key derived from the task name.
+ */
+public interface TaskNameRepository extends KeyReservationRepository<TaskNameEntity>, TaskNameRepositoryCustom {
+
+}
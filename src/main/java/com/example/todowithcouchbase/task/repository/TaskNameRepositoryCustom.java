@@ -0,0 +1,11 @@
+package com.example.todowithcouchbase.task.repository;
+
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import com.example.todowithcouchbase.common.reservation.KeyReservationRepositoryCustom;
+
+/**
+ * Custom repository operations for {@link TaskNameEntity} that the derived repository methods cannot express.
+ */
+public interface TaskNameRepositoryCustom extends KeyReservationRepositoryCustom<TaskNameEntity> {
+
+}
@@ -0,0 +1,22 @@
+package com.example.todowithcouchbase.task.repository;
+
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import com.example.todowithcouchbase.common.reservation.KeyReservationRepositoryCustomSupport;
+import org.springframework.data.couchbase.core.CouchbaseTemplate;
+
+/**
+ * Implementation of {@link TaskNameRepositoryCustom} on top of {@link CouchbaseTemplate}.
+ */
+public class TaskNameRepositoryCustomImpl extends KeyReservationRepositoryCustomSupport<TaskNameEntity>
+        implements TaskNameRepositoryCustom {
+
+    /**
+     * Creates the repository fragment inserting {@link TaskNameEntity} reservation documents through the given template.
+     *
+     * @param couchbaseTemplate The template the reservation documents are inserted with.
+     */
+    public TaskNameRepositoryCustomImpl(final CouchbaseTemplate couchbaseTemplate) {
+        super(couchbaseTemplate, TaskNameEntity.class);
+    }
+
+}
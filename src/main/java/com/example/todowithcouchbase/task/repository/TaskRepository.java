@@ -3,15 +3,23 @@ package com.example.todowithcouchbase.task.repository;
 
 import com.example.todowithcouchbase.task.model.entity.TaskEntity;
 import org.springframework.data.couchbase.repository.CouchbaseRepository;
+import org.springframework.data.couchbase.repository.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository interface for managing {@link TaskEntity} entities in the Couchbase database.
  * This interface extends {@link CouchbaseRepository}, providing CRUD operations for {@link TaskEntity}.
- * It also defines custom query methods for working with tasks by name.
+ * It also defines custom query methods for working with tasks by name, and for reading tasks page by page
+ * in {@code (createdAt, META().id)} order by seeking past the last task of the previous page.
+ * The seek queries are served by an index on {@code (createdAt, META().id)}.
+ * Partial updates go through the sub-document operations of {@link TaskRepositoryCustom}.
  */
-public interface TaskRepository extends CouchbaseRepository<TaskEntity,String> {
+public interface TaskRepository extends CouchbaseRepository<TaskEntity,String>, TaskRepositoryCustom {
 
     /**
      * Checks if a task with the specified name already exists in the database.
@@ -29,4 +37,40 @@ public interface TaskRepository extends CouchbaseRepository<TaskEntity,String> {
      */
     Optional<TaskEntity> findTaskByName(String name);
 
+    /**
+     * Finds the first {@code limit} tasks in {@code (createdAt, id)} order.
+     *
+     * @param limit the maximum number of tasks to return.
+     * @return the first tasks in {@code (createdAt, id)} order.
+     */
+    @Query("#{#n1ql.selectEntity} WHERE #{#n1ql.filter} AND createdAt IS VALUED"
+            + " ORDER BY createdAt, META().id LIMIT $1")
+    List<TaskEntity> findPage(int limit);
+
+    /**
+     * Finds up to {@code limit} tasks following the task with the given creation time and ID
+     * in {@code (createdAt, id)} order.
+     * The leading {@code createdAt >= $1} bounds the index scan, so the cost does not grow with the number
+     * of tasks before the position.
+     *
+     * @param createdAt the creation time of the last task of the previous page.
+     * @param id the ID of the last task of the previous page.
+     * @param limit the maximum number of tasks to return.
+     * @return the tasks following the given position in {@code (createdAt, id)} order.
+     */
+    @Query("#{#n1ql.selectEntity} WHERE #{#n1ql.filter} AND createdAt >= $1"
+            + " AND (createdAt > $1 OR META().id > $2)"
+            + " ORDER BY createdAt, META().id LIMIT $3")
+    List<TaskEntity> findPageAfter(LocalDateTime createdAt, String id, int limit);
+
+    /**
+     * Finds the requested page of tasks without counting them.
+     * One task more than the page size is read to tell whether a next page exists.
+     *
+     * @param pageable the page to read.
+     * @return a {@link Slice} of tasks.
+     */
+    @Query("#{#n1ql.selectEntity} WHERE #{#n1ql.filter}")
+    Slice<TaskEntity> findSlice(Pageable pageable);
+
 }
@@ -0,0 +1,46 @@
+package com.example.todowithcouchbase.task.repository;
+
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Custom repository operations for {@link TaskEntity} that the derived repository methods cannot express.
+ * They work on single paths of the task document through the sub-document API instead of the whole document.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Reads only the name and the CAS value of the task with the given ID.
+     *
+     * @param id The ID of the task.
+     * @return A {@link TaskEntity} holding just the ID, name and version, or an empty {@link Optional} if there
+     *         is no such task.
+     */
+    Optional<TaskEntity> findNameAndVersionById(final String id);
+
+    /**
+     * Replaces the given properties of the task with the given ID in one sub-document mutation, stamping
+     * {@code updatedAt} and {@code updatedBy} along with them.
+     *
+     * @param id The ID of the task.
+     * @param properties The new values, keyed by the Java name of the {@link TaskEntity} property.
+     * @param version The CAS value the task must still have, or {@code 0} to mutate any version.
+     * @return The new CAS value of the task, or an empty {@link OptionalLong} if there is no such task.
+     * @throws org.springframework.dao.OptimisticLockingFailureException If the task has another CAS value.
+     */
+    OptionalLong patch(final String id, final Map<String, ?> properties, final long version);
+
+    /**
+     * Removes the task with the given ID by its key, without reading it.
+     *
+     * @param id The ID of the task.
+     * @param version The CAS value the task must still have, or {@code 0} to remove any version.
+     * @return {@code true} if the task was removed, {@code false} if there is no such task.
+     * @throws org.springframework.dao.OptimisticLockingFailureException If the task has another CAS value.
+     */
+    boolean remove(final String id, final long version);
+
+}
@@ -0,0 +1,138 @@
+package com.example.todowithcouchbase.task.repository;
+
+import com.couchbase.client.core.error.CasMismatchException;
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.kv.LookupInResult;
+import com.couchbase.client.java.kv.LookupInSpec;
+import com.couchbase.client.java.kv.MutateInSpec;
+import com.example.todowithcouchbase.common.util.CurrentUserUtil;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.couchbase.core.CouchbaseTemplate;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
+import org.springframework.data.couchbase.repository.Scope;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static com.couchbase.client.java.kv.MutateInOptions.mutateInOptions;
+import static com.couchbase.client.java.kv.RemoveOptions.removeOptions;
+
+/**
+ * Implementation of {@link TaskRepositoryCustom} on top of the Couchbase sub-document API.
+ * Repository saves read and write the whole document, and repository deletes go through the entity, so lookups
+ * and mutations of single paths and removes by key go to the task collection directly.
+ * Property names are resolved to document paths, and values converted, through the mapping of
+ * {@link TaskEntity}, so the paths hold what a repository save would have written.
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private final CouchbaseTemplate couchbaseTemplate;
+    private final CouchbasePersistentEntity<?> taskPersistentEntity;
+    private final Collection taskCollection;
+
+    /**
+     * Resolves the mapping and the collection of {@link TaskEntity}.
+     *
+     * @param couchbaseTemplate The template whose converter and client factory are used.
+     */
+    public TaskRepositoryCustomImpl(final CouchbaseTemplate couchbaseTemplate) {
+        this.couchbaseTemplate = couchbaseTemplate;
+        this.taskPersistentEntity = couchbaseTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(TaskEntity.class);
+        this.taskCollection = couchbaseTemplate.getCouchbaseClientFactory()
+                .withScope(AnnotatedElementUtils.findMergedAnnotation(TaskEntity.class, Scope.class).value())
+                .getCollection(AnnotatedElementUtils.findMergedAnnotation(TaskEntity.class,
+                        org.springframework.data.couchbase.repository.Collection.class).value());
+    }
+
+    /**
+     * Looks up the name path of the task document, which also returns the CAS value of the document.
+     *
+     * @param id The ID of the task.
+     * @return A {@link TaskEntity} holding just the ID, name and version, or an empty {@link Optional}.
+     */
+    @Override
+    public Optional<TaskEntity> findNameAndVersionById(final String id) {
+
+        final LookupInResult result;
+
+        try {
+            result = taskCollection.lookupIn(id, List.of(LookupInSpec.get(this.pathOf("name"))));
+        } catch (DocumentNotFoundException exception) {
+            return Optional.empty();
+        }
+
+        return Optional.of(TaskEntity.builder()
+                .id(id)
+                .name(result.exists(0) ? result.contentAs(0, String.class) : null)
+                .version(result.cas())
+                .build());
+
+    }
+
+    /**
+     * Replaces the paths of the given properties and the audit paths in one mutation guarded by the given CAS.
+     *
+     * @param id The ID of the task.
+     * @param properties The new values, keyed by the Java name of the {@link TaskEntity} property.
+     * @param version The CAS value the task must still have, or {@code 0} to mutate any version.
+     * @return The new CAS value of the task, or an empty {@link OptionalLong} if there is no such task.
+     */
+    @Override
+    public OptionalLong patch(final String id, final Map<String, ?> properties, final long version) {
+
+        final List<MutateInSpec> specs = new ArrayList<>();
+        properties.forEach((property, value) -> specs.add(this.upsertOf(property, value)));
+        specs.add(this.upsertOf("updatedAt", LocalDateTime.now()));
+        specs.add(this.upsertOf("updatedBy", CurrentUserUtil.getEmail()));
+
+        try {
+            return OptionalLong.of(taskCollection.mutateIn(id, specs, mutateInOptions().cas(version)).cas());
+        } catch (DocumentNotFoundException exception) {
+            return OptionalLong.empty();
+        } catch (CasMismatchException exception) {
+            throw new OptimisticLockingFailureException("Task was changed concurrently: " + id, exception);
+        }
+
+    }
+
+    /**
+     * Removes the task document by its key, guarded by the given CAS.
+     *
+     * @param id The ID of the task.
+     * @param version The CAS value the task must still have, or {@code 0} to remove any version.
+     * @return {@code true} if the task was removed, {@code false} if there is no such task.
+     */
+    @Override
+    public boolean remove(final String id, final long version) {
+
+        try {
+            taskCollection.remove(id, removeOptions().cas(version));
+            return true;
+        } catch (DocumentNotFoundException exception) {
+            return false;
+        } catch (CasMismatchException exception) {
+            throw new OptimisticLockingFailureException("Task was changed concurrently: " + id, exception);
+        }
+
+    }
+
+    private MutateInSpec upsertOf(final String property, final Object value) {
+        return MutateInSpec.upsert(
+                this.pathOf(property),
+                couchbaseTemplate.getConverter().convertForWriteIfNeeded(value)
+        );
+    }
+
+    private String pathOf(final String property) {
+        return taskPersistentEntity.getRequiredPersistentProperty(property).getFieldName();
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.todowithcouchbase.task.service;
+
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+
+import java.util.Optional;
+
+/**
+ * Service interface for reading tasks through an in-process cache in front of the task repository.
+ * Tasks are read far more often than they are written, so a task read recently by ID or by name is served
+ * from memory. Every write of a task must invalidate it; the invalidation reaches every instance.
+ * The returned entities are shared by all readers and must not be modified.
+ */
+public interface TaskCacheService {
+
+    /**
+     * Returns the task with the given ID, reading it on a cache miss.
+     *
+     * @param id The ID of the task.
+     * @return An {@link Optional} containing the task, or an empty {@link Optional} if there is no such task.
+     */
+    Optional<TaskEntity> findById(final String id);
+
+    /**
+     * Returns the task with the given name, reading it on a cache miss.
+     *
+     * @param name The name of the task.
+     * @return An {@link Optional} containing the task, or an empty {@link Optional} if there is no such task.
+     */
+    Optional<TaskEntity> findByName(final String name);
+
+    /**
+     * Drops the cached task with the given ID on every instance.
+     *
+     * @param id The ID of the written task.
+     */
+    void invalidate(final String id);
+
+}
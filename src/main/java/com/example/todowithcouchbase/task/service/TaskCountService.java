@@ -0,0 +1,27 @@
+package com.example.todowithcouchbase.task.service;
+
+/**
+ * Service interface for maintaining an approximate number of tasks.
+ * The number is kept in a counter document that is adjusted as tasks are created and deleted, so paged
+ * responses can report a total without counting the task collection.
+ */
+public interface TaskCountService {
+
+    /**
+     * Adds one task to the counter.
+     */
+    void increment();
+
+    /**
+     * Removes one task from the counter.
+     */
+    void decrement();
+
+    /**
+     * Returns the current value of the counter, seeding it with an exact count if it does not exist yet.
+     *
+     * @return The approximate number of tasks.
+     */
+    long getApproximateCount();
+
+}
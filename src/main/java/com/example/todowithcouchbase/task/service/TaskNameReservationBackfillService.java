@@ -0,0 +1,15 @@
+package com.example.todowithcouchbase.task.service;
+
+/**
+ * Service interface for the one-off backfill of task name reservations.
+ * The names of tasks saved before the reservations existed are only found by the name query; this service
+ * creates the missing reservation of each of them, after which the query fallback can be turned off.
+ */
+public interface TaskNameReservationBackfillService {
+
+    /**
+     * Creates the name reservation of every task that has none. Tasks are processed in batches.
+     */
+    void backfill();
+
+}
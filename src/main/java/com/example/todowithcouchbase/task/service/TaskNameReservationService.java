@@ -0,0 +1,29 @@
+package com.example.todowithcouchbase.task.service;
+
+/**
+ * Service interface for the reservation documents that keep task names unique.
+ * Reserving a name is a single atomic insert instead of a name query followed by a save, so two tasks saved
+ * or renamed concurrently with the same name cannot both succeed.
+ */
+public interface TaskNameReservationService {
+
+    /**
+     * Reserves the given name for the task with the given ID. The task is saved after the reservation.
+     *
+     * @param name The task name to reserve.
+     * @param taskId The ID the task is saved with.
+     * @throws com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException If the name is
+     *                                                                                             used by another task.
+     */
+    void reserveName(String name, String taskId);
+
+    /**
+     * Releases the reservation of the given name if it is still held by the task with the given ID,
+     * when the task gave up the name or saving it failed.
+     *
+     * @param name The reserved task name.
+     * @param taskId The ID of the task the name was reserved for.
+     */
+    void releaseName(String name, String taskId);
+
+}
@@ -4,6 +4,7 @@ import com.example.todowithcouchbase.common.model.CustomPage;
 import com.example.todowithcouchbase.common.model.dto.request.CustomPagingRequest;
 import com.example.todowithcouchbase.task.model.Task;
 import com.example.todowithcouchbase.task.model.dto.request.GetTaskByNameRequest;
+import com.example.todowithcouchbase.task.model.dto.request.PatchTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
 
@@ -48,18 +49,38 @@ public interface TaskService {
 
     /**
      * Updates an existing task by its ID.
+     * The task is replaced only if it still has the version it was read with, and, if given, the expected version.
      *
      * @param id the ID of the task to be updated.
      * @param updateTaskRequest the request object containing the updated details of the task.
+     * @param expectedVersion the version the client last read, or {@code null} to update any version.
      * @return the updated {@link Task} entity.
+     * @throws com.example.todowithcouchbase.task.exception.TaskVersionMismatchException if the task has another
+     *                                                                                   version.
      */
-    Task updateTaskById(final String id, final UpdateTaskRequest updateTaskRequest);
+    Task updateTaskById(final String id, final UpdateTaskRequest updateTaskRequest, final Long expectedVersion);
+
+    /**
+     * Changes only the fields set in the request of an existing task, without reading and replacing the
+     * whole task.
+     *
+     * @param id the ID of the task to be changed.
+     * @param patchTaskRequest the request object containing the fields to change.
+     * @param expectedVersion the version the client last read, or {@code null} to change any version.
+     * @return the version of the changed task.
+     * @throws com.example.todowithcouchbase.task.exception.TaskVersionMismatchException if the task has another
+     *                                                                                   version.
+     */
+    long patchTaskById(final String id, final PatchTaskRequest patchTaskRequest, final Long expectedVersion);
 
     /**
      * Deletes a task by its ID.
      *
      * @param id the ID of the task to be deleted.
+     * @param expectedVersion the version the client last read, or {@code null} to delete any version.
+     * @throws com.example.todowithcouchbase.task.exception.TaskVersionMismatchException if the task has another
+     *                                                                                   version.
      */
-    void deleteTaskById(String id);
+    void deleteTaskById(final String id, final Long expectedVersion);
 
 }
@@ -0,0 +1,193 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.common.feed.ChangeFeed;
+import com.example.todowithcouchbase.common.feed.ChangeFeedListener;
+import com.example.todowithcouchbase.task.config.TaskProperties;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskCacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of the {@link TaskCacheService} interface backed by two Caffeine caches.
+ * Tasks are cached by ID; a name is cached only as the ID of its task, so invalidating a task by its ID also
+ * covers every name it was read by. A name whose task no longer carries it, because the task was renamed or
+ * deleted, is read from the repository again. The task found for a name is not put in the ID cache directly,
+ * as it could then outlive an invalidation that ran while it was being read; the ID cache loads it by key.
+ * Unknown tasks are not cached. Entries expire after the configured time to live and both caches are bounded in
+ * size; hit, miss, load and eviction statistics are published to Micrometer under the {@code task-cache} and
+ * {@code task-name-cache} names.
+ * Every invalidated task ID is published to the {@value #TASK_CHANGES_TOPIC} {@link ChangeFeed} topic and every
+ * instance drops its entry, so a task written on one instance is read fresh on all of them within about one
+ * {@code change-feed.poll-interval}; the delivery lag is published under {@code change.feed.lag}.
+ * While the feed may have missed changes, the cache is bypassed until it has been reset.
+ */
+@Slf4j
+@Service
+public class TaskCacheServiceImpl implements TaskCacheService, ChangeFeedListener {
+
+    static final String CACHE_NAME = "task-cache";
+    static final String NAME_CACHE_NAME = "task-name-cache";
+    static final String TASK_CHANGES_TOPIC = "task-changes";
+
+    private final TaskRepository taskRepository;
+    private final ChangeFeed changeFeed;
+    private final Cache<String, TaskEntity> tasksById;
+    private final Cache<String, String> taskIdsByName;
+    private final boolean enabled;
+
+    private volatile boolean cacheInSync;
+
+    /**
+     * Creates the caches from the given {@link TaskProperties} and registers their metrics.
+     *
+     * @param taskRepository The repository tasks are read from on a cache miss.
+     * @param changeFeed The change feed task changes are published to.
+     * @param taskProperties The task settings holding the cache bounds.
+     * @param meterRegistry The registry the cache statistics are published to.
+     */
+    public TaskCacheServiceImpl(final TaskRepository taskRepository,
+                                final ChangeFeed changeFeed,
+                                final TaskProperties taskProperties,
+                                final MeterRegistry meterRegistry) {
+
+        final TaskProperties.Cache cache = taskProperties.getCache();
+
+        this.taskRepository = taskRepository;
+        this.changeFeed = changeFeed;
+        this.enabled = cache.isEnabled();
+
+        this.tasksById = Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getTimeToLive())
+                .recordStats()
+                .build();
+        this.taskIdsByName = Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getTimeToLive())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tasksById, CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, taskIdsByName, NAME_CACHE_NAME);
+
+    }
+
+    /**
+     * Returns the task with the given ID from the cache, reading it on a miss.
+     *
+     * @param id The ID of the task.
+     * @return An {@link Optional} containing the task, or an empty {@link Optional} if there is no such task.
+     */
+    @Override
+    public Optional<TaskEntity> findById(final String id) {
+
+        if (!enabled || !cacheInSync) {
+            return taskRepository.findById(id);
+        }
+
+        return Optional.ofNullable(tasksById.get(id, key -> taskRepository.findById(key).orElse(null)));
+
+    }
+
+    /**
+     * Returns the task with the given name through the cached ID of the name, reading it on a miss.
+     * If the task of the cached ID no longer carries the name, the name is read from the repository, uncached.
+     *
+     * @param name The name of the task.
+     * @return An {@link Optional} containing the task, or an empty {@link Optional} if there is no such task.
+     */
+    @Override
+    public Optional<TaskEntity> findByName(final String name) {
+
+        if (!enabled || !cacheInSync) {
+            return taskRepository.findTaskByName(name);
+        }
+
+        final String id = taskIdsByName.get(name, key -> taskRepository.findTaskByName(key)
+                .map(TaskEntity::getId)
+                .orElse(null));
+
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        final Optional<TaskEntity> taskEntity = this.findById(id)
+                .filter(task -> name.equals(task.getName()));
+
+        if (taskEntity.isPresent()) {
+            return taskEntity;
+        }
+
+        taskIdsByName.invalidate(name);
+        return taskRepository.findTaskByName(name);
+
+    }
+
+    /**
+     * Drops the cached task with the given ID, and with it every name that resolves to it, here and publishes
+     * the ID to the other instances.
+     * The task is already written at this point, so a failed publication is only logged; the other instances
+     * then serve the old task until it expires.
+     *
+     * @param id The ID of the written task.
+     */
+    @Override
+    public void invalidate(final String id) {
+        tasksById.invalidate(id);
+        try {
+            changeFeed.publish(TASK_CHANGES_TOPIC, Set.of(id));
+        } catch (RuntimeException exception) {
+            log.warn("Could not publish the change of task ID {}", id, exception);
+        }
+    }
+
+    /**
+     * Returns the change feed topic task changes are published to.
+     *
+     * @return The task changes topic.
+     */
+    @Override
+    public String getTopic() {
+        return TASK_CHANGES_TOPIC;
+    }
+
+    /**
+     * Drops the cached tasks written on any instance.
+     *
+     * @param taskIds The IDs of the written tasks.
+     */
+    @Override
+    public void onChanges(final Set<String> taskIds) {
+        tasksById.invalidateAll(taskIds);
+    }
+
+    /**
+     * Drops every cached task and name and starts serving from the cache again.
+     * Called by the change feed poller on startup and whenever task changes may have been missed.
+     */
+    @Override
+    public void onReset() {
+        cacheInSync = false;
+        tasksById.invalidateAll();
+        taskIdsByName.invalidateAll();
+        cacheInSync = true;
+    }
+
+    /**
+     * Bypasses the cache until the next reset, as tasks written on other instances may be cached in an old version.
+     */
+    @Override
+    public void onStale() {
+        cacheInSync = false;
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.core.error.DocumentExistsException;
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.Scope;
+import com.example.todowithcouchbase.common.config.CouchbaseProperties;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskCountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the {@link TaskCountService} interface backed by a counter document in the task collection.
+ * The counter is adjusted with atomic key-value increments and decrements, which never touch the query service.
+ * A failed adjustment is logged and does not fail the task operation, and a task written or deleted between
+ * the task operation and the adjustment is not reflected, so the value may drift from the exact count.
+ * The counter document has no {@code _class} attribute, so task queries do not see it.
+ */
+@Slf4j
+@Service
+public class TaskCountServiceImpl implements TaskCountService {
+
+    static final String COUNTER_KEY = "task::count";
+
+    private final Collection collection;
+    private final TaskRepository taskRepository;
+
+    /**
+     * Creates the service on the task collection.
+     *
+     * @param taskScope The scope holding the task collection.
+     * @param couchbaseProperties The Couchbase properties holding the collection name.
+     * @param taskRepository The repository used to seed the counter with an exact count.
+     */
+    public TaskCountServiceImpl(@Qualifier("taskScope") final Scope taskScope,
+                                final CouchbaseProperties couchbaseProperties,
+                                final TaskRepository taskRepository) {
+        this.collection = taskScope.collection(couchbaseProperties.getCollections().getTaskCollection());
+        this.taskRepository = taskRepository;
+    }
+
+    /**
+     * Atomically increments the counter. A counter that does not exist yet is left to be seeded on the next read.
+     */
+    @Override
+    public void increment() {
+        try {
+            collection.binary().increment(COUNTER_KEY);
+        } catch (DocumentNotFoundException exception) {
+            log.debug("Task counter does not exist yet, it will be seeded on the next read");
+        } catch (CouchbaseException exception) {
+            log.warn("Could not increment the task counter", exception);
+        }
+    }
+
+    /**
+     * Atomically decrements the counter, which never goes below zero.
+     * A counter that does not exist yet is left to be seeded on the next read.
+     */
+    @Override
+    public void decrement() {
+        try {
+            collection.binary().decrement(COUNTER_KEY);
+        } catch (DocumentNotFoundException exception) {
+            log.debug("Task counter does not exist yet, it will be seeded on the next read");
+        } catch (CouchbaseException exception) {
+            log.warn("Could not decrement the task counter", exception);
+        }
+    }
+
+    /**
+     * Reads the counter, seeding it with the exact number of tasks the first time it is read.
+     *
+     * @return The approximate number of tasks.
+     */
+    @Override
+    public long getApproximateCount() {
+
+        try {
+            return collection.get(COUNTER_KEY).contentAs(Long.class);
+        } catch (DocumentNotFoundException exception) {
+            log.info("Seeding the task counter with an exact count");
+        }
+
+        final long count = taskRepository.count();
+
+        try {
+            collection.insert(COUNTER_KEY, count);
+            return count;
+        } catch (DocumentExistsException exception) {
+            return collection.get(COUNTER_KEY).contentAs(Long.class);
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.common.reservation.KeyReservations;
+import com.example.todowithcouchbase.task.config.TaskProperties;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import com.example.todowithcouchbase.task.repository.TaskNameRepository;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskNameReservationBackfillService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service implementation for the one-off backfill of task name reservations.
+ * Each task without a reservation gets one inserted; a reservation that already exists is left alone,
+ * and one pointing to a different task is logged, since two tasks then share the name.
+ * The reservations are inserted through {@link KeyReservations#backfill}.
+ * The backfill runs once the application is ready when {@code task.name-reservation-backfill.enabled} is set.
+ */
+@Service
+public class TaskNameReservationBackfillServiceImpl implements TaskNameReservationBackfillService {
+
+    private final TaskRepository taskRepository;
+    private final KeyReservations<TaskNameEntity> nameReservations;
+    private final TaskProperties taskProperties;
+
+    /**
+     * Creates the backfill on top of the tasks and their name reservation documents.
+     *
+     * @param taskRepository The repository holding the tasks.
+     * @param taskNameRepository The repository holding the task name reservation documents.
+     * @param taskProperties The task settings holding the backfill settings.
+     */
+    public TaskNameReservationBackfillServiceImpl(final TaskRepository taskRepository,
+                                                  final TaskNameRepository taskNameRepository,
+                                                  final TaskProperties taskProperties) {
+        this.taskRepository = taskRepository;
+        this.nameReservations = new KeyReservations<>(
+                taskNameRepository, TaskNameEntity::keyOf, TaskNameEntity::of, "task name");
+        this.taskProperties = taskProperties;
+    }
+
+    /**
+     * Runs the backfill on startup if it is enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (taskProperties.getNameReservationBackfill().isEnabled()) {
+            this.backfill();
+        }
+    }
+
+    /**
+     * Creates the reservation of every task that has none, reading the tasks a page at a time.
+     */
+    @Override
+    public void backfill() {
+        nameReservations.backfill(
+                taskRepository::findAll,
+                taskProperties.getNameReservationBackfill().getBatchSize(),
+                TaskEntity::getName,
+                TaskEntity::getId
+        );
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.common.reservation.KeyReservations;
+import com.example.todowithcouchbase.task.config.TaskProperties;
+import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import com.example.todowithcouchbase.task.repository.TaskNameRepository;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskNameReservationService;
+import org.springframework.stereotype.Service;
+
+
+/**
+ * Service implementation for the task name reservation documents.
+ * A task name is reserved through {@link KeyReservations} first and the task saved second, releasing the
+ * reservation if the save fails. A reservation whose task does not carry the name is taken over once it is
+ * older than {@code task.name-reservation.reservation-timeout}.
+ * While {@code task.name-reservation.query-fallback-enabled} is set, names of tasks without a reservation
+ * are still detected with the name query on {@link TaskRepository}.
+ */
+@Service
+public class TaskNameReservationServiceImpl implements TaskNameReservationService {
+
+    private final KeyReservations<TaskNameEntity> nameReservations;
+    private final TaskRepository taskRepository;
+    private final TaskProperties taskProperties;
+
+    /**
+     * Creates the service on top of the task name reservation documents.
+     *
+     * @param taskNameRepository The repository holding the task name reservation documents.
+     * @param taskRepository The repository holding the tasks.
+     * @param taskProperties The task settings holding the reservation settings.
+     */
+    public TaskNameReservationServiceImpl(final TaskNameRepository taskNameRepository,
+                                          final TaskRepository taskRepository,
+                                          final TaskProperties taskProperties) {
+        this.nameReservations = new KeyReservations<>(
+                taskNameRepository, TaskNameEntity::keyOf, TaskNameEntity::of, "task name");
+        this.taskRepository = taskRepository;
+        this.taskProperties = taskProperties;
+    }
+
+    /**
+     * Reserves the given name by inserting its reservation document, taking over an orphaned reservation
+     * whose task does not carry the name.
+     *
+     * @param name The task name to reserve.
+     * @param taskId The ID the task is saved with.
+     * @throws TaskWithThisNameAlreadyExistException If the name is already used by another task.
+     */
+    @Override
+    public void reserveName(final String name, final String taskId) {
+
+        if (taskProperties.getNameReservation().isQueryFallbackEnabled()
+                && taskRepository.existsByName(name)) {
+            throw new TaskWithThisNameAlreadyExistException("With given task name = " + name);
+        }
+
+        final boolean reserved = nameReservations.reserve(
+                name,
+                taskId,
+                taskProperties.getNameReservation().getReservationTimeout(),
+                taskNameEntity -> taskRepository.findById(taskNameEntity.getTaskId())
+                        .filter(taskEntity -> name.equals(taskEntity.getName()))
+                        .isPresent()
+        );
+
+        if (!reserved) {
+            throw new TaskWithThisNameAlreadyExistException("With given task name = " + name);
+        }
+
+    }
+
+    /**
+     * Deletes the reservation document of the given name if it still points to the given task.
+     *
+     * @param name The reserved task name.
+     * @param taskId The ID of the task the name was reserved for.
+     */
+    @Override
+    public void releaseName(final String name, final String taskId) {
+        nameReservations.release(name, taskId);
+    }
+
+}
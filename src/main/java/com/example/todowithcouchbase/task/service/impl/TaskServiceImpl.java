@@ -1,11 +1,15 @@
 package com.example.todowithcouchbase.task.service.impl;
 
+import com.example.todowithcouchbase.common.model.CustomCursor;
 import com.example.todowithcouchbase.common.model.CustomPage;
+import com.example.todowithcouchbase.common.model.CustomPaging;
 import com.example.todowithcouchbase.common.model.dto.request.CustomPagingRequest;
+import com.example.todowithcouchbase.common.model.enums.CountMode;
 import com.example.todowithcouchbase.task.exception.TaskNotFoundException;
-import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
+import com.example.todowithcouchbase.task.exception.TaskVersionMismatchException;
 import com.example.todowithcouchbase.task.model.Task;
 import com.example.todowithcouchbase.task.model.dto.request.GetTaskByNameRequest;
+import com.example.todowithcouchbase.task.model.dto.request.PatchTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
 import com.example.todowithcouchbase.task.model.entity.TaskEntity;
@@ -14,23 +18,36 @@ import com.example.todowithcouchbase.task.model.mapper.SaveTaskRequestToTaskEnti
 import com.example.todowithcouchbase.task.model.mapper.TaskEntityToTaskMapper;
 import com.example.todowithcouchbase.task.model.mapper.UpdateTaskRequestToTaskEntityMapper;
 import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskCacheService;
+import com.example.todowithcouchbase.task.service.TaskCountService;
+import com.example.todowithcouchbase.task.service.TaskNameReservationService;
 import com.example.todowithcouchbase.task.service.TaskService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Service implementation for managing tasks in the system.
  * This interface defines the methods for CRUD operations on tasks,
  * including saving, retrieving, updating, and deleting tasks.
+ * Single tasks are read through {@link TaskCacheService}, and every write invalidates the written task there
+ * before it returns.
  */
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskCountService taskCountService;
+    private final TaskNameReservationService taskNameReservationService;
+    private final TaskCacheService taskCacheService;
     private final SaveTaskRequestToTaskEntityMapper saveTaskRequestToTaskEntityMapper =
             SaveTaskRequestToTaskEntityMapper.initialize();
 
@@ -45,6 +62,7 @@ public class TaskServiceImpl implements TaskService {
 
     /**
      * Saves a new task to the database.
+     * The name is reserved under the new task ID before the task is saved, and released again if the save fails.
      *
      * @param taskRequest the request object containing the details of the task to be saved.
      * @return the saved {@link Task} entity.
@@ -52,10 +70,20 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public Task saveTask(final SaveTaskRequest taskRequest) {
 
-        checkTaskNameUniqueness(taskRequest.getName());
-
         TaskEntity taskEntityToBeSaved=saveTaskRequestToTaskEntityMapper.mapForSaving(taskRequest);
-        taskRepository.save(taskEntityToBeSaved);
+
+        taskEntityToBeSaved.setId(UUID.randomUUID().toString());
+        taskNameReservationService.reserveName(taskEntityToBeSaved.getName(), taskEntityToBeSaved.getId());
+
+        try {
+            taskRepository.save(taskEntityToBeSaved);
+        } catch (RuntimeException exception) {
+            taskNameReservationService.releaseName(taskEntityToBeSaved.getName(), taskEntityToBeSaved.getId());
+            throw exception;
+        }
+
+        taskCacheService.invalidate(taskEntityToBeSaved.getId());
+        taskCountService.increment();
 
         return taskEntityToTaskMapper.map(taskEntityToBeSaved);
 
@@ -63,6 +91,10 @@ public class TaskServiceImpl implements TaskService {
 
     /**
      * Retrieves all tasks with pagination support.
+     * A request with a page number reads that page by offset and counts all tasks; a cursor request seeks past
+     * the cursor instead and returns the cursor of the next page.
+     * The totals are computed as the {@link CountMode} of the request says: by a count query, from the task
+     * counter, or not at all, in which case numbered pages are read as a slice without a count query.
      *
      * @param customPagingRequest the request object containing paging parameters (e.g., page size, page number).
      * @return a {@link CustomPage} of tasks, containing a list of tasks and pagination details.
@@ -70,6 +102,16 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public CustomPage<Task> getAllTasks(final CustomPagingRequest customPagingRequest) {
 
+        if (customPagingRequest.getPagination().isCursorRequest()) {
+            return this.getTasksAfterCursor(customPagingRequest.getPagination());
+        }
+
+        final CountMode countMode = customPagingRequest.getPagination().getCountMode();
+
+        if (countMode != CountMode.EXACT) {
+            return this.getTaskSlice(customPagingRequest, countMode);
+        }
+
         Page<TaskEntity> taskEntitiesListPage = taskRepository.findAll(customPagingRequest.toPageable());
 
         if (taskEntitiesListPage.getContent().isEmpty()) {
@@ -92,7 +134,7 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public Task getTaskByName(final GetTaskByNameRequest getTaskByNameRequest) {
 
-        TaskEntity taskFromDb = taskRepository.findTaskByName(getTaskByNameRequest.getName())
+        TaskEntity taskFromDb = taskCacheService.findByName(getTaskByNameRequest.getName())
                 .orElseThrow(()->new TaskNotFoundException("Task given name cant found"));
         
         return taskEntityToTaskMapper.map(taskFromDb);
@@ -108,7 +150,7 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public Task getTaskById(String id) {
 
-        TaskEntity taskFromDb = taskRepository.findById(id)
+        TaskEntity taskFromDb = taskCacheService.findById(id)
                 .orElseThrow(()->new TaskNotFoundException("Task given id cant found"));
 
         return taskEntityToTaskMapper.map(taskFromDb);
@@ -117,52 +159,235 @@ public class TaskServiceImpl implements TaskService {
 
     /**
      * Updates an existing task by its ID.
+     * The task is saved with the CAS value it was read with, so a concurrent change between the read and the save
+     * fails the update instead of being overwritten; an expected version that differs from the stored one fails
+     * it before anything is written.
+     * A rename reserves the new name before the task is saved and releases the old one afterwards;
+     * if the save fails, the new name is released and the task keeps the old one.
      *
      * @param id the ID of the task to be updated.
      * @param updateTaskRequest the request object containing the updated details of the task.
+     * @param expectedVersion the version the client last read, or {@code null} to update any version.
      * @return the updated {@link Task} entity.
+     * @throws TaskVersionMismatchException if the task has another version or was changed concurrently.
      */
     @Override
-    public Task updateTaskById(final String id, final UpdateTaskRequest updateTaskRequest) {
-
-        checkTaskNameUniqueness(updateTaskRequest.getName());
+    public Task updateTaskById(final String id, final UpdateTaskRequest updateTaskRequest, final Long expectedVersion) {
 
         TaskEntity taskEntity = taskRepository.findById(id)
                 .orElseThrow(()->new TaskNotFoundException("Task given id cant found"));
 
+        if (expectedVersion != null && expectedVersion != taskEntity.getVersion()) {
+            throw new TaskVersionMismatchException("With given id = " + id);
+        }
+
+        final String oldName = taskEntity.getName();
+        final String newName = updateTaskRequest.getName();
+        final boolean renamed = !newName.equals(oldName);
+
+        if (renamed) {
+            taskNameReservationService.reserveName(newName, id);
+        }
+
         updateTaskRequestToTaskEntityMapper.updateTaskMapper(taskEntity,updateTaskRequest);
 
-        TaskEntity updatedTask = taskRepository.save(taskEntity);
+        final TaskEntity updatedTask;
+
+        try {
+            updatedTask = taskRepository.save(taskEntity);
+        } catch (RuntimeException exception) {
+            if (renamed) {
+                taskNameReservationService.releaseName(newName, id);
+            }
+            if (exception instanceof OptimisticLockingFailureException) {
+                throw new TaskVersionMismatchException("With given id = " + id);
+            }
+            throw exception;
+        }
+
+        taskCacheService.invalidate(id);
+
+        if (renamed) {
+            taskNameReservationService.releaseName(oldName, id);
+        }
 
         return taskEntityToTaskMapper.map(updatedTask);
 
     }
 
     /**
-     * Deletes a task by its ID.
+     * Changes only the fields set in the request of an existing task through one sub-document mutation of their
+     * paths and the audit paths, so the task is neither read nor rewritten as a whole.
+     * A rename has to know the old name to release it, so for a new name only the name path is looked up first,
+     * and the mutation is guarded by the CAS value returned with it; otherwise the mutation is guarded by the
+     * expected version, if any. The name reservations follow {@link #updateTaskById(String, UpdateTaskRequest, Long)}.
+     *
+     * @param id the ID of the task to be changed.
+     * @param patchTaskRequest the request object containing the fields to change.
+     * @param expectedVersion the version the client last read, or {@code null} to change any version.
+     * @return the version of the changed task.
+     * @throws TaskVersionMismatchException if the task has another version or was changed concurrently.
+     */
+    @Override
+    public long patchTaskById(final String id, final PatchTaskRequest patchTaskRequest, final Long expectedVersion) {
+
+        final Map<String, Object> properties = new LinkedHashMap<>();
+        long version = expectedVersion == null ? 0L : expectedVersion;
+        final String newName = patchTaskRequest.getName();
+        String oldName = null;
+        boolean renamed = false;
+
+        if (newName != null) {
+
+            final TaskEntity taskEntity = taskRepository.findNameAndVersionById(id)
+                    .orElseThrow(()->new TaskNotFoundException("Task given id cant found"));
+
+            if (expectedVersion != null && expectedVersion != taskEntity.getVersion()) {
+                throw new TaskVersionMismatchException("With given id = " + id);
+            }
+
+            version = taskEntity.getVersion();
+            properties.put("name", newName);
+
+            if (!newName.equals(taskEntity.getName())) {
+                oldName = taskEntity.getName();
+                renamed = true;
+                taskNameReservationService.reserveName(newName, id);
+            }
+
+        }
+
+        final long patchedVersion;
+
+        try {
+            patchedVersion = taskRepository.patch(id, properties, version)
+                    .orElseThrow(()->new TaskNotFoundException("Task given id cant found"));
+        } catch (RuntimeException exception) {
+            if (renamed) {
+                taskNameReservationService.releaseName(newName, id);
+            }
+            if (exception instanceof OptimisticLockingFailureException) {
+                throw new TaskVersionMismatchException("With given id = " + id);
+            }
+            throw exception;
+        }
+
+        taskCacheService.invalidate(id);
+
+        if (renamed && oldName != null) {
+            taskNameReservationService.releaseName(oldName, id);
+        }
+
+        return patchedVersion;
+
+    }
+
+    /**
+     * Deletes a task by its ID and releases its name.
+     * Only the name path of the task is looked up, for the name to release, and the task is removed by its key
+     * with the CAS value returned with it, so a concurrent rename cannot leave the new name reserved.
      *
      * @param id the ID of the task to be deleted.
+     * @param expectedVersion the version the client last read, or {@code null} to delete any version.
+     * @throws TaskVersionMismatchException if the task has another version or was changed concurrently.
      */
     @Override
-    public void deleteTaskById(final String id) {
+    public void deleteTaskById(final String id, final Long expectedVersion) {
 
-        TaskEntity taskToBeDeleted = taskRepository.findById(id)
+        final TaskEntity taskToBeDeleted = taskRepository.findNameAndVersionById(id)
                 .orElseThrow(()->new TaskNotFoundException("With given id = " + id));
 
-        taskRepository.delete(taskToBeDeleted);
+        if (expectedVersion != null && expectedVersion != taskToBeDeleted.getVersion()) {
+            throw new TaskVersionMismatchException("With given id = " + id);
+        }
+
+        try {
+            if (!taskRepository.remove(id, taskToBeDeleted.getVersion())) {
+                throw new TaskNotFoundException("With given id = " + id);
+            }
+        } catch (OptimisticLockingFailureException exception) {
+            throw new TaskVersionMismatchException("With given id = " + id);
+        }
+
+        taskCacheService.invalidate(id);
+
+        if (taskToBeDeleted.getName() != null) {
+            taskNameReservationService.releaseName(taskToBeDeleted.getName(), id);
+        }
+        taskCountService.decrement();
+    }
+
+    /**
+     * Reads the page of tasks following the cursor of the given paging request, or the first page without one.
+     * One task more than the page size is read to find out whether a next page exists.
+     *
+     * @param customPaging the paging parameters holding the page size and the optional cursor.
+     * @return a {@link CustomPage} of tasks with the cursor of the next page, if any.
+     */
+    private CustomPage<Task> getTasksAfterCursor(final CustomPaging customPaging) {
+
+        final int pageSize = customPaging.getPageSize();
+
+        final List<TaskEntity> taskEntities;
+        if (customPaging.getCursor() == null) {
+            taskEntities = taskRepository.findPage(pageSize + 1);
+        } else {
+            final CustomCursor cursor = CustomCursor.decode(customPaging.getCursor());
+            taskEntities = taskRepository.findPageAfter(cursor.getCreatedAt(), cursor.getId(), pageSize + 1);
+        }
+
+        if (taskEntities.isEmpty()) {
+            throw new TaskNotFoundException("Couldn't find any Task");
+        }
+
+        final boolean hasNextPage = taskEntities.size() > pageSize;
+        final List<TaskEntity> pageEntities = hasNextPage ? taskEntities.subList(0, pageSize) : taskEntities;
+
+        final String nextCursor;
+        if (hasNextPage) {
+            final TaskEntity lastTaskEntity = pageEntities.get(pageEntities.size() - 1);
+            nextCursor = new CustomCursor(lastTaskEntity.getCreatedAt(), lastTaskEntity.getId()).encode();
+        } else {
+            nextCursor = null;
+        }
+
+        return CustomPage.of(listTaskEntityToListTaskMapper.toTaskList(pageEntities), pageSize, nextCursor)
+                .withTotalElementCount(this.countTasks(customPaging.getCountMode()));
+
     }
 
     /**
-     * Checks the uniqueness of a task name in the repository.
-     * If a task with the given name already exists, a {@link TaskWithThisNameAlreadyExistException} is thrown.
+     * Reads the numbered page of the given paging request without a count query.
      *
-     * @param taskName the name of the task to be checked for uniqueness.
-     * @throws TaskWithThisNameAlreadyExistException if a task with the given name already exists in the repository.
+     * @param customPagingRequest the request object containing the page number and size.
+     * @param countMode how the totals are computed, {@link CountMode#APPROXIMATE} or {@link CountMode#NONE}.
+     * @return a {@link CustomPage} of tasks.
      */
-    private void checkTaskNameUniqueness(final String taskName) {
-        if (taskRepository.existsByName(taskName)) {
-            throw new TaskWithThisNameAlreadyExistException("With given task name = " + taskName);
+    private CustomPage<Task> getTaskSlice(final CustomPagingRequest customPagingRequest, final CountMode countMode) {
+
+        final Slice<TaskEntity> taskEntitiesSlice = taskRepository.findSlice(customPagingRequest.toPageable());
+
+        if (taskEntitiesSlice.getContent().isEmpty()) {
+            throw new TaskNotFoundException("Couldn't find any Task");
         }
+
+        return CustomPage.of(listTaskEntityToListTaskMapper.toTaskList(taskEntitiesSlice.getContent()), taskEntitiesSlice)
+                .withTotalElementCount(this.countTasks(countMode));
+
+    }
+
+    /**
+     * Computes the total number of tasks as the given count mode says.
+     *
+     * @param countMode how the total is computed.
+     * @return the total number of tasks, or {@code null} for {@link CountMode#NONE}.
+     */
+    private Long countTasks(final CountMode countMode) {
+        return switch (countMode) {
+            case EXACT -> taskRepository.count();
+            case APPROXIMATE -> taskCountService.getApproximateCount();
+            case NONE -> null;
+        };
     }
 
 }
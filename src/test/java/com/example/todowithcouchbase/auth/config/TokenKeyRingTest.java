@@ -0,0 +1,217 @@
+package com.example.todowithcouchbase.auth.config;
+
+import com.example.todowithcouchbase.auth.model.TokenSigningKey;
+import com.example.todowithcouchbase.auth.model.enums.TokenSignatureAlgorithm;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link TokenKeyRing}.
+ * It signs tokens with keys of every supported algorithm and verifies them through a parser
+ * that uses the key ring as its key locator.
+ */
+class TokenKeyRingTest extends AbstractBaseServiceTest {
+
+    @ParameterizedTest
+    @EnumSource(TokenSignatureAlgorithm.class)
+    void locate_ShouldVerifyTokenSignedWithKeyOfAnyAlgorithm(TokenSignatureAlgorithm algorithm) {
+
+        // Given
+        TokenSigningKey key = signingKey("key-1", algorithm, algorithm.generateKeyPair(), true);
+        TokenKeyRing tokenKeyRing = new TokenKeyRing(List.of(key), "key-1", "key-1");
+
+        // When
+        String jwt = sign(key.getKeyId(), key.getPrivateKey(), algorithm);
+
+        // Then
+        assertEquals("subject", parser(tokenKeyRing).parseSignedClaims(jwt).getPayload().getSubject());
+
+    }
+
+    @Test
+    void locate_ShouldVerifyTokenSignedWithRetiredKey() {
+
+        // Given
+        KeyPair retiredKeyPair = TokenSignatureAlgorithm.RS256.generateKeyPair();
+        TokenKeyRing tokenKeyRing = new TokenKeyRing(
+                List.of(
+                        signingKey("retired", TokenSignatureAlgorithm.RS256, retiredKeyPair, false),
+                        signingKey("active", TokenSignatureAlgorithm.ES256, TokenSignatureAlgorithm.ES256.generateKeyPair(), true)
+                ),
+                "active",
+                "retired"
+        );
+
+        // When
+        String jwt = sign("retired", retiredKeyPair.getPrivate(), TokenSignatureAlgorithm.RS256);
+
+        // Then
+        assertEquals("subject", parser(tokenKeyRing).parseSignedClaims(jwt).getPayload().getSubject());
+        assertEquals("active", tokenKeyRing.getActiveKey().getKeyId());
+
+    }
+
+    @Test
+    void locate_ShouldVerifyTokenWithoutKeyIdWithDefaultKey() {
+
+        // Given
+        KeyPair defaultKeyPair = TokenSignatureAlgorithm.RS256.generateKeyPair();
+        TokenKeyRing tokenKeyRing = new TokenKeyRing(
+                List.of(
+                        signingKey("default", TokenSignatureAlgorithm.RS256, defaultKeyPair, true),
+                        signingKey("active", TokenSignatureAlgorithm.EDDSA, TokenSignatureAlgorithm.EDDSA.generateKeyPair(), true)
+                ),
+                "active",
+                "default"
+        );
+
+        // When
+        String jwt = sign(null, defaultKeyPair.getPrivate(), TokenSignatureAlgorithm.RS256);
+
+        // Then
+        assertEquals("subject", parser(tokenKeyRing).parseSignedClaims(jwt).getPayload().getSubject());
+
+    }
+
+    @Test
+    void locate_ShouldRejectUnknownKeyId() {
+
+        // Given
+        KeyPair keyPair = TokenSignatureAlgorithm.ES256.generateKeyPair();
+        TokenKeyRing tokenKeyRing = new TokenKeyRing(
+                List.of(signingKey("key-1", TokenSignatureAlgorithm.ES256, keyPair, true)),
+                "key-1",
+                "key-1"
+        );
+
+        // When
+        String jwt = sign("key-2", keyPair.getPrivate(), TokenSignatureAlgorithm.ES256);
+
+        // Then
+        JwtParser parser = parser(tokenKeyRing);
+        assertThrows(UnsupportedJwtException.class, () -> parser.parseSignedClaims(jwt));
+
+    }
+
+    @Test
+    void locate_ShouldRejectAlgorithmNotMatchingKey() {
+
+        // Given
+        KeyPair keyPair = TokenSignatureAlgorithm.RS256.generateKeyPair();
+        TokenKeyRing tokenKeyRing = new TokenKeyRing(
+                List.of(signingKey("key-1", TokenSignatureAlgorithm.RS256, keyPair, true)),
+                "key-1",
+                "key-1"
+        );
+
+        // When
+        String jwt = Jwts.builder()
+                .header().keyId("key-1").and()
+                .subject("subject")
+                .signWith(keyPair.getPrivate(), Jwts.SIG.PS256)
+                .compact();
+
+        // Then
+        JwtParser parser = parser(tokenKeyRing);
+        assertThrows(UnsupportedJwtException.class, () -> parser.parseSignedClaims(jwt));
+
+    }
+
+    @Test
+    void constructor_ShouldRejectActiveKeyWithoutPrivateKey() {
+
+        // Given
+        TokenSigningKey key = signingKey("key-1", TokenSignatureAlgorithm.ES256,
+                TokenSignatureAlgorithm.ES256.generateKeyPair(), false);
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> new TokenKeyRing(List.of(key), "key-1", "key-1"));
+
+    }
+
+    @Test
+    void constructor_ShouldRejectDuplicateKeyIds() {
+
+        // Given
+        TokenSigningKey key = signingKey("key-1", TokenSignatureAlgorithm.ES256,
+                TokenSignatureAlgorithm.ES256.generateKeyPair(), true);
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> new TokenKeyRing(List.of(key, key), "key-1", "key-1"));
+
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = TokenSignatureAlgorithm.class, names = {"ES256", "EDDSA"})
+    void constructor_ShouldLoadConfiguredPemKeysNextToDefaultKey(TokenSignatureAlgorithm algorithm) {
+
+        // Given
+        KeyPair keyPair = algorithm.generateKeyPair();
+
+        AuthProperties.SigningKey signingKey = new AuthProperties.SigningKey();
+        signingKey.setId("configured");
+        signingKey.setAlgorithm(algorithm);
+        signingKey.setPublicKey(pem("PUBLIC KEY", keyPair.getPublic()));
+        signingKey.setPrivateKey(pem("PRIVATE KEY", keyPair.getPrivate()));
+
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.getSigning().setActiveKeyId("configured");
+        authProperties.getSigning().getKeys().add(signingKey);
+
+        // When
+        TokenKeyRing tokenKeyRing = new TokenKeyRing(new TokenConfigurationParameter(), authProperties);
+
+        // Then
+        assertEquals(2, tokenKeyRing.getKeys().size());
+        assertEquals(algorithm, tokenKeyRing.getActiveKey().getAlgorithm());
+
+        String jwt = sign("configured", tokenKeyRing.getActiveKey().getPrivateKey(), algorithm);
+        assertEquals("subject", parser(tokenKeyRing).parseSignedClaims(jwt).getPayload().getSubject());
+
+    }
+
+    private static TokenSigningKey signingKey(final String keyId,
+                                              final TokenSignatureAlgorithm algorithm,
+                                              final KeyPair keyPair,
+                                              final boolean canSign) {
+        return TokenSigningKey.builder()
+                .keyId(keyId)
+                .algorithm(algorithm)
+                .publicKey(keyPair.getPublic())
+                .privateKey(canSign ? keyPair.getPrivate() : null)
+                .build();
+    }
+
+    private static String sign(final String keyId, final PrivateKey privateKey,
+                               final TokenSignatureAlgorithm algorithm) {
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .subject("subject")
+                .signWith(privateKey, algorithm.getSignatureAlgorithm())
+                .compact();
+    }
+
+    private static JwtParser parser(final TokenKeyRing tokenKeyRing) {
+        return Jwts.parser().keyLocator(tokenKeyRing).build();
+    }
+
+    private static String pem(final String type, final Key key) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(key.getEncoded())
+                + "\n-----END " + type + "-----\n";
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.example.todowithcouchbase.auth.config;
+
+import com.example.todowithcouchbase.auth.model.Token;
+import com.example.todowithcouchbase.auth.model.TokenSigningKey;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.model.enums.TokenSignatureAlgorithm;
+import com.example.todowithcouchbase.auth.model.enums.TokenType;
+import com.example.todowithcouchbase.auth.service.InvalidTokenService;
+import com.example.todowithcouchbase.auth.service.impl.TokenServiceImpl;
+import com.example.todowithcouchbase.auth.utils.TokenMinter;
+import com.example.todowithcouchbase.builder.UserBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark reporting sign and verify throughput of every {@link TokenSignatureAlgorithm},
+ * to pick the active key algorithm of the {@link TokenKeyRing}.
+ * {@code sign} signs one access token with the jjwt builder, as {@link TokenServiceImpl} used to do, and
+ * {@code mint} signs the same token with the {@link TokenMinter} it now uses, whose header and issuer are encoded once.
+ * {@code verify} verifies one token through {@link TokenServiceImpl#verify(String)} and {@code generateToken} is the
+ * login path, which mints an access and a refresh token; login spikes are bound by its throughput.
+ * Run with {@code mvn -Pbenchmark test -Djmh.args="TokenSignatureAlgorithmBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenSignatureAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "EDDSA"})
+    private TokenSignatureAlgorithm algorithm;
+
+    private TokenSigningKey signingKey;
+
+    private TokenServiceImpl tokenService;
+
+    private TokenMinter tokenMinter;
+
+    private Map<String, Object> claims;
+
+    private String jwt;
+
+    @Setup
+    public void setup() {
+
+        final InvalidTokenService invalidTokenService = new InvalidTokenService() {
+
+            @Override
+            public void invalidateTokens(Set<VerifiedToken> verifiedTokens) {
+            }
+
+            @Override
+            public void checkForInvalidityOfToken(String tokenId) {
+            }
+
+            @Override
+            public void checkForInvalidityOfTokens(Set<String> tokenIds) {
+            }
+
+        };
+
+        final KeyPair keyPair = algorithm.generateKeyPair();
+        signingKey = TokenSigningKey.builder()
+                .keyId("benchmark")
+                .algorithm(algorithm)
+                .publicKey(keyPair.getPublic())
+                .privateKey(keyPair.getPrivate())
+                .build();
+
+        tokenService = new TokenServiceImpl(
+                new TokenConfigurationParameter(),
+                new TokenKeyRing(List.of(signingKey), signingKey.getKeyId(), signingKey.getKeyId()),
+                invalidTokenService
+        );
+
+        tokenMinter = new TokenMinter(signingKey, "benchmark", new ObjectMapper());
+
+        claims = new UserBuilder().withValidFields().build().getClaims();
+        jwt = tokenService.generateToken(claims).getAccessToken();
+
+    }
+
+    /**
+     * Signs one token with the claims of an access token.
+     */
+    @Benchmark
+    public String sign() {
+        final long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .header()
+                .type(TokenType.BEARER.getValue())
+                .keyId(signingKey.getKeyId())
+                .and()
+                .id(UUID.randomUUID().toString())
+                .issuer("benchmark")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 900_000))
+                .claims(claims)
+                .signWith(signingKey.getPrivateKey(), algorithm.getSignatureAlgorithm())
+                .compact();
+    }
+
+    /**
+     * Mints one token with the claims of an access token.
+     */
+    @Benchmark
+    public String mint() {
+        final long now = System.currentTimeMillis() / 1000;
+        return tokenMinter.mint(claims, now, now + 900);
+    }
+
+    /**
+     * Verifies one access token, as the bearer token filter does on every request that misses the cache.
+     */
+    @Benchmark
+    public VerifiedToken verify() {
+        return tokenService.verify(jwt);
+    }
+
+    /**
+     * Issues an access and a refresh token, as login does.
+     */
+    @Benchmark
+    public Token generateToken() {
+        return tokenService.generateToken(claims);
+    }
+
+}
@@ -13,10 +13,12 @@ import com.example.todowithcouchbase.auth.service.LoginService;
 import com.example.todowithcouchbase.auth.service.LogoutService;
 import com.example.todowithcouchbase.auth.service.RefreshTokenService;
 import com.example.todowithcouchbase.auth.service.RegisterService;
+import com.example.todowithcouchbase.auth.service.UserClaimsCacheService;
 import com.example.todowithcouchbase.base.AbstractRestControllerTest;
 import com.example.todowithcouchbase.common.model.dto.response.CustomResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
@@ -47,6 +49,9 @@ class AuthControllerTest extends AbstractRestControllerTest {
     @MockBean
     private LogoutService logoutService;
 
+    @MockBean
+    private UserClaimsCacheService userClaimsCacheService;
+
     private final TokenToTokenResponseMapper tokenToTokenResponseMapper = TokenToTokenResponseMapper.initialize();
 
     @Test
@@ -186,4 +191,42 @@ class AuthControllerTest extends AbstractRestControllerTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenAdminToken_whenInvalidateUserClaims_thenSuccess() throws Exception {
+
+        // Given
+        final String userId = UUID.randomUUID().toString();
+
+        // When
+        doNothing().when(userClaimsCacheService).invalidate(userId);
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/authentication/user/{userId}/claims-cache", userId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(CustomResponse.SUCCESS)));
+
+        // Verify
+        verify(userClaimsCacheService, times(1)).invalidate(userId);
+
+    }
+
+    @Test
+    void givenUserToken_whenInvalidateUserClaims_thenForbidden() throws Exception {
+
+        // Given
+        final String userId = UUID.randomUUID().toString();
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/authentication/user/{userId}/claims-cache", userId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockUserToken.getAccessToken()))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        // Verify
+        verify(userClaimsCacheService, never()).invalidate(userId);
+
+    }
+
+}
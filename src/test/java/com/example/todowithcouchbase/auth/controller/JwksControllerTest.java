@@ -0,0 +1,71 @@
+package com.example.todowithcouchbase.auth.controller;
+
+import com.example.todowithcouchbase.auth.model.JsonWebKeySet;
+import com.example.todowithcouchbase.auth.service.JsonWebKeySetService;
+import com.example.todowithcouchbase.base.AbstractRestControllerTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration test class for {@link JwksController}.
+ * This test class mocks the {@link JsonWebKeySetService} and checks that the key set is served without
+ * authentication, with its entity tag and cache headers, and that a matching {@code If-None-Match} gets a 304.
+ */
+class JwksControllerTest extends AbstractRestControllerTest {
+
+    @MockBean
+    private JsonWebKeySetService jsonWebKeySetService;
+
+    private final JsonWebKeySet jsonWebKeySet = new JsonWebKeySet(
+            "{\"keys\":[]}".getBytes(StandardCharsets.UTF_8),
+            "\"etag\""
+    );
+
+    @Test
+    void givenNoToken_whenGetJsonWebKeySet_thenReturnKeySetWithCacheHeaders() throws Exception {
+
+        // When
+        when(jsonWebKeySetService.getJsonWebKeySet()).thenReturn(jsonWebKeySet);
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/.well-known/jwks.json"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"etag\""))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "max-age=900, public"))
+                .andExpect(MockMvcResultMatchers.content().contentType("application/jwk-set+json"))
+                .andExpect(MockMvcResultMatchers.content().string("{\"keys\":[]}"));
+
+        // Verify
+        verify(jsonWebKeySetService, times(1)).getJsonWebKeySet();
+
+    }
+
+    @Test
+    void givenMatchingEntityTag_whenGetJsonWebKeySet_thenReturnNotModified() throws Exception {
+
+        // When
+        when(jsonWebKeySetService.getJsonWebKeySet()).thenReturn(jsonWebKeySet);
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders.get("/.well-known/jwks.json")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"etag\""))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"etag\""))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        // Verify
+        verify(jsonWebKeySetService, times(1)).getJsonWebKeySet();
+
+    }
+
+}
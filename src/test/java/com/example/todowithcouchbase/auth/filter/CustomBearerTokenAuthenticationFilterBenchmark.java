@@ -0,0 +1,141 @@
+package com.example.todowithcouchbase.auth.filter;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.config.TokenConfigurationParameter;
+import com.example.todowithcouchbase.auth.config.TokenKeyRing;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.service.InvalidTokenService;
+import com.example.todowithcouchbase.auth.service.TokenService;
+import com.example.todowithcouchbase.auth.service.impl.TokenServiceImpl;
+import com.example.todowithcouchbase.auth.service.impl.VerifiedTokenCacheServiceImpl;
+import com.example.todowithcouchbase.builder.UserBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the previous bearer token filter path, which parsed and verified the same token
+ * three times, with the {@link CustomBearerTokenAuthenticationFilter} path that verifies it once per request
+ * (verified token cache disabled) and with the path that serves a repeated token from the cache.
+ * Run with {@code mvn -Pbenchmark test -Djmh.args="CustomBearerTokenAuthenticationFilterBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomBearerTokenAuthenticationFilterBenchmark {
+
+    private TokenService tokenService;
+
+    private InvalidTokenService invalidTokenService;
+
+    private CustomBearerTokenAuthenticationFilter filter;
+
+    private CustomBearerTokenAuthenticationFilter cachingFilter;
+
+    private String jwt;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    private final FilterChain filterChain = (servletRequest, servletResponse) -> { };
+
+    @Setup
+    public void setup() {
+
+        invalidTokenService = new InvalidTokenService() {
+
+            @Override
+            public void invalidateTokens(Set<VerifiedToken> verifiedTokens) {
+            }
+
+            @Override
+            public void checkForInvalidityOfToken(String tokenId) {
+            }
+
+            @Override
+            public void checkForInvalidityOfTokens(Set<String> tokenIds) {
+            }
+
+        };
+
+        final TokenConfigurationParameter tokenConfigurationParameter = new TokenConfigurationParameter();
+        tokenService = new TokenServiceImpl(
+                tokenConfigurationParameter,
+                new TokenKeyRing(tokenConfigurationParameter, new AuthProperties()),
+                invalidTokenService
+        );
+
+        final AuthProperties uncachedProperties = new AuthProperties();
+        uncachedProperties.getVerifiedTokenCache().setEnabled(false);
+
+        filter = new CustomBearerTokenAuthenticationFilter(
+                new VerifiedTokenCacheServiceImpl(tokenService, uncachedProperties, new SimpleMeterRegistry()),
+                invalidTokenService,
+                tokenService
+        );
+        cachingFilter = new CustomBearerTokenAuthenticationFilter(
+                new VerifiedTokenCacheServiceImpl(tokenService, new AuthProperties(), new SimpleMeterRegistry()),
+                invalidTokenService,
+                tokenService
+        );
+
+        jwt = tokenService
+                .generateToken(new UserBuilder().withValidFields().build().getClaims())
+                .getAccessToken();
+
+        request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwt);
+        response = new MockHttpServletResponse();
+
+    }
+
+    /**
+     * The filter path before the single-parse change: verify, read the ID and build the authentication,
+     * each of which parsed and verified the token again.
+     */
+    @Benchmark
+    public UsernamePasswordAuthenticationToken legacyFilterPath() {
+        tokenService.verifyAndValidate(jwt);
+        final String tokenId = tokenService.getId(jwt);
+        invalidTokenService.checkForInvalidityOfToken(tokenId);
+        return tokenService.getAuthentication(jwt);
+    }
+
+    /**
+     * The filter path without the verified token cache, which verifies the token once and reuses the result.
+     */
+    @Benchmark
+    public Authentication singleParseFilterPath() throws Exception {
+        return this.authenticate(filter);
+    }
+
+    /**
+     * The filter path with the verified token cache, where a repeated token skips the signature check.
+     */
+    @Benchmark
+    public Authentication cachedFilterPath() throws Exception {
+        return this.authenticate(cachingFilter);
+    }
+
+    private Authentication authenticate(final CustomBearerTokenAuthenticationFilter bearerTokenFilter)
+            throws Exception {
+        bearerTokenFilter.doFilter(request, response, filterChain);
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.example.todowithcouchbase.auth.filter;
+
+import com.example.todowithcouchbase.auth.exception.TokenAlreadyInvalidatedException;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.service.InvalidTokenService;
+import com.example.todowithcouchbase.auth.service.TokenService;
+import com.example.todowithcouchbase.auth.service.VerifiedTokenCacheService;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link CustomBearerTokenAuthenticationFilter}.
+ * This test class verifies that every request gets its own authentication built from the verified token,
+ * even when the verified token itself is shared through the cache, and that revoked tokens never authenticate.
+ * It mocks the {@link VerifiedTokenCacheService}, {@link InvalidTokenService}, {@link TokenService}
+ * and the {@link FilterChain}.
+ */
+class CustomBearerTokenAuthenticationFilterTest extends AbstractBaseServiceTest {
+
+    private static final String JWT = "header.payload.signature";
+
+    private CustomBearerTokenAuthenticationFilter filter;
+
+    @Mock
+    private VerifiedTokenCacheService verifiedTokenCacheService;
+
+    @Mock
+    private InvalidTokenService invalidTokenService;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private final VerifiedToken verifiedToken = VerifiedToken.builder()
+            .token(JWT)
+            .claims(Jwts.claims().id("token-id").build())
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        filter = new CustomBearerTokenAuthenticationFilter(verifiedTokenCacheService, invalidTokenService, tokenService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ShouldBuildNewAuthenticationForEveryRequestWithCachedToken() throws Exception {
+
+        // When
+        when(verifiedTokenCacheService.verify(JWT)).thenReturn(verifiedToken);
+        when(tokenService.getAuthentication(verifiedToken)).thenAnswer(invocation ->
+                UsernamePasswordAuthenticationToken.authenticated("principal", null, List.of()));
+
+        // Then
+        Authentication first = filter();
+        Authentication second = filter();
+
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNotSame(first, second);
+
+        // Verify
+        verify(invalidTokenService, times(2)).checkForInvalidityOfToken("token-id");
+        verify(tokenService, times(2)).getAuthentication(verifiedToken);
+
+    }
+
+    @Test
+    void doFilter_ShouldNotAuthenticateRevokedToken() throws Exception {
+
+        // When
+        when(verifiedTokenCacheService.verify(JWT)).thenReturn(verifiedToken);
+        doThrow(new TokenAlreadyInvalidatedException("token-id"))
+                .when(invalidTokenService).checkForInvalidityOfToken("token-id");
+
+        // Then
+        assertThrows(TokenAlreadyInvalidatedException.class, this::filter);
+
+        // Verify
+        verify(tokenService, never()).getAuthentication(any(VerifiedToken.class));
+        verify(filterChain, never()).doFilter(any(), any());
+
+    }
+
+    private Authentication filter() throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + JWT);
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+}
@@ -0,0 +1,262 @@
+package com.example.todowithcouchbase.auth.filter;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.model.enums.RateLimitKey;
+import com.example.todowithcouchbase.auth.service.VerifiedTokenCacheService;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.builder.TokenBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link RateLimitFilter}.
+ * This test class verifies that requests are admitted per route and key until their bucket is empty,
+ * that rejections are answered with 429 without reaching the rest of the chain, and that users are only
+ * recognised from tokens that were already verified, and that clients behind a trusted proxy are told apart
+ * by their forwarded address.
+ * It mocks the {@link VerifiedTokenCacheService} and the {@link FilterChain}.
+ */
+class RateLimitFilterTest extends AbstractBaseServiceTest {
+
+    private static final String INGRESS_ADDRESS = "10\\.0\\.0\\.100";
+
+    private RateLimitFilter rateLimitFilter;
+
+    @Mock
+    private VerifiedTokenCacheService verifiedTokenCacheService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+
+        AuthProperties.RateLimitRoute authenticationRoute = new AuthProperties.RateLimitRoute();
+        authenticationRoute.setPattern("/api/v1/authentication/**");
+        authenticationRoute.setKey(RateLimitKey.CLIENT_IP);
+        authenticationRoute.setCapacity(1);
+        authenticationRoute.setRefillPerSecond(0.001);
+
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.getRateLimit().getRoutes().add(authenticationRoute);
+        authProperties.getRateLimit().getDefaultRoute().setCapacity(2);
+        authProperties.getRateLimit().getDefaultRoute().setRefillPerSecond(0.001);
+
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitFilter = new RateLimitFilter(authProperties, verifiedTokenCacheService, meterRegistry);
+
+    }
+
+    @Test
+    void doFilter_ShouldRejectClientIpOverRouteLimit() throws Exception {
+
+        // Given
+        MockHttpServletRequest request = request("/api/v1/authentication/user/login", "10.0.0.1");
+        MockHttpServletRequest otherClientRequest = request("/api/v1/authentication/user/login", "10.0.0.2");
+
+        // When
+        MockHttpServletResponse first = filter(request);
+        MockHttpServletResponse second = filter(request);
+        MockHttpServletResponse otherClient = filter(otherClientRequest);
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), first.getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), second.getStatus());
+        assertNotNull(second.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(second.getContentAsString().contains("TOO_MANY_REQUESTS"));
+        assertEquals(HttpStatus.OK.value(), otherClient.getStatus());
+        assertEquals(1.0, meterRegistry.get(RateLimitFilter.COUNTER_NAME)
+                .tag("route", "/api/v1/authentication/**").tag("result", "rejected").counter().count());
+
+        // Verify
+        verify(filterChain, times(2)).doFilter(any(), any());
+        verifyNoInteractions(verifiedTokenCacheService);
+
+    }
+
+    @Test
+    void doFilter_ShouldCountVerifiedTokensPerUser() throws Exception {
+
+        // Given
+        VerifiedToken verifiedToken = VerifiedToken.builder()
+                .token("verified")
+                .claims(TokenBuilder.getValidClaims("user-id", "John"))
+                .build();
+
+        MockHttpServletRequest firstAddress = request("/api/v1/tasks", "10.0.0.1");
+        firstAddress.addHeader(HttpHeaders.AUTHORIZATION, "Bearer verified");
+        MockHttpServletRequest secondAddress = request("/api/v1/tasks", "10.0.0.2");
+        secondAddress.addHeader(HttpHeaders.AUTHORIZATION, "Bearer verified");
+
+        // When
+        when(verifiedTokenCacheService.getIfPresent("verified")).thenReturn(Optional.of(verifiedToken));
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), filter(firstAddress).getStatus());
+        assertEquals(HttpStatus.OK.value(), filter(secondAddress).getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), filter(firstAddress).getStatus());
+
+        // Verify
+        verify(filterChain, times(2)).doFilter(any(), any());
+
+    }
+
+    @Test
+    void doFilter_ShouldCountUnverifiedTokensPerClientIp() throws Exception {
+
+        // Given
+        MockHttpServletRequest forged = request("/api/v1/tasks", "10.0.0.1");
+        forged.addHeader(HttpHeaders.AUTHORIZATION, "Bearer forged");
+        MockHttpServletRequest otherClient = request("/api/v1/tasks", "10.0.0.2");
+        otherClient.addHeader(HttpHeaders.AUTHORIZATION, "Bearer forged");
+
+        // When
+        when(verifiedTokenCacheService.getIfPresent(anyString())).thenReturn(Optional.empty());
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), filter(forged).getStatus());
+        assertEquals(HttpStatus.OK.value(), filter(forged).getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), filter(forged).getStatus());
+        assertEquals(HttpStatus.OK.value(), filter(otherClient).getStatus());
+
+    }
+
+    @Test
+    void doFilter_ShouldCountForwardedClientIpBehindTrustedProxy() throws Exception {
+
+        // Given
+        MockHttpServletRequest request = request("/api/v1/authentication/user/login", "10.0.0.100");
+        request.addHeader("X-Forwarded-For", "203.0.113.1");
+        MockHttpServletRequest otherClientRequest = request("/api/v1/authentication/user/login", "10.0.0.100");
+        otherClientRequest.addHeader("X-Forwarded-For", "203.0.113.2");
+
+        // When
+        MockHttpServletResponse first = filterBehindRemoteIpFilter(request);
+        MockHttpServletResponse otherClient = filterBehindRemoteIpFilter(otherClientRequest);
+        MockHttpServletResponse second = filterBehindRemoteIpFilter(request);
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), first.getStatus());
+        assertEquals(HttpStatus.OK.value(), otherClient.getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), second.getStatus());
+
+        // Verify
+        verify(filterChain, times(2)).doFilter(any(), any());
+
+    }
+
+    @Test
+    void doFilter_ShouldIgnoreForwardedForHeaderFromUntrustedPrivateAddress() throws Exception {
+
+        // Given
+        MockHttpServletRequest forwardedRequest = request("/api/v1/authentication/user/login", "10.0.0.100");
+        forwardedRequest.addHeader("X-Forwarded-For", "203.0.113.1");
+        MockHttpServletRequest spoofedRequest = request("/api/v1/authentication/user/login", "10.0.0.7");
+        spoofedRequest.addHeader("X-Forwarded-For", "203.0.113.1");
+
+        // When
+        MockHttpServletResponse forwarded = filterBehindRemoteIpFilter(forwardedRequest);
+        MockHttpServletResponse spoofed = filterBehindRemoteIpFilter(spoofedRequest);
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), forwarded.getStatus());
+        assertEquals(HttpStatus.OK.value(), spoofed.getStatus());
+
+        // Verify
+        verify(filterChain, times(2)).doFilter(any(), any());
+
+    }
+
+    @Test
+    void doFilter_ShouldIgnoreForwardedForHeaderWhenNoProxyIsTrusted() throws Exception {
+
+        // Given
+        MockHttpServletRequest request = request("/api/v1/authentication/user/login", "10.0.0.100");
+        request.addHeader("X-Forwarded-For", "203.0.113.1");
+        MockHttpServletRequest otherClientRequest = request("/api/v1/authentication/user/login", "10.0.0.100");
+        otherClientRequest.addHeader("X-Forwarded-For", "203.0.113.2");
+
+        // When
+        MockHttpServletResponse first = filterBehindRemoteIpFilter(request, "");
+        MockHttpServletResponse otherClient = filterBehindRemoteIpFilter(otherClientRequest, "");
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), first.getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), otherClient.getStatus());
+
+        // Verify
+        verify(filterChain, times(1)).doFilter(any(), any());
+
+    }
+
+    @Test
+    void doFilter_ShouldPassEverythingWhenDisabled() throws Exception {
+
+        // Given
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.getRateLimit().setEnabled(false);
+        authProperties.getRateLimit().getDefaultRoute().setCapacity(1);
+        RateLimitFilter disabledFilter = new RateLimitFilter(authProperties, verifiedTokenCacheService, meterRegistry);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            disabledFilter.doFilter(request("/api/v1/tasks", "10.0.0.1"), new MockHttpServletResponse(), filterChain);
+        }
+
+        // Then
+        verify(filterChain, times(5)).doFilter(any(), any());
+
+    }
+
+    private MockHttpServletResponse filter(final MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    private MockHttpServletResponse filterBehindRemoteIpFilter(final MockHttpServletRequest request) throws Exception {
+        return filterBehindRemoteIpFilter(request, INGRESS_ADDRESS);
+    }
+
+    /**
+     * Runs the request through Tomcat's {@link RemoteIpFilter} trusting the given proxies first, as the
+     * {@code RemoteIpValve} enabled by {@code server.forward-headers-strategy: native} does in the application.
+     */
+    private MockHttpServletResponse filterBehindRemoteIpFilter(final MockHttpServletRequest request,
+                                                               final String internalProxies) throws Exception {
+        MockFilterConfig filterConfig = new MockFilterConfig();
+        filterConfig.addInitParameter("internalProxies", internalProxies);
+        RemoteIpFilter remoteIpFilter = new RemoteIpFilter();
+        remoteIpFilter.init(filterConfig);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        remoteIpFilter.doFilter(request, response,
+                (forwardedRequest, forwardedResponse) -> rateLimitFilter.doFilter(forwardedRequest, forwardedResponse, filterChain));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(final String path, final String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+}
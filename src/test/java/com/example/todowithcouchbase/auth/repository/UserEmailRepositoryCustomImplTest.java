@@ -0,0 +1,147 @@
+package com.example.todowithcouchbase.auth.repository;
+
+import com.couchbase.client.core.error.DocumentExistsException;
+import com.couchbase.client.core.error.context.ErrorContext;
+import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.ReactiveCollection;
+import com.couchbase.client.java.kv.InsertOptions;
+import com.couchbase.client.java.kv.MutationResult;
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.common.config.CouchbaseEntityListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.couchbase.CouchbaseClientFactory;
+import org.springframework.data.couchbase.core.CouchbaseExceptionTranslator;
+import org.springframework.data.couchbase.core.CouchbaseTemplate;
+import org.springframework.data.couchbase.core.convert.CouchbaseCustomConversions;
+import org.springframework.data.couchbase.core.convert.MappingCouchbaseConverter;
+import org.springframework.data.couchbase.core.mapping.CouchbaseMappingContext;
+import org.springframework.data.couchbase.repository.config.RepositoryOperationsMapping;
+import org.springframework.data.couchbase.repository.support.CouchbaseRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link UserEmailRepositoryCustomImpl}.
+ * It inserts lookup documents through a real {@link CouchbaseTemplate} whose mapping events reach the real
+ * {@link CouchbaseEntityListener}, and mocks only the collection the template writes to.
+ */
+class UserEmailRepositoryCustomImplTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private CouchbaseClientFactory couchbaseClientFactory;
+
+    @Mock
+    private Collection collection;
+
+    @Mock
+    private ReactiveCollection reactiveCollection;
+
+    @Mock
+    private MutationResult mutationResult;
+
+    private AnnotationConfigApplicationContext applicationContext;
+
+    private CouchbaseTemplate couchbaseTemplate;
+
+    private UserEmailRepositoryCustomImpl userEmailRepository;
+
+    @BeforeEach
+    void setUp() {
+
+        when(couchbaseClientFactory.withScope(anyString())).thenReturn(couchbaseClientFactory);
+        when(couchbaseClientFactory.getCollection(anyString())).thenReturn(collection);
+        when(couchbaseClientFactory.getExceptionTranslator()).thenReturn(new CouchbaseExceptionTranslator());
+        when(collection.reactive()).thenReturn(reactiveCollection);
+
+        final CouchbaseCustomConversions customConversions = new CouchbaseCustomConversions(List.of());
+        final CouchbaseMappingContext mappingContext = new CouchbaseMappingContext();
+        mappingContext.setSimpleTypeHolder(customConversions.getSimpleTypeHolder());
+        final MappingCouchbaseConverter converter = new MappingCouchbaseConverter(mappingContext);
+        converter.setCustomConversions(customConversions);
+        converter.afterPropertiesSet();
+        couchbaseTemplate = new CouchbaseTemplate(couchbaseClientFactory, converter);
+
+        applicationContext = new AnnotationConfigApplicationContext(CouchbaseEntityListener.class);
+        couchbaseTemplate.setApplicationContext(applicationContext);
+
+        userEmailRepository = new UserEmailRepositoryCustomImpl(couchbaseTemplate);
+
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationContext.close();
+    }
+
+    @Test
+    void insert_ShouldInsertLookupDocumentThroughAuditListener() {
+
+        // Given
+        final UserEmailEntity userEmailEntity = UserEmailEntity.of("user@example.com", "user-id");
+
+        // When
+        when(mutationResult.cas()).thenReturn(42L);
+        when(reactiveCollection.insert(eq(UserEmailEntity.keyOf("user@example.com")), any(), any(InsertOptions.class)))
+                .thenReturn(Mono.just(mutationResult));
+
+        // Then
+        assertTrue(userEmailRepository.insert(userEmailEntity));
+        assertEquals(42L, userEmailEntity.getVersion());
+
+        // Verify
+        verify(reactiveCollection, times(1))
+                .insert(eq(UserEmailEntity.keyOf("user@example.com")), any(), any(InsertOptions.class));
+
+    }
+
+    @Test
+    void insert_ShouldReportTakenEmailAsFailedInsert() {
+
+        // Given
+        final UserEmailEntity userEmailEntity = UserEmailEntity.of("user@example.com", "user-id");
+
+        // When
+        when(reactiveCollection.insert(anyString(), any(), any(InsertOptions.class)))
+                .thenReturn(Mono.error(new DocumentExistsException((ErrorContext) null)));
+
+        // Then
+        assertFalse(userEmailRepository.insert(userEmailEntity));
+
+    }
+
+    @Test
+    void insert_ShouldBeRoutedToCustomImplementationThroughRepositoryProxy() {
+
+        // Given
+        final UserEmailRepository repository = new CouchbaseRepositoryFactory(
+                new RepositoryOperationsMapping(couchbaseTemplate))
+                .getRepository(UserEmailRepository.class, RepositoryFragments.just(userEmailRepository));
+        final UserEmailEntity userEmailEntity = UserEmailEntity.of("user@example.com", "user-id");
+
+        // When
+        when(reactiveCollection.insert(anyString(), any(), any(InsertOptions.class)))
+                .thenReturn(Mono.error(new DocumentExistsException((ErrorContext) null)));
+
+        // Then
+        assertFalse(repository.insert(userEmailEntity));
+
+        // Verify
+        verify(reactiveCollection, times(1))
+                .insert(eq(UserEmailEntity.keyOf("user@example.com")), any(), any(InsertOptions.class));
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.config.TokenConfigurationParameter;
+import com.example.todowithcouchbase.auth.model.entity.InvalidTokenEntity;
+import com.example.todowithcouchbase.auth.repository.InvalidTokenRepository;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link InvalidTokenExpiryBackfillServiceImpl}.
+ * This test class verifies that revocation records without a document expiry are given one
+ * or deleted when their token has already expired, batch by batch.
+ * It mocks the {@link InvalidTokenRepository} to simulate the invalid token collection.
+ */
+class InvalidTokenExpiryBackfillServiceImplTest extends AbstractBaseServiceTest {
+
+    @InjectMocks
+    private InvalidTokenExpiryBackfillServiceImpl invalidTokenExpiryBackfillService;
+
+    @Mock
+    private InvalidTokenRepository invalidTokenRepository;
+
+    @Mock
+    private AuthProperties authProperties;
+
+    @Mock
+    private TokenConfigurationParameter tokenConfigurationParameter;
+
+    @Test
+    void backfill_ShouldExpireLiveRecordsAndDeleteDeadOnesInBatches() {
+
+        // Given
+        AuthProperties.InvalidTokenExpiryBackfill backfillProperties = new AuthProperties.InvalidTokenExpiryBackfill();
+        backfillProperties.setBatchSize(2);
+
+        InvalidTokenEntity liveEntity = InvalidTokenEntity.builder()
+                .id("live-token-id")
+                .tokenId("live-token-id")
+                .createdAt(LocalDateTime.now().minusHours(1))
+                .build();
+        InvalidTokenEntity deadEntity = InvalidTokenEntity.builder()
+                .id("dead-token-id")
+                .tokenId("dead-token-id")
+                .createdAt(LocalDateTime.now().minusDays(2))
+                .build();
+        InvalidTokenEntity anotherDeadEntity = InvalidTokenEntity.builder()
+                .id("another-dead-token-id")
+                .tokenId("another-dead-token-id")
+                .createdAt(LocalDateTime.now().minusDays(30))
+                .build();
+
+        // When
+        when(authProperties.getInvalidTokenExpiryBackfill()).thenReturn(backfillProperties);
+        when(tokenConfigurationParameter.getRefreshTokenExpireDay()).thenReturn(1);
+        when(invalidTokenRepository.findAllWithoutExpiration(2))
+                .thenReturn(List.of(liveEntity, deadEntity))
+                .thenReturn(List.of(anotherDeadEntity))
+                .thenReturn(Collections.emptyList());
+
+        // Then
+        invalidTokenExpiryBackfillService.backfill();
+
+        // Verify
+        verify(invalidTokenRepository, times(3)).findAllWithoutExpiration(2);
+        verify(invalidTokenRepository).deleteAllById(List.of("dead-token-id"));
+        verify(invalidTokenRepository).deleteAllById(List.of("another-dead-token-id"));
+        verify(invalidTokenRepository, times(1)).saveAllWithExpiry(argThat(entities ->
+                entities.size() == 1 && entities.contains(liveEntity) && liveEntity.getExpiresAt() != null
+        ));
+
+    }
+
+    @Test
+    void backfillOnStartup_ShouldDoNothingWhenDisabled() {
+
+        // Given
+        AuthProperties.InvalidTokenExpiryBackfill backfillProperties = new AuthProperties.InvalidTokenExpiryBackfill();
+
+        // When
+        when(authProperties.getInvalidTokenExpiryBackfill()).thenReturn(backfillProperties);
+
+        // Then
+        invalidTokenExpiryBackfillService.backfillOnStartup();
+
+        // Verify
+        verifyNoInteractions(invalidTokenRepository);
+
+    }
+
+}
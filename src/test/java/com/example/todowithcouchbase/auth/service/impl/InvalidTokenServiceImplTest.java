@@ -1,17 +1,30 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.config.TokenConfigurationParameter;
 import com.example.todowithcouchbase.auth.exception.TokenAlreadyInvalidatedException;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.model.entity.InvalidTokenEntity;
 import com.example.todowithcouchbase.auth.repository.InvalidTokenRepository;
 import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.common.config.ChangeFeedProperties;
+import com.example.todowithcouchbase.common.feed.InMemoryChangeFeed;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -19,30 +32,51 @@ import static org.mockito.Mockito.*;
 /**
  * Unit test class for {@link InvalidTokenServiceImpl}.
  * This test class verifies the functionality of the service responsible for managing invalid tokens.
- * It mocks the {@link InvalidTokenRepository} to simulate interactions with the data layer.
+ * It mocks the {@link InvalidTokenRepository} to simulate interactions with the data layer
+ * and publishes revocations to an {@link InMemoryChangeFeed}.
  */
 class InvalidTokenServiceImplTest extends AbstractBaseServiceTest {
 
-    @InjectMocks
     private InvalidTokenServiceImpl invalidTokenService;
 
+    private InMemoryChangeFeed changeFeed;
+
     @Mock
     private InvalidTokenRepository invalidTokenRepository;
 
+    @Mock
+    private TokenConfigurationParameter tokenConfigurationParameter;
+
+    @BeforeEach
+    void setUp() {
+        when(tokenConfigurationParameter.getRefreshTokenExpireDay()).thenReturn(1);
+        changeFeed = new InMemoryChangeFeed();
+        invalidTokenService = new InvalidTokenServiceImpl(
+                invalidTokenRepository,
+                changeFeed,
+                new AuthProperties(),
+                tokenConfigurationParameter,
+                new ChangeFeedProperties()
+        );
+    }
+
     @Test
     void invalidateTokens_ShouldSaveAllInvalidTokens() {
 
         // Given
-        Set<String> tokenIds = Set.of("token-id-1", "token-id-2");
+        Set<VerifiedToken> verifiedTokens = Set.of(
+                verifiedToken("token-id-1", new Date()),
+                verifiedToken("token-id-2", new Date())
+        );
 
         // When
-        when(invalidTokenRepository.saveAll(any(Set.class))).thenReturn(Collections.emptyList());
+        doNothing().when(invalidTokenRepository).saveAllWithExpiry(anySet());
 
         // Then
-        invalidTokenService.invalidateTokens(tokenIds);
+        invalidTokenService.invalidateTokens(verifiedTokens);
 
         // Verify
-        verify(invalidTokenRepository, times(1)).saveAll(any(Set.class));
+        verify(invalidTokenRepository, times(1)).saveAllWithExpiry(anySet());
 
     }
 
@@ -82,4 +116,381 @@ class InvalidTokenServiceImplTest extends AbstractBaseServiceTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void checkForInvalidityOfToken_ShouldSkipRepositoryForUnknownTokenOnceSeeded() {
+
+        // Given
+        String revokedTokenId = "revoked-token-id";
+        String tokenId = "test-token-id";
+
+        // When
+        when(invalidTokenRepository.findAll())
+                .thenReturn(List.of(InvalidTokenEntity.of(revokedTokenId, Instant.now())));
+
+        // Then
+        invalidTokenService.onReset();
+        invalidTokenService.checkForInvalidityOfToken(tokenId);
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).findAll();
+        verify(invalidTokenRepository, never()).existsById(tokenId);
+        verify(invalidTokenRepository, never()).findByTokenId(tokenId);
+
+    }
+
+    @Test
+    void checkForInvalidityOfToken_ShouldQueryRepositoryForSeededToken() {
+
+        // Given
+        String revokedTokenId = "revoked-token-id";
+
+        // When
+        when(invalidTokenRepository.findAll())
+                .thenReturn(List.of(InvalidTokenEntity.of(revokedTokenId, Instant.now())));
+        when(invalidTokenRepository.existsById(revokedTokenId)).thenReturn(true);
+
+        // Then
+        invalidTokenService.onReset();
+
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> invalidTokenService.checkForInvalidityOfToken(revokedTokenId));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).existsById(revokedTokenId);
+        verify(invalidTokenRepository, never()).findByTokenId(revokedTokenId);
+
+    }
+
+    @Test
+    void checkForInvalidityOfToken_ShouldSkipRepositoryForExpiredTokenAfterReset() {
+
+        // Given
+        String expiredTokenId = "expired-token-id";
+
+        // When
+        when(invalidTokenRepository.findAll())
+                .thenReturn(List.of(InvalidTokenEntity.of(expiredTokenId, Instant.now())))
+                .thenReturn(Collections.emptyList());
+
+        // Then
+        invalidTokenService.onReset();
+        invalidTokenService.onReset();
+        invalidTokenService.checkForInvalidityOfToken(expiredTokenId);
+
+        // Verify
+        verify(invalidTokenRepository, times(2)).findAll();
+        verify(invalidTokenRepository, never()).existsById(expiredTokenId);
+
+    }
+
+    @Test
+    void checkForInvalidityOfToken_ShouldQueryRepositoryForSeededTokenWhileFilterIsRebuilt() {
+
+        // Given
+        String revokedTokenId = "revoked-token-id";
+        List<InvalidTokenEntity> invalidTokenEntities = List.of(InvalidTokenEntity.of(revokedTokenId, Instant.now()));
+
+        // When
+        when(invalidTokenRepository.findAll())
+                .thenReturn(invalidTokenEntities)
+                .thenAnswer(invocation -> {
+                    assertThrows(TokenAlreadyInvalidatedException.class,
+                            () -> invalidTokenService.checkForInvalidityOfToken(revokedTokenId));
+                    assertThrows(TokenAlreadyInvalidatedException.class,
+                            () -> invalidTokenService.checkForInvalidityOfTokens(Set.of(revokedTokenId)));
+                    return invalidTokenEntities;
+                });
+        when(invalidTokenRepository.existsById(revokedTokenId)).thenReturn(true);
+        when(invalidTokenRepository.findAllById(Set.of(revokedTokenId))).thenReturn(invalidTokenEntities);
+
+        // Then
+        invalidTokenService.onReset();
+        invalidTokenService.onReset();
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).existsById(revokedTokenId);
+        verify(invalidTokenRepository, times(1)).findAllById(Set.of(revokedTokenId));
+
+    }
+
+    @Test
+    void checkForInvalidityOfToken_ShouldAlwaysQueryRepositoryWhenFeedIsDisabled() {
+
+        // Given
+        String tokenId = "test-token-id";
+        ChangeFeedProperties changeFeedProperties = new ChangeFeedProperties();
+        changeFeedProperties.setEnabled(false);
+        InvalidTokenServiceImpl serviceWithoutFeed = new InvalidTokenServiceImpl(
+                invalidTokenRepository,
+                changeFeed,
+                new AuthProperties(),
+                tokenConfigurationParameter,
+                changeFeedProperties
+        );
+
+        // When
+        when(invalidTokenRepository.findAll()).thenReturn(Collections.emptyList());
+
+        // Then
+        serviceWithoutFeed.onReset();
+        serviceWithoutFeed.checkForInvalidityOfToken(tokenId);
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).existsById(tokenId);
+        verify(invalidTokenRepository, never()).findByTokenId(tokenId);
+
+    }
+
+    @Test
+    void checkForInvalidityOfToken_ShouldQueryRepositoryForTokenInvalidatedAfterSeeding() {
+
+        // Given
+        String tokenId = "test-token-id";
+
+        // When
+        when(invalidTokenRepository.findAll()).thenReturn(Collections.emptyList());
+        when(invalidTokenRepository.existsById(tokenId)).thenReturn(true);
+
+        // Then
+        invalidTokenService.onReset();
+        invalidTokenService.invalidateTokens(Set.of(verifiedToken(tokenId, new Date())));
+
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> invalidTokenService.checkForInvalidityOfToken(tokenId));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).existsById(tokenId);
+
+    }
+
+    @Test
+    void checkForInvalidityOfToken_ShouldQueryRepositoryWhenSeedingFailed() {
+
+        // Given
+        String tokenId = "test-token-id";
+
+        // When
+        when(invalidTokenRepository.findAll()).thenThrow(new IllegalStateException("unavailable"));
+        when(invalidTokenRepository.findByTokenId(tokenId)).thenReturn(Optional.empty());
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> invalidTokenService.onReset());
+        invalidTokenService.checkForInvalidityOfToken(tokenId);
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).findByTokenId(tokenId);
+
+    }
+
+    @Test
+    void invalidateTokens_ShouldKeyRecordsByTokenIdAndExpireThemWithTheToken() {
+
+        // Given
+        String tokenId = "token-id-1";
+        Date expiration = Date.from(Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.SECONDS));
+
+        // When
+        doNothing().when(invalidTokenRepository).saveAllWithExpiry(anySet());
+
+        // Then
+        invalidTokenService.invalidateTokens(Set.of(verifiedToken(tokenId, expiration)));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).saveAllWithExpiry(argThat(entities -> {
+            InvalidTokenEntity entity = entities.iterator().next();
+            return entities.size() == 1
+                    && tokenId.equals(entity.getId())
+                    && expiration.toInstant().equals(entity.getExpiresAt());
+        }));
+
+    }
+
+    @Test
+    void invalidateTokens_ShouldExpireRecordAfterRefreshWindowWhenTokenHasNoExpiration() {
+
+        // Given
+        String tokenId = "token-id-1";
+        Instant before = Instant.now();
+
+        // When
+        doNothing().when(invalidTokenRepository).saveAllWithExpiry(anySet());
+
+        // Then
+        invalidTokenService.invalidateTokens(Set.of(verifiedToken(tokenId, null)));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).saveAllWithExpiry(argThat(entities -> {
+            Instant expiresAt = entities.iterator().next().getExpiresAt();
+            return !expiresAt.isBefore(before.plus(Duration.ofDays(1)));
+        }));
+
+    }
+
+    @Test
+    void onReset_ShouldRekeyLegacyRecordsByTokenId() {
+
+        // Given
+        String legacyId = "legacy-uuid";
+        String tokenId = "legacy-token-id";
+        LocalDateTime createdAt = LocalDateTime.now().minusHours(1);
+        InvalidTokenEntity legacyEntity = InvalidTokenEntity.builder()
+                .id(legacyId)
+                .tokenId(tokenId)
+                .createdAt(createdAt)
+                .build();
+
+        // When
+        when(invalidTokenRepository.findAll()).thenReturn(List.of(legacyEntity, InvalidTokenEntity.of("token-id", Instant.now())));
+
+        // Then
+        invalidTokenService.onReset();
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).saveAllWithExpiry(argThat(entities -> {
+            InvalidTokenEntity entity = entities.iterator().next();
+            return tokenId.equals(entity.getId())
+                    && createdAt.equals(entity.getCreatedAt())
+                    && entity.getExpiresAt().equals(legacyEntity.estimateExpiresAt(Duration.ofDays(1)));
+        }));
+        verify(invalidTokenRepository, times(1)).deleteById(legacyId);
+        verify(invalidTokenRepository, times(1)).saveAllWithExpiry(anySet());
+
+    }
+
+    @Test
+    void invalidateTokens_ShouldPublishTokenIdsBeforeSavingThem() {
+
+        // Given
+        String tokenId = "token-id-1";
+
+        // When
+        doAnswer(invocation -> {
+            assertEquals(1, changeFeed.currentSequence(InvalidTokenServiceImpl.REVOKED_TOKENS_TOPIC));
+            return null;
+        }).when(invalidTokenRepository).saveAllWithExpiry(anySet());
+
+        // Then
+        invalidTokenService.invalidateTokens(Set.of(verifiedToken(tokenId, new Date())));
+
+        assertEquals(Set.of(tokenId),
+                changeFeed.read(InvalidTokenServiceImpl.REVOKED_TOKENS_TOPIC, 0, 1).get(0).getKeys());
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).saveAllWithExpiry(anySet());
+
+    }
+
+    @Test
+    void checkForInvalidityOfToken_ShouldQueryRepositoryForTokenRevokedOnAnotherInstance() {
+
+        // Given
+        String tokenId = "test-token-id";
+
+        // When
+        when(invalidTokenRepository.findAll()).thenReturn(Collections.emptyList());
+        when(invalidTokenRepository.existsById(tokenId)).thenReturn(true);
+
+        // Then
+        invalidTokenService.onReset();
+        invalidTokenService.onChanges(Set.of(tokenId));
+
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> invalidTokenService.checkForInvalidityOfToken(tokenId));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).existsById(tokenId);
+
+    }
+
+    @Test
+    void checkForInvalidityOfToken_ShouldQueryRepositoryWhileFeedIsStale() {
+
+        // Given
+        String tokenId = "test-token-id";
+
+        // When
+        when(invalidTokenRepository.findAll()).thenReturn(Collections.emptyList());
+        when(invalidTokenRepository.existsById(tokenId)).thenReturn(false);
+
+        // Then
+        invalidTokenService.onReset();
+        invalidTokenService.onStale();
+        invalidTokenService.checkForInvalidityOfToken(tokenId);
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).existsById(tokenId);
+        verify(invalidTokenRepository, never()).findByTokenId(tokenId);
+
+    }
+
+    @Test
+    void checkForInvalidityOfTokens_ShouldLookUpPossiblyInvalidTokensInOneBatch() {
+
+        // Given
+        String revokedTokenId = "revoked-token-id";
+        String tokenId = "test-token-id";
+
+        // When
+        when(invalidTokenRepository.findAll())
+                .thenReturn(List.of(InvalidTokenEntity.of(revokedTokenId, Instant.now())));
+        when(invalidTokenRepository.findAllById(Set.of(revokedTokenId)))
+                .thenReturn(List.of(InvalidTokenEntity.of(revokedTokenId, Instant.now())));
+
+        // Then
+        invalidTokenService.onReset();
+
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> invalidTokenService.checkForInvalidityOfTokens(Set.of(revokedTokenId, tokenId)));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).findAllById(Set.of(revokedTokenId));
+        verify(invalidTokenRepository, never()).existsById(anyString());
+        verify(invalidTokenRepository, never()).findByTokenId(anyString());
+
+    }
+
+    @Test
+    void checkForInvalidityOfTokens_ShouldSkipRepositoryForUnknownTokensOnceSeeded() {
+
+        // Given
+        Set<String> tokenIds = Set.of("token-id-1", "token-id-2");
+
+        // When
+        when(invalidTokenRepository.findAll()).thenReturn(Collections.emptyList());
+
+        // Then
+        invalidTokenService.onReset();
+        invalidTokenService.checkForInvalidityOfTokens(tokenIds);
+
+        // Verify
+        verify(invalidTokenRepository, never()).findAllById(anySet());
+
+    }
+
+    @Test
+    void checkForInvalidityOfTokens_ShouldAlsoQueryLegacyRecordsBeforeRekeying() {
+
+        // Given
+        Set<String> tokenIds = Set.of("token-id-1", "token-id-2");
+
+        // When
+        when(invalidTokenRepository.findAllById(tokenIds)).thenReturn(Collections.emptyList());
+        when(invalidTokenRepository.findByTokenId("token-id-1")).thenReturn(Optional.empty());
+        when(invalidTokenRepository.findByTokenId("token-id-2")).thenReturn(Optional.of(new InvalidTokenEntity()));
+
+        // Then
+        assertThrows(TokenAlreadyInvalidatedException.class,
+                () -> invalidTokenService.checkForInvalidityOfTokens(tokenIds));
+
+        // Verify
+        verify(invalidTokenRepository, times(1)).findAllById(tokenIds);
+
+    }
+
+    private static VerifiedToken verifiedToken(final String tokenId, final Date expiration) {
+        return VerifiedToken.builder()
+                .claims(Jwts.claims().id(tokenId).expiration(expiration).build())
+                .build();
+    }
+
+}
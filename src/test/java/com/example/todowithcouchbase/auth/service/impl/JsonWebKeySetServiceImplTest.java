@@ -0,0 +1,109 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.TokenKeyRing;
+import com.example.todowithcouchbase.auth.model.JsonWebKeySet;
+import com.example.todowithcouchbase.auth.model.TokenSigningKey;
+import com.example.todowithcouchbase.auth.model.enums.TokenSignatureAlgorithm;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link JsonWebKeySetServiceImpl}.
+ * It checks that every key of the {@link TokenKeyRing} is published under its key ID without private key material,
+ * that a published key verifies tokens signed with its private key, and that the entity tag is stable.
+ */
+class JsonWebKeySetServiceImplTest extends AbstractBaseServiceTest {
+
+    @Test
+    void getJsonWebKeySet_ShouldPublishPublicKeysOfKeyRing() {
+
+        // Given
+        KeyPair activeKeyPair = TokenSignatureAlgorithm.ES256.generateKeyPair();
+        TokenKeyRing tokenKeyRing = new TokenKeyRing(
+                List.of(
+                        signingKey("retired", TokenSignatureAlgorithm.RS256, TokenSignatureAlgorithm.RS256.generateKeyPair(), false),
+                        signingKey("active", TokenSignatureAlgorithm.ES256, activeKeyPair, true)
+                ),
+                "active",
+                "retired"
+        );
+
+        // When
+        JsonWebKeySet jsonWebKeySet = new JsonWebKeySetServiceImpl(tokenKeyRing).getJsonWebKeySet();
+
+        // Then
+        String content = new String(jsonWebKeySet.getContent(), StandardCharsets.UTF_8);
+        JwkSet jwkSet = Jwks.setParser().build().parse(content);
+        Map<String, Jwk<?>> keysById = jwkSet.getKeys().stream()
+                .collect(Collectors.toMap(Jwk::getId, Function.identity()));
+
+        assertEquals(2, keysById.size());
+        assertEquals("RS256", keysById.get("retired").getAlgorithm());
+        assertEquals("ES256", keysById.get("active").getAlgorithm());
+        assertEquals(activeKeyPair.getPublic(), keysById.get("active").toKey());
+        assertFalse(content.contains("\"d\""));
+
+        String jwt = Jwts.builder()
+                .header().keyId("active").and()
+                .subject("subject")
+                .signWith(activeKeyPair.getPrivate(), Jwts.SIG.ES256)
+                .compact();
+        assertEquals("subject", Jwts.parser()
+                .keyLocator(header -> keysById.get(((JwsHeader) header).getKeyId()).toKey())
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload()
+                .getSubject());
+
+    }
+
+    @Test
+    void getJsonWebKeySet_ShouldMatchOwnEntityTag() {
+
+        // Given
+        TokenKeyRing tokenKeyRing = new TokenKeyRing(
+                List.of(signingKey("key-1", TokenSignatureAlgorithm.EDDSA, TokenSignatureAlgorithm.EDDSA.generateKeyPair(), true)),
+                "key-1",
+                "key-1"
+        );
+
+        // When
+        JsonWebKeySet jsonWebKeySet = new JsonWebKeySetServiceImpl(tokenKeyRing).getJsonWebKeySet();
+
+        // Then
+        assertTrue(jsonWebKeySet.getETag().startsWith("\""));
+        assertTrue(jsonWebKeySet.isMatchedBy(jsonWebKeySet.getETag()));
+        assertTrue(jsonWebKeySet.isMatchedBy("\"other\", W/" + jsonWebKeySet.getETag()));
+        assertTrue(jsonWebKeySet.isMatchedBy("*"));
+        assertFalse(jsonWebKeySet.isMatchedBy("\"other\""));
+        assertFalse(jsonWebKeySet.isMatchedBy(null));
+
+    }
+
+    private static TokenSigningKey signingKey(final String keyId,
+                                              final TokenSignatureAlgorithm algorithm,
+                                              final KeyPair keyPair,
+                                              final boolean canSign) {
+        return TokenSigningKey.builder()
+                .keyId(keyId)
+                .algorithm(algorithm)
+                .publicKey(keyPair.getPublic())
+                .privateKey(canSign ? keyPair.getPrivate() : null)
+                .build();
+    }
+
+}
@@ -5,14 +5,14 @@ import com.example.todowithcouchbase.auth.exception.UserNotFoundException;
 import com.example.todowithcouchbase.auth.model.Token;
 import com.example.todowithcouchbase.auth.model.dto.request.LoginRequest;
 import com.example.todowithcouchbase.auth.model.entity.UserEntity;
-import com.example.todowithcouchbase.auth.repository.UserRepository;
+import com.example.todowithcouchbase.auth.service.PasswordHashingService;
 import com.example.todowithcouchbase.auth.service.TokenService;
+import com.example.todowithcouchbase.auth.service.UserEmailLookupService;
 import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
 import com.example.todowithcouchbase.builder.AdminUserBuilder;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
@@ -23,7 +23,7 @@ import static org.mockito.Mockito.*;
  * Unit test class for {@link LoginServiceImpl}.
  * This test class ensures the correct behavior of the login service, which handles the user login
  * process, including verifying credentials and generating authentication tokens.
- * It mocks the {@link UserRepository}, {@link PasswordEncoder}, and {@link TokenService}
+ * It mocks the {@link UserEmailLookupService}, {@link PasswordHashingService}, and {@link TokenService}
  * to isolate the login logic from external dependencies.
  */
 class LoginServiceImplTest extends AbstractBaseServiceTest {
@@ -32,10 +32,10 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
     private LoginServiceImpl loginService;
 
     @Mock
-    private UserRepository userRepository;
+    private UserEmailLookupService userEmailLookupService;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private TokenService tokenService;
@@ -58,10 +58,10 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
                 .build();
 
         // When
-        when(userRepository.findUserEntityByEmail(loginRequest.getEmail()))
+        when(userEmailLookupService.findUserByEmail(loginRequest.getEmail()))
                 .thenReturn(Optional.of(adminEntity));
 
-        when(passwordEncoder.matches(loginRequest.getPassword(), adminEntity.getPassword()))
+        when(passwordHashingService.matches(loginRequest.getPassword(), adminEntity.getPassword()))
                 .thenReturn(true);
 
         when(tokenService.generateToken(adminEntity.getClaims())).thenReturn(expectedToken);
@@ -74,8 +74,8 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
         assertEquals(expectedToken.getAccessTokenExpiresAt(), actualToken.getAccessTokenExpiresAt());
 
         // Verify
-        verify(userRepository).findUserEntityByEmail(loginRequest.getEmail());
-        verify(passwordEncoder).matches(loginRequest.getPassword(), adminEntity.getPassword());
+        verify(userEmailLookupService).findUserByEmail(loginRequest.getEmail());
+        verify(passwordHashingService).matches(loginRequest.getPassword(), adminEntity.getPassword());
         verify(tokenService).generateToken(adminEntity.getClaims());
 
     }
@@ -90,7 +90,7 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
                 .build();
 
         // When
-        when(userRepository.findUserEntityByEmail(loginRequest.getEmail()))
+        when(userEmailLookupService.findUserByEmail(loginRequest.getEmail()))
                 .thenReturn(Optional.empty());
 
         // Then
@@ -100,8 +100,8 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
         assertEquals("User not found!\n " + loginRequest.getEmail(), exception.getMessage());
 
         // Verify
-        verify(userRepository).findUserEntityByEmail(loginRequest.getEmail());
-        verifyNoInteractions(passwordEncoder, tokenService);
+        verify(userEmailLookupService).findUserByEmail(loginRequest.getEmail());
+        verifyNoInteractions(passwordHashingService, tokenService);
 
     }
 
@@ -120,10 +120,10 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
                 .build();
 
         // When
-        when(userRepository.findUserEntityByEmail(loginRequest.getEmail()))
+        when(userEmailLookupService.findUserByEmail(loginRequest.getEmail()))
                 .thenReturn(Optional.of(adminEntity));
 
-        when(passwordEncoder.matches(loginRequest.getPassword(), adminEntity.getPassword()))
+        when(passwordHashingService.matches(loginRequest.getPassword(), adminEntity.getPassword()))
                 .thenReturn(false);
 
         // Then
@@ -133,8 +133,8 @@ class LoginServiceImplTest extends AbstractBaseServiceTest {
         assertNotNull(exception);
 
         // Verify
-        verify(userRepository).findUserEntityByEmail(loginRequest.getEmail());
-        verify(passwordEncoder).matches(loginRequest.getPassword(), adminEntity.getPassword());
+        verify(userEmailLookupService).findUserByEmail(loginRequest.getEmail());
+        verify(passwordHashingService).matches(loginRequest.getPassword(), adminEntity.getPassword());
         verifyNoInteractions(tokenService);
 
     }
@@ -1,5 +1,7 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
+import com.example.todowithcouchbase.auth.exception.TokenAlreadyInvalidatedException;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.model.dto.request.TokenInvalidateRequest;
 import com.example.todowithcouchbase.auth.model.entity.UserEntity;
 import com.example.todowithcouchbase.auth.service.InvalidTokenService;
@@ -14,6 +16,7 @@ import org.mockito.Mock;
 
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 /**
@@ -57,27 +60,77 @@ class LogoutServiceImplTest extends AbstractBaseServiceTest {
         final String accessToken = "validAccessToken";
         final String refreshToken = "validRefreshToken";
 
+        final VerifiedToken mockAccessToken = VerifiedToken.builder()
+                .token(accessToken)
+                .claims(mockAccessTokenClaims)
+                .build();
+        final VerifiedToken mockRefreshToken = VerifiedToken.builder()
+                .token(refreshToken)
+                .claims(mockRefreshTokenClaims)
+                .build();
+
         final TokenInvalidateRequest tokenInvalidateRequest = TokenInvalidateRequest.builder()
                 .accessToken(accessToken)
                 .refreshToken(refreshToken)
                 .build();
 
         // When
-        doNothing().when(tokenService).verifyAndValidate(Set.of(accessToken, refreshToken));
-        when(tokenService.getPayload(accessToken)).thenReturn(mockAccessTokenClaims);
-        doNothing().when(invalidTokenService).checkForInvalidityOfToken(mockAccessTokenId);
-        when(tokenService.getPayload(refreshToken)).thenReturn(mockRefreshTokenClaims);
-        doNothing().when(invalidTokenService).checkForInvalidityOfToken(mockRefreshTokenId);
-        doNothing().when(invalidTokenService).invalidateTokens(Set.of(mockAccessTokenId, mockRefreshTokenId));
+        when(tokenService.verify(accessToken)).thenReturn(mockAccessToken);
+        when(tokenService.verify(refreshToken)).thenReturn(mockRefreshToken);
+        doNothing().when(invalidTokenService).checkForInvalidityOfTokens(Set.of(mockAccessTokenId, mockRefreshTokenId));
+        doNothing().when(invalidTokenService).invalidateTokens(Set.of(mockAccessToken, mockRefreshToken));
 
         // Then
         logoutService.logout(tokenInvalidateRequest);
 
         // Verify
-        verify(tokenService).verifyAndValidate(Set.of(accessToken, refreshToken));
-        verify(tokenService, times(2)).getPayload(anyString());
-        verify(invalidTokenService, times(2)).checkForInvalidityOfToken(anyString());
-        verify(invalidTokenService).invalidateTokens(anySet());
+        verify(tokenService, never()).verifyAndValidate(anySet());
+        verify(tokenService, times(2)).verify(anyString());
+        verify(invalidTokenService, never()).checkForInvalidityOfToken(anyString());
+        verify(invalidTokenService, times(1)).checkForInvalidityOfTokens(Set.of(mockAccessTokenId, mockRefreshTokenId));
+        verify(invalidTokenService).invalidateTokens(Set.of(mockAccessToken, mockRefreshToken));
+
+    }
+
+    @Test
+    void givenAlreadyInvalidatedRefreshToken_whenLogout_thenThrowTokenAlreadyInvalidatedException() {
+
+        // Given
+        final UserEntity mockUserEntity = new UserBuilder().withValidFields().build();
+
+        final Claims mockAccessTokenClaims = TokenBuilder.getValidClaims(
+                mockUserEntity.getId(),
+                mockUserEntity.getFirstName()
+        );
+
+        final Claims mockRefreshTokenClaims = TokenBuilder.getValidClaims(
+                mockUserEntity.getId(),
+                mockUserEntity.getFirstName()
+        );
+
+        final String accessToken = "validAccessToken";
+        final String refreshToken = "invalidatedRefreshToken";
+
+        final TokenInvalidateRequest tokenInvalidateRequest = TokenInvalidateRequest.builder()
+                .accessToken(accessToken)
+                .refreshToken(refreshToken)
+                .build();
+
+        // When
+        when(tokenService.verify(accessToken))
+                .thenReturn(VerifiedToken.builder().token(accessToken).claims(mockAccessTokenClaims).build());
+        when(tokenService.verify(refreshToken))
+                .thenReturn(VerifiedToken.builder().token(refreshToken).claims(mockRefreshTokenClaims).build());
+        doThrow(new TokenAlreadyInvalidatedException(mockRefreshTokenClaims.getId()))
+                .when(invalidTokenService).checkForInvalidityOfTokens(anySet());
+
+        // Then
+        assertThrows(TokenAlreadyInvalidatedException.class, () -> logoutService.logout(tokenInvalidateRequest));
+
+        // Verify
+        verify(tokenService, times(2)).verify(anyString());
+        verify(invalidTokenService, times(1)).checkForInvalidityOfTokens(anySet());
+        verify(invalidTokenService, never()).invalidateTokens(anySet());
 
     }
 
@@ -0,0 +1,134 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.exception.PasswordHashingUnavailableException;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link PasswordHashingServiceImpl}.
+ * It mocks the {@link PasswordEncoder} to check that hashing runs on the dedicated executor,
+ * that its metrics are recorded and that work beyond the queue bound is rejected.
+ */
+class PasswordHashingServiceImplTest extends AbstractBaseServiceTest {
+
+    private PasswordHashingServiceImpl passwordHashingService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.getPasswordHashing().setThreads(1);
+        authProperties.getPasswordHashing().setQueueCapacity(1);
+
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingService = new PasswordHashingServiceImpl(passwordEncoder, authProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void encode_ShouldHashOnPasswordHashingThread() {
+
+        // Given
+        String rawPassword = "password";
+
+        // When
+        when(passwordEncoder.encode(rawPassword)).thenAnswer(invocation -> Thread.currentThread().getName());
+
+        // Then
+        String result = passwordHashingService.encode(rawPassword);
+
+        assertTrue(result.startsWith(PasswordHashingServiceImpl.EXECUTOR_NAME));
+        assertEquals(1, meterRegistry.get(PasswordHashingServiceImpl.TIMER_NAME).tag("operation", "encode").timer().count());
+
+        // Verify
+        verify(passwordEncoder, times(1)).encode(rawPassword);
+
+    }
+
+    @Test
+    void matches_ShouldReturnEncoderResult() {
+
+        // Given
+        String rawPassword = "password";
+        String encodedPassword = "encoded";
+
+        // When
+        when(passwordEncoder.matches(rawPassword, encodedPassword)).thenReturn(true);
+
+        // Then
+        assertTrue(passwordHashingService.matches(rawPassword, encodedPassword));
+        assertEquals(1, meterRegistry.get(PasswordHashingServiceImpl.TIMER_NAME).tag("operation", "matches").timer().count());
+
+        // Verify
+        verify(passwordEncoder, times(1)).matches(rawPassword, encodedPassword);
+
+    }
+
+    @Test
+    void matches_ShouldPropagateEncoderException() {
+
+        // When
+        when(passwordEncoder.matches("password", "encoded")).thenThrow(new IllegalArgumentException("bad hash"));
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> passwordHashingService.matches("password", "encoded"));
+
+    }
+
+    @Test
+    void encode_ShouldRejectWorkBeyondQueueBound() throws Exception {
+
+        // Given
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        when(passwordEncoder.encode("busy")).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "hash";
+        });
+        when(passwordEncoder.encode("queued")).thenReturn("hash");
+
+        CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("busy"));
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("queued"));
+        while (meterRegistry.get("executor.queued").tag("name", PasswordHashingServiceImpl.EXECUTOR_NAME).gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Then
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordHashingService.encode("rejected"));
+        assertEquals(1, meterRegistry.get(PasswordHashingServiceImpl.REJECTED_COUNTER_NAME).counter().count());
+
+        release.countDown();
+        assertEquals("hash", busy.get(10, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(10, TimeUnit.SECONDS));
+
+        // Verify
+        verify(passwordEncoder, never()).encode("rejected");
+
+    }
+
+}
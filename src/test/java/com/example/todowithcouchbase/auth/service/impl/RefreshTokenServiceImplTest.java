@@ -3,11 +3,13 @@ package com.example.todowithcouchbase.auth.service.impl;
 import com.example.todowithcouchbase.auth.exception.UserNotFoundException;
 import com.example.todowithcouchbase.auth.exception.UserStatusNotValidException;
 import com.example.todowithcouchbase.auth.model.Token;
+import com.example.todowithcouchbase.auth.model.UserClaimsSnapshot;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
 import com.example.todowithcouchbase.auth.model.dto.request.TokenRefreshRequest;
 import com.example.todowithcouchbase.auth.model.entity.UserEntity;
 import com.example.todowithcouchbase.auth.model.enums.UserStatus;
-import com.example.todowithcouchbase.auth.repository.UserRepository;
 import com.example.todowithcouchbase.auth.service.TokenService;
+import com.example.todowithcouchbase.auth.service.UserClaimsCacheService;
 import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
 import com.example.todowithcouchbase.builder.AdminUserBuilder;
 import com.example.todowithcouchbase.builder.TokenBuilder;
@@ -16,9 +18,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
-import java.util.Optional;
-
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -26,7 +28,7 @@ import static org.mockito.Mockito.*;
  * Unit test class for {@link RefreshTokenServiceImpl}.
  * This test class ensures the correct functionality of the refresh token service,
  * which manages the generation of new tokens when a valid refresh token is provided.
- * It mocks the {@link UserRepository} and {@link TokenService} to isolate the refresh token logic.
+ * It mocks the {@link UserClaimsCacheService} and {@link TokenService} to isolate the refresh token logic.
  */
 class RefreshTokenServiceImplTest extends AbstractBaseServiceTest {
 
@@ -34,7 +36,7 @@ class RefreshTokenServiceImplTest extends AbstractBaseServiceTest {
     private RefreshTokenServiceImpl refreshTokenService;
 
     @Mock
-    private UserRepository userRepository;
+    private UserClaimsCacheService userClaimsCacheService;
 
     @Mock
     private TokenService tokenService;
@@ -49,11 +51,9 @@ class RefreshTokenServiceImplTest extends AbstractBaseServiceTest {
                 .build();
 
         final UserEntity mockAdminUserEntity = new AdminUserBuilder().withValidFields().build();
+        final UserClaimsSnapshot snapshot = UserClaimsSnapshot.of(mockAdminUserEntity);
 
-        final Claims mockClaims = TokenBuilder.getValidClaims(
-                mockAdminUserEntity.getId(),
-                mockAdminUserEntity.getFirstName()
-        );
+        final VerifiedToken verifiedRefreshToken = verifiedToken(refreshTokenString, mockAdminUserEntity.getId());
 
         final Token expectedToken = Token.builder()
                 .accessToken("mockAccessToken")
@@ -61,10 +61,9 @@ class RefreshTokenServiceImplTest extends AbstractBaseServiceTest {
                 .refreshToken("newMockRefreshToken")
                 .build();
 
-        doNothing().when(tokenService).verifyAndValidate(refreshTokenString);
-        when(tokenService.getPayload(refreshTokenString)).thenReturn(mockClaims);
-        when(userRepository.findById(anyString())).thenReturn(Optional.of(mockAdminUserEntity));
-        when(tokenService.generateToken(mockAdminUserEntity.getClaims(), refreshTokenString)).thenReturn(expectedToken);
+        when(tokenService.verify(refreshTokenString)).thenReturn(verifiedRefreshToken);
+        when(userClaimsCacheService.getSnapshot(mockAdminUserEntity.getId())).thenReturn(snapshot);
+        when(tokenService.generateToken(snapshot.getClaims(), verifiedRefreshToken)).thenReturn(expectedToken);
 
         // When
         Token actualToken = refreshTokenService.refreshToken(tokenRefreshRequest);
@@ -74,12 +73,13 @@ class RefreshTokenServiceImplTest extends AbstractBaseServiceTest {
         assertEquals(expectedToken.getAccessToken(), actualToken.getAccessToken());
         assertEquals(expectedToken.getAccessTokenExpiresAt(), actualToken.getAccessTokenExpiresAt());
         assertEquals(expectedToken.getRefreshToken(), actualToken.getRefreshToken());
+        assertEquals(mockAdminUserEntity.getClaims(), snapshot.getClaims());
 
         // Verify
-        verify(tokenService).verifyAndValidate(refreshTokenString);
-        verify(tokenService).getPayload(refreshTokenString);
-        verify(userRepository).findById(anyString());
-        verify(tokenService).generateToken(mockAdminUserEntity.getClaims(), refreshTokenString);
+        verify(tokenService, times(1)).verify(refreshTokenString);
+        verify(userClaimsCacheService).getSnapshot(mockAdminUserEntity.getId());
+        verify(tokenService).generateToken(snapshot.getClaims(), verifiedRefreshToken);
+        verify(tokenService, never()).getPayload(anyString());
 
     }
 
@@ -93,15 +93,15 @@ class RefreshTokenServiceImplTest extends AbstractBaseServiceTest {
                 .build();
 
         // When
-        doThrow(RuntimeException.class).when(tokenService).verifyAndValidate(refreshTokenString);
+        doThrow(RuntimeException.class).when(tokenService).verify(refreshTokenString);
 
         // Then
         assertThrows(RuntimeException.class,
                 () -> refreshTokenService.refreshToken(tokenRefreshRequest));
 
         // Verify
-        verify(tokenService).verifyAndValidate(refreshTokenString);
-        verifyNoInteractions(userRepository);
+        verify(tokenService).verify(refreshTokenString);
+        verifyNoInteractions(userClaimsCacheService);
 
     }
 
@@ -114,12 +114,10 @@ class RefreshTokenServiceImplTest extends AbstractBaseServiceTest {
                 .refreshToken(refreshTokenString)
                 .build();
 
-        final Claims mockClaims = TokenBuilder.getValidClaims("nonExistentAdminId", "John");
-
         // When
-        doNothing().when(tokenService).verifyAndValidate(refreshTokenString);
-        when(tokenService.getPayload(refreshTokenString)).thenReturn(mockClaims);
-        when(userRepository.findById("nonExistentAdminId")).thenReturn(Optional.empty());
+        when(tokenService.verify(refreshTokenString))
+                .thenReturn(verifiedToken(refreshTokenString, "nonExistentAdminId"));
+        when(userClaimsCacheService.getSnapshot("nonExistentAdminId")).thenThrow(new UserNotFoundException());
 
         // Then
         UserNotFoundException exception = assertThrows(UserNotFoundException.class,
@@ -130,9 +128,9 @@ class RefreshTokenServiceImplTest extends AbstractBaseServiceTest {
             """, exception.getMessage());
 
         // Verify
-        verify(tokenService).verifyAndValidate(refreshTokenString);
-        verify(tokenService).getPayload(refreshTokenString);
-        verify(userRepository).findById("nonExistentAdminId");
+        verify(tokenService).verify(refreshTokenString);
+        verify(userClaimsCacheService).getSnapshot("nonExistentAdminId");
+        verify(tokenService, never()).generateToken(anyMap(), any(VerifiedToken.class));
 
     }
 
@@ -147,12 +145,11 @@ class RefreshTokenServiceImplTest extends AbstractBaseServiceTest {
 
         UserEntity inactiveAdmin = new AdminUserBuilder().withValidFields().withUserStatus(UserStatus.PASSIVE).build();
 
-        Claims mockClaims = TokenBuilder.getValidClaims(inactiveAdmin.getId(), inactiveAdmin.getFirstName());
-
         // When
-        doNothing().when(tokenService).verifyAndValidate(refreshTokenString);
-        when(tokenService.getPayload(refreshTokenString)).thenReturn(mockClaims);
-        when(userRepository.findById(inactiveAdmin.getId())).thenReturn(Optional.of(inactiveAdmin));
+        when(tokenService.verify(refreshTokenString))
+                .thenReturn(verifiedToken(refreshTokenString, inactiveAdmin.getId()));
+        when(userClaimsCacheService.getSnapshot(inactiveAdmin.getId()))
+                .thenReturn(UserClaimsSnapshot.of(inactiveAdmin));
 
         // Then
         UserStatusNotValidException exception = assertThrows(UserStatusNotValidException.class,
@@ -161,10 +158,18 @@ class RefreshTokenServiceImplTest extends AbstractBaseServiceTest {
         assertEquals("User status is not valid!\n UserStatus = PASSIVE", exception.getMessage());
 
         // Verify
-        verify(tokenService).verifyAndValidate(refreshTokenString);
-        verify(tokenService).getPayload(refreshTokenString);
-        verify(userRepository).findById(inactiveAdmin.getId());
+        verify(tokenService).verify(refreshTokenString);
+        verify(userClaimsCacheService).getSnapshot(inactiveAdmin.getId());
+        verify(tokenService, never()).generateToken(anyMap(), any(VerifiedToken.class));
 
     }
 
-}
\ No newline at end of file
+    private static VerifiedToken verifiedToken(final String jwt, final String userId) {
+        final Claims claims = TokenBuilder.getValidClaims(userId, "John");
+        return VerifiedToken.builder()
+                .token(jwt)
+                .claims(claims)
+                .build();
+    }
+
+}
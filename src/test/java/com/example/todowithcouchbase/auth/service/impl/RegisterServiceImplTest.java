@@ -8,22 +8,23 @@ import com.example.todowithcouchbase.auth.model.enums.UserType;
 import com.example.todowithcouchbase.auth.model.mapper.RegisterRequestToUserEntityMapper;
 import com.example.todowithcouchbase.auth.model.mapper.UserEntityToUserMapper;
 import com.example.todowithcouchbase.auth.repository.UserRepository;
+import com.example.todowithcouchbase.auth.service.PasswordHashingService;
+import com.example.todowithcouchbase.auth.service.UserEmailLookupService;
 import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
  * Unit test class for {@link RegisterServiceImpl}.
  * This test class verifies the functionality of the registration service,
  * which handles user registration, including password encoding and saving user data.
- * It mocks the {@link UserRepository} and {@link PasswordEncoder} to test the registration logic
+ * It mocks the {@link UserRepository}, {@link PasswordHashingService} and {@link UserEmailLookupService} to test the registration logic
  * independently of external systems.
  */
 class RegisterServiceImplTest extends AbstractBaseServiceTest {
@@ -35,7 +36,10 @@ class RegisterServiceImplTest extends AbstractBaseServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private UserEmailLookupService userEmailLookupService;
 
     private final RegisterRequestToUserEntityMapper registerRequestToUserEntityMapper =
             RegisterRequestToUserEntityMapper.initialize();
@@ -62,8 +66,7 @@ class RegisterServiceImplTest extends AbstractBaseServiceTest {
         final User expected = userEntityToUserMapper.map(userEntity);
 
         // When
-        when(userRepository.existsUserEntityByEmail(request.getEmail())).thenReturn(false);
-        when(passwordEncoder.encode(request.getPassword())).thenReturn(encodedPassword);
+        when(passwordHashingService.encode(request.getPassword())).thenReturn(encodedPassword);
         when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity);
 
         // Then
@@ -76,7 +79,9 @@ class RegisterServiceImplTest extends AbstractBaseServiceTest {
         assertEquals(expected.getLastName(), result.getLastName());
 
         // Verify
+        verify(userEmailLookupService).reserveEmail(eq(request.getEmail()), anyString());
         verify(userRepository).save(any(UserEntity.class));
+        verify(userEmailLookupService, never()).releaseEmail(anyString(), anyString());
 
     }
 
@@ -94,7 +99,8 @@ class RegisterServiceImplTest extends AbstractBaseServiceTest {
                 .build();
 
         // When
-        when(userRepository.existsUserEntityByEmail(request.getEmail())).thenReturn(true);
+        doThrow(new UserAlreadyExistException()).when(userEmailLookupService)
+                .reserveEmail(eq(request.getEmail()), anyString());
 
         // Then
         assertThrows(UserAlreadyExistException.class, () -> registerService.registerUser(request));
@@ -104,4 +110,30 @@ class RegisterServiceImplTest extends AbstractBaseServiceTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenRegisterRequest_whenSaveFails_thenReleaseReservedEmail() {
+
+        // Given
+        final RegisterRequest request = RegisterRequest.builder()
+                .email("usertest@example.com")
+                .password("password123")
+                .firstName("User FirstName")
+                .lastName("User LastName")
+                .userType(UserType.USER)
+                .phoneNumber("1234567890")
+                .build();
+
+        // When
+        when(passwordHashingService.encode(request.getPassword())).thenReturn("encodedPassword");
+        when(userRepository.save(any(UserEntity.class))).thenThrow(new IllegalStateException("save failed"));
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> registerService.registerUser(request));
+
+        // Verify
+        verify(userEmailLookupService).reserveEmail(eq(request.getEmail()), anyString());
+        verify(userEmailLookupService).releaseEmail(eq(request.getEmail()), anyString());
+
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.config.TokenConfigurationParameter;
+import com.example.todowithcouchbase.auth.config.TokenKeyRing;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
+import com.example.todowithcouchbase.auth.model.enums.UserType;
+import com.example.todowithcouchbase.auth.service.InvalidTokenService;
+import com.example.todowithcouchbase.builder.UserBuilder;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing token verification with a {@link io.jsonwebtoken.JwtParser} built on every call,
+ * as {@link TokenServiceImpl} used to do, with the parser it now builds once and shares.
+ * It also compares building the authentication of a verified token with an eagerly built Spring {@link Jwt}
+ * and fresh authorities, as {@link TokenServiceImpl#getAuthentication(VerifiedToken)} used to do, with the
+ * lazy {@link com.example.todowithcouchbase.auth.model.JwtPrincipal} and shared authorities it now uses.
+ * Run with {@code mvn -Pbenchmark test -Djmh.args="TokenServiceImplBenchmark -prof gc"} and compare
+ * {@code gc.alloc.rate.norm} (bytes allocated per operation) between each pair of benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceImplBenchmark {
+
+    private TokenConfigurationParameter tokenConfigurationParameter;
+
+    private TokenServiceImpl tokenService;
+
+    private String jwt;
+
+    private VerifiedToken verifiedToken;
+
+    @Setup
+    public void setup() {
+
+        final InvalidTokenService invalidTokenService = new InvalidTokenService() {
+
+            @Override
+            public void invalidateTokens(Set<VerifiedToken> verifiedTokens) {
+            }
+
+            @Override
+            public void checkForInvalidityOfToken(String tokenId) {
+            }
+
+            @Override
+            public void checkForInvalidityOfTokens(Set<String> tokenIds) {
+            }
+
+        };
+
+        tokenConfigurationParameter = new TokenConfigurationParameter();
+        tokenService = new TokenServiceImpl(
+                tokenConfigurationParameter,
+                new TokenKeyRing(tokenConfigurationParameter, new AuthProperties()),
+                invalidTokenService
+        );
+
+        jwt = tokenService
+                .generateToken(new UserBuilder().withValidFields().build().getClaims())
+                .getAccessToken();
+
+        verifiedToken = tokenService.verify(jwt);
+
+    }
+
+    /**
+     * Verification as it was done before the parser was shared: a new parser per call.
+     */
+    @Benchmark
+    public Jws<Claims> verifyWithParserPerCall() {
+        return Jwts.parser()
+                .verifyWith(tokenConfigurationParameter.getPublicKey())
+                .build()
+                .parseSignedClaims(jwt);
+    }
+
+    /**
+     * Verification through the parser shared by {@link TokenServiceImpl}.
+     */
+    @Benchmark
+    public VerifiedToken verifyWithSharedParser() {
+        return tokenService.verify(jwt);
+    }
+
+    /**
+     * Authentication as it was built before: a Spring {@link Jwt} with a new header map, the user type resolved
+     * with {@link UserType#valueOf(String)} and a new authority list per call.
+     */
+    @Benchmark
+    public UsernamePasswordAuthenticationToken getAuthenticationEager() {
+
+        final Claims payload = verifiedToken.getClaims();
+
+        final Jwt springJwt = new Jwt(
+                verifiedToken.getToken(),
+                payload.getIssuedAt().toInstant(),
+                payload.getExpiration().toInstant(),
+                Map.of(
+                        TokenClaims.TYP.getValue(), verifiedToken.getHeader().getType(),
+                        TokenClaims.ALGORITHM.getValue(), verifiedToken.getHeader().getAlgorithm()
+                ),
+                payload
+        );
+
+        final UserType userType = UserType.valueOf(payload.get(TokenClaims.USER_TYPE.getValue()).toString());
+
+        final List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority(userType.name()));
+
+        return UsernamePasswordAuthenticationToken.authenticated(springJwt, null, authorities);
+    }
+
+    /**
+     * Authentication as {@link TokenServiceImpl} builds it now.
+     */
+    @Benchmark
+    public UsernamePasswordAuthenticationToken getAuthenticationLazy() {
+        return tokenService.getAuthentication(verifiedToken);
+    }
+
+}
@@ -1,21 +1,30 @@
 package com.example.todowithcouchbase.auth.service.impl;
 
+import com.example.todowithcouchbase.auth.config.AuthProperties;
 import com.example.todowithcouchbase.auth.config.TokenConfigurationParameter;
+import com.example.todowithcouchbase.auth.config.TokenKeyRing;
+import com.example.todowithcouchbase.auth.model.JwtPrincipal;
 import com.example.todowithcouchbase.auth.model.Token;
+import com.example.todowithcouchbase.auth.model.TokenSigningKey;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
+import com.example.todowithcouchbase.auth.model.enums.TokenSignatureAlgorithm;
+import com.example.todowithcouchbase.auth.model.enums.UserType;
 import com.example.todowithcouchbase.auth.service.InvalidTokenService;
 import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 
 import java.security.KeyPair;
-import java.security.KeyPairGenerator;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.util.*;
@@ -32,7 +41,6 @@ import static org.mockito.ArgumentMatchers.anyString;
  */
 class TokenServiceImplTest extends AbstractBaseServiceTest {
 
-    @InjectMocks
     private TokenServiceImpl tokenService;
 
     @Mock
@@ -41,23 +49,39 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
     @Mock
     private InvalidTokenService invalidTokenService;
 
+    private PublicKey publicKey;
+
+    private PrivateKey privateKey;
+
+    @BeforeEach
+    void setUp() {
+
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        publicKey = keyPair.getPublic();
+        privateKey = keyPair.getPrivate();
+
+        Mockito.when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
+        Mockito.when(tokenConfigurationParameter.getPrivateKey()).thenReturn(privateKey);
+        Mockito.when(tokenConfigurationParameter.getIssuer()).thenReturn("issuer");
+
+        // The parser and signing parameters are resolved once, when the service is created
+        tokenService = new TokenServiceImpl(
+                tokenConfigurationParameter,
+                new TokenKeyRing(tokenConfigurationParameter, new AuthProperties()),
+                invalidTokenService
+        );
+
+    }
+
     @Test
-    void testGenerateTokenWithoutRefreshToken() throws Exception {
+    void testGenerateTokenWithoutRefreshToken() {
 
         // Given
         Map<String, Object> claims = new HashMap<>();
         claims.put("USER_ID", "12345");
 
-        // Generate a valid RSA key pair for testing
-        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-        keyPairGenerator.initialize(2048);
-        KeyPair keyPair = keyPairGenerator.generateKeyPair();
-        PrivateKey privateKey = keyPair.getPrivate();
-
         Mockito.when(tokenConfigurationParameter.getAccessTokenExpireMinute()).thenReturn(60);
         Mockito.when(tokenConfigurationParameter.getRefreshTokenExpireDay()).thenReturn(7);
-        Mockito.when(tokenConfigurationParameter.getPrivateKey()).thenReturn(privateKey);
-        Mockito.when(tokenConfigurationParameter.getIssuer()).thenReturn("issuer");
 
         // When
         Token token = tokenService.generateToken(claims);
@@ -69,7 +93,7 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
         // Verify
         Mockito.verify(tokenConfigurationParameter).getAccessTokenExpireMinute();
         Mockito.verify(tokenConfigurationParameter).getRefreshTokenExpireDay();
-        Mockito.verify(tokenConfigurationParameter, Mockito.times(2)).getPrivateKey();
+        Mockito.verify(tokenConfigurationParameter, Mockito.times(1)).getPrivateKey();
 
     }
 
@@ -77,10 +101,6 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
     void testGenerateTokenWithRefreshToken() {
 
         // Given
-        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
-        PrivateKey privateKey = keyPair.getPrivate();
-        PublicKey publicKey = keyPair.getPublic();
-
         String refreshToken = Jwts.builder()
                 .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
@@ -91,11 +111,7 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
         Map<String, Object> claims = new HashMap<>();
         claims.put("USER_ID", "12345");
 
-        // Mock the TokenConfigurationParameter to return the keys
-        Mockito.when(tokenConfigurationParameter.getPrivateKey()).thenReturn(privateKey);
-        Mockito.when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
         Mockito.when(tokenConfigurationParameter.getAccessTokenExpireMinute()).thenReturn(60);
-        Mockito.when(tokenConfigurationParameter.getIssuer()).thenReturn("issuer");
         Mockito.doNothing().when(invalidTokenService).checkForInvalidityOfToken(anyString());
 
 
@@ -118,10 +134,6 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
     void testGetClaims() {
 
         // Given
-        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
-        PublicKey publicKey = keyPair.getPublic();
-        PrivateKey privateKey = keyPair.getPrivate();
-
         String jwt = Jwts.builder()
                 .setId(UUID.randomUUID().toString())
                 .setIssuer("issuer")
@@ -132,9 +144,6 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
                 .compact();
 
         // When
-        Mockito.when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
-
-        // Then
         Jws<Claims> claims = tokenService.getClaims(jwt);
 
         assertNotNull(claims, "Claims should not be null");
@@ -150,10 +159,6 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
     void testGetPayload() {
 
         // Given
-        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
-        PublicKey publicKey = keyPair.getPublic();
-        PrivateKey privateKey = keyPair.getPrivate();
-
         String jwt = Jwts.builder()
                 .setId(UUID.randomUUID().toString())
                 .setIssuer("issuer")
@@ -164,9 +169,6 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
                 .compact();
 
         // When
-        Mockito.when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
-
-        // Then
         Claims payload = tokenService.getPayload(jwt);
 
 
@@ -183,10 +185,6 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
     void testVerifyAndValidateSet() {
 
         // Given
-        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
-        PublicKey publicKey = keyPair.getPublic();
-        PrivateKey privateKey = keyPair.getPrivate();
-
         String jwt1 = Jwts.builder()
                 .setId(UUID.randomUUID().toString())
                 .setIssuer("issuer1")
@@ -206,15 +204,182 @@ class TokenServiceImplTest extends AbstractBaseServiceTest {
         Set<String> jwts = Set.of(jwt1, jwt2);
 
         // When
-        Mockito.when(tokenConfigurationParameter.getPublicKey()).thenReturn(publicKey);
+        assertDoesNotThrow(() -> tokenService.verifyAndValidate(jwts), "All tokens should be valid");
+
+        // Verify
+        Mockito.verify(tokenConfigurationParameter, Mockito.times(1)).getPublicKey();
+
+    }
+
+    @Test
+    void testVerify() {
+
+        // Given
+        String tokenId = UUID.randomUUID().toString();
+
+        String jwt = Jwts.builder()
+                .id(tokenId)
+                .issuer("issuer")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60 * 60 * 1000)) // 1 hour
+                .signWith(privateKey)
+                .compact();
+
+        // When
+        VerifiedToken verifiedToken = tokenService.verify(jwt);
+
+        assertNotNull(verifiedToken, "Verified token should not be null");
+        assertEquals(jwt, verifiedToken.getToken(), "Raw token should be kept");
+        assertEquals(tokenId, verifiedToken.getId(), "Token ID should match");
+        assertEquals("issuer", verifiedToken.getClaims().getIssuer(), "Issuer should match");
+
+        // Verify
+        Mockito.verify(tokenConfigurationParameter).getPublicKey();
+
+    }
+
+    @Test
+    void testGetAuthenticationWithVerifiedTokenDoesNotParseAgain() {
+
+        // Given
+        String jwt = Jwts.builder()
+                .header()
+                .type("Bearer")
+                .and()
+                .id(UUID.randomUUID().toString())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60 * 60 * 1000)) // 1 hour
+                .claim(TokenClaims.USER_TYPE.getValue(), UserType.ADMIN.name())
+                .claim(TokenClaims.USER_EMAIL.getValue(), "admin@example.com")
+                .signWith(privateKey)
+                .compact();
+
+        VerifiedToken verifiedToken = tokenService.verify(jwt);
+
+        // When
+        UsernamePasswordAuthenticationToken authentication = tokenService.getAuthentication(verifiedToken);
 
         // Then
-        assertDoesNotThrow(() -> tokenService.verifyAndValidate(jwts), "All tokens should be valid");
+        assertNotNull(authentication, "Authentication should not be null");
+        assertTrue(authentication.isAuthenticated(), "Authentication should be authenticated");
+        assertEquals(UserType.ADMIN.name(), authentication.getAuthorities().iterator().next().getAuthority());
+
+        JwtPrincipal principal = (JwtPrincipal) authentication.getPrincipal();
+        assertEquals(jwt, principal.getTokenValue(), "Principal should carry the raw token");
+        assertEquals("admin@example.com", principal.getClaimAsString(TokenClaims.USER_EMAIL.getValue()));
+        assertEquals("admin@example.com", principal.getJwt().getClaimAsString(TokenClaims.USER_EMAIL.getValue()));
+        assertSame(principal.getJwt(), principal.getJwt(), "Jwt should be built once");
+
+        // Verify
+        Mockito.verify(tokenConfigurationParameter, Mockito.times(1)).getPublicKey();
+
+    }
+
+    @Test
+    void testGetAuthenticationSharesAuthoritiesOfUserType() {
+
+        // Given
+        String adminJwt = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60 * 60 * 1000))
+                .claim(TokenClaims.USER_TYPE.getValue(), UserType.ADMIN.name())
+                .signWith(privateKey)
+                .compact();
+        String anotherAdminJwt = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60 * 60 * 1000))
+                .claim(TokenClaims.USER_TYPE.getValue(), UserType.ADMIN.name())
+                .signWith(privateKey)
+                .compact();
+
+        // When
+        UsernamePasswordAuthenticationToken first = tokenService.getAuthentication(tokenService.verify(adminJwt));
+        UsernamePasswordAuthenticationToken second = tokenService.getAuthentication(tokenService.verify(anotherAdminJwt));
+
+        // Then
+        assertEquals(UserType.ADMIN.getAuthorities(), List.copyOf(first.getAuthorities()));
+        assertSame(first.getAuthorities().iterator().next(), second.getAuthorities().iterator().next());
+
+    }
+
+    @Test
+    void testGeneratedTokenIsVerifiedWithSharedParser() {
+
+        // Given
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TokenClaims.USER_ID.getValue(), "12345");
+
+        Mockito.when(tokenConfigurationParameter.getAccessTokenExpireMinute()).thenReturn(60);
+        Mockito.when(tokenConfigurationParameter.getRefreshTokenExpireDay()).thenReturn(7);
+
+        Token token = tokenService.generateToken(claims);
+
+        // When
+        VerifiedToken accessToken = tokenService.verify(token.getAccessToken());
+        VerifiedToken refreshToken = tokenService.verify(token.getRefreshToken());
+
+        // Then
+        assertEquals("issuer", accessToken.getClaims().getIssuer(), "Issuer should match");
+        assertEquals("12345", accessToken.getClaims().get(TokenClaims.USER_ID.getValue()));
+        assertEquals("12345", refreshToken.getClaims().get(TokenClaims.USER_ID.getValue()));
+        assertNotEquals(accessToken.getId(), refreshToken.getId(), "Each token should get its own ID");
 
         // Verify
-        Mockito.verify(tokenConfigurationParameter, Mockito.times(2)).getPublicKey();
+        Mockito.verify(tokenConfigurationParameter, Mockito.times(1)).getPublicKey();
+        Mockito.verify(tokenConfigurationParameter, Mockito.times(1)).getPrivateKey();
 
     }
 
+    @Test
+    void testTokenSignedBeforeKeyRotationIsStillVerified() {
+
+        // Given
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TokenClaims.USER_ID.getValue(), "12345");
+
+        Mockito.when(tokenConfigurationParameter.getAccessTokenExpireMinute()).thenReturn(60);
+        Mockito.when(tokenConfigurationParameter.getRefreshTokenExpireDay()).thenReturn(7);
+
+        Token tokenBeforeRotation = tokenService.generateToken(claims);
+
+        KeyPair rotatedKeyPair = TokenSignatureAlgorithm.EDDSA.generateKeyPair();
+        TokenKeyRing rotatedKeyRing = new TokenKeyRing(
+                List.of(
+                        TokenSigningKey.builder()
+                                .keyId("default")
+                                .algorithm(TokenSignatureAlgorithm.RS256)
+                                .publicKey(publicKey)
+                                .build(),
+                        TokenSigningKey.builder()
+                                .keyId("rotated")
+                                .algorithm(TokenSignatureAlgorithm.EDDSA)
+                                .publicKey(rotatedKeyPair.getPublic())
+                                .privateKey(rotatedKeyPair.getPrivate())
+                                .build()
+                ),
+                "rotated",
+                "default"
+        );
+        TokenServiceImpl rotatedTokenService = new TokenServiceImpl(
+                tokenConfigurationParameter,
+                rotatedKeyRing,
+                invalidTokenService
+        );
+
+        // When
+        Token tokenAfterRotation = rotatedTokenService.generateToken(claims);
+        VerifiedToken verifiedBeforeRotation = rotatedTokenService.verify(tokenBeforeRotation.getAccessToken());
+        VerifiedToken verifiedAfterRotation = rotatedTokenService.verify(tokenAfterRotation.getAccessToken());
+
+        // Then
+        assertEquals("default", verifiedBeforeRotation.getHeader().getKeyId());
+        assertEquals("RS256", verifiedBeforeRotation.getHeader().getAlgorithm());
+        assertEquals("rotated", verifiedAfterRotation.getHeader().getKeyId());
+        assertEquals("EdDSA", verifiedAfterRotation.getHeader().getAlgorithm());
+        assertThrows(UnsupportedJwtException.class, () -> tokenService.verify(tokenAfterRotation.getAccessToken()));
+
+    }
 
-}
\ No newline at end of file
+}
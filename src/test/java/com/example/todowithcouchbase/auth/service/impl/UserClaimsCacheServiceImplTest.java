@@ -0,0 +1,168 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.exception.UserNotFoundException;
+import com.example.todowithcouchbase.auth.model.UserClaimsSnapshot;
+import com.example.todowithcouchbase.auth.model.entity.UserEntity;
+import com.example.todowithcouchbase.auth.model.enums.UserStatus;
+import com.example.todowithcouchbase.auth.repository.UserRepository;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.builder.UserBuilder;
+import com.example.todowithcouchbase.common.feed.ChangeFeed;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.couchbase.core.mapping.event.AfterSaveEvent;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link UserClaimsCacheServiceImpl}.
+ * This test class verifies that user claims are read once and then served from the cache,
+ * that saved users are invalidated locally and through the change feed, and that the cache is bypassed
+ * while the feed may have missed changes.
+ * It mocks the {@link UserRepository} and {@link ChangeFeed} to count the user reads and publications.
+ */
+class UserClaimsCacheServiceImplTest extends AbstractBaseServiceTest {
+
+    private UserClaimsCacheServiceImpl userClaimsCacheService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ChangeFeed changeFeed;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final UserEntity userEntity = new UserBuilder().withValidFields().build();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userClaimsCacheService = new UserClaimsCacheServiceImpl(
+                userRepository, changeFeed, new AuthProperties(), meterRegistry
+        );
+        userClaimsCacheService.onReset();
+    }
+
+    @Test
+    void getSnapshot_ShouldReadUserOnlyOnFirstUse() {
+
+        // When
+        when(userRepository.findById(userEntity.getId())).thenReturn(Optional.of(userEntity));
+
+        // Then
+        UserClaimsSnapshot first = userClaimsCacheService.getSnapshot(userEntity.getId());
+        UserClaimsSnapshot second = userClaimsCacheService.getSnapshot(userEntity.getId());
+
+        assertSame(first, second);
+        assertEquals(userEntity.getClaims(), second.getClaims());
+        assertEquals(UserStatus.ACTIVE, second.getUserStatus());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+
+        // Verify
+        verify(userRepository, times(1)).findById(userEntity.getId());
+
+    }
+
+    @Test
+    void getSnapshot_ShouldNotCacheUnknownUser() {
+
+        // When
+        when(userRepository.findById("unknown")).thenReturn(Optional.empty());
+
+        // Then
+        assertThrows(UserNotFoundException.class, () -> userClaimsCacheService.getSnapshot("unknown"));
+        assertThrows(UserNotFoundException.class, () -> userClaimsCacheService.getSnapshot("unknown"));
+
+        // Verify
+        verify(userRepository, times(2)).findById("unknown");
+
+    }
+
+    @Test
+    void onAfterSave_ShouldInvalidateSavedUserAndPublishItsId() {
+
+        // Given
+        UserEntity passiveUser = new UserBuilder().withValidFields()
+                .withId(userEntity.getId())
+                .withUserStatus(UserStatus.PASSIVE)
+                .build();
+
+        // When
+        when(userRepository.findById(userEntity.getId()))
+                .thenReturn(Optional.of(userEntity))
+                .thenReturn(Optional.of(passiveUser));
+
+        // Then
+        assertEquals(UserStatus.ACTIVE, userClaimsCacheService.getSnapshot(userEntity.getId()).getUserStatus());
+        userClaimsCacheService.onAfterSave(new AfterSaveEvent<>(passiveUser, null));
+        assertEquals(UserStatus.PASSIVE, userClaimsCacheService.getSnapshot(userEntity.getId()).getUserStatus());
+
+        // Verify
+        verify(changeFeed).publish(UserClaimsCacheServiceImpl.USER_CHANGES_TOPIC, Set.of(userEntity.getId()));
+        verify(userRepository, times(2)).findById(userEntity.getId());
+
+    }
+
+    @Test
+    void onAfterSave_ShouldIgnoreOtherEntitiesAndFailedPublications() {
+
+        // When
+        doThrow(new IllegalStateException("feed unavailable")).when(changeFeed).publish(anyString(), anySet());
+
+        // Then
+        userClaimsCacheService.onAfterSave(new AfterSaveEvent<>("not a user", null));
+        assertDoesNotThrow(() -> userClaimsCacheService.onAfterSave(new AfterSaveEvent<>(userEntity, null)));
+
+        // Verify
+        verify(changeFeed, times(1)).publish(anyString(), anySet());
+
+    }
+
+    @Test
+    void onChanges_ShouldInvalidateUsersSavedOnOtherInstances() {
+
+        // When
+        when(userRepository.findById(userEntity.getId())).thenReturn(Optional.of(userEntity));
+
+        // Then
+        userClaimsCacheService.getSnapshot(userEntity.getId());
+        userClaimsCacheService.onChanges(Set.of(userEntity.getId()));
+        userClaimsCacheService.getSnapshot(userEntity.getId());
+
+        // Verify
+        verify(userRepository, times(2)).findById(userEntity.getId());
+        verifyNoInteractions(changeFeed);
+
+    }
+
+    @Test
+    void getSnapshot_ShouldBypassCacheWhileFeedIsStale() {
+
+        // When
+        when(userRepository.findById(userEntity.getId())).thenReturn(Optional.of(userEntity));
+
+        // Then
+        userClaimsCacheService.onStale();
+        userClaimsCacheService.getSnapshot(userEntity.getId());
+        userClaimsCacheService.getSnapshot(userEntity.getId());
+        userClaimsCacheService.onReset();
+        userClaimsCacheService.getSnapshot(userEntity.getId());
+        userClaimsCacheService.getSnapshot(userEntity.getId());
+
+        // Verify
+        verify(userRepository, times(3)).findById(userEntity.getId());
+
+    }
+
+}
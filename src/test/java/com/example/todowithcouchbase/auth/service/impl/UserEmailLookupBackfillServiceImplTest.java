@@ -0,0 +1,96 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import com.example.todowithcouchbase.auth.model.entity.UserEntity;
+import com.example.todowithcouchbase.auth.repository.UserEmailRepository;
+import com.example.todowithcouchbase.auth.repository.UserRepository;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.builder.UserBuilder;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link UserEmailLookupBackfillServiceImpl}.
+ * This test class verifies that a lookup document is inserted for every user, page by page,
+ * and that users whose lookup document already exists are left alone.
+ * It mocks the {@link UserRepository} and {@link UserEmailRepository} to simulate the user collection.
+ */
+class UserEmailLookupBackfillServiceImplTest extends AbstractBaseServiceTest {
+
+    @InjectMocks
+    private UserEmailLookupBackfillServiceImpl userEmailLookupBackfillService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserEmailRepository userEmailRepository;
+
+    @Mock
+    private AuthProperties authProperties;
+
+    @Test
+    void backfill_ShouldInsertMissingLookupDocumentsPageByPage() {
+
+        // Given
+        AuthProperties.UserEmailLookupBackfill backfillProperties = new AuthProperties.UserEmailLookupBackfill();
+        backfillProperties.setBatchSize(2);
+
+        UserEntity first = new UserBuilder().withValidFields().withEmail("first@example.com").build();
+        UserEntity second = new UserBuilder().withValidFields().withEmail("second@example.com").build();
+        UserEntity third = new UserBuilder().withValidFields().withEmail("third@example.com").build();
+
+        Pageable firstPageable = PageRequest.of(0, 2, Sort.by("id"));
+
+        // When
+        when(authProperties.getUserEmailLookupBackfill()).thenReturn(backfillProperties);
+        when(userRepository.findAll(firstPageable))
+                .thenReturn(new PageImpl<>(List.of(first, second), firstPageable, 3));
+        when(userRepository.findAll(firstPageable.next()))
+                .thenReturn(new PageImpl<>(List.of(third), firstPageable.next(), 3));
+        when(userEmailRepository.insert(any(UserEmailEntity.class))).thenReturn(true);
+        when(userEmailRepository.insert(argThat(entity -> entity != null && second.getId().equals(entity.getUserId()))))
+                .thenReturn(false);
+        when(userEmailRepository.findById(UserEmailEntity.keyOf(second.getEmail())))
+                .thenReturn(Optional.of(UserEmailEntity.of(second.getEmail(), second.getId())));
+
+        // Then
+        userEmailLookupBackfillService.backfill();
+
+        // Verify
+        verify(userRepository, times(2)).findAll(any(Pageable.class));
+        verify(userEmailRepository, times(3)).insert(any(UserEmailEntity.class));
+        verify(userEmailRepository, never()).save(any(UserEmailEntity.class));
+
+    }
+
+    @Test
+    void backfillOnStartup_ShouldDoNothingWhenDisabled() {
+
+        // Given
+        AuthProperties.UserEmailLookupBackfill backfillProperties = new AuthProperties.UserEmailLookupBackfill();
+
+        // When
+        when(authProperties.getUserEmailLookupBackfill()).thenReturn(backfillProperties);
+
+        // Then
+        userEmailLookupBackfillService.backfillOnStartup();
+
+        // Verify
+        verifyNoInteractions(userRepository, userEmailRepository);
+
+    }
+
+}
@@ -0,0 +1,245 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.exception.UserAlreadyExistException;
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import com.example.todowithcouchbase.auth.model.entity.UserEntity;
+import com.example.todowithcouchbase.auth.repository.UserEmailRepository;
+import com.example.todowithcouchbase.auth.repository.UserRepository;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.builder.UserBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link UserEmailLookupServiceImpl}.
+ * This test class verifies that users are found through their email lookup document, that emails are reserved
+ * with an atomic insert and that orphaned reservations are taken over once they time out.
+ * It mocks the {@link UserEmailRepository} and {@link UserRepository} to simulate the user collection.
+ */
+class UserEmailLookupServiceImplTest extends AbstractBaseServiceTest {
+
+    private UserEmailLookupServiceImpl userEmailLookupService;
+
+    @Mock
+    private UserEmailRepository userEmailRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthProperties authProperties;
+
+    @BeforeEach
+    void setUp() {
+        authProperties = new AuthProperties();
+        userEmailLookupService = new UserEmailLookupServiceImpl(userEmailRepository, userRepository, authProperties);
+    }
+
+    @Test
+    void findUserByEmail_ShouldFindUserThroughLookupDocument() {
+
+        // Given
+        UserEntity userEntity = new UserBuilder().withValidFields().build();
+        String email = userEntity.getEmail();
+
+        // When
+        when(userEmailRepository.findById(UserEmailEntity.keyOf(email)))
+                .thenReturn(Optional.of(UserEmailEntity.of(email, userEntity.getId())));
+        when(userRepository.findById(userEntity.getId())).thenReturn(Optional.of(userEntity));
+
+        // Then
+        assertEquals(Optional.of(userEntity), userEmailLookupService.findUserByEmail(email));
+
+        // Verify
+        verify(userRepository, never()).findUserEntityByEmail(anyString());
+
+    }
+
+    @Test
+    void findUserByEmail_ShouldFallBackToQueryWhenLookupDocumentIsMissing() {
+
+        // Given
+        UserEntity userEntity = new UserBuilder().withValidFields().build();
+        String email = userEntity.getEmail();
+
+        // When
+        when(userEmailRepository.findById(UserEmailEntity.keyOf(email))).thenReturn(Optional.empty());
+        when(userRepository.findUserEntityByEmail(email)).thenReturn(Optional.of(userEntity));
+
+        // Then
+        assertEquals(Optional.of(userEntity), userEmailLookupService.findUserByEmail(email));
+
+    }
+
+    @Test
+    void findUserByEmail_ShouldNotQueryWhenFallbackIsDisabled() {
+
+        // Given
+        authProperties.getUserEmailLookup().setQueryFallbackEnabled(false);
+        String email = "unknown@example.com";
+
+        // When
+        when(userEmailRepository.findById(UserEmailEntity.keyOf(email))).thenReturn(Optional.empty());
+
+        // Then
+        assertTrue(userEmailLookupService.findUserByEmail(email).isEmpty());
+
+        // Verify
+        verify(userRepository, never()).findUserEntityByEmail(anyString());
+
+    }
+
+    @Test
+    void reserveEmail_ShouldInsertLookupDocument() {
+
+        // Given
+        authProperties.getUserEmailLookup().setQueryFallbackEnabled(false);
+        String email = "new@example.com";
+
+        // When
+        when(userEmailRepository.insert(any(UserEmailEntity.class))).thenReturn(true);
+
+        // Then
+        userEmailLookupService.reserveEmail(email, "user-id");
+
+        // Verify
+        verify(userEmailRepository).insert(argThat(entity ->
+                UserEmailEntity.keyOf(email).equals(entity.getId()) && "user-id".equals(entity.getUserId())
+        ));
+        verify(userRepository, never()).existsUserEntityByEmail(anyString());
+
+    }
+
+    @Test
+    void reserveEmail_ShouldRejectEmailOfUserWithoutLookupDocument() {
+
+        // Given
+        String email = "legacy@example.com";
+
+        // When
+        when(userRepository.existsUserEntityByEmail(email)).thenReturn(true);
+
+        // Then
+        assertThrows(UserAlreadyExistException.class, () -> userEmailLookupService.reserveEmail(email, "user-id"));
+
+        // Verify
+        verify(userEmailRepository, never()).insert(any(UserEmailEntity.class));
+
+    }
+
+    @Test
+    void reserveEmail_ShouldRejectEmailReservedByExistingUser() {
+
+        // Given
+        authProperties.getUserEmailLookup().setQueryFallbackEnabled(false);
+        String email = "taken@example.com";
+        UserEmailEntity existing = UserEmailEntity.of(email, "owner-id");
+        existing.setReservedAt(Instant.now().minusSeconds(3600));
+
+        // When
+        when(userEmailRepository.insert(any(UserEmailEntity.class))).thenReturn(false);
+        when(userEmailRepository.findById(UserEmailEntity.keyOf(email))).thenReturn(Optional.of(existing));
+        when(userRepository.existsById("owner-id")).thenReturn(true);
+
+        // Then
+        assertThrows(UserAlreadyExistException.class, () -> userEmailLookupService.reserveEmail(email, "user-id"));
+
+        // Verify
+        verify(userEmailRepository, never()).save(any(UserEmailEntity.class));
+
+    }
+
+    @Test
+    void reserveEmail_ShouldRejectRecentReservationOfUnsavedUser() {
+
+        // Given
+        authProperties.getUserEmailLookup().setQueryFallbackEnabled(false);
+        String email = "pending@example.com";
+
+        // When
+        when(userEmailRepository.insert(any(UserEmailEntity.class))).thenReturn(false);
+        when(userEmailRepository.findById(UserEmailEntity.keyOf(email)))
+                .thenReturn(Optional.of(UserEmailEntity.of(email, "pending-id")));
+
+        // Then
+        assertThrows(UserAlreadyExistException.class, () -> userEmailLookupService.reserveEmail(email, "user-id"));
+
+        // Verify
+        verify(userRepository, never()).existsById(anyString());
+        verify(userEmailRepository, never()).save(any(UserEmailEntity.class));
+
+    }
+
+    @Test
+    void reserveEmail_ShouldTakeOverTimedOutOrphanedReservation() {
+
+        // Given
+        authProperties.getUserEmailLookup().setQueryFallbackEnabled(false);
+        String email = "orphan@example.com";
+        UserEmailEntity orphan = UserEmailEntity.of(email, "orphan-id");
+        orphan.setReservedAt(Instant.now().minusSeconds(3600));
+
+        // When
+        when(userEmailRepository.insert(any(UserEmailEntity.class))).thenReturn(false);
+        when(userEmailRepository.findById(UserEmailEntity.keyOf(email))).thenReturn(Optional.of(orphan));
+        when(userRepository.existsById("orphan-id")).thenReturn(false);
+
+        // Then
+        userEmailLookupService.reserveEmail(email, "user-id");
+
+        // Verify
+        verify(userEmailRepository).save(argThat(entity -> "user-id".equals(entity.getUserId())));
+
+    }
+
+    @Test
+    void reserveEmail_ShouldRejectWhenOrphanTakeOverLosesRace() {
+
+        // Given
+        authProperties.getUserEmailLookup().setQueryFallbackEnabled(false);
+        String email = "orphan@example.com";
+        UserEmailEntity orphan = UserEmailEntity.of(email, "orphan-id");
+        orphan.setReservedAt(Instant.now().minusSeconds(3600));
+
+        // When
+        when(userEmailRepository.insert(any(UserEmailEntity.class))).thenReturn(false);
+        when(userEmailRepository.findById(UserEmailEntity.keyOf(email))).thenReturn(Optional.of(orphan));
+        when(userRepository.existsById("orphan-id")).thenReturn(false);
+        when(userEmailRepository.save(any(UserEmailEntity.class)))
+                .thenThrow(new OptimisticLockingFailureException("CAS mismatch"));
+
+        // Then
+        assertThrows(UserAlreadyExistException.class, () -> userEmailLookupService.reserveEmail(email, "user-id"));
+
+    }
+
+    @Test
+    void releaseEmail_ShouldDeleteOnlyOwnReservation() {
+
+        // Given
+        String email = "release@example.com";
+        UserEmailEntity reservation = UserEmailEntity.of(email, "user-id");
+
+        // When
+        when(userEmailRepository.findById(UserEmailEntity.keyOf(email))).thenReturn(Optional.of(reservation));
+
+        // Then
+        userEmailLookupService.releaseEmail(email, "other-user-id");
+        userEmailLookupService.releaseEmail(email, "user-id");
+
+        // Verify
+        verify(userEmailRepository, times(1)).delete(reservation);
+
+    }
+
+}
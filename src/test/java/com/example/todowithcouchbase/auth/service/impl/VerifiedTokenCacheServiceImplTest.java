@@ -0,0 +1,190 @@
+package com.example.todowithcouchbase.auth.service.impl;
+
+import com.example.todowithcouchbase.auth.config.AuthProperties;
+import com.example.todowithcouchbase.auth.model.VerifiedToken;
+import com.example.todowithcouchbase.auth.service.TokenService;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MissingClaimException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link VerifiedTokenCacheServiceImpl}.
+ * This test class verifies that tokens are verified once and then served from the cache,
+ * that expired, failing or non-expiring tokens are not cached, and that the cache statistics are published.
+ * It mocks the {@link TokenService} to count the signature verifications and checks that no authentication is built.
+ */
+class VerifiedTokenCacheServiceImplTest extends AbstractBaseServiceTest {
+
+    private VerifiedTokenCacheServiceImpl verifiedTokenCacheService;
+
+    @Mock
+    private TokenService tokenService;
+
+    private AuthProperties authProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        authProperties = new AuthProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCacheService = new VerifiedTokenCacheServiceImpl(tokenService, authProperties, meterRegistry);
+    }
+
+    @Test
+    void verify_ShouldCheckSignatureOnlyOnFirstUse() {
+
+        // Given
+        String jwt = "header.payload.signature";
+        VerifiedToken verifiedToken = verifiedToken(jwt, new Date(System.currentTimeMillis() + 60_000));
+
+        // When
+        when(tokenService.verify(jwt)).thenReturn(verifiedToken);
+
+        // Then
+        VerifiedToken first = verifiedTokenCacheService.verify(jwt);
+        VerifiedToken second = verifiedTokenCacheService.verify(jwt);
+
+        assertSame(first, second);
+        assertEquals(verifiedToken.getId(), second.getId());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+
+        // Verify
+        verify(tokenService, times(1)).verify(jwt);
+        verify(tokenService, never()).getAuthentication(any(VerifiedToken.class));
+
+    }
+
+    @Test
+    void verify_ShouldNotServeTokenPastItsExpiration() {
+
+        // Given
+        String jwt = "header.payload.signature";
+        VerifiedToken expiredToken = verifiedToken(jwt, new Date(System.currentTimeMillis() - 1_000));
+
+        // When
+        when(tokenService.verify(jwt)).thenReturn(expiredToken);
+
+        // Then
+        verifiedTokenCacheService.verify(jwt);
+        verifiedTokenCacheService.verify(jwt);
+
+        // Verify
+        verify(tokenService, times(2)).verify(jwt);
+
+    }
+
+    @Test
+    void verify_ShouldNotCacheTokenThatFailsVerification() {
+
+        // Given
+        String jwt = "header.payload.signature";
+        ExpiredJwtException exception = new ExpiredJwtException(null, null, "expired");
+
+        // When
+        when(tokenService.verify(jwt)).thenThrow(exception);
+
+        // Then
+        assertThrows(ExpiredJwtException.class, () -> verifiedTokenCacheService.verify(jwt));
+        assertThrows(ExpiredJwtException.class, () -> verifiedTokenCacheService.verify(jwt));
+
+        // Verify
+        verify(tokenService, times(2)).verify(jwt);
+        verify(tokenService, never()).getAuthentication(any(VerifiedToken.class));
+
+    }
+
+    @Test
+    void verify_ShouldRejectTokenWithoutExpiration() {
+
+        // Given
+        String jwt = "header.payload.signature";
+        VerifiedToken tokenWithoutExpiration = verifiedToken(jwt, null);
+
+        // When
+        when(tokenService.verify(jwt)).thenReturn(tokenWithoutExpiration);
+
+        // Then
+        assertThrows(MissingClaimException.class, () -> verifiedTokenCacheService.verify(jwt));
+        assertThrows(MissingClaimException.class, () -> verifiedTokenCacheService.verify(jwt));
+        assertTrue(verifiedTokenCacheService.getIfPresent(jwt).isEmpty());
+
+        // Verify
+        verify(tokenService, times(2)).verify(jwt);
+        verify(tokenService, never()).getAuthentication(any(VerifiedToken.class));
+
+    }
+
+    @Test
+    void verify_ShouldVerifyEveryTimeWhenCacheIsDisabled() {
+
+        // Given
+        authProperties.getVerifiedTokenCache().setEnabled(false);
+        verifiedTokenCacheService = new VerifiedTokenCacheServiceImpl(tokenService, authProperties, meterRegistry);
+
+        String jwt = "header.payload.signature";
+        VerifiedToken verifiedToken = verifiedToken(jwt, new Date(System.currentTimeMillis() + 60_000));
+
+        // When
+        when(tokenService.verify(jwt)).thenReturn(verifiedToken);
+
+        // Then
+        VerifiedToken result = verifiedTokenCacheService.verify(jwt);
+        verifiedTokenCacheService.verify(jwt);
+
+        assertSame(verifiedToken, result);
+
+        // Verify
+        verify(tokenService, times(2)).verify(jwt);
+
+    }
+
+    @Test
+    void getIfPresent_ShouldReturnOnlyVerifiedTokensWithoutVerifying() {
+
+        // Given
+        String jwt = "header.payload.signature";
+        VerifiedToken verifiedToken = verifiedToken(jwt, new Date(System.currentTimeMillis() + 60_000));
+
+        // When
+        when(tokenService.verify(jwt)).thenReturn(verifiedToken);
+
+        // Then
+        assertTrue(verifiedTokenCacheService.getIfPresent(jwt).isEmpty());
+        VerifiedToken cached = verifiedTokenCacheService.verify(jwt);
+        assertSame(cached, verifiedTokenCacheService.getIfPresent(jwt).orElseThrow());
+
+        assertEquals(0.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+
+        // Verify
+        verify(tokenService, times(1)).verify(jwt);
+
+    }
+
+    private static VerifiedToken verifiedToken(final String jwt, final Date expiration) {
+        Claims claims = Jwts.claims()
+                .id(UUID.randomUUID().toString())
+                .expiration(expiration)
+                .build();
+        return VerifiedToken.builder()
+                .token(jwt)
+                .claims(claims)
+                .build();
+    }
+
+}
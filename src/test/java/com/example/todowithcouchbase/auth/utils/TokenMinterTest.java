@@ -0,0 +1,140 @@
+package com.example.todowithcouchbase.auth.utils;
+
+import com.example.todowithcouchbase.auth.config.TokenKeyRing;
+import com.example.todowithcouchbase.auth.model.TokenSigningKey;
+import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
+import com.example.todowithcouchbase.auth.model.enums.TokenSignatureAlgorithm;
+import com.example.todowithcouchbase.auth.model.enums.TokenType;
+import com.example.todowithcouchbase.auth.model.enums.UserType;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.security.KeyPair;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link TokenMinter}.
+ * It mints tokens with keys of every supported algorithm and checks that jjwt verifies them and reads back
+ * the same header and claims the jjwt builder would have written.
+ */
+class TokenMinterTest extends AbstractBaseServiceTest {
+
+    @ParameterizedTest
+    @EnumSource(TokenSignatureAlgorithm.class)
+    void mint_ShouldWriteTokenVerifiedByJjwt(TokenSignatureAlgorithm algorithm) {
+
+        // Given
+        TokenSigningKey signingKey = signingKey(algorithm, algorithm.generateKeyPair());
+        TokenMinter tokenMinter = new TokenMinter(signingKey, "issuer", new ObjectMapper());
+
+        Map<String, Object> claims = Map.of(
+                TokenClaims.USER_ID.getValue(), "user-id",
+                TokenClaims.USER_TYPE.getValue(), UserType.USER
+        );
+
+        // When
+        String jwt = tokenMinter.mint(claims, 1_700_000_000L, 4_100_000_000L);
+
+        // Then
+        Jws<Claims> jws = parser(signingKey).parseSignedClaims(jwt);
+
+        assertEquals(TokenType.BEARER.getValue(), jws.getHeader().getType());
+        assertEquals("key-1", jws.getHeader().getKeyId());
+        assertEquals(algorithm.getId(), jws.getHeader().getAlgorithm());
+        assertEquals("issuer", jws.getPayload().getIssuer());
+        assertEquals(1_700_000_000L, jws.getPayload().getIssuedAt().toInstant().getEpochSecond());
+        assertEquals(4_100_000_000L, jws.getPayload().getExpiration().toInstant().getEpochSecond());
+        assertNotNull(jws.getPayload().getId());
+        assertEquals("user-id", jws.getPayload().get(TokenClaims.USER_ID.getValue()));
+        assertEquals(UserType.USER.name(), jws.getPayload().get(TokenClaims.USER_TYPE.getValue()));
+
+    }
+
+    @Test
+    void mint_ShouldWriteFreshTokenIdAndSkipNullAndMintedClaims() {
+
+        // Given
+        TokenSigningKey signingKey = signingKey(TokenSignatureAlgorithm.ES256, TokenSignatureAlgorithm.ES256.generateKeyPair());
+        TokenMinter tokenMinter = new TokenMinter(signingKey, "issuer \"quoted\"", new ObjectMapper());
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TokenClaims.USER_PHONE_NUMBER.getValue(), null);
+        claims.put(Claims.ISSUER, "other-issuer");
+
+        // When
+        String first = tokenMinter.mint(claims, 1_700_000_000L, 4_100_000_000L);
+        String second = tokenMinter.mint(claims, 1_700_000_000L, 4_100_000_000L);
+
+        // Then
+        Claims firstClaims = parser(signingKey).parseSignedClaims(first).getPayload();
+        Claims secondClaims = parser(signingKey).parseSignedClaims(second).getPayload();
+
+        assertNotEquals(firstClaims.getId(), secondClaims.getId());
+        assertEquals("issuer \"quoted\"", firstClaims.getIssuer());
+        assertFalse(firstClaims.containsKey(TokenClaims.USER_PHONE_NUMBER.getValue()));
+
+    }
+
+    @Test
+    void mint_ShouldWriteTokenRejectedByOtherKey() {
+
+        // Given
+        TokenMinter tokenMinter = new TokenMinter(
+                signingKey(TokenSignatureAlgorithm.RS256, TokenSignatureAlgorithm.RS256.generateKeyPair()),
+                "issuer",
+                new ObjectMapper()
+        );
+
+        // When
+        String jwt = tokenMinter.mint(Map.of(), 1_700_000_000L, 4_100_000_000L);
+
+        // Then
+        JwtParser parser = parser(signingKey(TokenSignatureAlgorithm.RS256, TokenSignatureAlgorithm.RS256.generateKeyPair()));
+        assertThrows(SignatureException.class, () -> parser.parseSignedClaims(jwt));
+
+    }
+
+    @Test
+    void constructor_ShouldRejectKeyWithoutPrivateKey() {
+
+        // Given
+        TokenSigningKey verifyOnlyKey = TokenSigningKey.builder()
+                .keyId("key-1")
+                .algorithm(TokenSignatureAlgorithm.ES256)
+                .publicKey(TokenSignatureAlgorithm.ES256.generateKeyPair().getPublic())
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> new TokenMinter(verifyOnlyKey, "issuer", objectMapper));
+
+    }
+
+    private static TokenSigningKey signingKey(final TokenSignatureAlgorithm algorithm, final KeyPair keyPair) {
+        return TokenSigningKey.builder()
+                .keyId("key-1")
+                .algorithm(algorithm)
+                .publicKey(keyPair.getPublic())
+                .privateKey(keyPair.getPrivate())
+                .build();
+    }
+
+    private static JwtParser parser(final TokenSigningKey signingKey) {
+        return Jwts.parser()
+                .keyLocator(new TokenKeyRing(List.of(signingKey), signingKey.getKeyId(), signingKey.getKeyId()))
+                .build();
+    }
+
+}
@@ -66,12 +66,14 @@ public abstract class AbstractTestContainerConfiguration {
         createScopeAndCollection(collectionManager, "user-scope", "user-collection");
         createScopeAndCollection(collectionManager, "task-scope", "task-collection");
         createScopeAndCollection(collectionManager, "log-scope", "log-collection");
+        createScopeAndCollection(collectionManager, "change-feed-scope", "change-feed-collection");
 
         // Ensure all necessary collections exist
         ensureCollectionExists(bucket, "invalid-token-scope", "invalid-token-collection");
         ensureCollectionExists(bucket, "user-scope", "user-collection");
         ensureCollectionExists(bucket, "task-scope", "task-collection");
         ensureCollectionExists(bucket, "log-scope", "log-collection");
+        ensureCollectionExists(bucket, "change-feed-scope", "change-feed-collection");
 
         // Ensure primary indexes are created on all collections (across scopes)
         createPrimaryIndexIfNotExists(bucket, cluster, "invalid-token-scope", "invalid-token-collection");
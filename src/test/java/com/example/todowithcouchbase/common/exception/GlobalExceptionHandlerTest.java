@@ -4,12 +4,14 @@ import com.example.todowithcouchbase.auth.exception.*;
 import com.example.todowithcouchbase.base.AbstractRestControllerTest;
 import com.example.todowithcouchbase.common.model.CustomError;
 import com.example.todowithcouchbase.task.exception.TaskNotFoundException;
+import com.example.todowithcouchbase.task.exception.TaskVersionMismatchException;
 import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Path;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -382,6 +384,76 @@ class GlobalExceptionHandlerTest extends AbstractRestControllerTest {
 
     }
 
+    @Test
+    void givenPasswordHashingUnavailableException_whenHandlePasswordHashingUnavailableException_thenRespondWithTooManyRequests() {
+
+        // Given
+        PasswordHashingUnavailableException ex = new PasswordHashingUnavailableException();
+
+        CustomError expectedError = CustomError.builder()
+                .httpStatus(HttpStatus.TOO_MANY_REQUESTS)
+                .header(CustomError.Header.PROCESS_ERROR.getName())
+                .message(ex.getMessage())
+                .isSuccess(false)
+                .build();
+
+        // When
+        ResponseEntity<CustomError> responseEntity = globalExceptionHandler.handlePasswordHashingUnavailableException(ex);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        CustomError actualError = responseEntity.getBody();
+        checkCustomError(expectedError, actualError);
+
+    }
+
+    @Test
+    void givenInvalidCursorException_whenHandleInvalidCursorException_thenRespondWithBadRequest() {
+
+        // Given
+        InvalidCursorException ex = new InvalidCursorException();
+
+        CustomError expectedError = CustomError.builder()
+                .httpStatus(HttpStatus.BAD_REQUEST)
+                .header(CustomError.Header.BAD_REQUEST.getName())
+                .message("Cursor is not valid!\n")
+                .isSuccess(false)
+                .build();
+
+        // When
+        ResponseEntity<CustomError> responseEntity = globalExceptionHandler.handleInvalidCursorException(ex);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        CustomError actualError = responseEntity.getBody();
+        checkCustomError(expectedError, actualError);
+
+    }
+
+    @Test
+    void givenTaskVersionMismatchException_whenHandleTaskVersionMismatchException_thenRespondWithPreconditionFailed() {
+
+        // Given
+        TaskVersionMismatchException ex = new TaskVersionMismatchException();
+
+        CustomError expectedError = CustomError.builder()
+                .httpStatus(HttpStatus.PRECONDITION_FAILED)
+                .header(CustomError.Header.PROCESS_ERROR.getName())
+                .message("Task was modified by another request!\n")
+                .isSuccess(false)
+                .build();
+
+        // When
+        ResponseEntity<CustomError> responseEntity = globalExceptionHandler.handleTaskVersionMismatchException(ex);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        CustomError actualError = responseEntity.getBody();
+        checkCustomError(expectedError, actualError);
+
+    }
+
     private void checkCustomError(CustomError expectedError, CustomError actualError) {
 
         assertThat(actualError).isNotNull();
@@ -0,0 +1,264 @@
+package com.example.todowithcouchbase.common.feed;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.common.config.ChangeFeedProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link ChangeFeedPoller}.
+ * It polls an {@link InMemoryChangeFeed} and verifies which changes, resets and stale signals
+ * reach a mocked {@link ChangeFeedListener}.
+ */
+class ChangeFeedPollerTest extends AbstractBaseServiceTest {
+
+    private static final String TOPIC = "topic";
+
+    @Mock
+    private ChangeFeedListener listener;
+
+    private InMemoryChangeFeed changeFeed;
+
+    private ChangeFeedProperties changeFeedProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(listener.getTopic()).thenReturn(TOPIC);
+        changeFeed = new InMemoryChangeFeed();
+        changeFeedProperties = new ChangeFeedProperties();
+        changeFeedProperties.setResetReplayEvents(0);
+    }
+
+    @Test
+    void poll_ShouldResetListenerOnFirstPoll() {
+
+        // Given
+        ChangeFeedPoller poller = this.poller();
+
+        // When
+        changeFeed.publish(TOPIC, Set.of("key-1"));
+
+        // Then
+        poller.poll();
+        poller.poll();
+
+        // Verify
+        verify(listener, times(1)).onReset();
+        verify(listener, never()).onChanges(anySet());
+
+    }
+
+    @Test
+    void poll_ShouldDeliverKeysPublishedAfterReset() {
+
+        // Given
+        ChangeFeedPoller poller = this.poller();
+        poller.poll();
+
+        // When
+        changeFeed.publish(TOPIC, Set.of("key-1"));
+        changeFeed.publish(TOPIC, Set.of("key-2"));
+
+        // Then
+        poller.poll();
+        poller.poll();
+
+        // Verify
+        verify(listener, times(1)).onReset();
+        verify(listener, times(1)).onChanges(Set.of("key-1", "key-2"));
+
+    }
+
+    @Test
+    void poll_ShouldReplayRecentEventsAfterReset() {
+
+        // Given
+        changeFeedProperties.setResetReplayEvents(1_000);
+        ChangeFeedPoller poller = this.poller();
+
+        // When
+        changeFeed.publish(TOPIC, Set.of("key-1"));
+
+        // Then
+        poller.poll();
+        poller.poll();
+
+        // Verify
+        verify(listener, times(1)).onReset();
+        verify(listener, times(1)).onChanges(Set.of("key-1"));
+
+    }
+
+    @Test
+    void poll_ShouldWaitForMissingEventWithinGracePeriod() {
+
+        // Given
+        changeFeedProperties.setMissingEventGrace(Duration.ofHours(1));
+        ChangeFeedPoller poller = this.poller();
+        poller.poll();
+
+        // When
+        changeFeed.publish(TOPIC, Set.of("key-1"));
+        changeFeed.publish(TOPIC, Set.of("key-2"));
+        changeFeed.expire(TOPIC, 1);
+
+        // Then
+        poller.poll();
+
+        // Verify
+        verify(listener, times(1)).onReset();
+        verify(listener, times(1)).onChanges(Set.of("key-2"));
+
+    }
+
+    @Test
+    void poll_ShouldResetListenerWhenEventIsMissingBeyondGracePeriod() {
+
+        // Given
+        changeFeedProperties.setMissingEventGrace(Duration.ZERO);
+        ChangeFeedPoller poller = this.poller();
+        poller.poll();
+
+        // When
+        changeFeed.publish(TOPIC, Set.of("key-1"));
+        changeFeed.publish(TOPIC, Set.of("key-2"));
+        changeFeed.expire(TOPIC, 1);
+
+        // Then
+        poller.poll();
+        poller.poll();
+
+        // Verify
+        verify(listener, times(2)).onReset();
+        verify(listener, never()).onChanges(anySet());
+
+    }
+
+    @Test
+    void poll_ShouldSkipExpiredEventsOfReplayWindow() {
+
+        // Given
+        changeFeedProperties.setResetReplayEvents(1_000);
+        changeFeedProperties.setMissingEventGrace(Duration.ZERO);
+        ChangeFeedPoller poller = this.poller();
+
+        // When
+        changeFeed.publish(TOPIC, Set.of("key-1"));
+        changeFeed.expire(TOPIC, 1);
+        poller.poll();
+        poller.poll();
+        changeFeed.publish(TOPIC, Set.of("key-2"));
+
+        // Then
+        poller.poll();
+
+        // Verify
+        verify(listener, times(1)).onReset();
+        verify(listener, times(1)).onChanges(Set.of("key-2"));
+
+    }
+
+    @Test
+    void poll_ShouldMarkListenerStaleAndResetOnceFeedIsBack() {
+
+        // Given
+        ChangeFeedPoller poller = this.poller();
+        poller.poll();
+
+        // When
+        changeFeed.setAvailable(false);
+        poller.poll();
+        changeFeed.setAvailable(true);
+
+        // Then
+        poller.poll();
+
+        // Verify
+        verify(listener, times(1)).onStale();
+        verify(listener, times(2)).onReset();
+
+    }
+
+    @Test
+    void poll_ShouldRetryFailedReset() {
+
+        // Given
+        ChangeFeedPoller poller = this.poller();
+
+        // When
+        doThrow(new IllegalStateException("unavailable")).doNothing().when(listener).onReset();
+        changeFeed.publish(TOPIC, Set.of("key-1"));
+
+        // Then
+        poller.poll();
+        poller.poll();
+        changeFeed.publish(TOPIC, Set.of("key-2"));
+        poller.poll();
+
+        // Verify
+        verify(listener, times(2)).onReset();
+        verify(listener, times(1)).onChanges(Set.of("key-2"));
+
+    }
+
+    @Test
+    void start_ShouldResetListenersOnceAndMarkThemStaleWhenFeedIsDisabled() {
+
+        // Given
+        changeFeedProperties.setEnabled(false);
+        ChangeFeedPoller poller = this.poller();
+
+        // When
+        changeFeed.publish(TOPIC, Set.of("key-1"));
+
+        // Then
+        poller.start();
+        poller.stop();
+
+        // Verify
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener, times(1)).onReset();
+        inOrder.verify(listener, times(1)).onStale();
+        verify(listener, never()).onChanges(anySet());
+
+    }
+
+    @Test
+    void poll_ShouldRecordLagOncePerDeliveredEvent() {
+
+        // Given
+        ChangeFeedPoller poller = this.poller();
+        changeFeed.publish(TOPIC, Set.of("key-0"));
+        poller.poll();
+
+        // When
+        changeFeed.publish(TOPIC, Set.of("key-1"));
+        changeFeed.publish(TOPIC, Set.of("key-2"));
+
+        // Then
+        poller.poll();
+        poller.poll();
+
+        assertEquals(2, meterRegistry.get(ChangeFeedPoller.LAG_TIMER_NAME).tag("topic", TOPIC).timer().count());
+
+    }
+
+    private ChangeFeedPoller poller() {
+        return new ChangeFeedPoller(changeFeed, List.of(listener), changeFeedProperties, meterRegistry);
+    }
+
+}
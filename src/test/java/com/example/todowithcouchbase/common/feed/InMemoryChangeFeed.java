@@ -0,0 +1,78 @@
+package com.example.todowithcouchbase.common.feed;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory {@link ChangeFeed} used by unit tests in place of {@link CouchbaseChangeFeed}.
+ * Events never expire on their own; tests call {@link #expire(String, long)} to simulate a gap in the feed
+ * and {@link #setAvailable(boolean)} to simulate an unreachable feed.
+ */
+public class InMemoryChangeFeed implements ChangeFeed {
+
+    private final Map<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<Long, ChangeFeedEvent>> events = new ConcurrentHashMap<>();
+
+    private volatile boolean available = true;
+
+    @Override
+    public long publish(final String topic, final Set<String> keys) {
+        this.ensureAvailable();
+        final long sequence = sequences.computeIfAbsent(topic, key -> new AtomicLong()).incrementAndGet();
+        this.events(topic).put(sequence, ChangeFeedEvent.builder()
+                .sequence(sequence)
+                .keys(Set.copyOf(keys))
+                .publishedAt(Instant.now())
+                .build());
+        return sequence;
+    }
+
+    @Override
+    public long currentSequence(final String topic) {
+        this.ensureAvailable();
+        final AtomicLong sequence = sequences.get(topic);
+        return sequence != null ? sequence.get() : 0;
+    }
+
+    @Override
+    public List<ChangeFeedEvent> read(final String topic, final long afterSequence, final long toSequence) {
+        this.ensureAvailable();
+        return List.copyOf(this.events(topic).subMap(afterSequence, false, toSequence, true).values());
+    }
+
+    /**
+     * Removes the event with the given sequence number, as if it had expired before being read.
+     *
+     * @param topic The topic of the event.
+     * @param sequence The sequence number of the event.
+     */
+    public void expire(final String topic, final long sequence) {
+        this.events(topic).remove(sequence);
+    }
+
+    /**
+     * Makes every operation fail while the feed is unavailable.
+     *
+     * @param available Whether the feed can be reached.
+     */
+    public void setAvailable(final boolean available) {
+        this.available = available;
+    }
+
+    private NavigableMap<Long, ChangeFeedEvent> events(final String topic) {
+        return events.computeIfAbsent(topic, key -> new ConcurrentSkipListMap<>());
+    }
+
+    private void ensureAvailable() {
+        if (!available) {
+            throw new IllegalStateException("Change feed is unavailable");
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.example.todowithcouchbase.common.index;
+
+import com.example.todowithcouchbase.auth.model.entity.UserEntity;
+import com.example.todowithcouchbase.logging.entity.LogEntity;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.couchbase.core.mapping.CouchbaseMappingContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link SecondaryIndexDefinition}.
+ * It reads the index annotations of the mapped entities to check the index names, keyspaces and key expressions.
+ */
+class SecondaryIndexDefinitionTest {
+
+    private final CouchbaseMappingContext couchbaseMappingContext = new CouchbaseMappingContext();
+
+    @Test
+    void of_ShouldReadCompositeAndFieldIndexes() {
+
+        // When
+        List<SecondaryIndexDefinition> definitions = SecondaryIndexDefinition
+                .of(couchbaseMappingContext.getRequiredPersistentEntity(TaskEntity.class));
+
+        // Then
+        assertEquals(List.of(
+                new SecondaryIndexDefinition("idx_created_at_id", "task-scope", "task-collection",
+                        List.of("createdAt", "id"), List.of("`createdAt`", "META().id")),
+                new SecondaryIndexDefinition("idx_name", "task-scope", "task-collection",
+                        List.of("name"), List.of("`name`"))
+        ), definitions);
+
+    }
+
+    @Test
+    void of_ShouldIndexStoredFieldName() {
+
+        // When
+        List<SecondaryIndexDefinition> definitions = SecondaryIndexDefinition
+                .of(couchbaseMappingContext.getRequiredPersistentEntity(UserEntity.class));
+
+        // Then
+        assertEquals(List.of(
+                new SecondaryIndexDefinition("idx_email", "user-scope", "user-collection",
+                        List.of("email"), List.of("`EMAIL`"))
+        ), definitions);
+
+    }
+
+    @Test
+    void of_ShouldReturnNothingForEntityWithoutIndexes() {
+
+        // When
+        List<SecondaryIndexDefinition> definitions = SecondaryIndexDefinition
+                .of(couchbaseMappingContext.getRequiredPersistentEntity(LogEntity.class));
+
+        // Then
+        assertTrue(definitions.isEmpty());
+
+    }
+
+}
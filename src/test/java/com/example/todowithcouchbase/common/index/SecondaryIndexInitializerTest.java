@@ -0,0 +1,135 @@
+package com.example.todowithcouchbase.common.index;
+
+import com.couchbase.client.core.error.IndexFailureException;
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.Scope;
+import com.couchbase.client.java.manager.query.CollectionQueryIndexManager;
+import com.couchbase.client.java.manager.query.CreateQueryIndexOptions;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.common.config.CouchbaseProperties;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.couchbase.core.mapping.CouchbaseMappingContext;
+import org.springframework.data.couchbase.core.mapping.CouchbasePersistentEntity;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link SecondaryIndexInitializer}.
+ * It mocks the bucket down to the collection index manager to check that the indexes of a collection are created
+ * deferred and built in one batch, that a failure does not stop the startup, and which index each task repository
+ * query can use.
+ */
+class SecondaryIndexInitializerTest extends AbstractBaseServiceTest {
+
+    private SecondaryIndexInitializer secondaryIndexInitializer;
+
+    @Mock
+    private Bucket bucket;
+
+    @Mock
+    private Scope scope;
+
+    @Mock
+    private Collection collection;
+
+    @Mock
+    private CollectionQueryIndexManager indexManager;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private final CouchbaseMappingContext couchbaseMappingContext = new CouchbaseMappingContext();
+
+    private List<SecondaryIndexDefinition> definitions;
+
+    @BeforeEach
+    void setUp() {
+
+        CouchbaseProperties couchbaseProperties = new CouchbaseProperties();
+
+        secondaryIndexInitializer = new SecondaryIndexInitializer(
+                bucket, couchbaseMappingContext, applicationContext, couchbaseProperties);
+
+        definitions = SecondaryIndexDefinition.of(couchbaseMappingContext.getRequiredPersistentEntity(TaskEntity.class));
+
+        when(bucket.scope("task-scope")).thenReturn(scope);
+        when(scope.collection("task-collection")).thenReturn(collection);
+        when(collection.queryIndexes()).thenReturn(indexManager);
+
+    }
+
+    @Test
+    void provision_ShouldCreateIndexesDeferredAndBuildThemTogether() {
+
+        // When
+        secondaryIndexInitializer.provision(definitions);
+
+        // Then
+        ArgumentCaptor<CreateQueryIndexOptions> options = ArgumentCaptor.forClass(CreateQueryIndexOptions.class);
+        InOrder inOrder = inOrder(indexManager);
+        inOrder.verify(indexManager).createIndex(eq("idx_created_at_id"), eq(List.of("`createdAt`", "META().id")), options.capture());
+        inOrder.verify(indexManager).createIndex(eq("idx_name"), eq(List.of("`name`")), options.capture());
+        inOrder.verify(indexManager).buildDeferredIndexes();
+        inOrder.verify(indexManager).watchIndexes(List.of("idx_created_at_id", "idx_name"), Duration.ofMinutes(1));
+
+        options.getAllValues().forEach(option -> {
+            assertEquals(Boolean.TRUE, option.build().deferred());
+            assertTrue(option.build().ignoreIfExists());
+        });
+
+    }
+
+    @Test
+    void provision_ShouldNotFailWhenIndexesCannotBeCreated() {
+
+        // When
+        doThrow(new IndexFailureException(null)).when(indexManager)
+                .createIndex(eq("idx_created_at_id"), any(), any(CreateQueryIndexOptions.class));
+
+        // Then
+        assertDoesNotThrow(() -> secondaryIndexInitializer.provision(definitions));
+
+        // Verify
+        verify(indexManager, never()).buildDeferredIndexes();
+
+    }
+
+    @Test
+    void findIndex_ShouldMatchQueriesOnLeadingProperty() throws NoSuchMethodException {
+
+        // Given
+        CouchbasePersistentEntity<?> entity = couchbaseMappingContext.getRequiredPersistentEntity(TaskEntity.class);
+
+        // Then
+        assertEquals(Optional.of("idx_name"), SecondaryIndexInitializer
+                .findIndex(TaskRepository.class.getMethod("existsByName", String.class), entity)
+                .map(SecondaryIndexDefinition::name));
+        assertEquals(Optional.of("idx_name"), SecondaryIndexInitializer
+                .findIndex(TaskRepository.class.getMethod("findTaskByName", String.class), entity)
+                .map(SecondaryIndexDefinition::name));
+        assertEquals(Optional.of("idx_created_at_id"), SecondaryIndexInitializer
+                .findIndex(TaskRepository.class.getMethod("findPageAfter", LocalDateTime.class, String.class, int.class), entity)
+                .map(SecondaryIndexDefinition::name));
+        assertEquals(Optional.empty(), SecondaryIndexInitializer
+                .findIndex(TaskRepository.class.getMethod("findSlice", Pageable.class), entity));
+
+    }
+
+}
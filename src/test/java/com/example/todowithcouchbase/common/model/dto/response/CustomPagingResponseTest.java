@@ -23,7 +23,8 @@ class CustomPagingResponseTest {
                 1,
                 10, // pageSize
                 3L, // totalElementCount
-                1  // totalPageCount
+                1, // totalPageCount
+                "cursor" // nextCursor
         );
 
         CustomPagingResponse<String> response = CustomPagingResponse.<String>builder()
@@ -35,6 +36,7 @@ class CustomPagingResponseTest {
         assertEquals(customPage.getPageSize(), response.getPageSize());
         assertEquals(customPage.getTotalElementCount(), response.getTotalElementCount());
         assertEquals(customPage.getTotalPageCount(), response.getTotalPageCount());
+        assertEquals(customPage.getNextCursor(), response.getNextCursor());
         assertEquals(customPage.getContent(), response.getContent());
 
     }
@@ -0,0 +1,123 @@
+package com.example.todowithcouchbase.common.reservation;
+
+import com.example.todowithcouchbase.auth.model.entity.UserEmailEntity;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link KeyReservations}.
+ * This test class verifies that values are reserved with an atomic insert, that only timed-out orphans are
+ * taken over and that the backfill inserts the reservations of every owner page by page.
+ * It mocks the {@link KeyReservationRepository} and uses {@link UserEmailEntity} as the reservation document.
+ */
+class KeyReservationsTest extends AbstractBaseServiceTest {
+
+    private static final Duration RESERVATION_TIMEOUT = Duration.ofMinutes(5);
+
+    @Mock
+    private KeyReservationRepository<UserEmailEntity> repository;
+
+    private KeyReservations<UserEmailEntity> keyReservations;
+
+    @BeforeEach
+    void setUp() {
+        keyReservations = new KeyReservations<>(repository, UserEmailEntity::keyOf, UserEmailEntity::of, "email");
+    }
+
+    @Test
+    void reserve_ShouldInsertReservation() {
+
+        // When
+        when(repository.insert(any(UserEmailEntity.class))).thenReturn(true);
+
+        // Then
+        assertTrue(keyReservations.reserve("user@example.com", "owner-id", RESERVATION_TIMEOUT, reservation -> true));
+
+        // Verify
+        verify(repository, never()).findById(any());
+
+    }
+
+    @Test
+    void reserve_ShouldInsertAgainWhenReservationIsReleasedMeanwhile() {
+
+        // When
+        when(repository.insert(any(UserEmailEntity.class))).thenReturn(false, true);
+        when(repository.findById(UserEmailEntity.keyOf("user@example.com"))).thenReturn(Optional.empty());
+
+        // Then
+        assertTrue(keyReservations.reserve("user@example.com", "owner-id", RESERVATION_TIMEOUT, reservation -> true));
+
+        // Verify
+        verify(repository, times(2)).insert(any(UserEmailEntity.class));
+
+    }
+
+    @Test
+    void reserve_ShouldTakeOverOnlyTimedOutReservationWhoseOwnerDoesNotHoldValue() {
+
+        // Given
+        UserEmailEntity orphan = UserEmailEntity.of("user@example.com", "orphan-id");
+        orphan.setReservedAt(Instant.now().minus(RESERVATION_TIMEOUT).minusSeconds(1));
+
+        // When
+        when(repository.insert(any(UserEmailEntity.class))).thenReturn(false);
+        when(repository.findById(UserEmailEntity.keyOf("user@example.com"))).thenReturn(Optional.of(orphan));
+
+        // Then
+        assertFalse(keyReservations.reserve("user@example.com", "owner-id", RESERVATION_TIMEOUT, reservation -> true));
+        assertTrue(keyReservations.reserve("user@example.com", "owner-id", RESERVATION_TIMEOUT, reservation -> false));
+        assertEquals("owner-id", orphan.ownerId());
+
+        // Verify
+        verify(repository, times(1)).save(orphan);
+
+    }
+
+    @Test
+    void backfill_ShouldInsertReservationOfEveryOwnerPageByPage() {
+
+        // Given
+        List<String> emails = List.of("first@example.com", "second@example.com", "third@example.com");
+        Pageable firstPageable = PageRequest.of(0, 2, Sort.by("id"));
+
+        // When
+        when(repository.insert(any(UserEmailEntity.class))).thenReturn(true);
+        when(repository.insert(argThat(entity -> entity != null && "second@example.com".equals(entity.ownerId()))))
+                .thenReturn(false);
+        when(repository.findById(UserEmailEntity.keyOf("second@example.com")))
+                .thenReturn(Optional.of(UserEmailEntity.of("second@example.com", "other-id")));
+
+        // Then
+        keyReservations.backfill(
+                pageable -> pageable.getPageNumber() == 0
+                        ? new PageImpl<>(emails.subList(0, 2), firstPageable, 3)
+                        : new PageImpl<>(emails.subList(2, 3), firstPageable.next(), 3),
+                2,
+                email -> email,
+                email -> email
+        );
+
+        // Verify
+        verify(repository, times(3)).insert(any(UserEmailEntity.class));
+        verify(repository, never()).save(any(UserEmailEntity.class));
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.example.todowithcouchbase.common.util;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link ConcurrentBloomFilter}.
+ * Ensures that added keys are always reported, that the false positive rate stays near the configured one,
+ * and that concurrent insertions are not lost.
+ */
+class ConcurrentBloomFilterTest extends AbstractBaseServiceTest {
+
+    @Test
+    void mightContain_ShouldReturnFalseForEmptyFilter() {
+        ConcurrentBloomFilter filter = new ConcurrentBloomFilter(100, 0.01);
+
+        assertFalse(filter.mightContain(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void mightContain_ShouldReturnTrueForEveryAddedKey() {
+        ConcurrentBloomFilter filter = new ConcurrentBloomFilter(10_000, 0.01);
+        String[] keys = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toArray(String[]::new);
+
+        for (String key : keys) {
+            filter.put(key);
+        }
+
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key), "Added key should be reported");
+        }
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositiveRateNearConfiguredProbability() {
+        ConcurrentBloomFilter filter = new ConcurrentBloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put(UUID.randomUUID().toString()));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+
+        assertTrue(falsePositives < 2_000, "False positive rate should stay close to 1%, was " + falsePositives);
+    }
+
+    @Test
+    void put_ShouldNotLoseKeysAddedConcurrently() {
+        ConcurrentBloomFilter filter = new ConcurrentBloomFilter(50_000, 0.01);
+        String[] keys = IntStream.range(0, 50_000).mapToObj(i -> UUID.randomUUID().toString()).toArray(String[]::new);
+
+        IntStream.range(0, keys.length).parallel().forEach(i -> filter.put(keys[i]));
+
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key), "Concurrently added key should be reported");
+        }
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentBloomFilter(100, 1.0));
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.example.todowithcouchbase.common.util;
+
+import com.example.todowithcouchbase.auth.model.enums.TokenClaims;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.ClaimAccessor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for utility methods in {@link CurrentUserUtil}.
+ * Ensures that the email is read from the claims of the authenticated principal and that
+ * requests without one are attributed to "anonymousUser".
+ */
+class CurrentUserUtilTest extends AbstractBaseServiceTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getEmail_ShouldReturnEmailClaimOfAuthenticatedPrincipal() {
+
+        // Given
+        ClaimAccessor principal = () -> Map.of(TokenClaims.USER_EMAIL.getValue(), "user@example.com");
+        SecurityContextHolder.getContext()
+                .setAuthentication(UsernamePasswordAuthenticationToken.authenticated(principal, null, List.of()));
+
+        // Then
+        assertEquals("user@example.com", CurrentUserUtil.getEmail());
+
+    }
+
+    @Test
+    void getEmail_ShouldReturnAnonymousUserWithoutAuthentication() {
+        assertEquals(CurrentUserUtil.ANONYMOUS_USER, CurrentUserUtil.getEmail());
+    }
+
+    @Test
+    void getEmail_ShouldReturnAnonymousUserForPrincipalWithoutClaims() {
+
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        // Then
+        assertEquals(CurrentUserUtil.ANONYMOUS_USER, CurrentUserUtil.getEmail());
+
+    }
+
+}
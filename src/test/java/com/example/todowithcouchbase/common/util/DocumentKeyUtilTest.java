@@ -0,0 +1,42 @@
+package com.example.todowithcouchbase.common.util;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link DocumentKeyUtil}.
+ * Ensures that short values are keyed as they are and that long values are keyed by a digest that fits
+ * into a Couchbase document key.
+ */
+class DocumentKeyUtilTest extends AbstractBaseServiceTest {
+
+    @Test
+    void keyOf_ShouldPrefixValueThatFits() {
+        assertEquals("name::Task", DocumentKeyUtil.keyOf("name::", "name-digest::", "Task"));
+    }
+
+    @Test
+    void keyOf_ShouldDigestValueThatDoesNotFit() {
+        String value = "ş".repeat(200);
+
+        String key = DocumentKeyUtil.keyOf("name::", "name-digest::", value);
+
+        assertTrue(key.startsWith("name-digest::"));
+        assertTrue(key.getBytes(StandardCharsets.UTF_8).length <= DocumentKeyUtil.MAX_KEY_BYTES);
+        assertEquals(key, DocumentKeyUtil.keyOf("name::", "name-digest::", value));
+        assertNotEquals(key, DocumentKeyUtil.keyOf("name::", "name-digest::", value + "ş"));
+    }
+
+    @Test
+    void keyOf_ShouldKeepLongestValueThatFits() {
+        String value = "a".repeat(DocumentKeyUtil.MAX_KEY_BYTES - "name::".length());
+
+        assertEquals("name::" + value, DocumentKeyUtil.keyOf("name::", "name-digest::", value));
+        assertTrue(DocumentKeyUtil.keyOf("name::", "name-digest::", value + "a").startsWith("name-digest::"));
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.example.todowithcouchbase.common.util;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link TokenBucket}.
+ * Ensures that a bucket lets a full burst through, refills at the configured rate, reports how long to wait
+ * when empty, and never hands out more tokens than it holds under concurrent use.
+ */
+class TokenBucketTest extends AbstractBaseServiceTest {
+
+    @Test
+    void tryAcquire_ShouldAllowBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(5, 1);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(now), "Token " + i + " should be granted");
+        }
+
+        long waitNanos = bucket.tryAcquire(now);
+        assertTrue(waitNanos > 0, "Empty bucket should report a wait");
+        assertTrue(waitNanos <= TimeUnit.SECONDS.toNanos(1), "Wait should not exceed one refill interval");
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(2, 10);
+        long now = System.nanoTime();
+
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now) > 0);
+
+        long oneRefillLater = now + TimeUnit.MILLISECONDS.toNanos(100);
+        assertEquals(0, bucket.tryAcquire(oneRefillLater));
+        assertTrue(bucket.tryAcquire(oneRefillLater) > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldNotExceedCapacityAfterLongIdle() {
+        TokenBucket bucket = new TokenBucket(3, 100);
+        long muchLater = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+
+        long granted = IntStream.range(0, 10).filter(i -> bucket.tryAcquire(muchLater) == 0).count();
+
+        assertEquals(3, granted);
+    }
+
+    @Test
+    void tryAcquire_ShouldNotGrantMoreThanCapacityConcurrently() {
+        TokenBucket bucket = new TokenBucket(1_000, 0.001);
+        long now = System.nanoTime();
+        AtomicInteger granted = new AtomicInteger();
+
+        IntStream.range(0, 10_000).parallel().forEach(i -> {
+            if (bucket.tryAcquire(now) == 0) {
+                granted.incrementAndGet();
+            }
+        });
+
+        assertEquals(1_000, granted.get());
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+
+}
@@ -5,9 +5,11 @@ import com.example.todowithcouchbase.common.model.CustomPage;
 import com.example.todowithcouchbase.common.model.CustomPaging;
 import com.example.todowithcouchbase.common.model.dto.response.CustomPagingResponse;
 import com.example.todowithcouchbase.task.exception.TaskNotFoundException;
+import com.example.todowithcouchbase.task.exception.TaskVersionMismatchException;
 import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
 import com.example.todowithcouchbase.task.model.Task;
 import com.example.todowithcouchbase.task.model.dto.request.GetTaskByNameRequest;
+import com.example.todowithcouchbase.task.model.dto.request.PatchTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.TaskPagingRequest;
 import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
@@ -157,7 +159,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
         Page<TaskEntity> taskEntityPage = new PageImpl<>(taskEntities, PageRequest.of(1, 1), taskEntities.size());
 
         List<Task> taskDomainModels = taskEntities.stream()
-                .map(entity -> new Task(entity.getId(), entity.getName()))
+                .map(entity -> Task.builder().id(entity.getId()).name(entity.getName()).build())
                 .collect(Collectors.toList());
 
         CustomPage<Task> taskPage = CustomPage.of(taskDomainModels, taskEntityPage);
@@ -208,7 +210,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
         Page<TaskEntity> taskEntityPage = new PageImpl<>(taskEntities, PageRequest.of(1, 1), taskEntities.size());
 
         List<Task> taskDomainModels = taskEntities.stream()
-                .map(entity -> new Task(entity.getId(), entity.getName()))
+                .map(entity -> Task.builder().id(entity.getId()).name(entity.getName()).build())
                 .collect(Collectors.toList());
 
         CustomPage<Task> taskPage = CustomPage.of(taskDomainModels, taskEntityPage);
@@ -359,6 +361,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
         final Task mockTask = Task.builder()
                 .id(UUID.randomUUID().toString())
                 .name(mockTaskName)
+                .version(1700000000000L)
                 .build();
 
         final TaskResponse expectedResponse = taskToTaskResponseMapper.map(mockTask);
@@ -374,6 +377,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 )
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1700000000000\""))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.response.id").value(expectedResponse.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.response.name").value(expectedResponse.getName()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(true))
@@ -519,7 +523,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .build();
 
         // When
-        Mockito.when(taskService.updateTaskById(Mockito.anyString(),Mockito.any(UpdateTaskRequest.class)))
+        Mockito.when(taskService.updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class), Mockito.any()))
                 .thenReturn(expectedTask);
 
         // Then
@@ -539,7 +543,190 @@ class TaskControllerTest extends AbstractRestControllerTest {
 
         // Verify
         Mockito.verify(taskService,Mockito.times(1))
-                .updateTaskById(Mockito.anyString(),any(UpdateTaskRequest.class));
+                .updateTaskById(Mockito.anyString(), any(UpdateTaskRequest.class), Mockito.any());
+
+    }
+
+    @Test
+    void givenMatchingIfMatch_whenUpdateTask_thenUpdateExpectedVersion() throws Exception {
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final UpdateTaskRequest request = UpdateTaskRequest.builder()
+                .name("task-name")
+                .build();
+
+        final Task expectedTask = Task.builder()
+                .id(mockId)
+                .name(request.getName())
+                .version(-2L)
+                .build();
+
+        // When
+        Mockito.when(taskService.updateTaskById(Mockito.eq(mockId), Mockito.any(UpdateTaskRequest.class), Mockito.eq(-1L)))
+                .thenReturn(expectedTask);
+
+        // Then
+        mockMvc.perform(
+                        MockMvcRequestBuilders
+                                .put("/api/v1/tasks/{id}", mockId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken())
+                                .header(HttpHeaders.IF_MATCH, "\"18446744073709551615\"")
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"18446744073709551614\""));
+
+        // Verify
+        Mockito.verify(taskService, Mockito.times(1))
+                .updateTaskById(Mockito.eq(mockId), Mockito.any(UpdateTaskRequest.class), Mockito.eq(-1L));
+
+    }
+
+    @Test
+    void givenOutdatedIfMatch_whenUpdateTask_thenReturnPreconditionFailed() throws Exception {
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final UpdateTaskRequest request = UpdateTaskRequest.builder()
+                .name("task-name")
+                .build();
+
+        // When
+        Mockito.when(taskService.updateTaskById(Mockito.eq(mockId), Mockito.any(UpdateTaskRequest.class), Mockito.eq(1L)))
+                .thenThrow(new TaskVersionMismatchException("With given id = " + mockId));
+
+        // Then
+        mockMvc.perform(
+                        MockMvcRequestBuilders
+                                .put("/api/v1/tasks/{id}", mockId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken())
+                                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.httpStatus").value("PRECONDITION_FAILED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(false));
+
+    }
+
+    @Test
+    void givenMalformedIfMatch_whenUpdateTask_thenReturnPreconditionFailed() throws Exception {
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final UpdateTaskRequest request = UpdateTaskRequest.builder()
+                .name("task-name")
+                .build();
+
+        // Then
+        mockMvc.perform(
+                        MockMvcRequestBuilders
+                                .put("/api/v1/tasks/{id}", mockId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken())
+                                .header(HttpHeaders.IF_MATCH, "\"not-a-version\"")
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        // Verify
+        Mockito.verify(taskService, Mockito.never()).updateTaskById(Mockito.anyString(), Mockito.any(), Mockito.any());
+
+    }
+
+    @Test
+    void givenValidPatchTaskRequest_whenAdminPatchesTask_thenReturnIdAndETag() throws Exception {
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final PatchTaskRequest request = PatchTaskRequest.builder()
+                .name("task-name")
+                .build();
+
+        // When
+        Mockito.when(taskService.patchTaskById(Mockito.eq(mockId), Mockito.any(PatchTaskRequest.class), Mockito.eq(3L)))
+                .thenReturn(4L);
+
+        // Then
+        mockMvc.perform(
+                        MockMvcRequestBuilders
+                                .patch("/api/v1/tasks/{id}", mockId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken())
+                                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.response").value(mockId))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(true));
+
+        // Verify
+        Mockito.verify(taskService, Mockito.times(1))
+                .patchTaskById(Mockito.eq(mockId), Mockito.any(PatchTaskRequest.class), Mockito.eq(3L));
+
+    }
+
+    @Test
+    void givenBlankName_whenPatchTask_thenReturnBadRequest() throws Exception {
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final PatchTaskRequest request = PatchTaskRequest.builder()
+                .name("  ")
+                .build();
+
+        // Then
+        mockMvc.perform(
+                        MockMvcRequestBuilders
+                                .patch("/api/v1/tasks/{id}", mockId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken())
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        // Verify
+        Mockito.verify(taskService, Mockito.never()).patchTaskById(Mockito.anyString(), Mockito.any(), Mockito.any());
+
+    }
+
+    @Test
+    void givenValidPatchTaskRequest_whenUserPatchesTask_thenForbidden() throws Exception {
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final PatchTaskRequest request = PatchTaskRequest.builder()
+                .name("task-name")
+                .build();
+
+        // Then
+        mockMvc.perform(
+                        MockMvcRequestBuilders
+                                .patch("/api/v1/tasks/{id}", mockId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockUserToken.getAccessToken())
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        // Verify
+        Mockito.verify(taskService, Mockito.never()).patchTaskById(Mockito.anyString(), Mockito.any(), Mockito.any());
 
     }
 
@@ -554,7 +741,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .build();
 
         // When
-        Mockito.when(taskService.updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class)))
+        Mockito.when(taskService.updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class), Mockito.any()))
                 .thenThrow(new TaskWithThisNameAlreadyExistException("With given task name = " + request.getName()));
 
         // Then
@@ -573,7 +760,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
 
         // Verify
         Mockito.verify(taskService, Mockito.times(1))
-                .updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class));
+                .updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class), Mockito.any());
 
     }
 
@@ -590,7 +777,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
         final String expectedMessage = "Task not found!\n Task not found with ID: " + nonExistentTaskId;
 
         // When
-        Mockito.when(taskService.updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class)))
+        Mockito.when(taskService.updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class), Mockito.any()))
                 .thenThrow(new TaskNotFoundException("Task not found with ID: " + nonExistentTaskId));
 
         // Then
@@ -608,7 +795,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(false));
 
         // Verify
-        Mockito.verify(taskService, Mockito.times(1)).updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class));
+        Mockito.verify(taskService, Mockito.times(1)).updateTaskById(Mockito.anyString(), Mockito.any(UpdateTaskRequest.class), Mockito.any());
 
     }
 
@@ -632,7 +819,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isForbidden());
 
         // Verify
-        Mockito.verify(taskService,Mockito.never()).updateTaskById(Mockito.anyString(),Mockito.any());
+        Mockito.verify(taskService,Mockito.never()).updateTaskById(Mockito.anyString(),Mockito.any(),Mockito.any());
 
     }
 
@@ -654,7 +841,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isUnauthorized());
 
         // Verify
-        Mockito.verify(taskService,Mockito.never()).updateTaskById(Mockito.anyString(),Mockito.any());
+        Mockito.verify(taskService,Mockito.never()).updateTaskById(Mockito.anyString(),Mockito.any(),Mockito.any());
 
     }
 
@@ -664,7 +851,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
         final String taskId = UUID.randomUUID().toString();
 
         // When
-        Mockito.doNothing().when(taskService).deleteTaskById(taskId);
+        Mockito.doNothing().when(taskService).deleteTaskById(taskId, null);
 
         // Then
         mockMvc.perform(MockMvcRequestBuilders
@@ -677,7 +864,31 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.response").value("Task with id " + taskId + "is deleted"));
 
         // Verify
-        Mockito.verify(taskService, Mockito.times(1)).deleteTaskById(taskId);
+        Mockito.verify(taskService, Mockito.times(1)).deleteTaskById(taskId, null);
+
+    }
+
+    @Test
+    void givenOutdatedIfMatch_whenAdminDeletesTask_thenReturnPreconditionFailed() throws Exception {
+
+        // Given
+        final String taskId = UUID.randomUUID().toString();
+
+        // When
+        Mockito.doThrow(new TaskVersionMismatchException("With given id = " + taskId))
+                .when(taskService).deleteTaskById(taskId, 1L);
+
+        // Then
+        mockMvc.perform(MockMvcRequestBuilders
+                        .delete("/api/v1/tasks/{id}", taskId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + mockAdminToken.getAccessToken())
+                        .header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isSuccess").value(false));
+
+        // Verify
+        Mockito.verify(taskService, Mockito.times(1)).deleteTaskById(taskId, 1L);
 
     }
 
@@ -695,7 +906,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isForbidden());
 
         // Verify
-        Mockito.verify(taskService, Mockito.never()).deleteTaskById(taskId);
+        Mockito.verify(taskService, Mockito.never()).deleteTaskById(taskId, null);
 
     }
 
@@ -712,7 +923,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isUnauthorized());
 
         // Verify
-        Mockito.verify(taskService, Mockito.never()).deleteTaskById(taskId);
+        Mockito.verify(taskService, Mockito.never()).deleteTaskById(taskId, null);
 
     }
 
@@ -725,7 +936,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
 
         // When
         Mockito.doThrow(new TaskNotFoundException())
-                .when(taskService).deleteTaskById(taskId);
+                .when(taskService).deleteTaskById(taskId, null);
 
         // Then
         mockMvc.perform(MockMvcRequestBuilders
@@ -738,7 +949,7 @@ class TaskControllerTest extends AbstractRestControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.message").value(expectedMessage));
 
         // Verify
-        Mockito.verify(taskService, Mockito.times(1)).deleteTaskById(taskId);
+        Mockito.verify(taskService, Mockito.times(1)).deleteTaskById(taskId, null);
 
     }
 
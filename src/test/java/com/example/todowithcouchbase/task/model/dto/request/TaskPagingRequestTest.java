@@ -0,0 +1,104 @@
+package com.example.todowithcouchbase.task.model.dto.request;
+
+import com.example.todowithcouchbase.common.model.CustomPaging;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for verifying the validation of {@link TaskPagingRequest}.
+ * Ensures that the constraints of the nested {@link CustomPaging} are applied to the request.
+ */
+class TaskPagingRequestTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void validate_ShouldAcceptNumberedPage() {
+
+        TaskPagingRequest request = request(CustomPaging.builder().pageNumber(1).pageSize(10).build());
+
+        assertTrue(validator.validate(request).isEmpty());
+
+    }
+
+    @Test
+    void validate_ShouldAcceptCursorPage() {
+
+        TaskPagingRequest request = request(CustomPaging.builder().pageSize(10).cursor("cursor").build());
+
+        assertTrue(validator.validate(request).isEmpty());
+
+    }
+
+    @Test
+    void validate_ShouldRejectPageNumberTogetherWithCursor() {
+
+        TaskPagingRequest request = request(CustomPaging.builder().pageNumber(1).pageSize(10).cursor("cursor").build());
+
+        assertEquals(Set.of("Page number and cursor cannot be used together"), messages(request));
+
+    }
+
+    @Test
+    void validate_ShouldRejectMissingPageSize() {
+
+        TaskPagingRequest request = request(CustomPaging.builder().cursor("cursor").build());
+
+        assertEquals(Set.of("Page size must not be null"), messages(request));
+
+    }
+
+    @Test
+    void validate_ShouldRejectPageNumberAndSizeBelowOne() {
+
+        TaskPagingRequest request = request(CustomPaging.builder().pageNumber(0).pageSize(0).build());
+
+        assertEquals(Set.of("Page number must be bigger than 0", "Page size must be bigger than 0"), messages(request));
+
+    }
+
+    @Test
+    void validate_ShouldRejectMissingPagination() {
+
+        TaskPagingRequest request = TaskPagingRequest.builder().build();
+
+        assertEquals(Set.of("Pagination must not be null"), messages(request));
+
+    }
+
+    private static TaskPagingRequest request(final CustomPaging customPaging) {
+        return TaskPagingRequest.builder()
+                .pagination(customPaging)
+                .build();
+    }
+
+    private static Set<String> messages(final TaskPagingRequest request) {
+        return validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toSet());
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.example.todowithcouchbase.task.repository;
+
+import com.couchbase.client.core.error.DocumentExistsException;
+import com.couchbase.client.core.error.context.ErrorContext;
+import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.ReactiveCollection;
+import com.couchbase.client.java.kv.InsertOptions;
+import com.couchbase.client.java.kv.MutationResult;
+import com.couchbase.client.java.kv.ReplaceOptions;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.common.config.CouchbaseEntityListener;
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.couchbase.CouchbaseClientFactory;
+import org.springframework.data.couchbase.core.CouchbaseExceptionTranslator;
+import org.springframework.data.couchbase.core.CouchbaseTemplate;
+import org.springframework.data.couchbase.core.convert.CouchbaseCustomConversions;
+import org.springframework.data.couchbase.core.convert.MappingCouchbaseConverter;
+import org.springframework.data.couchbase.core.mapping.CouchbaseMappingContext;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TaskNameRepositoryCustomImpl}.
+ * It writes reservation documents through a real {@link CouchbaseTemplate} whose mapping events reach the real
+ * {@link CouchbaseEntityListener}, and mocks only the collection the template writes to.
+ */
+class TaskNameRepositoryCustomImplTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private CouchbaseClientFactory couchbaseClientFactory;
+
+    @Mock
+    private Collection collection;
+
+    @Mock
+    private ReactiveCollection reactiveCollection;
+
+    @Mock
+    private MutationResult mutationResult;
+
+    private AnnotationConfigApplicationContext applicationContext;
+
+    private CouchbaseTemplate couchbaseTemplate;
+
+    private TaskNameRepositoryCustomImpl taskNameRepository;
+
+    @BeforeEach
+    void setUp() {
+
+        when(couchbaseClientFactory.withScope(anyString())).thenReturn(couchbaseClientFactory);
+        when(couchbaseClientFactory.getCollection(anyString())).thenReturn(collection);
+        when(couchbaseClientFactory.getExceptionTranslator()).thenReturn(new CouchbaseExceptionTranslator());
+        when(collection.reactive()).thenReturn(reactiveCollection);
+
+        final CouchbaseCustomConversions customConversions = new CouchbaseCustomConversions(List.of());
+        final CouchbaseMappingContext mappingContext = new CouchbaseMappingContext();
+        mappingContext.setSimpleTypeHolder(customConversions.getSimpleTypeHolder());
+        final MappingCouchbaseConverter converter = new MappingCouchbaseConverter(mappingContext);
+        converter.setCustomConversions(customConversions);
+        converter.afterPropertiesSet();
+        couchbaseTemplate = new CouchbaseTemplate(couchbaseClientFactory, converter);
+
+        applicationContext = new AnnotationConfigApplicationContext(CouchbaseEntityListener.class);
+        couchbaseTemplate.setApplicationContext(applicationContext);
+
+        taskNameRepository = new TaskNameRepositoryCustomImpl(couchbaseTemplate);
+
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationContext.close();
+    }
+
+    @Test
+    void insert_ShouldInsertReservationDocumentThroughAuditListener() {
+
+        // Given
+        final TaskNameEntity taskNameEntity = TaskNameEntity.of("Task", "task-id");
+
+        // When
+        when(mutationResult.cas()).thenReturn(42L);
+        when(reactiveCollection.insert(eq(TaskNameEntity.keyOf("Task")), any(), any(InsertOptions.class)))
+                .thenReturn(Mono.just(mutationResult));
+
+        // Then
+        assertTrue(taskNameRepository.insert(taskNameEntity));
+        assertEquals(42L, taskNameEntity.getVersion());
+
+        // Verify
+        verify(reactiveCollection, times(1))
+                .insert(eq(TaskNameEntity.keyOf("Task")), any(), any(InsertOptions.class));
+
+    }
+
+    @Test
+    void insert_ShouldReportReservedNameAsFailedInsert() {
+
+        // Given
+        final TaskNameEntity taskNameEntity = TaskNameEntity.of("Task", "task-id");
+
+        // When
+        when(reactiveCollection.insert(anyString(), any(), any(InsertOptions.class)))
+                .thenReturn(Mono.error(new DocumentExistsException((ErrorContext) null)));
+
+        // Then
+        assertFalse(taskNameRepository.insert(taskNameEntity));
+
+    }
+
+    @Test
+    void replace_ShouldSaveTakenOverReservationDocumentThroughAuditListener() {
+
+        // Given
+        final TaskNameEntity taskNameEntity = TaskNameEntity.of("Task", "task-id");
+        taskNameEntity.setVersion(42L);
+
+        // When
+        when(mutationResult.cas()).thenReturn(43L);
+        when(reactiveCollection.replace(eq(TaskNameEntity.keyOf("Task")), any(), any(ReplaceOptions.class)))
+                .thenReturn(Mono.just(mutationResult));
+
+        // Then
+        couchbaseTemplate.replaceById(TaskNameEntity.class).one(taskNameEntity);
+        assertEquals(43L, taskNameEntity.getVersion());
+
+        // Verify
+        verify(reactiveCollection, times(1))
+                .replace(eq(TaskNameEntity.keyOf("Task")), any(), any(ReplaceOptions.class));
+
+    }
+
+}
@@ -0,0 +1,236 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.builder.TaskEntityBuilder;
+import com.example.todowithcouchbase.common.config.ChangeFeedProperties;
+import com.example.todowithcouchbase.common.feed.ChangeFeed;
+import com.example.todowithcouchbase.common.feed.ChangeFeedPoller;
+import com.example.todowithcouchbase.common.feed.InMemoryChangeFeed;
+import com.example.todowithcouchbase.task.config.TaskProperties;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TaskCacheServiceImpl}.
+ * This test class verifies that tasks are read once by ID and by name and then served from the cache,
+ * that invalidating a task by its ID also covers its names, that invalidations reach other instances through
+ * the change feed, and that the cache is bypassed while the feed may have missed changes or is turned off.
+ * It mocks the {@link TaskRepository} to count the task reads and the {@link ChangeFeed} to count the publications.
+ */
+class TaskCacheServiceImplTest extends AbstractBaseServiceTest {
+
+    private TaskCacheServiceImpl taskCacheService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ChangeFeed changeFeed;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final String taskId = UUID.randomUUID().toString();
+
+    private final TaskEntity taskEntity = new TaskEntityBuilder().withId(taskId).withName("task").build();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskCacheService = new TaskCacheServiceImpl(taskRepository, changeFeed, new TaskProperties(), meterRegistry);
+        taskCacheService.onReset();
+    }
+
+    @Test
+    void findById_ShouldReadTaskOnlyOnFirstUse() {
+
+        // When
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskEntity));
+
+        // Then
+        assertSame(taskEntity, taskCacheService.findById(taskId).orElseThrow());
+        assertSame(taskEntity, taskCacheService.findById(taskId).orElseThrow());
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", TaskCacheServiceImpl.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", TaskCacheServiceImpl.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+
+        // Verify
+        verify(taskRepository, times(1)).findById(taskId);
+
+    }
+
+    @Test
+    void findById_ShouldNotCacheUnknownTask() {
+
+        // When
+        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+
+        // Then
+        assertTrue(taskCacheService.findById(taskId).isEmpty());
+        assertTrue(taskCacheService.findById(taskId).isEmpty());
+
+        // Verify
+        verify(taskRepository, times(2)).findById(taskId);
+
+    }
+
+    @Test
+    void findByName_ShouldResolveNameOnlyOnFirstUse() {
+
+        // When
+        when(taskRepository.findTaskByName("task")).thenReturn(Optional.of(taskEntity));
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskEntity));
+
+        // Then
+        assertSame(taskEntity, taskCacheService.findByName("task").orElseThrow());
+        assertSame(taskEntity, taskCacheService.findByName("task").orElseThrow());
+        assertSame(taskEntity, taskCacheService.findById(taskId).orElseThrow());
+
+        // Verify
+        verify(taskRepository, times(1)).findTaskByName("task");
+        verify(taskRepository, times(1)).findById(taskId);
+
+    }
+
+    @Test
+    void invalidate_ShouldReloadTaskByIdAndName() {
+
+        // Given
+        final TaskEntity renamedTaskEntity = new TaskEntityBuilder().withId(taskId).withName("renamed").build();
+
+        // When
+        when(taskRepository.findTaskByName("task")).thenReturn(Optional.of(taskEntity), Optional.empty());
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskEntity), Optional.of(renamedTaskEntity));
+
+        taskCacheService.findByName("task");
+        taskCacheService.invalidate(taskId);
+
+        // Then
+        assertTrue(taskCacheService.findByName("task").isEmpty());
+        assertSame(renamedTaskEntity, taskCacheService.findById(taskId).orElseThrow());
+
+        // Verify
+        verify(taskRepository, times(2)).findTaskByName("task");
+        verify(taskRepository, times(2)).findById(taskId);
+        verify(changeFeed, times(1)).publish(TaskCacheServiceImpl.TASK_CHANGES_TOPIC, Set.of(taskId));
+
+    }
+
+    @Test
+    void invalidate_ShouldNotFailWhenPublicationFails() {
+
+        // When
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskEntity));
+        when(changeFeed.publish(TaskCacheServiceImpl.TASK_CHANGES_TOPIC, Set.of(taskId)))
+                .thenThrow(new IllegalStateException("Change feed is unavailable"));
+
+        taskCacheService.findById(taskId);
+
+        // Then
+        assertDoesNotThrow(() -> taskCacheService.invalidate(taskId));
+        taskCacheService.findById(taskId);
+
+        // Verify
+        verify(taskRepository, times(2)).findById(taskId);
+
+    }
+
+    @Test
+    void onChanges_ShouldDropTasksWrittenOnOtherInstances() {
+
+        // When
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskEntity));
+
+        taskCacheService.findById(taskId);
+        taskCacheService.onChanges(Set.of(taskId));
+
+        // Then
+        taskCacheService.findById(taskId);
+
+        // Verify
+        verify(taskRepository, times(2)).findById(taskId);
+
+    }
+
+    @Test
+    void invalidate_ShouldReachOtherInstanceThroughChangeFeed() {
+
+        // Given
+        final InMemoryChangeFeed sharedChangeFeed = new InMemoryChangeFeed();
+        final TaskCacheServiceImpl writingInstance = new TaskCacheServiceImpl(
+                taskRepository, sharedChangeFeed, new TaskProperties(), new SimpleMeterRegistry());
+        final TaskCacheServiceImpl readingInstance = new TaskCacheServiceImpl(
+                taskRepository, sharedChangeFeed, new TaskProperties(), new SimpleMeterRegistry());
+        final ChangeFeedPoller readingPoller = new ChangeFeedPoller(
+                sharedChangeFeed, List.of(readingInstance), new ChangeFeedProperties(), meterRegistry);
+        ReflectionTestUtils.invokeMethod(readingPoller, "poll");
+
+        final TaskEntity renamedTaskEntity = new TaskEntityBuilder().withId(taskId).withName("renamed").build();
+
+        // When
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskEntity), Optional.of(renamedTaskEntity));
+
+        assertSame(taskEntity, readingInstance.findById(taskId).orElseThrow());
+        writingInstance.invalidate(taskId);
+        ReflectionTestUtils.invokeMethod(readingPoller, "poll");
+
+        // Then
+        assertSame(renamedTaskEntity, readingInstance.findById(taskId).orElseThrow());
+        assertEquals(1, meterRegistry.get("change.feed.lag")
+                .tag("topic", TaskCacheServiceImpl.TASK_CHANGES_TOPIC).timer().count());
+
+    }
+
+    @Test
+    void findById_ShouldBypassCacheWhileStale() {
+
+        // When
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskEntity));
+
+        taskCacheService.onStale();
+
+        // Then
+        taskCacheService.findById(taskId);
+        taskCacheService.findById(taskId);
+
+        // Verify
+        verify(taskRepository, times(2)).findById(taskId);
+
+    }
+
+    @Test
+    void findById_ShouldReadEveryTimeWhenDisabled() {
+
+        // Given
+        final TaskProperties taskProperties = new TaskProperties();
+        taskProperties.getCache().setEnabled(false);
+        taskCacheService = new TaskCacheServiceImpl(taskRepository, changeFeed, taskProperties, new SimpleMeterRegistry());
+        taskCacheService.onReset();
+
+        // When
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(taskEntity));
+
+        // Then
+        taskCacheService.findById(taskId);
+        taskCacheService.findById(taskId);
+
+        // Verify
+        verify(taskRepository, times(2)).findById(taskId);
+
+    }
+
+}
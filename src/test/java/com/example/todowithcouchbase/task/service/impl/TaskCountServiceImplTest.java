@@ -0,0 +1,134 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.couchbase.client.core.error.DocumentExistsException;
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.core.error.TimeoutException;
+import com.couchbase.client.java.BinaryCollection;
+import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.Scope;
+import com.couchbase.client.java.kv.GetResult;
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.common.config.CouchbaseProperties;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TaskCountServiceImpl}.
+ * It mocks the task collection to check that the counter is adjusted atomically, that failed adjustments do not
+ * fail the caller, and that a missing counter is seeded with an exact count once.
+ */
+class TaskCountServiceImplTest extends AbstractBaseServiceTest {
+
+    private TaskCountServiceImpl taskCountService;
+
+    @Mock
+    private Scope taskScope;
+
+    @Mock
+    private Collection collection;
+
+    @Mock
+    private BinaryCollection binaryCollection;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+
+        CouchbaseProperties couchbaseProperties = new CouchbaseProperties();
+        couchbaseProperties.setCollections(new CouchbaseProperties.Collections());
+        couchbaseProperties.getCollections().setTaskCollection("task-collection");
+
+        when(taskScope.collection("task-collection")).thenReturn(collection);
+        lenient().when(collection.binary()).thenReturn(binaryCollection);
+
+        taskCountService = new TaskCountServiceImpl(taskScope, couchbaseProperties, taskRepository);
+
+    }
+
+    @Test
+    void incrementAndDecrement_ShouldAdjustCounter() {
+
+        // When
+        taskCountService.increment();
+        taskCountService.decrement();
+
+        // Verify
+        verify(binaryCollection, times(1)).increment(TaskCountServiceImpl.COUNTER_KEY);
+        verify(binaryCollection, times(1)).decrement(TaskCountServiceImpl.COUNTER_KEY);
+
+    }
+
+    @Test
+    void increment_ShouldNotFailWhenCounterCannotBeAdjusted() {
+
+        // When
+        when(binaryCollection.increment(TaskCountServiceImpl.COUNTER_KEY)).thenThrow(mock(TimeoutException.class));
+        when(binaryCollection.decrement(TaskCountServiceImpl.COUNTER_KEY)).thenThrow(mock(DocumentNotFoundException.class));
+
+        // Then
+        assertDoesNotThrow(() -> taskCountService.increment());
+        assertDoesNotThrow(() -> taskCountService.decrement());
+
+    }
+
+    @Test
+    void getApproximateCount_ShouldReadCounter() {
+
+        // Given
+        GetResult getResult = mock(GetResult.class);
+
+        // When
+        when(collection.get(TaskCountServiceImpl.COUNTER_KEY)).thenReturn(getResult);
+        when(getResult.contentAs(Long.class)).thenReturn(42L);
+
+        // Then
+        assertEquals(42L, taskCountService.getApproximateCount());
+
+        // Verify
+        verifyNoInteractions(taskRepository);
+
+    }
+
+    @Test
+    void getApproximateCount_ShouldSeedMissingCounterWithExactCount() {
+
+        // When
+        when(collection.get(TaskCountServiceImpl.COUNTER_KEY)).thenThrow(mock(DocumentNotFoundException.class));
+        when(taskRepository.count()).thenReturn(7L);
+
+        // Then
+        assertEquals(7L, taskCountService.getApproximateCount());
+
+        // Verify
+        verify(collection, times(1)).insert(TaskCountServiceImpl.COUNTER_KEY, 7L);
+
+    }
+
+    @Test
+    void getApproximateCount_ShouldReadCounterSeededConcurrently() {
+
+        // Given
+        GetResult getResult = mock(GetResult.class);
+
+        // When
+        when(collection.get(TaskCountServiceImpl.COUNTER_KEY))
+                .thenThrow(mock(DocumentNotFoundException.class))
+                .thenReturn(getResult);
+        when(taskRepository.count()).thenReturn(7L);
+        when(collection.insert(any(String.class), any())).thenThrow(mock(DocumentExistsException.class));
+        when(getResult.contentAs(Long.class)).thenReturn(8L);
+
+        // Then
+        assertEquals(8L, taskCountService.getApproximateCount());
+
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.builder.TaskEntityBuilder;
+import com.example.todowithcouchbase.task.config.TaskProperties;
+import com.example.todowithcouchbase.task.model.entity.TaskEntity;
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import com.example.todowithcouchbase.task.repository.TaskNameRepository;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TaskNameReservationBackfillServiceImpl}.
+ * This test class verifies that a name reservation is inserted for every task, page by page,
+ * and that tasks whose reservation already exists are left alone.
+ * It mocks the {@link TaskRepository} and {@link TaskNameRepository} to simulate the task collection.
+ */
+class TaskNameReservationBackfillServiceImplTest extends AbstractBaseServiceTest {
+
+    @InjectMocks
+    private TaskNameReservationBackfillServiceImpl taskNameReservationBackfillService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskNameRepository taskNameRepository;
+
+    @Mock
+    private TaskProperties taskProperties;
+
+    @Test
+    void backfill_ShouldInsertMissingReservationsPageByPage() {
+
+        // Given
+        TaskProperties.NameReservationBackfill backfillProperties = new TaskProperties.NameReservationBackfill();
+        backfillProperties.setBatchSize(2);
+
+        TaskEntity first = new TaskEntityBuilder().withId("first-id").withName("first").build();
+        TaskEntity second = new TaskEntityBuilder().withId("second-id").withName("second").build();
+        TaskEntity third = new TaskEntityBuilder().withId("third-id").withName("third").build();
+
+        Pageable firstPageable = PageRequest.of(0, 2, Sort.by("id"));
+
+        // When
+        when(taskProperties.getNameReservationBackfill()).thenReturn(backfillProperties);
+        when(taskRepository.findAll(firstPageable))
+                .thenReturn(new PageImpl<>(List.of(first, second), firstPageable, 3));
+        when(taskRepository.findAll(firstPageable.next()))
+                .thenReturn(new PageImpl<>(List.of(third), firstPageable.next(), 3));
+        when(taskNameRepository.insert(any(TaskNameEntity.class))).thenReturn(true);
+        when(taskNameRepository.insert(argThat(entity -> entity != null && second.getId().equals(entity.getTaskId()))))
+                .thenReturn(false);
+        when(taskNameRepository.findById(TaskNameEntity.keyOf(second.getName())))
+                .thenReturn(Optional.of(TaskNameEntity.of(second.getName(), second.getId())));
+
+        // Then
+        taskNameReservationBackfillService.backfill();
+
+        // Verify
+        verify(taskRepository, times(2)).findAll(any(Pageable.class));
+        verify(taskNameRepository, times(3)).insert(any(TaskNameEntity.class));
+        verify(taskNameRepository, never()).save(any(TaskNameEntity.class));
+
+    }
+
+    @Test
+    void backfillOnStartup_ShouldDoNothingWhenDisabled() {
+
+        // Given
+        TaskProperties.NameReservationBackfill backfillProperties = new TaskProperties.NameReservationBackfill();
+
+        // When
+        when(taskProperties.getNameReservationBackfill()).thenReturn(backfillProperties);
+
+        // Then
+        taskNameReservationBackfillService.backfillOnStartup();
+
+        // Verify
+        verifyNoInteractions(taskRepository, taskNameRepository);
+
+    }
+
+}
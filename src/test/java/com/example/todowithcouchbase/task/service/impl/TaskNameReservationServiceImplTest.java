@@ -0,0 +1,196 @@
+package com.example.todowithcouchbase.task.service.impl;
+
+import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
+import com.example.todowithcouchbase.builder.TaskEntityBuilder;
+import com.example.todowithcouchbase.task.config.TaskProperties;
+import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
+import com.example.todowithcouchbase.task.model.entity.TaskNameEntity;
+import com.example.todowithcouchbase.task.repository.TaskNameRepository;
+import com.example.todowithcouchbase.task.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TaskNameReservationServiceImpl}.
+ * This test class verifies that task names are reserved with an atomic insert, that names held by other tasks
+ * are rejected and that orphaned reservations are taken over once they time out.
+ * It mocks the {@link TaskNameRepository} and {@link TaskRepository} to simulate the task collection.
+ */
+class TaskNameReservationServiceImplTest extends AbstractBaseServiceTest {
+
+    private TaskNameReservationServiceImpl taskNameReservationService;
+
+    @Mock
+    private TaskNameRepository taskNameRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskProperties taskProperties;
+
+    @BeforeEach
+    void setUp() {
+        taskProperties = new TaskProperties();
+        taskNameReservationService = new TaskNameReservationServiceImpl(taskNameRepository, taskRepository, taskProperties);
+    }
+
+    @Test
+    void reserveName_ShouldInsertReservationDocument() {
+
+        // Given
+        taskProperties.getNameReservation().setQueryFallbackEnabled(false);
+        String name = "new task";
+
+        // When
+        when(taskNameRepository.insert(any(TaskNameEntity.class))).thenReturn(true);
+
+        // Then
+        taskNameReservationService.reserveName(name, "task-id");
+
+        // Verify
+        verify(taskNameRepository).insert(argThat(entity ->
+                TaskNameEntity.keyOf(name).equals(entity.getId()) && "task-id".equals(entity.getTaskId())
+        ));
+        verify(taskRepository, never()).existsByName(anyString());
+
+    }
+
+    @Test
+    void reserveName_ShouldRejectNameOfTaskWithoutReservation() {
+
+        // Given
+        String name = "legacy task";
+
+        // When
+        when(taskRepository.existsByName(name)).thenReturn(true);
+
+        // Then
+        assertThrows(TaskWithThisNameAlreadyExistException.class,
+                () -> taskNameReservationService.reserveName(name, "task-id"));
+
+        // Verify
+        verify(taskNameRepository, never()).insert(any(TaskNameEntity.class));
+
+    }
+
+    @Test
+    void reserveName_ShouldRejectNameReservedByExistingTask() {
+
+        // Given
+        taskProperties.getNameReservation().setQueryFallbackEnabled(false);
+        String name = "taken task";
+        TaskNameEntity existing = TaskNameEntity.of(name, "owner-id");
+        existing.setReservedAt(Instant.now().minusSeconds(3600));
+
+        // When
+        when(taskNameRepository.insert(any(TaskNameEntity.class))).thenReturn(false);
+        when(taskNameRepository.findById(TaskNameEntity.keyOf(name))).thenReturn(Optional.of(existing));
+        when(taskRepository.findById("owner-id"))
+                .thenReturn(Optional.of(new TaskEntityBuilder().withId("owner-id").withName(name).build()));
+
+        // Then
+        assertThrows(TaskWithThisNameAlreadyExistException.class,
+                () -> taskNameReservationService.reserveName(name, "task-id"));
+
+        // Verify
+        verify(taskNameRepository, never()).save(any(TaskNameEntity.class));
+
+    }
+
+    @Test
+    void reserveName_ShouldRejectRecentReservationOfUnsavedTask() {
+
+        // Given
+        taskProperties.getNameReservation().setQueryFallbackEnabled(false);
+        String name = "pending task";
+
+        // When
+        when(taskNameRepository.insert(any(TaskNameEntity.class))).thenReturn(false);
+        when(taskNameRepository.findById(TaskNameEntity.keyOf(name)))
+                .thenReturn(Optional.of(TaskNameEntity.of(name, "pending-id")));
+
+        // Then
+        assertThrows(TaskWithThisNameAlreadyExistException.class,
+                () -> taskNameReservationService.reserveName(name, "task-id"));
+
+        // Verify
+        verify(taskRepository, never()).findById(anyString());
+        verify(taskNameRepository, never()).save(any(TaskNameEntity.class));
+
+    }
+
+    @Test
+    void reserveName_ShouldTakeOverTimedOutReservationOfRenamedTask() {
+
+        // Given
+        taskProperties.getNameReservation().setQueryFallbackEnabled(false);
+        String name = "orphan task";
+        TaskNameEntity orphan = TaskNameEntity.of(name, "orphan-id");
+        orphan.setReservedAt(Instant.now().minusSeconds(3600));
+
+        // When
+        when(taskNameRepository.insert(any(TaskNameEntity.class))).thenReturn(false);
+        when(taskNameRepository.findById(TaskNameEntity.keyOf(name))).thenReturn(Optional.of(orphan));
+        when(taskRepository.findById("orphan-id"))
+                .thenReturn(Optional.of(new TaskEntityBuilder().withId("orphan-id").withName("renamed task").build()));
+
+        // Then
+        taskNameReservationService.reserveName(name, "task-id");
+
+        // Verify
+        verify(taskNameRepository).save(argThat(entity -> "task-id".equals(entity.getTaskId())));
+
+    }
+
+    @Test
+    void reserveName_ShouldRejectWhenOrphanTakeOverLosesRace() {
+
+        // Given
+        taskProperties.getNameReservation().setQueryFallbackEnabled(false);
+        String name = "orphan task";
+        TaskNameEntity orphan = TaskNameEntity.of(name, "orphan-id");
+        orphan.setReservedAt(Instant.now().minusSeconds(3600));
+
+        // When
+        when(taskNameRepository.insert(any(TaskNameEntity.class))).thenReturn(false);
+        when(taskNameRepository.findById(TaskNameEntity.keyOf(name))).thenReturn(Optional.of(orphan));
+        when(taskRepository.findById("orphan-id")).thenReturn(Optional.empty());
+        when(taskNameRepository.save(any(TaskNameEntity.class)))
+                .thenThrow(new OptimisticLockingFailureException("CAS mismatch"));
+
+        // Then
+        assertThrows(TaskWithThisNameAlreadyExistException.class,
+                () -> taskNameReservationService.reserveName(name, "task-id"));
+
+    }
+
+    @Test
+    void releaseName_ShouldDeleteOnlyOwnReservation() {
+
+        // Given
+        String name = "released task";
+        TaskNameEntity reservation = TaskNameEntity.of(name, "task-id");
+
+        // When
+        when(taskNameRepository.findById(TaskNameEntity.keyOf(name))).thenReturn(Optional.of(reservation));
+
+        // Then
+        taskNameReservationService.releaseName(name, "other-task-id");
+        taskNameReservationService.releaseName(name, "task-id");
+
+        // Verify
+        verify(taskNameRepository, times(1)).delete(reservation);
+
+    }
+
+}
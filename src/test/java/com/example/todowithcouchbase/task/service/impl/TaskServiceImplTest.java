@@ -4,12 +4,17 @@ import com.example.todowithcouchbase.base.AbstractBaseServiceTest;
 import com.example.todowithcouchbase.builder.SaveTaskRequestBuilder;
 import com.example.todowithcouchbase.builder.TaskEntityBuilder;
 import com.example.todowithcouchbase.builder.UpdateTaskRequestBuilder;
+import com.example.todowithcouchbase.common.exception.InvalidCursorException;
+import com.example.todowithcouchbase.common.model.CustomCursor;
 import com.example.todowithcouchbase.common.model.CustomPage;
 import com.example.todowithcouchbase.common.model.CustomPaging;
+import com.example.todowithcouchbase.common.model.enums.CountMode;
 import com.example.todowithcouchbase.task.exception.TaskNotFoundException;
+import com.example.todowithcouchbase.task.exception.TaskVersionMismatchException;
 import com.example.todowithcouchbase.task.exception.TaskWithThisNameAlreadyExistException;
 import com.example.todowithcouchbase.task.model.Task;
 import com.example.todowithcouchbase.task.model.dto.request.GetTaskByNameRequest;
+import com.example.todowithcouchbase.task.model.dto.request.PatchTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.SaveTaskRequest;
 import com.example.todowithcouchbase.task.model.dto.request.TaskPagingRequest;
 import com.example.todowithcouchbase.task.model.dto.request.UpdateTaskRequest;
@@ -18,18 +23,28 @@ import com.example.todowithcouchbase.task.model.mapper.ListTaskEntityToListTaskM
 import com.example.todowithcouchbase.task.model.mapper.SaveTaskRequestToTaskEntityMapper;
 import com.example.todowithcouchbase.task.model.mapper.TaskEntityToTaskMapper;
 import com.example.todowithcouchbase.task.repository.TaskRepository;
+import com.example.todowithcouchbase.task.service.TaskCacheService;
+import com.example.todowithcouchbase.task.service.TaskCountService;
+import com.example.todowithcouchbase.task.service.TaskNameReservationService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -46,6 +61,15 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskCountService taskCountService;
+
+    @Mock
+    private TaskNameReservationService taskNameReservationService;
+
+    @Mock
+    private TaskCacheService taskCacheService;
+
 
     private final SaveTaskRequestToTaskEntityMapper saveTaskRequestToTaskEntityMapper =
             SaveTaskRequestToTaskEntityMapper.initialize();
@@ -68,17 +92,21 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
         final Task mockTask = taskEntityToTaskMapper.map(mockTaskEntity);
 
         // When
-        Mockito.when(taskRepository.existsByName(Mockito.anyString())).thenReturn(false);
         Mockito.when(taskRepository.save(any(TaskEntity.class))).thenReturn(mockTaskEntity);
 
         // Then
         Task response = taskService.saveTask(request);
 
         Assertions.assertEquals(mockTask.getName(),response.getName());
+        Assertions.assertNotNull(response.getId());
 
         // Verify
+        Mockito.verify(taskNameReservationService, Mockito.times(1)).reserveName(request.getName(), response.getId());
         Mockito.verify(taskRepository,Mockito.times(1)).save(any(TaskEntity.class));
-        Mockito.verify(taskRepository, Mockito.times(1)).existsByName(Mockito.anyString());
+        Mockito.verify(taskRepository, Mockito.never()).existsByName(Mockito.anyString());
+        Mockito.verify(taskNameReservationService, Mockito.never()).releaseName(Mockito.anyString(), Mockito.anyString());
+        Mockito.verify(taskCacheService, Mockito.times(1)).invalidate(response.getId());
+        Mockito.verify(taskCountService, Mockito.times(1)).increment();
 
     }
 
@@ -90,14 +118,38 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
                 .withValidFields().build();
 
         // When
-        Mockito.when(taskRepository.existsByName(request.getName())).thenReturn(true);
+        Mockito.doThrow(new TaskWithThisNameAlreadyExistException("With given task name = " + request.getName()))
+                .when(taskNameReservationService).reserveName(Mockito.eq(request.getName()), Mockito.anyString());
 
         // Then
         Assertions.assertThrowsExactly(TaskWithThisNameAlreadyExistException.class,()->taskService.saveTask(request));
 
         // Verify
-        Mockito.verify(taskRepository,Mockito.times(1)).existsByName(Mockito.anyString());
         Mockito.verify(taskRepository,Mockito.times(0)).save(any(TaskEntity.class));
+        Mockito.verify(taskCountService, Mockito.never()).increment();
+
+    }
+
+    @Test
+    void givenValidTaskCreateRequest_whenSaveFails_ThenReleaseReservedName(){
+
+        // Given
+        final SaveTaskRequest request = new SaveTaskRequestBuilder()
+                .withValidFields().build();
+
+        final RuntimeException saveFailure = new IllegalStateException("save failed");
+
+        // When
+        Mockito.when(taskRepository.save(any(TaskEntity.class))).thenThrow(saveFailure);
+
+        // Then
+        Assertions.assertSame(saveFailure, Assertions.assertThrows(IllegalStateException.class, () -> taskService.saveTask(request)));
+
+        // Verify
+        ArgumentCaptor<String> taskId = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(taskNameReservationService, Mockito.times(1)).reserveName(Mockito.eq(request.getName()), taskId.capture());
+        Mockito.verify(taskNameReservationService, Mockito.times(1)).releaseName(request.getName(), taskId.getValue());
+        Mockito.verify(taskCountService, Mockito.never()).increment();
 
     }
 
@@ -164,6 +216,195 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
 
     }
 
+    @Test
+    void givenTaskPagingRequestWithoutCount_WhenTaskPageList_ThenReadSliceWithoutCounting() {
+
+        // Given
+        final TaskPagingRequest pagingRequest = TaskPagingRequest.builder()
+                .pagination(
+                        CustomPaging.builder()
+                                .pageSize(1)
+                                .pageNumber(2)
+                                .countMode(CountMode.NONE)
+                                .build()
+                ).build();
+
+        final TaskEntity taskEntity = new TaskEntityBuilder().withValidFields();
+
+        // When
+        Mockito.when(taskRepository.findSlice(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(taskEntity), PageRequest.of(1, 1), true));
+
+        // Then
+        CustomPage<Task> result = taskService.getAllTasks(pagingRequest);
+
+        Assertions.assertEquals(taskEntity.getId(), result.getContent().get(0).getId());
+        Assertions.assertEquals(2, result.getPageNumber());
+        Assertions.assertEquals(1, result.getPageSize());
+        Assertions.assertNull(result.getTotalElementCount());
+        Assertions.assertNull(result.getTotalPageCount());
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.times(1)).findSlice(PageRequest.of(1, 1));
+        Mockito.verify(taskRepository, Mockito.never()).findAll(any(Pageable.class));
+        Mockito.verify(taskRepository, Mockito.never()).count();
+        Mockito.verifyNoInteractions(taskCountService);
+
+    }
+
+    @Test
+    void givenTaskPagingRequestWithApproximateCount_WhenTaskPageList_ThenReturnTotalsFromCounter() {
+
+        // Given
+        final TaskPagingRequest pagingRequest = TaskPagingRequest.builder()
+                .pagination(
+                        CustomPaging.builder()
+                                .pageSize(2)
+                                .pageNumber(1)
+                                .countMode(CountMode.APPROXIMATE)
+                                .build()
+                ).build();
+
+        final TaskEntity taskEntity = new TaskEntityBuilder().withValidFields();
+
+        // When
+        Mockito.when(taskRepository.findSlice(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(taskEntity), PageRequest.of(0, 2), true));
+        Mockito.when(taskCountService.getApproximateCount()).thenReturn(5L);
+
+        // Then
+        CustomPage<Task> result = taskService.getAllTasks(pagingRequest);
+
+        Assertions.assertEquals(5L, result.getTotalElementCount());
+        Assertions.assertEquals(3, result.getTotalPageCount());
+
+        // Verify
+        Mockito.verify(taskCountService, Mockito.times(1)).getApproximateCount();
+        Mockito.verify(taskRepository, Mockito.never()).count();
+
+    }
+
+    @Test
+    void givenCursorPagingRequestWithExactCount_WhenTaskPageList_ThenCountTasks() {
+
+        // Given
+        final TaskPagingRequest pagingRequest = TaskPagingRequest.builder()
+                .pagination(
+                        CustomPaging.builder()
+                                .pageSize(2)
+                                .countMode(CountMode.EXACT)
+                                .build()
+                ).build();
+
+        final TaskEntity taskEntity = taskEntityCreatedAt("task-1", LocalDateTime.of(2024, 1, 1, 10, 0));
+
+        // When
+        Mockito.when(taskRepository.findPage(3)).thenReturn(List.of(taskEntity));
+        Mockito.when(taskRepository.count()).thenReturn(1L);
+
+        // Then
+        CustomPage<Task> result = taskService.getAllTasks(pagingRequest);
+
+        Assertions.assertEquals(1L, result.getTotalElementCount());
+        Assertions.assertEquals(1, result.getTotalPageCount());
+        Assertions.assertNull(result.getNextCursor());
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.times(1)).count();
+
+    }
+
+    @Test
+    void givenCursorPagingRequestWithoutCursor_WhenMoreTasksExist_ThenReturnFirstPageWithNextCursor() {
+
+        // Given
+        final TaskPagingRequest pagingRequest = TaskPagingRequest.builder()
+                .pagination(
+                        CustomPaging.builder()
+                                .pageSize(2)
+                                .build()
+                ).build();
+
+        final LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        final TaskEntity first = taskEntityCreatedAt("task-1", createdAt);
+        final TaskEntity second = taskEntityCreatedAt("task-2", createdAt);
+        final TaskEntity third = taskEntityCreatedAt("task-3", createdAt.plusSeconds(1));
+
+        // When
+        Mockito.when(taskRepository.findPage(3)).thenReturn(List.of(first, second, third));
+
+        // Then
+        CustomPage<Task> result = taskService.getAllTasks(pagingRequest);
+
+        Assertions.assertEquals(2, result.getContent().size());
+        Assertions.assertEquals("task-2", result.getContent().get(1).getId());
+        Assertions.assertEquals(2, result.getPageSize());
+        Assertions.assertNull(result.getPageNumber());
+        Assertions.assertNull(result.getTotalElementCount());
+
+        CustomCursor nextCursor = CustomCursor.decode(result.getNextCursor());
+        Assertions.assertEquals(createdAt, nextCursor.getCreatedAt());
+        Assertions.assertEquals("task-2", nextCursor.getId());
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.times(1)).findPage(3);
+        Mockito.verify(taskRepository, Mockito.never()).findAll(any(Pageable.class));
+        Mockito.verify(taskRepository, Mockito.never()).count();
+
+    }
+
+    @Test
+    void givenCursorPagingRequestWithCursor_WhenLastPage_ThenSeekPastCursorWithoutNextCursor() {
+
+        // Given
+        final LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        final String cursor = new CustomCursor(createdAt, "task-2").encode();
+
+        final TaskPagingRequest pagingRequest = TaskPagingRequest.builder()
+                .pagination(
+                        CustomPaging.builder()
+                                .pageSize(2)
+                                .cursor(cursor)
+                                .build()
+                ).build();
+
+        final TaskEntity third = taskEntityCreatedAt("task-3", createdAt.plusSeconds(1));
+
+        // When
+        Mockito.when(taskRepository.findPageAfter(createdAt, "task-2", 3)).thenReturn(List.of(third));
+
+        // Then
+        CustomPage<Task> result = taskService.getAllTasks(pagingRequest);
+
+        Assertions.assertEquals(1, result.getContent().size());
+        Assertions.assertEquals("task-3", result.getContent().get(0).getId());
+        Assertions.assertNull(result.getNextCursor());
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.times(1)).findPageAfter(createdAt, "task-2", 3);
+
+    }
+
+    @Test
+    void givenCursorPagingRequestWithMalformedCursor_WhenTaskPageList_ThenThrowInvalidCursorException() {
+
+        // Given
+        final TaskPagingRequest pagingRequest = TaskPagingRequest.builder()
+                .pagination(
+                        CustomPaging.builder()
+                                .pageSize(2)
+                                .cursor("not-a-cursor")
+                                .build()
+                ).build();
+
+        // Then
+        Assertions.assertThrows(InvalidCursorException.class, () -> taskService.getAllTasks(pagingRequest));
+
+        // Verify
+        Mockito.verifyNoInteractions(taskRepository);
+
+    }
+
     @Test
     void givenValidTaskName_whenGetTaskByName_thenReturnTaskResponse() {
 
@@ -178,7 +419,7 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
         final Task expectedTask = taskEntityToTaskMapper.map(mockTaskEntity);
 
         // When
-        Mockito.when(taskRepository.findTaskByName(taskName))
+        Mockito.when(taskCacheService.findByName(taskName))
                 .thenReturn(Optional.of(mockTaskEntity));
 
         // Then
@@ -188,7 +429,7 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
         Assertions.assertEquals(expectedTask.getName(), response.getName());
 
         // Verify
-        Mockito.verify(taskRepository, Mockito.times(1)).findTaskByName(taskName);
+        Mockito.verify(taskCacheService, Mockito.times(1)).findByName(taskName);
 
     }
 
@@ -200,14 +441,14 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
         final GetTaskByNameRequest request = new GetTaskByNameRequest(taskName);
 
         // When
-        Mockito.when(taskRepository.findTaskByName(taskName)).thenReturn(Optional.empty());
+        Mockito.when(taskCacheService.findByName(taskName)).thenReturn(Optional.empty());
 
         // Then
         Assertions.assertThrows(TaskNotFoundException.class,
                 () -> taskService.getTaskByName(request));
 
         // Verify
-        Mockito.verify(taskRepository, Mockito.times(1)).findTaskByName(taskName);
+        Mockito.verify(taskCacheService, Mockito.times(1)).findByName(taskName);
 
     }
 
@@ -222,7 +463,7 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
                 .withValidFields();
 
         // When
-        Mockito.when(taskRepository.findById(mockId))
+        Mockito.when(taskCacheService.findById(mockId))
                 .thenReturn(Optional.of(mockTaskEntity));
 
         // Then
@@ -233,7 +474,7 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
         Assertions.assertEquals(mockTaskEntity.getName(),expected.getName());
 
         // Verify
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(mockId);
+        Mockito.verify(taskCacheService, Mockito.times(1)).findById(mockId);
 
     }
 
@@ -244,7 +485,7 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
         final String mockId = UUID.randomUUID().toString();
 
         // When
-        Mockito.when(taskRepository.findById(mockId))
+        Mockito.when(taskCacheService.findById(mockId))
                 .thenReturn(Optional.empty());
 
         // Then
@@ -252,7 +493,7 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
                 ()->taskService.getTaskById(mockId));
 
         // Verify
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(mockId);
+        Mockito.verify(taskCacheService, Mockito.times(1)).findById(mockId);
 
     }
 
@@ -284,14 +525,137 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
                 .thenReturn(mockTaskEntityAfterUpdate);
 
         // Then
-        final Task taskResponse = taskService.updateTaskById(mockId, mockUpdateTaskRequest);
+        final Task taskResponse = taskService.updateTaskById(mockId, mockUpdateTaskRequest, null);
 
         Assertions.assertNotNull(taskResponse);
         Assertions.assertEquals(mockUpdatedTask.getName(), taskResponse.getName());
 
         // Verify
         Mockito.verify(taskRepository, Mockito.times(1)).findById(mockId);
+        Mockito.verify(taskNameReservationService, Mockito.times(1)).reserveName(mockUpdateTaskRequest.getName(), mockId);
         Mockito.verify(taskRepository, Mockito.times(1)).save(mockTaskEntityBeforeUpdate);
+        Mockito.verify(taskNameReservationService, Mockito.times(1)).releaseName("beforeTask", mockId);
+        Mockito.verify(taskRepository, Mockito.never()).existsByName(Mockito.anyString());
+        Mockito.verify(taskCacheService, Mockito.times(1)).invalidate(mockId);
+
+    }
+
+    @Test
+    void givenUpdateTaskRequestWithSameName_whenUpdateTaskRequest_thenKeepReservation(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final UpdateTaskRequest mockUpdateTaskRequest = new UpdateTaskRequestBuilder()
+                .withName("sameTask")
+                .build();
+
+        final TaskEntity mockTaskEntity = new TaskEntityBuilder()
+                .withName("sameTask")
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findById(mockId)).thenReturn(Optional.of(mockTaskEntity));
+        Mockito.when(taskRepository.save(mockTaskEntity)).thenReturn(mockTaskEntity);
+
+        // Then
+        final Task taskResponse = taskService.updateTaskById(mockId, mockUpdateTaskRequest, null);
+
+        Assertions.assertEquals("sameTask", taskResponse.getName());
+
+        // Verify
+        Mockito.verifyNoInteractions(taskNameReservationService);
+
+    }
+
+    @Test
+    void givenTakenTaskName_whenUpdateTaskRequest_thenThrowTaskWithThisNameAlreadyExistException(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final UpdateTaskRequest mockUpdateTaskRequest = new UpdateTaskRequestBuilder()
+                .withValidFields()
+                .build();
+
+        final TaskEntity mockTaskEntity = new TaskEntityBuilder()
+                .withName("beforeTask")
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findById(mockId)).thenReturn(Optional.of(mockTaskEntity));
+        Mockito.doThrow(new TaskWithThisNameAlreadyExistException("With given task name = " + mockUpdateTaskRequest.getName()))
+                .when(taskNameReservationService).reserveName(mockUpdateTaskRequest.getName(), mockId);
+
+        // Then
+        Assertions.assertThrowsExactly(TaskWithThisNameAlreadyExistException.class,
+                () -> taskService.updateTaskById(mockId, mockUpdateTaskRequest, null));
+
+        Assertions.assertEquals("beforeTask", mockTaskEntity.getName());
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.never()).save(any(TaskEntity.class));
+        Mockito.verify(taskNameReservationService, Mockito.never()).releaseName(Mockito.anyString(), Mockito.anyString());
+
+    }
+
+    @Test
+    void givenOutdatedExpectedVersion_whenUpdateTaskRequest_thenThrowTaskVersionMismatchException(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final UpdateTaskRequest mockUpdateTaskRequest = new UpdateTaskRequestBuilder()
+                .withValidFields()
+                .build();
+
+        final TaskEntity mockTaskEntity = new TaskEntityBuilder()
+                .withName("beforeTask")
+                .build();
+        mockTaskEntity.setVersion(2L);
+
+        // When
+        Mockito.when(taskRepository.findById(mockId)).thenReturn(Optional.of(mockTaskEntity));
+
+        // Then
+        Assertions.assertThrowsExactly(TaskVersionMismatchException.class,
+                () -> taskService.updateTaskById(mockId, mockUpdateTaskRequest, 1L));
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.never()).save(any(TaskEntity.class));
+        Mockito.verifyNoInteractions(taskNameReservationService);
+
+    }
+
+    @Test
+    void givenConcurrentChange_whenUpdateTaskRequest_thenThrowTaskVersionMismatchExceptionAndReleaseNewName(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final UpdateTaskRequest mockUpdateTaskRequest = new UpdateTaskRequestBuilder()
+                .withValidFields()
+                .build();
+
+        final TaskEntity mockTaskEntity = new TaskEntityBuilder()
+                .withName("beforeTask")
+                .build();
+        mockTaskEntity.setVersion(1L);
+
+        // When
+        Mockito.when(taskRepository.findById(mockId)).thenReturn(Optional.of(mockTaskEntity));
+        Mockito.when(taskRepository.save(mockTaskEntity))
+                .thenThrow(new OptimisticLockingFailureException("CAS mismatch"));
+
+        // Then
+        Assertions.assertThrowsExactly(TaskVersionMismatchException.class,
+                () -> taskService.updateTaskById(mockId, mockUpdateTaskRequest, 1L));
+
+        // Verify
+        Mockito.verify(taskNameReservationService, Mockito.times(1)).reserveName(mockUpdateTaskRequest.getName(), mockId);
+        Mockito.verify(taskNameReservationService, Mockito.times(1)).releaseName(mockUpdateTaskRequest.getName(), mockId);
+        Mockito.verify(taskNameReservationService, Mockito.never()).releaseName("beforeTask", mockId);
+        Mockito.verify(taskCacheService, Mockito.never()).invalidate(mockId);
 
     }
 
@@ -311,7 +675,7 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
 
         // Then
         Assertions.assertThrows(TaskNotFoundException.class,
-                ()->taskService.updateTaskById(mockId,mockUpdateTaskRequest));
+                ()->taskService.updateTaskById(mockId,mockUpdateTaskRequest,null));
 
         // Verify
         Mockito.verify(taskRepository,Mockito.times(1)).findById(mockId);
@@ -319,6 +683,135 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
 
     }
 
+    @Test
+    void givenNewName_whenPatchTask_thenMutateNameWithLookedUpVersionAndMoveReservation(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final PatchTaskRequest mockPatchTaskRequest = PatchTaskRequest.builder()
+                .name("afterTask")
+                .build();
+
+        final TaskEntity mockTaskEntity = TaskEntity.builder()
+                .id(mockId)
+                .name("beforeTask")
+                .version(5L)
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findNameAndVersionById(mockId)).thenReturn(Optional.of(mockTaskEntity));
+        Mockito.when(taskRepository.patch(mockId, Map.of("name", "afterTask"), 5L)).thenReturn(OptionalLong.of(6L));
+
+        // Then
+        final long version = taskService.patchTaskById(mockId, mockPatchTaskRequest, null);
+
+        Assertions.assertEquals(6L, version);
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.never()).findById(mockId);
+        Mockito.verify(taskRepository, Mockito.never()).save(any(TaskEntity.class));
+        Mockito.verify(taskNameReservationService, Mockito.times(1)).reserveName("afterTask", mockId);
+        Mockito.verify(taskNameReservationService, Mockito.times(1)).releaseName("beforeTask", mockId);
+        Mockito.verify(taskCacheService, Mockito.times(1)).invalidate(mockId);
+
+    }
+
+    @Test
+    void givenNoChangedFields_whenPatchTask_thenMutateWithExpectedVersionWithoutLookup(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final PatchTaskRequest mockPatchTaskRequest = new PatchTaskRequest();
+
+        // When
+        Mockito.when(taskRepository.patch(mockId, Map.of(), 7L)).thenReturn(OptionalLong.of(8L));
+
+        // Then
+        Assertions.assertEquals(8L, taskService.patchTaskById(mockId, mockPatchTaskRequest, 7L));
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.never()).findNameAndVersionById(mockId);
+        Mockito.verifyNoInteractions(taskNameReservationService);
+
+    }
+
+    @Test
+    void givenOutdatedExpectedVersion_whenPatchTask_thenThrowTaskVersionMismatchException(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final PatchTaskRequest mockPatchTaskRequest = PatchTaskRequest.builder()
+                .name("afterTask")
+                .build();
+
+        final TaskEntity mockTaskEntity = TaskEntity.builder()
+                .id(mockId)
+                .name("beforeTask")
+                .version(2L)
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findNameAndVersionById(mockId)).thenReturn(Optional.of(mockTaskEntity));
+
+        // Then
+        Assertions.assertThrowsExactly(TaskVersionMismatchException.class,
+                () -> taskService.patchTaskById(mockId, mockPatchTaskRequest, 1L));
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.never()).patch(Mockito.anyString(), Mockito.anyMap(), Mockito.anyLong());
+        Mockito.verifyNoInteractions(taskNameReservationService);
+
+    }
+
+    @Test
+    void givenConcurrentChange_whenPatchTask_thenThrowTaskVersionMismatchExceptionAndReleaseNewName(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        final PatchTaskRequest mockPatchTaskRequest = PatchTaskRequest.builder()
+                .name("afterTask")
+                .build();
+
+        final TaskEntity mockTaskEntity = TaskEntity.builder()
+                .id(mockId)
+                .name("beforeTask")
+                .version(5L)
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findNameAndVersionById(mockId)).thenReturn(Optional.of(mockTaskEntity));
+        Mockito.when(taskRepository.patch(mockId, Map.of("name", "afterTask"), 5L))
+                .thenThrow(new OptimisticLockingFailureException("CAS mismatch"));
+
+        // Then
+        Assertions.assertThrowsExactly(TaskVersionMismatchException.class,
+                () -> taskService.patchTaskById(mockId, mockPatchTaskRequest, null));
+
+        // Verify
+        Mockito.verify(taskNameReservationService, Mockito.times(1)).releaseName("afterTask", mockId);
+        Mockito.verify(taskNameReservationService, Mockito.never()).releaseName("beforeTask", mockId);
+
+    }
+
+    @Test
+    void givenNonExistId_whenPatchTask_thenThrowTaskNotFoundException(){
+
+        // Given
+        final String mockId = UUID.randomUUID().toString();
+
+        // When
+        Mockito.when(taskRepository.patch(mockId, Map.of(), 0L)).thenReturn(OptionalLong.empty());
+
+        // Then
+        Assertions.assertThrows(TaskNotFoundException.class,
+                () -> taskService.patchTaskById(mockId, new PatchTaskRequest(), null));
+
+    }
+
     @Test
     void givenValidTaskId_whenDeleteTaskById_thenDeleteTaskSuccessfully() {
 
@@ -327,17 +820,24 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
 
         final TaskEntity mockTaskEntity = TaskEntity.builder()
                 .id(taskId)
+                .name("task")
+                .version(3L)
                 .build();
 
         // When
-        Mockito.when(taskRepository.findById(taskId)).thenReturn(Optional.of(mockTaskEntity));
+        Mockito.when(taskRepository.findNameAndVersionById(taskId)).thenReturn(Optional.of(mockTaskEntity));
+        Mockito.when(taskRepository.remove(taskId, 3L)).thenReturn(true);
 
         // Then
-        taskService.deleteTaskById(taskId);
+        taskService.deleteTaskById(taskId, null);
 
         // Verify
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
-        Mockito.verify(taskRepository, Mockito.times(1)).delete(mockTaskEntity);
+        Mockito.verify(taskRepository, Mockito.never()).findById(taskId);
+        Mockito.verify(taskRepository, Mockito.never()).delete(any(TaskEntity.class));
+        Mockito.verify(taskRepository, Mockito.times(1)).remove(taskId, 3L);
+        Mockito.verify(taskNameReservationService, Mockito.times(1)).releaseName("task", taskId);
+        Mockito.verify(taskCacheService, Mockito.times(1)).invalidate(taskId);
+        Mockito.verify(taskCountService, Mockito.times(1)).decrement();
 
     }
 
@@ -347,21 +847,101 @@ class TaskServiceImplTest extends AbstractBaseServiceTest {
         // Given
         final String taskId = "invalid-task-id";
 
-        Mockito.when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        Mockito.when(taskRepository.findNameAndVersionById(taskId)).thenReturn(Optional.empty());
 
         // When
         TaskNotFoundException exception = Assertions.assertThrows(TaskNotFoundException.class, () -> {
-            taskService.deleteTaskById(taskId);
+            taskService.deleteTaskById(taskId, null);
         });
 
         // Then
         Assertions.assertEquals("Task not found!\n With given id = " + taskId, exception.getMessage());
-        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
+        Mockito.verify(taskRepository, Mockito.times(1)).findNameAndVersionById(taskId);
 
         // Verify
-        Mockito.verify(taskRepository, Mockito.never()).delete(any(TaskEntity.class));
+        Mockito.verify(taskRepository, Mockito.never()).remove(Mockito.anyString(), Mockito.anyLong());
 
     }
 
+    @Test
+    void givenTaskRemovedConcurrently_whenDeleteTaskById_thenThrowTaskNotFoundException() {
+
+        // Given
+        final String taskId = "removed-task-id";
+
+        final TaskEntity mockTaskEntity = TaskEntity.builder()
+                .id(taskId)
+                .name("task")
+                .version(3L)
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findNameAndVersionById(taskId)).thenReturn(Optional.of(mockTaskEntity));
+        Mockito.when(taskRepository.remove(taskId, 3L)).thenReturn(false);
+
+        // Then
+        Assertions.assertThrows(TaskNotFoundException.class, () -> taskService.deleteTaskById(taskId, null));
+
+        // Verify
+        Mockito.verifyNoInteractions(taskNameReservationService);
+        Mockito.verify(taskCountService, Mockito.never()).decrement();
+
+    }
+
+    @Test
+    void givenOutdatedExpectedVersion_whenDeleteTaskById_thenThrowTaskVersionMismatchException() {
+
+        // Given
+        final String taskId = "valid-task-id";
+
+        final TaskEntity mockTaskEntity = TaskEntity.builder()
+                .id(taskId)
+                .name("task")
+                .version(3L)
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findNameAndVersionById(taskId)).thenReturn(Optional.of(mockTaskEntity));
+
+        // Then
+        Assertions.assertThrowsExactly(TaskVersionMismatchException.class, () -> taskService.deleteTaskById(taskId, 2L));
+
+        // Verify
+        Mockito.verify(taskRepository, Mockito.never()).remove(Mockito.anyString(), Mockito.anyLong());
+        Mockito.verifyNoInteractions(taskNameReservationService);
+
+    }
+
+    @Test
+    void givenConcurrentChange_whenDeleteTaskById_thenThrowTaskVersionMismatchException() {
+
+        // Given
+        final String taskId = "valid-task-id";
+
+        final TaskEntity mockTaskEntity = TaskEntity.builder()
+                .id(taskId)
+                .name("task")
+                .version(3L)
+                .build();
+
+        // When
+        Mockito.when(taskRepository.findNameAndVersionById(taskId)).thenReturn(Optional.of(mockTaskEntity));
+        Mockito.when(taskRepository.remove(taskId, 3L))
+                .thenThrow(new OptimisticLockingFailureException("CAS mismatch"));
+
+        // Then
+        Assertions.assertThrowsExactly(TaskVersionMismatchException.class, () -> taskService.deleteTaskById(taskId, 3L));
+
+        // Verify
+        Mockito.verifyNoInteractions(taskNameReservationService);
+        Mockito.verify(taskCountService, Mockito.never()).decrement();
+
+    }
+
+    private static TaskEntity taskEntityCreatedAt(final String id, final LocalDateTime createdAt) {
+        final TaskEntity taskEntity = new TaskEntityBuilder().withId(id).withName(id).build();
+        taskEntity.setCreatedAt(createdAt);
+        return taskEntity;
+    }
 
 }